@@ -0,0 +1,96 @@
+-- Percentile computation reads all the usage rows of an entity type for a date
+ALTER TABLE entity_usage ADD INDEX type_date_index (entityType, usageDate);
+
+-- Change events waiting to be relayed to the event publishers when the change event outbox is enabled
+CREATE TABLE IF NOT EXISTS change_event_outbox (
+    id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT,
+    json JSON NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Change events are paginated by their (eventTime, id) position
+ALTER TABLE change_event
+    ADD COLUMN id BIGINT UNSIGNED NOT NULL AUTO_INCREMENT UNIQUE,
+    ADD INDEX event_time_id_index (eventTime, id);
+
+-- Closure table of the team hierarchy with a row for each team and each of its ancestors
+CREATE TABLE IF NOT EXISTS team_hierarchy (
+    ancestorId VARCHAR(36) NOT NULL,
+    descendantId VARCHAR(36) NOT NULL,
+    depth INTEGER NOT NULL,
+    PRIMARY KEY (ancestorId, descendantId),
+    INDEX descendant_depth_index (descendantId, depth)
+);
+
+-- Large JSON documents are stored compressed in compressedJson with the codec recorded in codec. The json column of a
+-- compressed document keeps only its top level attributes used by the generated columns.
+ALTER TABLE bot_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE chart_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE dashboard_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE dashboard_service_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE database_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE database_schema_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE dbservice_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE glossary_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE glossary_term_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE ingestion_pipeline_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE location_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE messaging_service_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE ml_model_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE mlmodel_service_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE pipeline_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE pipeline_service_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE policy_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE report_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE role_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE storage_service_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE table_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE tag ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE tag_category ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE team_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE test_case ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE test_definition ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE test_suite ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE topic_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE type_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE user_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE webhook_entity ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+ALTER TABLE entity_extension ADD COLUMN codec TINYINT NOT NULL DEFAULT 0, ADD COLUMN compressedJson LONGBLOB;
+
+-- Fully qualified names of the service, database and schema of the entities of the database hierarchy, to list the
+-- entities of a parent with an index range scan. New rows are populated by the server from the fully qualified name.
+ALTER TABLE database_entity ADD COLUMN serviceFqn VARCHAR(256),
+    ADD INDEX service_fqn_index (serviceFqn, fullyQualifiedName);
+ALTER TABLE database_schema_entity ADD COLUMN serviceFqn VARCHAR(256), ADD COLUMN databaseFqn VARCHAR(256),
+    ADD INDEX service_fqn_index (serviceFqn, fullyQualifiedName),
+    ADD INDEX database_fqn_index (databaseFqn, fullyQualifiedName);
+ALTER TABLE table_entity ADD COLUMN serviceFqn VARCHAR(256), ADD COLUMN databaseFqn VARCHAR(256),
+    ADD COLUMN schemaFqn VARCHAR(256),
+    ADD INDEX service_fqn_index (serviceFqn, fullyQualifiedName),
+    ADD INDEX database_fqn_index (databaseFqn, fullyQualifiedName),
+    ADD INDEX schema_fqn_index (schemaFqn, fullyQualifiedName);
+
+-- Names are either quoted "sss", when they contain a dot, or unquoted
+UPDATE database_entity SET serviceFqn = REGEXP_SUBSTR(fullyQualifiedName, '^("[^"]*"|[^."]*)');
+UPDATE database_schema_entity SET serviceFqn = REGEXP_SUBSTR(fullyQualifiedName, '^("[^"]*"|[^."]*)'),
+    databaseFqn = REGEXP_SUBSTR(fullyQualifiedName, '^("[^"]*"|[^."]*)([.]("[^"]*"|[^."]*)){1}');
+UPDATE table_entity SET serviceFqn = REGEXP_SUBSTR(fullyQualifiedName, '^("[^"]*"|[^."]*)'),
+    databaseFqn = REGEXP_SUBSTR(fullyQualifiedName, '^("[^"]*"|[^."]*)([.]("[^"]*"|[^."]*)){1}'),
+    schemaFqn = REGEXP_SUBSTR(fullyQualifiedName, '^("[^"]*"|[^."]*)([.]("[^"]*"|[^."]*)){2}');
+
+-- Change event id delivered last to each webhook, and the server holding the lease to deliver its events
+CREATE TABLE IF NOT EXISTS webhook_delivery (
+    webhookId VARCHAR(36) NOT NULL,
+    changeEventId BIGINT NOT NULL,
+    leaseOwner VARCHAR(36),
+    leaseExpiresAt BIGINT NOT NULL,
+    PRIMARY KEY (webhookId)
+);
+
+-- Entity types and dates that received usage since their percentiles were last computed, when the computation is
+-- deferred
+CREATE TABLE IF NOT EXISTS usage_percentile_pending (
+    entityType VARCHAR(256) NOT NULL,
+    usageDate DATE NOT NULL,
+    PRIMARY KEY (entityType, usageDate)
+);
@@ -0,0 +1,98 @@
+-- Percentile computation reads all the usage rows of an entity type for a date
+CREATE INDEX IF NOT EXISTS entity_usage_type_date_index ON entity_usage(entityType, usageDate);
+
+-- Change events waiting to be relayed to the event publishers when the change event outbox is enabled
+CREATE TABLE IF NOT EXISTS change_event_outbox (
+    id BIGSERIAL NOT NULL,
+    json JSONB NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Change events are paginated by their (eventTime, id) position
+ALTER TABLE change_event ADD COLUMN IF NOT EXISTS id BIGSERIAL NOT NULL;
+CREATE INDEX IF NOT EXISTS change_event_time_id_index ON change_event(eventTime, id);
+
+-- Closure table of the team hierarchy with a row for each team and each of its ancestors
+CREATE TABLE IF NOT EXISTS team_hierarchy (
+    ancestorId VARCHAR(36) NOT NULL,
+    descendantId VARCHAR(36) NOT NULL,
+    depth INTEGER NOT NULL,
+    PRIMARY KEY (ancestorId, descendantId)
+);
+CREATE INDEX IF NOT EXISTS team_hierarchy_descendant_depth_index ON team_hierarchy(descendantId, depth);
+
+-- Large JSON documents are stored compressed in compressedJson with the codec recorded in codec. The json column of a
+-- compressed document keeps only its top level attributes used by the generated columns.
+ALTER TABLE bot_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE chart_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE dashboard_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE dashboard_service_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE database_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE database_schema_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE dbservice_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE glossary_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE glossary_term_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE ingestion_pipeline_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE location_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE messaging_service_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE ml_model_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE mlmodel_service_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE pipeline_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE pipeline_service_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE policy_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE report_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE role_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE storage_service_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE table_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE tag ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE tag_category ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE team_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE test_case ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE test_definition ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE test_suite ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE topic_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE type_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE user_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE webhook_entity ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+ALTER TABLE entity_extension ADD COLUMN IF NOT EXISTS codec SMALLINT NOT NULL DEFAULT 0, ADD COLUMN IF NOT EXISTS compressedJson BYTEA;
+
+-- Fully qualified names of the service, database and schema of the entities of the database hierarchy, to list the
+-- entities of a parent with an index range scan. New rows are populated by the server from the fully qualified name.
+ALTER TABLE database_entity ADD COLUMN IF NOT EXISTS serviceFqn VARCHAR(256);
+ALTER TABLE database_schema_entity ADD COLUMN IF NOT EXISTS serviceFqn VARCHAR(256),
+    ADD COLUMN IF NOT EXISTS databaseFqn VARCHAR(256);
+ALTER TABLE table_entity ADD COLUMN IF NOT EXISTS serviceFqn VARCHAR(256),
+    ADD COLUMN IF NOT EXISTS databaseFqn VARCHAR(256), ADD COLUMN IF NOT EXISTS schemaFqn VARCHAR(256);
+CREATE INDEX IF NOT EXISTS database_entity_service_fqn_index ON database_entity(serviceFqn, fullyQualifiedName);
+CREATE INDEX IF NOT EXISTS database_schema_entity_service_fqn_index
+    ON database_schema_entity(serviceFqn, fullyQualifiedName);
+CREATE INDEX IF NOT EXISTS database_schema_entity_database_fqn_index
+    ON database_schema_entity(databaseFqn, fullyQualifiedName);
+CREATE INDEX IF NOT EXISTS table_entity_service_fqn_index ON table_entity(serviceFqn, fullyQualifiedName);
+CREATE INDEX IF NOT EXISTS table_entity_database_fqn_index ON table_entity(databaseFqn, fullyQualifiedName);
+CREATE INDEX IF NOT EXISTS table_entity_schema_fqn_index ON table_entity(schemaFqn, fullyQualifiedName);
+
+-- Names are either quoted "sss", when they contain a dot, or unquoted
+UPDATE database_entity SET serviceFqn = substring(fullyQualifiedName from '^(?:"[^"]*"|[^."]*)');
+UPDATE database_schema_entity SET serviceFqn = substring(fullyQualifiedName from '^(?:"[^"]*"|[^."]*)'),
+    databaseFqn = substring(fullyQualifiedName from '^(?:"[^"]*"|[^."]*)(?:[.](?:"[^"]*"|[^."]*)){1}');
+UPDATE table_entity SET serviceFqn = substring(fullyQualifiedName from '^(?:"[^"]*"|[^."]*)'),
+    databaseFqn = substring(fullyQualifiedName from '^(?:"[^"]*"|[^."]*)(?:[.](?:"[^"]*"|[^."]*)){1}'),
+    schemaFqn = substring(fullyQualifiedName from '^(?:"[^"]*"|[^."]*)(?:[.](?:"[^"]*"|[^."]*)){2}');
+
+-- Change event id delivered last to each webhook, and the server holding the lease to deliver its events
+CREATE TABLE IF NOT EXISTS webhook_delivery (
+    webhookId VARCHAR(36) NOT NULL,
+    changeEventId BIGINT NOT NULL,
+    leaseOwner VARCHAR(36),
+    leaseExpiresAt BIGINT NOT NULL,
+    PRIMARY KEY (webhookId)
+);
+
+-- Entity types and dates that received usage since their percentiles were last computed, when the computation is
+-- deferred
+CREATE TABLE IF NOT EXISTS usage_percentile_pending (
+    entityType VARCHAR(256) NOT NULL,
+    usageDate DATE NOT NULL,
+    PRIMARY KEY (entityType, usageDate)
+);
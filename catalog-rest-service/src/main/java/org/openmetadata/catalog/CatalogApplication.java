@@ -57,15 +57,26 @@ import org.glassfish.jersey.media.multipart.MultiPartFeature;
 import org.glassfish.jersey.server.ServerProperties;
 import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.core.statement.SqlLogger;
+import org.jdbi.v3.core.statement.SqlStatements;
 import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.sqlobject.SqlObjects;
 import org.openmetadata.catalog.elasticsearch.ElasticSearchEventPublisher;
+import org.openmetadata.catalog.events.ChangeEventOutbox;
 import org.openmetadata.catalog.events.EventFilter;
 import org.openmetadata.catalog.events.EventPubSub;
 import org.openmetadata.catalog.exception.CatalogGenericExceptionMapper;
 import org.openmetadata.catalog.exception.ConstraintViolationExceptionMapper;
 import org.openmetadata.catalog.exception.JsonMappingExceptionMapper;
 import org.openmetadata.catalog.fernet.Fernet;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.EntityReferenceCacheInvalidator;
+import org.openmetadata.catalog.jdbi3.EntityVersionStore;
+import org.openmetadata.catalog.jdbi3.FieldLoader;
+import org.openmetadata.catalog.jdbi3.JsonStorage;
+import org.openmetadata.catalog.jdbi3.JsonStorageMigration;
+import org.openmetadata.catalog.jdbi3.TagLabelCacheInvalidator;
+import org.openmetadata.catalog.jdbi3.TotalCounter;
+import org.openmetadata.catalog.jdbi3.locator.CachingTemplateEngine;
 import org.openmetadata.catalog.jdbi3.locator.ConnectionAwareAnnotationSqlLocator;
 import org.openmetadata.catalog.migration.Migration;
 import org.openmetadata.catalog.migration.MigrationConfiguration;
@@ -125,6 +136,9 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
     jdbi.getConfig(SqlObjects.class)
         .setSqlLocator(new ConnectionAwareAnnotationSqlLocator(catalogConfig.getDataSourceFactory().getDriverClass()));
 
+    // Cache the SQL rendered from the query templates, which is the same for all the values of a list filter
+    jdbi.setTemplateEngine(new CachingTemplateEngine(jdbi.getConfig(SqlStatements.class).getTemplateEngine()));
+
     // Validate flyway Migrations
     validateMigrations(jdbi, catalogConfig.getMigrationConfiguration());
 
@@ -148,14 +162,25 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
     environment.healthChecks().register("OpenMetadataServerHealthCheck", new OpenMetadataServerHealthCheck());
     // start event hub before registering publishers
     EventPubSub.start();
+    EventPubSub.addEventHandler(new TagLabelCacheInvalidator());
+    EventPubSub.addEventHandler(new EntityReferenceCacheInvalidator());
+    EntityVersionStore.initialize(catalogConfig.getVersionHistoryConfiguration());
+    JsonStorage.initialize(catalogConfig.getJsonStorageConfiguration());
+    TotalCounter.initialize(catalogConfig.getPaginationConfiguration());
 
     registerResources(catalogConfig, environment, jdbi, secretsManager);
+    FieldLoader.initialize(catalogConfig.getFieldLoaderConfiguration());
 
     // Register Event Handler
     registerEventFilter(catalogConfig, environment, jdbi);
     environment.lifecycle().manage(new ManagedShutdown());
     // Register Event publishers
     registerEventPublisher(catalogConfig);
+    // Relay the change events recorded in the outbox once the publishers are registered
+    if (catalogConfig.getEventHandlerConfiguration() != null) {
+      ChangeEventOutbox.initialize(catalogConfig.getEventHandlerConfiguration(), jdbi.onDemand(CollectionDAO.class));
+    }
+    JsonStorageMigration.start(catalogConfig.getJsonStorageConfiguration(), jdbi.onDemand(CollectionDAO.class));
 
     // start authorizer after event publishers
     // authorizer creates admin/bot users, ES publisher should start before to index users created by authorizer
@@ -311,6 +336,9 @@ public class CatalogApplication extends Application<CatalogApplicationConfig> {
 
     @Override
     public void stop() throws InterruptedException {
+      ChangeEventOutbox.shutdown();
+      JsonStorageMigration.shutdown();
+      FieldLoader.shutdown();
       EventPubSub.shutdown();
       LOG.info("Stopping the application");
     }
@@ -27,7 +27,12 @@ import org.openmetadata.catalog.airflow.AirflowConfiguration;
 import org.openmetadata.catalog.elasticsearch.ElasticSearchConfiguration;
 import org.openmetadata.catalog.events.EventHandlerConfiguration;
 import org.openmetadata.catalog.fernet.FernetConfiguration;
+import org.openmetadata.catalog.jdbi3.FieldLoaderConfiguration;
+import org.openmetadata.catalog.jdbi3.JsonStorageConfiguration;
+import org.openmetadata.catalog.jdbi3.PaginationConfiguration;
+import org.openmetadata.catalog.jdbi3.VersionHistoryConfiguration;
 import org.openmetadata.catalog.migration.MigrationConfiguration;
+import org.openmetadata.catalog.resources.usage.UsageConfiguration;
 import org.openmetadata.catalog.secrets.SecretsManagerConfiguration;
 import org.openmetadata.catalog.security.AuthenticationConfiguration;
 import org.openmetadata.catalog.security.AuthorizerConfiguration;
@@ -89,6 +94,21 @@ public class CatalogApplicationConfig extends Configuration {
   @JsonProperty("slackChat")
   private SlackChatConfiguration slackChatConfiguration = new SlackChatConfiguration();
 
+  @JsonProperty("usageConfiguration")
+  private UsageConfiguration usageConfiguration = new UsageConfiguration();
+
+  @JsonProperty("fieldLoaderConfiguration")
+  private FieldLoaderConfiguration fieldLoaderConfiguration = new FieldLoaderConfiguration();
+
+  @JsonProperty("versionHistoryConfiguration")
+  private VersionHistoryConfiguration versionHistoryConfiguration = new VersionHistoryConfiguration();
+
+  @JsonProperty("jsonStorageConfiguration")
+  private JsonStorageConfiguration jsonStorageConfiguration = new JsonStorageConfiguration();
+
+  @JsonProperty("paginationConfiguration")
+  private PaginationConfiguration paginationConfiguration = new PaginationConfiguration();
+
   @JsonProperty("secretsManagerConfiguration")
   private SecretsManagerConfiguration secretsManagerConfiguration;
 
@@ -178,6 +178,17 @@ public final class Entity {
     return repository.dao.findEntityReferenceById(id, include);
   }
 
+  /** Get entity references of the given type for a batch of ids with a single query */
+  public static List<EntityReference> getEntityReferencesByIds(
+      @NonNull String entityType, @NonNull List<UUID> ids, Include include) throws IOException {
+    EntityRepository<?> repository = ENTITY_REPOSITORY_MAP.get(entityType);
+    if (repository == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityTypeNotFound(entityType));
+    }
+    include = repository.supportsSoftDelete ? Include.ALL : include;
+    return repository.dao.findEntityReferencesByIds(ids, include);
+  }
+
   public static EntityReference getEntityReferenceByName(
       @NonNull String entityType, @NonNull String fqn, Include include) {
     EntityDAO<?> dao = DAO_MAP.get(entityType);
@@ -21,13 +21,21 @@ import static org.openmetadata.catalog.Entity.FIELD_USAGE_SUMMARY;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.support.WriteRequest;
 import org.elasticsearch.action.update.UpdateRequest;
@@ -76,16 +84,30 @@ import org.openmetadata.catalog.util.JsonUtils;
 
 @Slf4j
 public class ElasticSearchEventPublisher extends AbstractEventPublisher {
+  // Thresholds at which accumulated requests are sent to ElasticSearch as a bulk request
+  private static final int MAX_BULK_ACTIONS = 1000;
+  private static final long MAX_BULK_SIZE_IN_BYTES = 5L * 1024 * 1024;
+
   private final RestHighLevelClient client;
   private final ElasticSearchIndexDefinition esIndexDefinition;
+  private final ElasticSearchIndexingMetrics metrics = new ElasticSearchIndexingMetrics();
+  private BulkRequest bulkRequest = new BulkRequest();
+  private List<ChangeEvent> bulkEvents = new ArrayList<>(); // Change event of each request in bulkRequest
+  private WriteRequest.RefreshPolicy refreshPolicy = WriteRequest.RefreshPolicy.NONE;
+  // Events that failed with a retriable error
+  private final Set<ChangeEvent> retryEvents = Collections.newSetFromMap(new IdentityHashMap<>());
 
   public ElasticSearchEventPublisher(ElasticSearchConfiguration esConfig) {
-    super(esConfig.getBatchSize(), new ArrayList<>());
-    this.client = ElasticSearchClientUtils.createElasticSearchClient(esConfig);
-    esIndexDefinition = new ElasticSearchIndexDefinition(client);
+    this(esConfig.getBatchSize(), ElasticSearchClientUtils.createElasticSearchClient(esConfig));
     esIndexDefinition.createIndexes();
   }
 
+  ElasticSearchEventPublisher(int batchSize, RestHighLevelClient client) {
+    super(batchSize, new ArrayList<>());
+    this.client = client;
+    esIndexDefinition = new ElasticSearchIndexDefinition(client);
+  }
+
   @Override
   public void onStart() {
     LOG.info("ElasticSearch Publisher Started");
@@ -93,7 +115,8 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
 
   @Override
   public void publish(ChangeEventList events) throws EventPublisherException {
-    for (ChangeEvent event : events.getData()) {
+    List<ChangeEvent> changeEvents = new ArrayList<>(events.getData());
+    for (ChangeEvent event : changeEvents) {
       try {
         String entityType = event.getEntityType();
         switch (entityType) {
@@ -157,18 +180,57 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
       } catch (DocumentMissingException ex) {
         LOG.error("Missing Document", ex);
       } catch (ElasticsearchException e) {
-        LOG.error("failed to update ES doc");
-        LOG.debug(e.getMessage());
-        if (e.status() == RestStatus.GATEWAY_TIMEOUT || e.status() == RestStatus.REQUEST_TIMEOUT) {
-          LOG.error("Error in publishing to ElasticSearch");
-          throw new ElasticSearchRetriableException(e.getMessage());
-        } else {
-          LOG.error(e.getMessage(), e);
-        }
+        handleElasticSearchException(e);
       } catch (IOException ie) {
         throw new EventPublisherException(ie.getMessage());
       }
     }
+    try {
+      flush();
+    } catch (ElasticsearchException e) {
+      handleElasticSearchException(e);
+    } catch (IOException ie) {
+      throw new EventPublisherException(ie.getMessage());
+    }
+
+    if (!retryEvents.isEmpty()) {
+      // Keep only the events that failed, along with any later events of the same entities to preserve ordering, in
+      // the batch that is published again after backoff
+      Set<UUID> retryEntities = new HashSet<>();
+      List<ChangeEvent> retry = new ArrayList<>();
+      for (ChangeEvent event : changeEvents) {
+        if (retryEvents.contains(event) || retryEntities.contains(event.getEntityId())) {
+          retryEntities.add(event.getEntityId());
+          retry.add(event);
+        }
+      }
+      retryEvents.clear();
+      batch.clear();
+      batch.addAll(retry);
+      LOG.error("Failed to index {} of {} events in ElasticSearch", retry.size(), changeEvents.size());
+      throw new ElasticSearchRetriableException("Failed to index " + retry.size() + " events in ElasticSearch");
+    }
+  }
+
+  private void handleElasticSearchException(ElasticsearchException e) throws ElasticSearchRetriableException {
+    LOG.error("failed to update ES doc");
+    LOG.debug(e.getMessage());
+    if (isRetriable(e.status())) {
+      LOG.error("Error in publishing to ElasticSearch");
+      // The whole batch of events is published again
+      resetBulkRequest();
+      retryEvents.clear();
+      throw new ElasticSearchRetriableException(e.getMessage());
+    } else {
+      LOG.error(e.getMessage(), e);
+    }
+  }
+
+  private static boolean isRetriable(RestStatus status) {
+    return status == RestStatus.GATEWAY_TIMEOUT
+        || status == RestStatus.REQUEST_TIMEOUT
+        || status == RestStatus.TOO_MANY_REQUESTS
+        || status == RestStatus.SERVICE_UNAVAILABLE;
   }
 
   @Override
@@ -241,7 +303,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         tableIndex = new TableIndex((Table) event.getEntity());
         updateRequest.doc(JsonUtils.pojoToJson(tableIndex.buildESDoc()), XContentType.JSON);
         updateRequest.docAsUpsert(true);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_UPDATED:
         if (Objects.equals(event.getCurrentVersion(), event.getPreviousVersion())) {
@@ -250,16 +312,16 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
           tableIndex = new TableIndex((Table) event.getEntity());
           scriptedUpsert(tableIndex.buildESDoc(), updateRequest);
         }
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_DELETED:
         DeleteRequest deleteRequest =
             new DeleteRequest(ElasticSearchIndexType.TABLE_SEARCH_INDEX.indexName, event.getEntityId().toString());
-        deleteEntityFromElasticSearch(deleteRequest);
+        deleteEntityFromElasticSearch(event, deleteRequest);
         break;
     }
   }
@@ -274,7 +336,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         topicIndex = new TopicIndex((Topic) event.getEntity());
         updateRequest.doc(JsonUtils.pojoToJson(topicIndex.buildESDoc()), XContentType.JSON);
         updateRequest.docAsUpsert(true);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_UPDATED:
         if (Objects.equals(event.getCurrentVersion(), event.getPreviousVersion())) {
@@ -283,16 +345,16 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
           topicIndex = new TopicIndex((Topic) event.getEntity());
           scriptedUpsert(topicIndex.buildESDoc(), updateRequest);
         }
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_DELETED:
         DeleteRequest deleteRequest =
             new DeleteRequest(ElasticSearchIndexType.TOPIC_SEARCH_INDEX.indexName, event.getEntityId().toString());
-        deleteEntityFromElasticSearch(deleteRequest);
+        deleteEntityFromElasticSearch(event, deleteRequest);
         break;
     }
   }
@@ -307,7 +369,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         dashboardIndex = new DashboardIndex((Dashboard) event.getEntity());
         updateRequest.doc(JsonUtils.pojoToJson(dashboardIndex.buildESDoc()), XContentType.JSON);
         updateRequest.docAsUpsert(true);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_UPDATED:
         if (Objects.equals(event.getCurrentVersion(), event.getPreviousVersion())) {
@@ -316,16 +378,16 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
           dashboardIndex = new DashboardIndex((Dashboard) event.getEntity());
           scriptedUpsert(dashboardIndex.buildESDoc(), updateRequest);
         }
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_DELETED:
         DeleteRequest deleteRequest =
             new DeleteRequest(ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX.indexName, event.getEntityId().toString());
-        deleteEntityFromElasticSearch(deleteRequest);
+        deleteEntityFromElasticSearch(event, deleteRequest);
         break;
     }
   }
@@ -339,7 +401,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         pipelineIndex = new PipelineIndex((Pipeline) event.getEntity());
         updateRequest.doc(JsonUtils.pojoToJson(pipelineIndex.buildESDoc()), XContentType.JSON);
         updateRequest.docAsUpsert(true);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_UPDATED:
         pipelineIndex = new PipelineIndex((Pipeline) event.getEntity());
@@ -348,16 +410,16 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         } else {
           scriptedUpsert(pipelineIndex.buildESDoc(), updateRequest);
         }
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_DELETED:
         DeleteRequest deleteRequest =
             new DeleteRequest(ElasticSearchIndexType.PIPELINE_SEARCH_INDEX.indexName, event.getEntityId().toString());
-        deleteEntityFromElasticSearch(deleteRequest);
+        deleteEntityFromElasticSearch(event, deleteRequest);
         break;
     }
   }
@@ -372,21 +434,21 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         userIndex = new UserIndex((User) event.getEntity());
         updateRequest.doc(JsonUtils.pojoToJson(userIndex.buildESDoc()), XContentType.JSON);
         updateRequest.docAsUpsert(true);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_UPDATED:
         userIndex = new UserIndex((User) event.getEntity());
         scriptedUserUpsert(userIndex.buildESDoc(), updateRequest);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_DELETED:
         DeleteRequest deleteRequest =
             new DeleteRequest(ElasticSearchIndexType.USER_SEARCH_INDEX.indexName, event.getEntityId().toString());
-        deleteEntityFromElasticSearch(deleteRequest);
+        deleteEntityFromElasticSearch(event, deleteRequest);
         break;
     }
   }
@@ -400,21 +462,21 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         teamIndex = new TeamIndex((Team) event.getEntity());
         updateRequest.doc(JsonUtils.pojoToJson(teamIndex.buildESDoc()), XContentType.JSON);
         updateRequest.docAsUpsert(true);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_UPDATED:
         teamIndex = new TeamIndex((Team) event.getEntity());
         scriptedTeamUpsert(teamIndex.buildESDoc(), updateRequest);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_DELETED:
         DeleteRequest deleteRequest =
             new DeleteRequest(ElasticSearchIndexType.TEAM_SEARCH_INDEX.indexName, event.getEntityId().toString());
-        deleteEntityFromElasticSearch(deleteRequest);
+        deleteEntityFromElasticSearch(event, deleteRequest);
         break;
     }
   }
@@ -429,21 +491,21 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         glossaryTermIndex = new GlossaryTermIndex((GlossaryTerm) event.getEntity());
         updateRequest.doc(JsonUtils.pojoToJson(glossaryTermIndex.buildESDoc()), XContentType.JSON);
         updateRequest.docAsUpsert(true);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_UPDATED:
         glossaryTermIndex = new GlossaryTermIndex((GlossaryTerm) event.getEntity());
         scriptedUpsert(glossaryTermIndex.buildESDoc(), updateRequest);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_DELETED:
         DeleteRequest deleteRequest =
             new DeleteRequest(ElasticSearchIndexType.GLOSSARY_SEARCH_INDEX.indexName, event.getEntityId().toString());
-        deleteEntityFromElasticSearch(deleteRequest);
+        deleteEntityFromElasticSearch(event, deleteRequest);
         break;
     }
   }
@@ -469,7 +531,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         mlModelIndex = new MlModelIndex((MlModel) event.getEntity());
         updateRequest.doc(JsonUtils.pojoToJson(mlModelIndex.buildESDoc()), XContentType.JSON);
         updateRequest.docAsUpsert(true);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_UPDATED:
         if (Objects.equals(event.getCurrentVersion(), event.getPreviousVersion())) {
@@ -478,16 +540,16 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
           mlModelIndex = new MlModelIndex((MlModel) event.getEntity());
           scriptedUpsert(mlModelIndex.buildESDoc(), updateRequest);
         }
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_DELETED:
         DeleteRequest deleteRequest =
             new DeleteRequest(ElasticSearchIndexType.MLMODEL_SEARCH_INDEX.indexName, event.getEntityId().toString());
-        deleteEntityFromElasticSearch(deleteRequest);
+        deleteEntityFromElasticSearch(event, deleteRequest);
         break;
     }
   }
@@ -502,7 +564,7 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
         tagIndex = new TagIndex((Tag) event.getEntity());
         updateRequest.doc(JsonUtils.pojoToJson(tagIndex.buildESDoc()), XContentType.JSON);
         updateRequest.docAsUpsert(true);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_UPDATED:
         if (Objects.equals(event.getCurrentVersion(), event.getPreviousVersion())) {
@@ -511,16 +573,16 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
           tagIndex = new TagIndex((Tag) event.getEntity());
           scriptedUpsert(tagIndex.buildESDoc(), updateRequest);
         }
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_SOFT_DELETED:
         softDeleteEntity(updateRequest);
-        updateElasticSearch(updateRequest);
+        updateElasticSearch(event, updateRequest);
         break;
       case ENTITY_DELETED:
         DeleteRequest deleteRequest =
             new DeleteRequest(ElasticSearchIndexType.TAG_SEARCH_INDEX.indexName, event.getEntityId().toString());
-        deleteEntityFromElasticSearch(deleteRequest);
+        deleteEntityFromElasticSearch(event, deleteRequest);
         break;
     }
   }
@@ -634,25 +696,25 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     updateRequest.script(script);
   }
 
-  private void updateElasticSearch(UpdateRequest updateRequest) throws IOException {
+  private void updateElasticSearch(ChangeEvent event, UpdateRequest updateRequest) throws IOException {
     if (updateRequest != null) {
-      LOG.debug("Sending request to ElasticSearch");
       LOG.debug(updateRequest.toString());
-      client.update(updateRequest, RequestOptions.DEFAULT);
+      addToBulkRequest(event, updateRequest);
     }
   }
 
-  private void deleteEntityFromElasticSearch(DeleteRequest deleteRequest) throws IOException {
+  private void deleteEntityFromElasticSearch(ChangeEvent event, DeleteRequest deleteRequest) throws IOException {
     if (deleteRequest != null) {
-      LOG.debug("Sending request to ElasticSearch");
       LOG.debug(deleteRequest.toString());
       deleteRequest.setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
-      client.delete(deleteRequest, RequestOptions.DEFAULT);
+      addToBulkRequest(event, deleteRequest);
     }
   }
 
   private void deleteEntityFromElasticSearchByQuery(DeleteByQueryRequest deleteRequest) throws IOException {
     if (deleteRequest != null) {
+      // Send the pending requests first so that the deletes are applied in the order of the events
+      flush();
       LOG.debug("Sending request to ElasticSearch");
       LOG.debug(deleteRequest.toString());
       deleteRequest.setRefresh(true);
@@ -660,6 +722,75 @@ public class ElasticSearchEventPublisher extends AbstractEventPublisher {
     }
   }
 
+  /**
+   * Requests are accumulated in a bulk request that is sent when it reaches {@link #MAX_BULK_ACTIONS} requests or
+   * {@link #MAX_BULK_SIZE_IN_BYTES}, and at the end of each batch of events. Refresh policy is not allowed on the
+   * requests in a bulk request and is applied to the bulk request instead.
+   */
+  private void addToBulkRequest(ChangeEvent event, DocWriteRequest<?> request) throws IOException {
+    WriteRequest.RefreshPolicy policy = ((WriteRequest<?>) request).getRefreshPolicy();
+    if (policy == WriteRequest.RefreshPolicy.IMMEDIATE
+        || (policy == WriteRequest.RefreshPolicy.WAIT_UNTIL && refreshPolicy == WriteRequest.RefreshPolicy.NONE)) {
+      refreshPolicy = policy;
+    }
+    ((WriteRequest<?>) request).setRefreshPolicy(WriteRequest.RefreshPolicy.NONE);
+    bulkRequest.add(request);
+    bulkEvents.add(event);
+    if (bulkRequest.numberOfActions() >= MAX_BULK_ACTIONS
+        || bulkRequest.estimatedSizeInBytes() >= MAX_BULK_SIZE_IN_BYTES) {
+      flush();
+    }
+  }
+
+  private void resetBulkRequest() {
+    bulkRequest = new BulkRequest();
+    bulkEvents = new ArrayList<>();
+    refreshPolicy = WriteRequest.RefreshPolicy.NONE;
+  }
+
+  private void flush() throws IOException {
+    if (bulkRequest.numberOfActions() == 0) {
+      return;
+    }
+    BulkRequest request = bulkRequest.setRefreshPolicy(refreshPolicy);
+    List<ChangeEvent> requestEvents = bulkEvents;
+    resetBulkRequest();
+
+    LOG.debug("Sending bulk request with {} requests to ElasticSearch", request.numberOfActions());
+    BulkResponse response;
+    long start = System.nanoTime();
+    try {
+      response = client.bulk(request, RequestOptions.DEFAULT);
+    } catch (ElasticsearchException e) {
+      if (isRetriable(e.status())) {
+        LOG.error("Error in publishing bulk request to ElasticSearch", e);
+        retryEvents.addAll(requestEvents);
+        metrics.failed(requestEvents.size());
+        return;
+      }
+      throw e;
+    } finally {
+      metrics.recordBulkRequest(System.nanoTime() - start);
+    }
+
+    for (BulkItemResponse item : response.getItems()) {
+      ChangeEvent event = requestEvents.get(item.getItemId());
+      if (!item.isFailed()) {
+        metrics.indexed(event);
+      } else if (item.status() == RestStatus.NOT_FOUND) {
+        LOG.error("Missing Document {} {}", item.getIndex(), item.getId());
+        metrics.indexed(event);
+      } else if (isRetriable(item.status())) {
+        LOG.warn("Failed to index {} {}, will retry: {}", item.getIndex(), item.getId(), item.getFailureMessage());
+        retryEvents.add(event);
+        metrics.failed(1);
+      } else {
+        LOG.error("Failed to index {} {}: {}", item.getIndex(), item.getId(), item.getFailureMessage());
+        metrics.failed(1);
+      }
+    }
+  }
+
   public void close() {
     try {
       this.client.close();
@@ -3,12 +3,18 @@ package org.openmetadata.catalog.elasticsearch;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.jackson.Jacksonized;
 import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest.AliasActions;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
 import org.elasticsearch.action.support.master.AcknowledgedResponse;
 import org.elasticsearch.client.RequestOptions;
@@ -133,19 +139,73 @@ public class ElasticSearchIndexDefinition {
 
   private void deleteIndex(ElasticSearchIndexType elasticSearchIndexType) {
     try {
+      // Index name is an alias after reindexing. Delete the indexes it refers to.
+      for (String index : getIndexesOfAlias(elasticSearchIndexType)) {
+        deleteIndex(index);
+      }
       GetIndexRequest gRequest = new GetIndexRequest(elasticSearchIndexType.indexName);
       gRequest.local(false);
       boolean exists = client.indices().exists(gRequest, RequestOptions.DEFAULT);
       if (exists) {
-        DeleteIndexRequest request = new DeleteIndexRequest(elasticSearchIndexType.indexName);
-        AcknowledgedResponse deleteIndexResponse = client.indices().delete(request, RequestOptions.DEFAULT);
-        LOG.info("{} Deleted {}", elasticSearchIndexType.indexName, deleteIndexResponse.isAcknowledged());
+        deleteIndex(elasticSearchIndexType.indexName);
       }
     } catch (IOException e) {
       LOG.error("Failed to delete Elastic Search indexes due to", e);
     }
   }
 
+  private void deleteIndex(String indexName) throws IOException {
+    DeleteIndexRequest request = new DeleteIndexRequest(indexName);
+    AcknowledgedResponse deleteIndexResponse = client.indices().delete(request, RequestOptions.DEFAULT);
+    LOG.info("{} Deleted {}", indexName, deleteIndexResponse.isAcknowledged());
+  }
+
+  /** Create an index with the mapping of the given index type under a different name, if it does not exist. */
+  public void createIndex(ElasticSearchIndexType elasticSearchIndexType, String indexName) throws IOException {
+    if (!client.indices().exists(new GetIndexRequest(indexName), RequestOptions.DEFAULT)) {
+      CreateIndexRequest request = new CreateIndexRequest(indexName);
+      request.source(getIndexMapping(elasticSearchIndexType), XContentType.JSON);
+      CreateIndexResponse createIndexResponse = client.indices().create(request, RequestOptions.DEFAULT);
+      LOG.info("{} Created {}", indexName, createIndexResponse.isAcknowledged());
+    }
+  }
+
+  /**
+   * Atomically make the index name of the index type an alias of the given index. Indexes that the alias previously
+   * referred to, or the index that had the same name as the alias, are removed.
+   */
+  public void swapAlias(ElasticSearchIndexType elasticSearchIndexType, String indexName) throws IOException {
+    String alias = elasticSearchIndexType.indexName;
+    IndicesAliasesRequest request = new IndicesAliasesRequest();
+    Set<String> previousIndexes = getIndexesOfAlias(elasticSearchIndexType);
+    if (previousIndexes.isEmpty() && client.indices().exists(new GetIndexRequest(alias), RequestOptions.DEFAULT)) {
+      // Index created before reindexing was introduced has the name of the alias
+      request.addAliasAction(AliasActions.removeIndex().index(alias));
+    }
+    for (String index : previousIndexes) {
+      if (!index.equals(indexName)) {
+        request.addAliasAction(AliasActions.remove().index(index).alias(alias));
+      }
+    }
+    request.addAliasAction(AliasActions.add().index(indexName).alias(alias));
+    AcknowledgedResponse response = client.indices().updateAliases(request, RequestOptions.DEFAULT);
+    LOG.info("{} alias moved to {} {}", alias, indexName, response.isAcknowledged());
+    for (String index : previousIndexes) {
+      if (!index.equals(indexName)) {
+        deleteIndex(index);
+      }
+    }
+    setIndexStatus(elasticSearchIndexType, ElasticSearchIndexStatus.CREATED);
+  }
+
+  private Set<String> getIndexesOfAlias(ElasticSearchIndexType elasticSearchIndexType) throws IOException {
+    GetAliasesRequest request = new GetAliasesRequest(elasticSearchIndexType.indexName);
+    if (!client.indices().existsAlias(request, RequestOptions.DEFAULT)) {
+      return Collections.emptySet();
+    }
+    return new HashSet<>(client.indices().getAlias(request, RequestOptions.DEFAULT).getAliases().keySet());
+  }
+
   private void setIndexStatus(ElasticSearchIndexType indexType, ElasticSearchIndexStatus elasticSearchIndexStatus) {
     elasticSearchIndexes.put(indexType, elasticSearchIndexStatus);
   }
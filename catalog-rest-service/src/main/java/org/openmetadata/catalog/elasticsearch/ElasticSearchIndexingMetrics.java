@@ -0,0 +1,75 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.elasticsearch;
+
+import io.github.maksymdolgykh.dropwizard.micrometer.MicrometerBundle;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openmetadata.catalog.type.ChangeEvent;
+
+/**
+ * Metrics of the {@link ElasticSearchEventPublisher} exposed through the Prometheus registry. Throughput is measured by
+ * the number of indexed and failed events, and lag is the time between a change event and its indexing.
+ */
+class ElasticSearchIndexingMetrics {
+  private final Counter indexedEvents;
+  private final Counter failedEvents;
+  private final Timer bulkRequests;
+  private final AtomicLong lagMillis = new AtomicLong();
+
+  ElasticSearchIndexingMetrics() {
+    this(MicrometerBundle.prometheusRegistry);
+  }
+
+  ElasticSearchIndexingMetrics(MeterRegistry registry) {
+    indexedEvents =
+        Counter.builder("elasticsearch.indexing.events")
+            .description("Change events indexed in ElasticSearch")
+            .tag("result", "success")
+            .register(registry);
+    failedEvents =
+        Counter.builder("elasticsearch.indexing.events")
+            .description("Change events indexed in ElasticSearch")
+            .tag("result", "failure")
+            .register(registry);
+    bulkRequests =
+        Timer.builder("elasticsearch.indexing.bulk.requests")
+            .description("Latency of the bulk requests sent to ElasticSearch")
+            .register(registry);
+    Gauge.builder("elasticsearch.indexing.lag", lagMillis, AtomicLong::get)
+        .description("Time between the last indexed change event and its indexing")
+        .baseUnit("milliseconds")
+        .strongReference(true)
+        .register(registry);
+  }
+
+  void indexed(ChangeEvent event) {
+    indexedEvents.increment();
+    if (event.getTimestamp() != null) {
+      lagMillis.set(Math.max(0, System.currentTimeMillis() - event.getTimestamp()));
+    }
+  }
+
+  void failed(int count) {
+    failedEvents.increment(count);
+  }
+
+  void recordBulkRequest(long nanos) {
+    bulkRequests.record(nanos, TimeUnit.NANOSECONDS);
+  }
+}
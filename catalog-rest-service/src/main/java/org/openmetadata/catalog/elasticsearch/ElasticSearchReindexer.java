@@ -0,0 +1,279 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.elasticsearch;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.rest.RestStatus;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.EntityInterface;
+import org.openmetadata.catalog.elasticsearch.ElasticSearchIndexDefinition.ElasticSearchIndexType;
+import org.openmetadata.catalog.elasticsearch.ReindexCheckpoint.Progress;
+import org.openmetadata.catalog.entity.data.Dashboard;
+import org.openmetadata.catalog.entity.data.GlossaryTerm;
+import org.openmetadata.catalog.entity.data.MlModel;
+import org.openmetadata.catalog.entity.data.Pipeline;
+import org.openmetadata.catalog.entity.data.Table;
+import org.openmetadata.catalog.entity.data.Topic;
+import org.openmetadata.catalog.entity.tags.Tag;
+import org.openmetadata.catalog.entity.teams.Team;
+import org.openmetadata.catalog.entity.teams.User;
+import org.openmetadata.catalog.jdbi3.EntityRepository;
+import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.JsonUtils;
+
+/**
+ * Rebuilds the search indexes from the entities stored in the database. Entities of each type are streamed with keyset
+ * pagination on the name column and written with bulk requests.
+ *
+ * <p>A full reindex writes into a new versioned index, for example <i>table_search_index_1656000000000</i>, while
+ * search keeps using the current index. Once all the entities are written, the index name is made an alias of the new
+ * index in a single atomic update and the previous index is removed. Entities updated while the reindex was running are
+ * then written again through the alias. An incremental reindex writes the entities updated since a given time directly
+ * through the current index name.
+ *
+ * <p>Entity types are reindexed in parallel. Progress is saved to an optional checkpoint file after each page so that
+ * a run can be resumed.
+ */
+@Slf4j
+public class ElasticSearchReindexer {
+  private static final int MAX_ATTEMPTS = 5;
+
+  private static final Map<String, ElasticSearchIndexType> INDEX_TYPES = new LinkedHashMap<>();
+
+  static {
+    INDEX_TYPES.put(Entity.TABLE, ElasticSearchIndexType.TABLE_SEARCH_INDEX);
+    INDEX_TYPES.put(Entity.TOPIC, ElasticSearchIndexType.TOPIC_SEARCH_INDEX);
+    INDEX_TYPES.put(Entity.DASHBOARD, ElasticSearchIndexType.DASHBOARD_SEARCH_INDEX);
+    INDEX_TYPES.put(Entity.PIPELINE, ElasticSearchIndexType.PIPELINE_SEARCH_INDEX);
+    INDEX_TYPES.put(Entity.MLMODEL, ElasticSearchIndexType.MLMODEL_SEARCH_INDEX);
+    INDEX_TYPES.put(Entity.USER, ElasticSearchIndexType.USER_SEARCH_INDEX);
+    INDEX_TYPES.put(Entity.TEAM, ElasticSearchIndexType.TEAM_SEARCH_INDEX);
+    INDEX_TYPES.put(Entity.GLOSSARY_TERM, ElasticSearchIndexType.GLOSSARY_SEARCH_INDEX);
+    INDEX_TYPES.put(Entity.TAG, ElasticSearchIndexType.TAG_SEARCH_INDEX);
+  }
+
+  // Fields that are expensive to fetch and are not indexed
+  private static final List<String> EXCLUDED_FIELDS =
+      List.of(
+          "sampleData",
+          "tableProfile",
+          "tableProfilerConfig",
+          "joins",
+          "tableQueries",
+          "tests",
+          "customMetrics",
+          "location",
+          "extension",
+          "owns",
+          "follows");
+
+  private final RestHighLevelClient client;
+  private final ElasticSearchIndexDefinition indexDefinition;
+  private final int batchSize;
+  private final int workers;
+  private final Path checkpointFile;
+
+  public ElasticSearchReindexer(RestHighLevelClient client, int batchSize, int workers, Path checkpointFile) {
+    this.client = client;
+    this.indexDefinition = new ElasticSearchIndexDefinition(client);
+    this.batchSize = batchSize;
+    this.workers = workers;
+    this.checkpointFile = checkpointFile;
+  }
+
+  public static List<String> getEntityTypes() {
+    return new ArrayList<>(INDEX_TYPES.keySet());
+  }
+
+  /** Rebuild the indexes of the given entity types into new indexes and swap the aliases */
+  public void reindex(List<String> entityTypes) throws IOException {
+    ReindexCheckpoint checkpoint = ReindexCheckpoint.load(checkpointFile, null);
+    run(entityTypes, checkpoint, checkpointFile, true);
+
+    // Catch up with the entities that changed while the new indexes were being built
+    ReindexCheckpoint catchUp = new ReindexCheckpoint();
+    catchUp.setStartedAt(System.currentTimeMillis());
+    catchUp.setSince(checkpoint.getStartedAt());
+    run(entityTypes, catchUp, null, false);
+    deleteCheckpoint();
+  }
+
+  /** Index the entities of the given entity types updated at or after {@code since} into the current indexes */
+  public void reindexSince(List<String> entityTypes, long since) throws IOException {
+    run(entityTypes, ReindexCheckpoint.load(checkpointFile, since), checkpointFile, false);
+    deleteCheckpoint();
+  }
+
+  private void run(List<String> entityTypes, ReindexCheckpoint checkpoint, Path checkpointPath, boolean full)
+      throws IOException {
+    for (String entityType : entityTypes) {
+      if (!INDEX_TYPES.containsKey(entityType)) {
+        throw new IllegalArgumentException("No search index for entity type " + entityType);
+      }
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(workers);
+    try {
+      List<Future<?>> futures =
+          entityTypes.stream()
+              .map(type -> executor.submit(() -> reindexEntityType(type, checkpoint, checkpointPath, full)))
+              .collect(Collectors.toList());
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Reindex interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IOException("Reindex failed", e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private Void reindexEntityType(String entityType, ReindexCheckpoint checkpoint, Path checkpointPath, boolean full)
+      throws IOException {
+    ElasticSearchIndexType indexType = INDEX_TYPES.get(entityType);
+    String index = full ? indexType.indexName + "_" + checkpoint.getStartedAt() : indexType.indexName;
+    Progress progress = checkpoint.getProgress(entityType, index);
+    if (progress.isCompleted()) {
+      LOG.info("Skipping {} that was reindexed into {}", entityType, progress.getIndex());
+      return null;
+    }
+    if (full) {
+      indexDefinition.createIndex(indexType, progress.getIndex());
+    }
+
+    EntityRepository<EntityInterface> repository = Entity.getEntityRepository(entityType);
+    Fields fields = getIndexFields(repository);
+    long since = checkpoint.getSince() == null ? 0 : checkpoint.getSince();
+    List<EntityInterface> entities;
+    do {
+      entities = repository.listAfterUpdatedSince(fields, progress.getAfter(), since, batchSize);
+      if (entities.isEmpty()) {
+        break;
+      }
+      BulkRequest request = new BulkRequest();
+      for (EntityInterface entity : entities) {
+        Map<String, Object> doc = getIndex(entityType, entity).buildESDoc();
+        request.add(
+            new IndexRequest(progress.getIndex())
+                .id(entity.getId().toString())
+                .source(JsonUtils.pojoToJson(doc), XContentType.JSON));
+      }
+      bulkIndex(request);
+      progress.setAfter(repository.getNameColumnValue(entities.get(entities.size() - 1)));
+      progress.setCount(progress.getCount() + entities.size());
+      checkpoint.save(checkpointPath);
+      LOG.info("Reindexed {} {} entities into {}", progress.getCount(), entityType, progress.getIndex());
+    } while (entities.size() == batchSize);
+
+    if (full) {
+      indexDefinition.swapAlias(indexType, progress.getIndex());
+    }
+    progress.setCompleted(true);
+    checkpoint.save(checkpointPath);
+    return null;
+  }
+
+  /** Send the bulk request retrying the requests that were rejected due to load */
+  private void bulkIndex(BulkRequest request) throws IOException {
+    for (int attempt = 1; request.numberOfActions() > 0; attempt++) {
+      BulkResponse response = client.bulk(request, RequestOptions.DEFAULT);
+      if (!response.hasFailures()) {
+        return;
+      }
+      BulkRequest retry = new BulkRequest();
+      for (BulkItemResponse item : response.getItems()) {
+        if (!item.isFailed()) {
+          continue;
+        }
+        if (item.status() == RestStatus.TOO_MANY_REQUESTS || item.status() == RestStatus.SERVICE_UNAVAILABLE) {
+          retry.add(request.requests().get(item.getItemId()));
+        } else {
+          LOG.error("Failed to index {} {}: {}", item.getIndex(), item.getId(), item.getFailureMessage());
+        }
+      }
+      if (retry.numberOfActions() > 0 && attempt == MAX_ATTEMPTS) {
+        throw new IOException("Failed to index " + retry.numberOfActions() + " documents after retries");
+      }
+      request = retry;
+      backOff(attempt);
+    }
+  }
+
+  private static void backOff(int attempt) throws IOException {
+    try {
+      Thread.sleep(attempt * 1000L);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Reindex interrupted", e);
+    }
+  }
+
+  private static Fields getIndexFields(EntityRepository<?> repository) {
+    List<String> fields = new ArrayList<>(repository.getAllowedFields());
+    fields.removeAll(EXCLUDED_FIELDS);
+    return repository.getFields(String.join(",", fields));
+  }
+
+  static ElasticSearchIndex getIndex(String entityType, EntityInterface entity) {
+    switch (entityType) {
+      case Entity.TABLE:
+        return new TableIndex((Table) entity);
+      case Entity.TOPIC:
+        return new TopicIndex((Topic) entity);
+      case Entity.DASHBOARD:
+        return new DashboardIndex((Dashboard) entity);
+      case Entity.PIPELINE:
+        return new PipelineIndex((Pipeline) entity);
+      case Entity.MLMODEL:
+        return new MlModelIndex((MlModel) entity);
+      case Entity.USER:
+        return new UserIndex((User) entity);
+      case Entity.TEAM:
+        return new TeamIndex((Team) entity);
+      case Entity.GLOSSARY_TERM:
+        return new GlossaryTermIndex((GlossaryTerm) entity);
+      case Entity.TAG:
+        return new TagIndex((Tag) entity);
+      default:
+        throw new IllegalArgumentException("No search index for entity type " + entityType);
+    }
+  }
+
+  private void deleteCheckpoint() throws IOException {
+    if (checkpointFile != null) {
+      Files.deleteIfExists(checkpointFile);
+    }
+  }
+}
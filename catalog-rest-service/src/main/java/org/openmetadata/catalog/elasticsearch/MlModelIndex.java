@@ -7,7 +7,7 @@ import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.data.MlModel;
 import org.openmetadata.catalog.util.JsonUtils;
 
-public class MlModelIndex {
+public class MlModelIndex implements ElasticSearchIndex {
   MlModel mlModel;
 
   public MlModelIndex(MlModel mlModel) {
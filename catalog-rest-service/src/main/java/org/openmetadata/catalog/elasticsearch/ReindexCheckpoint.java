@@ -0,0 +1,88 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.elasticsearch;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.catalog.util.JsonUtils;
+
+/**
+ * Progress of a reindex run for each entity type. When a checkpoint file is used, the progress is saved after each
+ * page of entities so that a failed or interrupted run resumes from the last indexed entity.
+ */
+@Slf4j
+@Getter
+@Setter
+public class ReindexCheckpoint {
+  /** Time at which the run started. Versioned index names are derived from it. */
+  private long startedAt;
+
+  /** Entities updated at or after this time are reindexed. Null for a full reindex. */
+  private Long since;
+
+  private Map<String, Progress> progress = new ConcurrentHashMap<>();
+
+  @Getter
+  @Setter
+  public static class Progress {
+    private String index;
+    private String after = "";
+    private long count;
+    private boolean completed;
+  }
+
+  public Progress getProgress(String entityType, String index) {
+    return progress.computeIfAbsent(
+        entityType,
+        type -> {
+          Progress p = new Progress();
+          p.setIndex(index);
+          return p;
+        });
+  }
+
+  /** Load the checkpoint of a previous run with the same mode, otherwise start a new run */
+  public static ReindexCheckpoint load(Path path, Long since) throws IOException {
+    if (path != null && Files.exists(path)) {
+      ReindexCheckpoint checkpoint =
+          JsonUtils.readValue(Files.readString(path, StandardCharsets.UTF_8), ReindexCheckpoint.class);
+      if (Objects.equals(checkpoint.getSince(), since)) {
+        LOG.info("Resuming reindex started at {} from checkpoint {}", checkpoint.getStartedAt(), path);
+        return checkpoint;
+      }
+      LOG.warn("Ignoring checkpoint {} of a reindex run with a different mode", path);
+    }
+    ReindexCheckpoint checkpoint = new ReindexCheckpoint();
+    checkpoint.setStartedAt(System.currentTimeMillis());
+    checkpoint.setSince(since);
+    return checkpoint;
+  }
+
+  public synchronized void save(Path path) throws IOException {
+    if (path != null) {
+      Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+      Files.writeString(temp, JsonUtils.pojoToJson(this), StandardCharsets.UTF_8);
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+  }
+}
@@ -7,7 +7,7 @@ import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.teams.User;
 import org.openmetadata.catalog.util.JsonUtils;
 
-public class UserIndex {
+public class UserIndex implements ElasticSearchIndex {
   User user;
   final List<String> excludeFields = List.of("owns", "changeDescription");
 
@@ -35,11 +35,8 @@ public abstract class AbstractEventPublisher implements EventPublisher {
       throws Exception {
     // Ignore events that don't match the webhook event filters
     ChangeEvent changeEvent = changeEventHolder.get();
-    if (!filter.isEmpty()) {
-      List<String> entities = filter.get(changeEvent.getEventType());
-      if (entities == null || (!entities.get(0).equals("*") && !entities.contains(changeEvent.getEntityType()))) {
-        return;
-      }
+    if (!matchesFilter(changeEvent)) {
+      return;
     }
 
     // Batch until either the batch has ended or batch size has reached the max size
@@ -63,6 +60,14 @@ public abstract class AbstractEventPublisher implements EventPublisher {
     }
   }
 
+  protected boolean matchesFilter(ChangeEvent changeEvent) {
+    if (filter.isEmpty()) {
+      return true;
+    }
+    List<String> entities = filter.get(changeEvent.getEventType());
+    return entities != null && (entities.get(0).equals("*") || entities.contains(changeEvent.getEntityType()));
+  }
+
   protected void setNextBackOff() {
     if (currentBackoffTime == BACKOFF_NORMAL) {
       currentBackoffTime = BACKOFF_3_SECONDS;
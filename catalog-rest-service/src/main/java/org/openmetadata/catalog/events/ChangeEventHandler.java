@@ -78,13 +78,20 @@ public class ChangeEventHandler implements EventHandler {
           changeEvent.getEntityId(),
           changeEvent.getEventType(),
           changeEvent.getEntityType());
-      EventPubSub.publish(changeEvent);
-      if (changeEvent.getEntity() != null) {
-        Object entity = changeEvent.getEntity();
-        changeEvent = copyChangeEvent(changeEvent);
-        changeEvent.setEntity(JsonUtils.pojoToJson(entity));
+      if (Boolean.TRUE.equals(requestContext.getProperty(ChangeEventOutbox.RECORDED_PROPERTY))) {
+        LOG.debug("Change event {} was recorded in the outbox", changeEvent.getEntityId());
+      } else if (ChangeEventOutbox.isEnabled()) {
+        // Change events of the operations that don't record them are relayed from the outbox as well
+        ChangeEventOutbox.write(dao, changeEvent);
+      } else {
+        EventPubSub.publish(changeEvent);
+        if (changeEvent.getEntity() != null) {
+          Object entity = changeEvent.getEntity();
+          changeEvent = copyChangeEvent(changeEvent);
+          changeEvent.setEntity(JsonUtils.pojoToJson(entity));
+        }
+        dao.changeEventDAO().insert(JsonUtils.pojoToJson(changeEvent));
       }
-      dao.changeEventDAO().insert(JsonUtils.pojoToJson(changeEvent));
 
       // Add a new thread to the entity for every change event
       // for the event to appear in activity feeds
@@ -201,18 +208,23 @@ public class ChangeEventHandler implements EventHandler {
       return null;
     }
 
-    if (responseContext.getEntity() == null) {
+    return getChangeEvent(
+        responseContext.getStatus(),
+        responseContext.getHeaderString(RestUtil.CHANGE_CUSTOM_HEADER),
+        responseContext.getEntity());
+  }
+
+  /** Change event of a response with the given status, change type header, and entity */
+  public static ChangeEvent getChangeEvent(int responseCode, String changeType, Object responseEntity) {
+    if (responseEntity == null) {
       return null; // Response has no entity to produce change event from
     }
 
-    int responseCode = responseContext.getStatus();
-    String changeType = responseContext.getHeaderString(RestUtil.CHANGE_CUSTOM_HEADER);
-
     // Entity was created by either POST .../entities or PUT .../entities
     if (responseCode == Status.CREATED.getStatusCode()
         && !RestUtil.ENTITY_FIELDS_CHANGED.equals(changeType)
-        && !responseContext.getEntity().getClass().equals(Thread.class)) {
-      var entityInterface = (EntityInterface) responseContext.getEntity();
+        && !responseEntity.getClass().equals(Thread.class)) {
+      var entityInterface = (EntityInterface) responseEntity;
       EntityReference entityReference = entityInterface.getEntityReference();
       String entityType = entityReference.getType();
       String entityFQN = entityReference.getFullyQualifiedName();
@@ -229,7 +241,7 @@ public class ChangeEventHandler implements EventHandler {
     // Entity was updated by either PUT .../entities or PATCH .../entities
     // Entity was soft deleted by DELETE .../entities/{id} that updated the attribute `deleted` to true
     if (changeType.equals(RestUtil.ENTITY_UPDATED) || changeType.equals(RestUtil.ENTITY_SOFT_DELETED)) {
-      var entityInterface = (EntityInterface) responseContext.getEntity();
+      var entityInterface = (EntityInterface) responseEntity;
       EntityReference entityReference = entityInterface.getEntityReference();
       String entityType = entityReference.getType();
       String entityFQN = entityReference.getFullyQualifiedName();
@@ -251,12 +263,12 @@ public class ChangeEventHandler implements EventHandler {
 
     // Entity field was updated by PUT .../entities/{id}/fieldName - Example PUT ../tables/{id}/follower
     if (changeType.equals(RestUtil.ENTITY_FIELDS_CHANGED)) {
-      return (ChangeEvent) responseContext.getEntity();
+      return (ChangeEvent) responseEntity;
     }
 
     // Entity was hard deleted by DELETE .../entities/{id}
     if (changeType.equals(RestUtil.ENTITY_DELETED)) {
-      var entityInterface = (EntityInterface) responseContext.getEntity();
+      var entityInterface = (EntityInterface) responseEntity;
       EntityReference entityReference = entityInterface.getEntityReference();
       String entityType = entityReference.getType();
       String entityFQN = entityReference.getFullyQualifiedName();
@@ -0,0 +1,194 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.ws.rs.core.Response;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TransactionCallback;
+import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.util.JsonUtils;
+import org.openmetadata.catalog.util.RestUtil;
+
+/**
+ * Transactional outbox for change events. By default, {@link ChangeEventHandler} builds the change event from the
+ * response of a request, publishes it to {@link EventPubSub} and stores it in the <i>change_event</i> table
+ * asynchronously after the response is sent. A crash loses the events of the requests in flight, and the event
+ * publishers can diverge from the database.
+ *
+ * <p>When the outbox is enabled, an operation that changes an entity runs in a transaction that also writes its change
+ * event to the <i>change_event</i> and <i>change_event_outbox</i> tables. A relay thread reads the outbox in batches,
+ * publishes the events to {@link EventPubSub} and removes them from the outbox. Delivery to the event publishers is
+ * at-least-once, and the request threads never wait for the ring buffer.
+ */
+@Slf4j
+public final class ChangeEventOutbox {
+  /** Request property set to true when the change event of the request was recorded in the outbox */
+  public static final String RECORDED_PROPERTY = "changeEventRecorded";
+
+  private static final ThreadLocal<Boolean> IN_OPERATION = new ThreadLocal<>();
+  private static final ThreadLocal<Boolean> RECORDED = new ThreadLocal<>();
+
+  private static volatile boolean enabled = false;
+  private static CollectionDAO dao;
+  private static ScheduledExecutorService relayExecutor;
+  private static int relayBatchSize;
+
+  private ChangeEventOutbox() {}
+
+  public static synchronized void initialize(EventHandlerConfiguration config, CollectionDAO collectionDAO) {
+    if (enabled || !Boolean.TRUE.equals(config.getOutbox())) {
+      return;
+    }
+    dao = collectionDAO;
+    relayBatchSize = config.getOutboxRelayBatchSize();
+    relayExecutor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("change-event-outbox-relay").setDaemon(true).build());
+    relayExecutor.scheduleWithFixedDelay(
+        ChangeEventOutbox::relay, 0, config.getOutboxRelayIntervalMillis(), TimeUnit.MILLISECONDS);
+    enabled = true;
+    LOG.info("Change event outbox enabled");
+  }
+
+  public static synchronized void shutdown() throws InterruptedException {
+    if (enabled) {
+      enabled = false;
+      relayExecutor.shutdownNow();
+      relayExecutor.awaitTermination(10, TimeUnit.SECONDS);
+      relayExecutor = null;
+      LOG.info("Change event outbox relay stopped");
+    }
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Run an operation that changes an entity. When the outbox is enabled, the operation and the change event of its
+   * result are written in one transaction. Operations nested in another operation, such as deleting the children of a
+   * deleted entity, don't record a change event of their own.
+   */
+  public static <R> R record(
+      CollectionDAO collectionDAO, TransactionCallback<R> operation, Function<R, ChangeEvent> changeEvent)
+      throws IOException {
+    if (!enabled || Boolean.TRUE.equals(IN_OPERATION.get())) {
+      return operation.call();
+    }
+    IN_OPERATION.set(true);
+    try {
+      return collectionDAO.inTransaction(
+          () -> {
+            R result = operation.call();
+            ChangeEvent event = changeEvent.apply(result);
+            if (event != null) {
+              write(collectionDAO, event);
+              RECORDED.set(true);
+            }
+            return result;
+          });
+    } finally {
+      IN_OPERATION.remove();
+    }
+  }
+
+  /** Change event of an operation that returns a response */
+  public static ChangeEvent getChangeEvent(Response response) {
+    return ChangeEventHandler.getChangeEvent(
+        response.getStatus(), response.getHeaderString(RestUtil.CHANGE_CUSTOM_HEADER), response.getEntity());
+  }
+
+  /** Returns true if a change event was recorded on the current thread since the last call, and clears it */
+  public static boolean consumeRecorded() {
+    boolean recorded = Boolean.TRUE.equals(RECORDED.get());
+    RECORDED.remove();
+    return recorded;
+  }
+
+  /** Write the change event to the change event table and the outbox */
+  public static void write(CollectionDAO collectionDAO, ChangeEvent event) throws JsonProcessingException {
+    String json = encode(event);
+    collectionDAO.changeEventDAO().insert(json);
+    collectionDAO.changeEventDAO().insertOutbox(json);
+  }
+
+  /** Write a batch of change events to the change event table and the outbox */
+  public static void writeBatch(CollectionDAO collectionDAO, List<String> jsons) {
+    collectionDAO.changeEventDAO().insertBatch(jsons);
+    collectionDAO.changeEventDAO().insertOutboxBatch(jsons);
+  }
+
+  /** JSON of the change event as stored in the database, where the entity is encoded as a JSON string */
+  public static String encode(ChangeEvent event) throws JsonProcessingException {
+    Object entity = event.getEntity();
+    if (entity == null || entity instanceof String) {
+      return JsonUtils.pojoToJson(event);
+    }
+    try {
+      event.setEntity(JsonUtils.pojoToJson(entity));
+      return JsonUtils.pojoToJson(event);
+    } finally {
+      event.setEntity(entity);
+    }
+  }
+
+  /** Read a stored change event and decode its entity */
+  public static ChangeEvent decode(String json) throws IOException {
+    return decodeEntity(JsonUtils.readValue(json, ChangeEvent.class));
+  }
+
+  /** Decode the entity of a stored change event, so that publishers receive the entity as it was published */
+  public static ChangeEvent decodeEntity(ChangeEvent event) {
+    if (event.getEntity() instanceof String) {
+      try {
+        Class<?> entityClass = Entity.getEntityRepository(event.getEntityType()).dao.getEntityClass();
+        event.setEntity(JsonUtils.readValue((String) event.getEntity(), entityClass));
+      } catch (Exception ex) {
+        LOG.warn("Failed to decode the {} entity of change event {}", event.getEntityType(), event.getEntityId());
+      }
+    }
+    return event;
+  }
+
+  private static void relay() {
+    try {
+      int relayed;
+      do {
+        relayed = dao.changeEventDAO().relayOutbox(relayBatchSize, ChangeEventOutbox::publish);
+      } while (relayed == relayBatchSize && enabled);
+    } catch (Exception ex) {
+      LOG.error("Failed to relay change events from the outbox", ex);
+    }
+  }
+
+  private static void publish(List<String> jsons) {
+    for (String json : jsons) {
+      try {
+        EventPubSub.publish(decode(json));
+      } catch (IOException ex) {
+        LOG.error("Skipping unreadable change event {}", json, ex);
+      }
+    }
+  }
+}
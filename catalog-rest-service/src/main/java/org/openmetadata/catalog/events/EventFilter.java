@@ -56,6 +56,8 @@ public class EventFilter implements ContainerResponseFilter {
 
   @Override
   public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+    // The filter runs on the thread of the request that may have recorded its change event in the outbox
+    requestContext.setProperty(ChangeEventOutbox.RECORDED_PROPERTY, ChangeEventOutbox.consumeRecorded());
     int responseCode = responseContext.getStatus();
     String method = requestContext.getMethod();
     if ((responseCode < 200 || responseCode > 299) || (!AUDITABLE_METHODS.contains(method))) {
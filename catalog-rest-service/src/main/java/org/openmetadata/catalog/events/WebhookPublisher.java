@@ -13,25 +13,39 @@
 
 package org.openmetadata.catalog.events;
 
-import com.lmax.disruptor.BatchEventProcessor;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.github.maksymdolgykh.dropwizard.micrometer.MicrometerBundle;
+import io.micrometer.core.instrument.Gauge;
 import java.io.IOException;
 import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CountDownLatch;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.ws.rs.ProcessingException;
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.ClientBuilder;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Triple;
 import org.openmetadata.catalog.events.errors.EventPublisherException;
+import org.openmetadata.catalog.events.errors.RetriableException;
+import org.openmetadata.catalog.events.errors.WebhookRetriableException;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.EntityRepository;
 import org.openmetadata.catalog.jdbi3.WebhookRepository;
 import org.openmetadata.catalog.jdbi3.WebhookRepository.WebhookUpdater;
-import org.openmetadata.catalog.resources.events.EventResource;
+import org.openmetadata.catalog.resources.events.EventResource.ChangeEventList;
 import org.openmetadata.catalog.security.SecurityUtil;
+import org.openmetadata.catalog.type.ChangeEvent;
 import org.openmetadata.catalog.type.FailureDetails;
+import org.openmetadata.catalog.type.Include;
 import org.openmetadata.catalog.type.Webhook;
 import org.openmetadata.catalog.util.JsonUtils;
 import org.openmetadata.catalog.util.RestUtil;
@@ -39,8 +53,23 @@ import org.openmetadata.common.utils.CommonUtil;
 
 /**
  * WebhookPublisher publishes events to the webhook endpoint using POST http requests. There is one instance of
- * WebhookPublisher per webhook subscription. Each WebhookPublish is an EventHandler that runs in a separate thread and
- * receives events from LMAX Disruptor {@link EventPubSub} through {@link BatchEventProcessor}.
+ * WebhookPublisher per webhook subscription. Each WebhookPublisher runs in its own thread and reads the change events
+ * persisted in the <i>change_event</i> table after its cursor, instead of receiving them from the LMAX Disruptor
+ * {@link EventPubSub}. A slow or failing webhook endpoint only delays its own deliveries and never holds back the
+ * ring buffer that the API requests publish to.
+ *
+ * <p>The cursor is the id of the last change event delivered to the webhook. It is stored in the <i>webhook_delivery</i>
+ * table so that the delivery resumes from the same point after a restart or on another server. Ids are allocated when
+ * the events are inserted, so an event can be committed after the events with higher ids. Events are read in the order
+ * of their ids up to the first gap in the ids, and the events after a gap are read only when the gap has lasted longer
+ * than the time that any insert takes to be committed. Delivery is at-least-once.
+ *
+ * <p>Every server runs a WebhookPublisher for each webhook. Only the server holding the lease of the webhook in the
+ * <i>webhook_delivery</i> table delivers its events and moves its cursor, and the other servers wait for the lease to
+ * expire or to be released. The lease is claimed with a row lock that the other servers skip, and is extended each time
+ * the cursor is moved. The webhook is read again from the database before the lease is claimed or renewed, so that the
+ * server taking over the delivery uses the configuration updated through any server, and no server delivers the events
+ * of a webhook that is disabled or that stopped after failures.
  *
  * <p>The failures during callback to Webhook endpoints are handled in this class as follows:
  *
@@ -52,12 +81,34 @@ import org.openmetadata.common.utils.CommonUtil;
  *       all the 5 delivery attempts fail, the webhook state is marked as "retryLimitReached" and no further attempt is
  *       made to deliver the events.
  * </ul>
+ *
+ * <p>The time since the oldest change event not yet delivered to the webhook is exposed as the
+ * <i>webhook.delivery.lag</i> gauge tagged with the webhook name.
  */
 @Slf4j
 public class WebhookPublisher extends AbstractEventPublisher {
-  private final CountDownLatch shutdownLatch = new CountDownLatch(1);
+  // Identifies the server in the leases of the webhooks that it delivers
+  private static final String SERVER_ID = UUID.randomUUID().toString();
+  private static final long POLL_INTERVAL_MILLIS = 500;
+  // Servers that don't hold the lease of a webhook check whether it is available this often
+  private static final long STANDBY_POLL_INTERVAL_MILLIS = 3000;
+  // Time that a server holds the lease after claiming it or moving the cursor. It is renewed when half of it is left.
+  static final long LEASE_MILLIS = 30_000;
+  // A gap in the ids of the change events is either an insert not yet committed or an insert that was rolled back.
+  // The events after a gap are read once the gap has lasted this long, so that late commits are not skipped.
+  static final long GAP_TIMEOUT_MILLIS = 30_000;
+  // A webhook without a cursor starts with the events stored since it was last updated, and at most this long ago
+  private static final long START_WINDOW_MILLIS = 1000;
+
   private final Webhook webhook;
-  private BatchEventProcessor<EventPubSub.ChangeEventHolder> processor;
+  private final AtomicLong lagMillis = new AtomicLong();
+  private ScheduledExecutorService executor;
+  private ScheduledFuture<?> nextPoll;
+  private Gauge lagGauge;
+  private long cursor;
+  private long leaseExpiresAt; // 0 when the server doesn't hold the lease
+  private long gapId; // Id of the event after the gap in the ids that holds back the delivery
+  private long gapSince;
   private Client client;
   private CollectionDAO daoCollection;
 
@@ -82,14 +133,55 @@ public class WebhookPublisher extends AbstractEventPublisher {
     currentBackoffTime = BACKOFF_NORMAL;
     client.close();
     client = null;
-    shutdownLatch.countDown();
     LOG.info("Webhook-lifecycle-onShutdown {}", webhook.getName());
   }
 
+  /** Start delivering the change events after the stored cursor. Starting a running publisher has no effect. */
+  public synchronized void start() {
+    if (executor != null && !executor.isShutdown()) {
+      return;
+    }
+    initializeCursor();
+    leaseExpiresAt = 0;
+    onStart();
+    lagGauge =
+        Gauge.builder("webhook.delivery.lag", lagMillis, AtomicLong::get)
+            .description("Time since the oldest change event not yet delivered to the webhook")
+            .tag("webhook", webhook.getName())
+            .baseUnit("milliseconds")
+            .strongReference(true)
+            .register(MicrometerBundle.prometheusRegistry);
+    executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("webhook-" + webhook.getName()).setDaemon(true).build());
+    nextPoll = executor.schedule(this::poll, 0, TimeUnit.MILLISECONDS);
+  }
+
+  public void stop() throws InterruptedException {
+    ScheduledExecutorService stopped;
+    synchronized (this) {
+      stopped = executor;
+      executor = null;
+    }
+    if (stopped == null) {
+      return;
+    }
+    LOG.info("Awaiting shutdown webhook-lifecycle {}", webhook.getName());
+    stopped.shutdownNow();
+    stopped.awaitTermination(5, TimeUnit.SECONDS);
+    MicrometerBundle.prometheusRegistry.remove(lagGauge);
+    onShutdown();
+    releaseLease();
+  }
+
   public synchronized Webhook getWebhook() {
     return webhook;
   }
 
+  public long getLagMillis() {
+    return lagMillis.get();
+  }
+
   public synchronized void updateWebhook(Webhook updatedWebhook) {
     currentBackoffTime = BACKOFF_NORMAL;
     webhook.setTimeout(updatedWebhook.getTimeout());
@@ -98,6 +190,10 @@ public class WebhookPublisher extends AbstractEventPublisher {
     webhook.setEventFilters(updatedWebhook.getEventFilters());
     updateFilter();
     createClient();
+    // Retry right away instead of waiting for the backoff of the previous configuration
+    if (executor != null && nextPoll != null && nextPoll.cancel(false)) {
+      nextPoll = executor.schedule(this::poll, 0, TimeUnit.MILLISECONDS);
+    }
   }
 
   private void updateFilter() {
@@ -105,17 +201,207 @@ public class WebhookPublisher extends AbstractEventPublisher {
     webhook.getEventFilters().forEach(f -> filter.put(f.getEventType(), f.getEntities()));
   }
 
+  void poll() {
+    long delay = POLL_INTERVAL_MILLIS;
+    try {
+      if (!claimLease()) {
+        lagMillis.set(0);
+        scheduleNextPoll(STANDBY_POLL_INTERVAL_MILLIS);
+        return;
+      }
+      List<Triple<Long, Long, String>> records = readEvents();
+      if (!records.isEmpty()) {
+        deliver(records);
+        saveCursor(records.get(records.size() - 1).getMiddle(), System.currentTimeMillis() + LEASE_MILLIS);
+        currentBackoffTime = BACKOFF_NORMAL;
+        delay = records.size() >= webhook.getBatchSize() ? 0 : POLL_INTERVAL_MILLIS;
+      }
+    } catch (RetriableException ex) {
+      LOG.error(
+          "Failed to publish events to webhook {} due to {}, will try again in {} ms",
+          webhook.getName(),
+          ex.getMessage(),
+          currentBackoffTime);
+      delay = currentBackoffTime;
+    } catch (EventPublisherException ex) {
+      // The failure is stored in the webhook, so that the servers waiting for the lease don't resume the delivery
+      LOG.error("Stopped publishing events to webhook {} due to {}", webhook.getName(), ex.getMessage());
+      releaseLease();
+      return;
+    } catch (Exception ex) {
+      LOG.error("Failed to read change events for webhook {}", webhook.getName(), ex);
+    }
+    extendLease(delay);
+    scheduleNextPoll(delay);
+  }
+
+  /**
+   * Claim the lease to deliver the events of the webhook, or renew it when half of it is left. Returns false when
+   * another server holds the lease, or when the stored webhook is not to be delivered.
+   */
+  private boolean claimLease() throws IOException {
+    long now = System.currentTimeMillis();
+    if (now < leaseExpiresAt - LEASE_MILLIS / 2) {
+      return true;
+    }
+    // The webhook may have been updated, disabled, or stopped after failures through another server
+    String json = daoCollection.webhookDAO().findJsonById(webhook.getId().toString(), Include.NON_DELETED);
+    Webhook stored = json == null ? null : JsonUtils.readValue(json, Webhook.class);
+    if (!isDeliverable(stored)) {
+      releaseLease();
+      return false;
+    }
+    refreshWebhook(stored);
+    Long claimed =
+        daoCollection.webhookDeliveryDAO().claim(webhook.getId().toString(), SERVER_ID, now, now + LEASE_MILLIS);
+    if (claimed == null) {
+      leaseExpiresAt = 0;
+      return false;
+    }
+    if (leaseExpiresAt == 0) {
+      LOG.info("Claimed the lease to deliver the events of webhook {}", webhook.getName());
+    }
+    // Another server may have moved the cursor since the lease was last held
+    cursor = claimed;
+    leaseExpiresAt = now + LEASE_MILLIS;
+    return true;
+  }
+
+  private static boolean isDeliverable(Webhook stored) {
+    return stored != null
+        && !Boolean.FALSE.equals(stored.getEnabled())
+        && stored.getStatus() != Webhook.Status.FAILED
+        && stored.getStatus() != Webhook.Status.RETRY_LIMIT_REACHED;
+  }
+
+  /** Use the configuration and status of the stored webhook */
+  private synchronized void refreshWebhook(Webhook stored) {
+    webhook.setTimeout(stored.getTimeout());
+    webhook.setBatchSize(stored.getBatchSize());
+    webhook.setEndpoint(stored.getEndpoint());
+    webhook.setSecretKey(stored.getSecretKey());
+    webhook.setEventFilters(stored.getEventFilters());
+    webhook.setStatus(stored.getStatus());
+    updateFilter();
+  }
+
+  /** Let another server take over the delivery right away */
+  private void releaseLease() {
+    if (leaseExpiresAt != 0) {
+      daoCollection.webhookDeliveryDAO().release(webhook.getId().toString(), SERVER_ID);
+      leaseExpiresAt = 0;
+    }
+  }
+
+  /** Extend the lease so that it doesn't expire before the next poll, such as while waiting for a retry */
+  private void extendLease(long delay) {
+    long expiresAt = System.currentTimeMillis() + delay + LEASE_MILLIS;
+    if (leaseExpiresAt == 0 || expiresAt - LEASE_MILLIS / 2 <= leaseExpiresAt) {
+      return;
+    }
+    try {
+      saveCursor(cursor, expiresAt);
+    } catch (Exception ex) {
+      LOG.error("Failed to extend the lease of webhook {}", webhook.getName(), ex);
+    }
+  }
+
+  private synchronized void scheduleNextPoll(long delay) {
+    if (executor != null && !executor.isShutdown()) {
+      nextPoll = executor.schedule(this::poll, delay, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  /**
+   * Read the next page of change events after the cursor as (eventTime, id, json) records. The page ends before the
+   * first gap in the ids that has lasted less than {@link #GAP_TIMEOUT_MILLIS}.
+   */
+  List<Triple<Long, Long, String>> readEvents() {
+    List<Triple<Long, Long, String>> page = daoCollection.changeEventDAO().listAfterId(cursor, webhook.getBatchSize());
+    long now = System.currentTimeMillis();
+    lagMillis.set(page.isEmpty() ? 0 : now - page.get(0).getLeft());
+    long previous = cursor;
+    for (int i = 0; i < page.size(); i++) {
+      long id = page.get(i).getMiddle();
+      if (id != previous + 1 && !isGapExpired(id, now)) {
+        return page.subList(0, i);
+      }
+      previous = id;
+    }
+    return page;
+  }
+
+  /** Returns true when the gap in the ids before the given id was first seen at least GAP_TIMEOUT_MILLIS ago */
+  private boolean isGapExpired(long id, long now) {
+    if (id != gapId) {
+      gapId = id;
+      gapSince = now;
+    }
+    return now - gapSince >= GAP_TIMEOUT_MILLIS;
+  }
+
+  /** Publish the events that match the webhook filter in batches */
+  private void deliver(List<Triple<Long, Long, String>> records) throws IOException {
+    List<ChangeEvent> matched = new ArrayList<>();
+    for (Triple<Long, Long, String> record : records) {
+      ChangeEvent event = JsonUtils.readValue(record.getRight(), ChangeEvent.class);
+      if (matchesFilter(event)) {
+        matched.add(ChangeEventOutbox.decodeEntity(event));
+      }
+    }
+    for (int i = 0; i < matched.size(); i += webhook.getBatchSize()) {
+      batch.clear();
+      batch.addAll(matched.subList(i, Math.min(i + webhook.getBatchSize(), matched.size())));
+      publish(new ChangeEventList(batch, null, null, batch.size()));
+      batch.clear();
+    }
+  }
+
+  /** Store the cursor of a webhook that doesn't have one yet */
+  private void initializeCursor() {
+    String webhookId = webhook.getId().toString();
+    if (daoCollection.webhookDeliveryDAO().getCursor(webhookId) != null) {
+      return;
+    }
+    // Start with the events stored after the webhook was last updated, such as the event of its creation
+    long start = System.currentTimeMillis() - START_WINDOW_MILLIS;
+    if (webhook.getUpdatedAt() != null) {
+      start = Math.max(start, webhook.getUpdatedAt());
+    }
+    Long first = daoCollection.changeEventDAO().getFirstIdSince(start);
+    long id = first != null ? first - 1 : daoCollection.changeEventDAO().getMaxId();
+    daoCollection.webhookDeliveryDAO().insertIfAbsent(webhookId, id);
+  }
+
+  /** Move the cursor and extend the lease. Nothing is stored when another server has claimed the lease meanwhile. */
+  private void saveCursor(long changeEventId, long expiresAt) {
+    String webhookId = webhook.getId().toString();
+    if (daoCollection.webhookDeliveryDAO().updateCursor(webhookId, SERVER_ID, changeEventId, expiresAt) == 0) {
+      LOG.warn("Lost the lease to deliver the events of webhook {}", webhook.getName());
+      leaseExpiresAt = 0;
+      return;
+    }
+    cursor = changeEventId;
+    leaseExpiresAt = expiresAt;
+  }
+
   private void setErrorStatus(Long attemptTime, Integer statusCode, String reason) throws IOException {
     if (!attemptTime.equals(webhook.getFailureDetails().getLastFailedAt())) {
       setStatus(Webhook.Status.FAILED, attemptTime, statusCode, reason, null);
     }
-    throw new RuntimeException(reason);
+    throw new EventPublisherException(reason);
   }
 
-  private void setAwaitingRetry(Long attemptTime, int statusCode, String reason) throws IOException {
+  private void setAwaitingRetry(Long attemptTime, Integer statusCode, String reason) throws IOException {
+    if (currentBackoffTime == BACKOFF_24_HOUR) {
+      setStatus(Webhook.Status.RETRY_LIMIT_REACHED, attemptTime, statusCode, reason, null);
+      throw new EventPublisherException(reason);
+    }
+    setNextBackOff();
     if (!attemptTime.equals(webhook.getFailureDetails().getLastFailedAt())) {
       setStatus(Webhook.Status.AWAITING_RETRY, attemptTime, statusCode, reason, attemptTime + currentBackoffTime);
     }
+    throw new WebhookRetriableException(reason);
   }
 
   private void setStatus(Webhook.Status status, Long attemptTime, Integer statusCode, String reason, Long timestamp)
@@ -145,64 +431,51 @@ public class WebhookPublisher extends AbstractEventPublisher {
     client = clientBuilder.build();
   }
 
-  public void awaitShutdown() throws InterruptedException {
-    LOG.info("Awaiting shutdown webhook-lifecycle {}", webhook.getName());
-    shutdownLatch.await(5, TimeUnit.SECONDS);
-  }
-
-  public void setProcessor(BatchEventProcessor<EventPubSub.ChangeEventHolder> processor) {
-    this.processor = processor;
-  }
-
-  public BatchEventProcessor<EventPubSub.ChangeEventHolder> getProcessor() {
-    return processor;
-  }
-
-  private Invocation.Builder getTarget() {
+  private synchronized Invocation.Builder getTarget() {
     Map<String, String> authHeaders = SecurityUtil.authHeaders("admin@open-metadata.org");
     return SecurityUtil.addHeaders(client.target(webhook.getEndpoint()), authHeaders);
   }
 
   @Override
-  public void publish(EventResource.ChangeEventList list) throws EventPublisherException, IOException {
+  public void publish(ChangeEventList list) throws EventPublisherException, IOException {
     long attemptTime = System.currentTimeMillis();
+    Response response;
     try {
       String json = JsonUtils.pojoToJson(list);
-      Response response;
       if (webhook.getSecretKey() != null && !webhook.getSecretKey().isEmpty()) {
         String hmac = "sha256=" + CommonUtil.calculateHMAC(webhook.getSecretKey(), json);
         response = getTarget().header(RestUtil.SIGNATURE_HEADER, hmac).post(javax.ws.rs.client.Entity.json(json));
       } else {
         response = getTarget().post(javax.ws.rs.client.Entity.json(json));
       }
-      LOG.info(
-          "Webhook {}:{}:{} received response {}",
-          webhook.getName(),
-          webhook.getStatus(),
-          batch.size(),
-          response.getStatusInfo());
-      // 2xx response means call back is successful
-      if (response.getStatus() >= 200 && response.getStatus() < 300) { // All 2xx responses
-        webhook.getFailureDetails().setLastSuccessfulAt(batch.get(batch.size() - 1).getTimestamp());
-        batch.clear();
-        if (webhook.getStatus() != Webhook.Status.ACTIVE) {
-          setStatus(Webhook.Status.ACTIVE, null, null, null, null);
-        }
-        // 3xx response/redirection is not allowed for callback. Set the webhook state as in error
-      } else if (response.getStatus() >= 300 && response.getStatus() < 400) {
-        setErrorStatus(attemptTime, response.getStatus(), response.getStatusInfo().getReasonPhrase());
-        // 4xx, 5xx response retry delivering events after timeout
-      } else if (response.getStatus() >= 300 && response.getStatus() < 600) {
-        setNextBackOff();
-        setAwaitingRetry(attemptTime, response.getStatus(), response.getStatusInfo().getReasonPhrase());
-        Thread.sleep(currentBackoffTime);
-      }
-    } catch (Exception ex) {
-      Throwable cause = ex.getCause();
-      if (cause.getClass() == UnknownHostException.class) {
+    } catch (ProcessingException ex) {
+      if (ex.getCause() instanceof UnknownHostException) {
         LOG.warn("Invalid webhook {} endpoint {}", webhook.getName(), webhook.getEndpoint());
         setErrorStatus(attemptTime, null, "UnknownHostException");
       }
+      // Connection failures and timeouts are retried
+      setAwaitingRetry(attemptTime, null, ex.getMessage());
+      return;
+    }
+    LOG.info(
+        "Webhook {}:{}:{} received response {}",
+        webhook.getName(),
+        webhook.getStatus(),
+        batch.size(),
+        response.getStatusInfo());
+    // 2xx response means call back is successful
+    if (response.getStatus() >= 200 && response.getStatus() < 300) { // All 2xx responses
+      webhook.getFailureDetails().setLastSuccessfulAt(batch.get(batch.size() - 1).getTimestamp());
+      batch.clear();
+      if (webhook.getStatus() != Webhook.Status.ACTIVE) {
+        setStatus(Webhook.Status.ACTIVE, null, null, null, null);
+      }
+      // 3xx response/redirection is not allowed for callback. Set the webhook state as in error
+    } else if (response.getStatus() >= 300 && response.getStatus() < 400) {
+      setErrorStatus(attemptTime, response.getStatus(), response.getStatusInfo().getReasonPhrase());
+      // 4xx, 5xx response retry delivering events after timeout
+    } else if (response.getStatus() >= 300 && response.getStatus() < 600) {
+      setAwaitingRetry(attemptTime, response.getStatus(), response.getStatusInfo().getReasonPhrase());
     }
   }
 }
@@ -0,0 +1,13 @@
+package org.openmetadata.catalog.events.errors;
+
+public class WebhookRetriableException extends RetriableException {
+  private static final long serialVersionUID = 1L;
+
+  public WebhookRetriableException(String message) {
+    super(message);
+  }
+
+  public WebhookRetriableException(Throwable cause) {
+    super(cause);
+  }
+}
@@ -19,12 +19,23 @@ import static org.openmetadata.catalog.type.EventType.ENTITY_SOFT_DELETED;
 import static org.openmetadata.catalog.type.EventType.ENTITY_UPDATED;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import org.jdbi.v3.sqlobject.transaction.Transaction;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Triple;
 import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.type.EventType;
 import org.openmetadata.catalog.util.JsonUtils;
+import org.openmetadata.catalog.util.RestUtil;
+import org.openmetadata.catalog.util.ResultList;
+import org.openmetadata.common.utils.CommonUtil;
 
+/**
+ * Change events are read in the order they were stored, one page at a time, using the position (eventTime, id) of the
+ * last event returned as the cursor. Memory used to serve a request is bounded by the page size.
+ */
 public class ChangeEventRepository {
   private final CollectionDAO dao;
 
@@ -32,20 +43,118 @@ public class ChangeEventRepository {
     this.dao = dao;
   }
 
-  @Transaction
-  public List<ChangeEvent> list(
-      long timestamp, List<String> entityCreatedList, List<String> entityUpdatedList, List<String> entityDeletedList)
+  /**
+   * List a page of change events starting from the given timestamp, or after the given cursor. The returned after
+   * cursor is always set to the position of the last event read so that consumers can tail the events.
+   */
+  public ResultList<ChangeEvent> list(
+      long timestamp,
+      List<String> entityCreatedList,
+      List<String> entityUpdatedList,
+      List<String> entityDeletedList,
+      int limit,
+      String after)
+      throws IOException {
+    String condition = getCondition(entityCreatedList, entityUpdatedList, entityDeletedList);
+    Cursor cursor = Cursor.of(timestamp, after);
+    List<ChangeEvent> events = new ArrayList<>();
+    if (condition != null) {
+      List<Triple<Long, Long, String>> records = listAfter(condition, cursor, limit);
+      for (Triple<Long, Long, String> record : records) {
+        events.add(JsonUtils.readValue(record.getRight(), ChangeEvent.class));
+        cursor = new Cursor(record.getLeft(), record.getMiddle());
+      }
+    }
+    return new ResultList<>(events, null, cursor.toString(), events.size());
+  }
+
+  /**
+   * Write the change events starting from the given timestamp, or after the given cursor, as newline delimited JSON.
+   * Events are read from the database in pages of the given size.
+   */
+  public void stream(
+      long timestamp,
+      List<String> entityCreatedList,
+      List<String> entityUpdatedList,
+      List<String> entityDeletedList,
+      int pageSize,
+      String after,
+      OutputStream out)
       throws IOException {
-    List<String> jsons = new ArrayList<>();
-    jsons.addAll(dao.changeEventDAO().list(ENTITY_CREATED.value(), entityCreatedList, timestamp));
-    jsons.addAll(dao.changeEventDAO().list(ENTITY_UPDATED.value(), entityUpdatedList, timestamp));
-    jsons.addAll(dao.changeEventDAO().list(ENTITY_DELETED.value(), entityDeletedList, timestamp));
-    jsons.addAll(dao.changeEventDAO().list(ENTITY_SOFT_DELETED.value(), entityDeletedList, timestamp));
-
-    List<ChangeEvent> changeEvents = new ArrayList<>();
-    for (String json : jsons) {
-      changeEvents.add(JsonUtils.readValue(json, ChangeEvent.class));
+    String condition = getCondition(entityCreatedList, entityUpdatedList, entityDeletedList);
+    if (condition == null) {
+      return;
+    }
+    Cursor cursor = Cursor.of(timestamp, after);
+    List<Triple<Long, Long, String>> records;
+    do {
+      records = listAfter(condition, cursor, pageSize);
+      for (Triple<Long, Long, String> record : records) {
+        out.write(record.getRight().getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+      }
+      out.flush();
+      if (!records.isEmpty()) {
+        Triple<Long, Long, String> last = records.get(records.size() - 1);
+        cursor = new Cursor(last.getLeft(), last.getMiddle());
+      }
+    } while (records.size() == pageSize);
+  }
+
+  private List<Triple<Long, Long, String>> listAfter(String condition, Cursor cursor, int limit) {
+    return dao.changeEventDAO().listAfter(condition, cursor.eventTime, cursor.id, limit);
+  }
+
+  /** Condition matching the requested event types and entity types. Returns null when no events are requested. */
+  static String getCondition(
+      List<String> entityCreatedList, List<String> entityUpdatedList, List<String> entityDeletedList) {
+    List<String> conditions = new ArrayList<>();
+    addCondition(conditions, ENTITY_CREATED, entityCreatedList);
+    addCondition(conditions, ENTITY_UPDATED, entityUpdatedList);
+    addCondition(conditions, ENTITY_DELETED, entityDeletedList);
+    addCondition(conditions, ENTITY_SOFT_DELETED, entityDeletedList);
+    return conditions.isEmpty() ? null : String.join(" OR ", conditions);
+  }
+
+  private static void addCondition(List<String> conditions, EventType eventType, List<String> entityTypes) {
+    if (CommonUtil.nullOrEmpty(entityTypes)) {
+      return;
+    }
+    // Entity types are validated against the registered entities before reaching here
+    String condition = String.format("eventType = '%s'", eventType.value());
+    if (!entityTypes.get(0).equals("*")) {
+      String types = entityTypes.stream().map(type -> "'" + type + "'").collect(Collectors.joining(","));
+      condition = String.format("(%s AND entityType IN (%s))", condition, types);
+    }
+    conditions.add(condition);
+  }
+
+  /** Position of a change event in the change event table */
+  static class Cursor {
+    private final long eventTime;
+    private final long id;
+
+    Cursor(long eventTime, long id) {
+      this.eventTime = eventTime;
+      this.id = id;
+    }
+
+    /** Cursor from the request. Without a cursor, events from the timestamp onwards are returned. */
+    static Cursor of(long timestamp, String after) {
+      if (after == null) {
+        return new Cursor(timestamp, 0); // Event ids start at 1
+      }
+      try {
+        String[] parts = RestUtil.decodeCursor(after).split(":");
+        return new Cursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+      } catch (RuntimeException e) {
+        throw new IllegalArgumentException("Invalid change event cursor " + after);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return eventTime + ":" + id;
     }
-    return changeEvents;
   }
 }
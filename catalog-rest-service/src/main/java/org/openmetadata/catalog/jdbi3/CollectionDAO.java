@@ -14,17 +14,24 @@
 package org.openmetadata.catalog.jdbi3;
 
 import static org.openmetadata.catalog.Entity.ORGANIZATION_NAME;
+import static org.openmetadata.catalog.jdbi3.JsonStorage.JSON_COLUMNS;
 import static org.openmetadata.catalog.jdbi3.locator.ConnectionType.MYSQL;
 import static org.openmetadata.catalog.jdbi3.locator.ConnectionType.POSTGRES;
 
+import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import lombok.Builder;
 import lombok.Getter;
+import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.StatementContext;
@@ -33,9 +40,13 @@ import org.jdbi.v3.sqlobject.CreateSqlObject;
 import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
 import org.jdbi.v3.sqlobject.customizer.BindList;
+import org.jdbi.v3.sqlobject.customizer.BindMap;
 import org.jdbi.v3.sqlobject.customizer.Define;
+import org.jdbi.v3.sqlobject.statement.SqlBatch;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.statement.UseRowMapper;
+import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.Bot;
 import org.openmetadata.catalog.entity.Type;
@@ -66,6 +77,9 @@ import org.openmetadata.catalog.entity.teams.Team;
 import org.openmetadata.catalog.entity.teams.User;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.TagUsageDAO.TagLabelMapper;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.UsageDAO.UsageDetailsMapper;
+import org.openmetadata.catalog.jdbi3.JsonStorage.StoredJson;
+import org.openmetadata.catalog.jdbi3.JsonStorage.StoredJsonMapper;
+import org.openmetadata.catalog.jdbi3.locator.ConnectionAwareSqlBatch;
 import org.openmetadata.catalog.jdbi3.locator.ConnectionAwareSqlQuery;
 import org.openmetadata.catalog.jdbi3.locator.ConnectionAwareSqlUpdate;
 import org.openmetadata.catalog.tests.TestCase;
@@ -83,7 +97,6 @@ import org.openmetadata.catalog.util.EntitiesCount;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.FullyQualifiedName;
 import org.openmetadata.catalog.util.ServicesCount;
-import org.openmetadata.common.utils.CommonUtil;
 
 public interface CollectionDAO {
   @CreateSqlObject
@@ -113,6 +126,9 @@ public interface CollectionDAO {
   @CreateSqlObject
   TeamDAO teamDAO();
 
+  @CreateSqlObject
+  TeamHierarchyDAO teamHierarchyDAO();
+
   @CreateSqlObject
   TagUsageDAO tagUsageDAO();
 
@@ -194,6 +210,9 @@ public interface CollectionDAO {
   @CreateSqlObject
   WebhookDAO webhookDAO();
 
+  @CreateSqlObject
+  WebhookDeliveryDAO webhookDeliveryDAO();
+
   @CreateSqlObject
   TypeEntityDAO typeEntityDAO();
 
@@ -209,6 +228,23 @@ public interface CollectionDAO {
   @CreateSqlObject
   UtilDAO utilDAO();
 
+  @CreateSqlObject
+  JsonStorageDAO jsonStorageDAO();
+
+  /**
+   * Run the callback in a transaction. The DAOs of this collection used by the callback on the same thread share the
+   * handle of the transaction.
+   */
+  @Transaction
+  default <R> R inTransaction(TransactionCallback<R> callback) throws IOException {
+    return callback.call();
+  }
+
+  @FunctionalInterface
+  interface TransactionCallback<R> {
+    R call() throws IOException;
+  }
+
   interface DashboardDAO extends EntityDAO<Dashboard> {
     @Override
     default String getTableName() {
@@ -258,6 +294,11 @@ public interface CollectionDAO {
     default String getNameColumn() {
       return "fullyQualifiedName";
     }
+
+    @Override
+    default int getHierarchyDepth() {
+      return 1;
+    }
   }
 
   interface DatabaseSchemaDAO extends EntityDAO<DatabaseSchema> {
@@ -275,6 +316,11 @@ public interface CollectionDAO {
     default String getNameColumn() {
       return "fullyQualifiedName";
     }
+
+    @Override
+    default int getHierarchyDepth() {
+      return 2;
+    }
   }
 
   interface DatabaseServiceDAO extends EntityDAO<DatabaseService> {
@@ -312,29 +358,70 @@ public interface CollectionDAO {
   }
 
   interface EntityExtensionDAO {
-    @ConnectionAwareSqlUpdate(
-        value =
-            "REPLACE INTO entity_extension(id, extension, jsonSchema, json) "
-                + "VALUES (:id, :extension, :jsonSchema, :json)",
-        connectionType = MYSQL)
-    @ConnectionAwareSqlUpdate(
-        value =
-            "INSERT INTO entity_extension(id, extension, jsonSchema, json) "
-                + "VALUES (:id, :extension, :jsonSchema, (:json :: jsonb)) "
-                + "ON CONFLICT (id, extension) DO UPDATE SET jsonSchema = EXCLUDED.jsonSchema, json = EXCLUDED.json",
-        connectionType = POSTGRES)
+    String UPSERT_MYSQL =
+        "REPLACE INTO entity_extension(id, extension, jsonSchema, json, codec, compressedJson) "
+            + "VALUES (:id, :extension, :jsonSchema, :json, :codec, :compressedJson)";
+    String UPSERT_POSTGRES =
+        "INSERT INTO entity_extension(id, extension, jsonSchema, json, codec, compressedJson) "
+            + "VALUES (:id, :extension, :jsonSchema, (:json :: jsonb), :codec, :compressedJson) "
+            + "ON CONFLICT (id, extension) DO UPDATE SET jsonSchema = EXCLUDED.jsonSchema, json = EXCLUDED.json, "
+            + "codec = EXCLUDED.codec, compressedJson = EXCLUDED.compressedJson";
+
+    @ConnectionAwareSqlUpdate(value = UPSERT_MYSQL, connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(value = UPSERT_POSTGRES, connectionType = POSTGRES)
     void insert(
         @Bind("id") String id,
         @Bind("extension") String extension,
         @Bind("jsonSchema") String jsonSchema,
-        @Bind("json") String json);
+        @Bind("json") String json,
+        @Bind("codec") int codec,
+        @Bind("compressedJson") byte[] compressedJson);
+
+    /** Insert or replace an extension, compressing large documents with the codec configured in {@link JsonStorage} */
+    default void insert(String id, String extension, String jsonSchema, String json) {
+      StoredJson stored = JsonStorage.encode(json, true);
+      insert(id, extension, jsonSchema, stored.getJson(), stored.getCodec(), stored.getCompressedJson());
+    }
+
+    @SqlBatch
+    @ConnectionAwareSqlBatch(value = UPSERT_MYSQL, connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(value = UPSERT_POSTGRES, connectionType = POSTGRES)
+    void insertAll(
+        @Bind("id") String id,
+        @Bind("extension") List<String> extensions,
+        @Bind("jsonSchema") String jsonSchema,
+        @Bind("json") List<String> jsons,
+        @Bind("codec") List<Integer> codecs,
+        @Bind("compressedJson") List<byte[]> compressedJsons);
+
+    /** Batch version of {@link #insert(String, String, String, String)} for the extensions of an entity */
+    default void insertAll(String id, List<String> extensions, String jsonSchema, List<String> jsons) {
+      List<String> storedJsons = new ArrayList<>();
+      List<Integer> codecs = new ArrayList<>();
+      List<byte[]> compressedJsons = new ArrayList<>();
+      for (String json : jsons) {
+        StoredJson stored = JsonStorage.encode(json, true);
+        storedJsons.add(stored.getJson());
+        codecs.add(stored.getCodec());
+        compressedJsons.add(stored.getCompressedJson());
+      }
+      insertAll(id, extensions, jsonSchema, storedJsons, codecs, compressedJsons);
+    }
 
-    @SqlQuery("SELECT json FROM entity_extension WHERE id = :id AND extension = :extension")
+    /** Ids of the entities that have extensions with the given prefix, in the order of id for paging */
+    @SqlQuery(
+        "SELECT DISTINCT id FROM entity_extension WHERE extension LIKE CONCAT (:extensionPrefix, '.%') "
+            + "AND id > :after ORDER BY id LIMIT :limit")
+    List<String> listIds(
+        @Bind("extensionPrefix") String extensionPrefix, @Bind("after") String after, @Bind("limit") int limit);
+
+    @SqlQuery("SELECT " + JSON_COLUMNS + " FROM entity_extension WHERE id = :id AND extension = :extension")
+    @UseRowMapper(StoredJsonMapper.class)
     String getExtension(@Bind("id") String id, @Bind("extension") String extension);
 
     @RegisterRowMapper(ExtensionMapper.class)
     @SqlQuery(
-        "SELECT extension, json FROM entity_extension WHERE id = :id AND extension "
+        "SELECT extension, " + JSON_COLUMNS + " FROM entity_extension WHERE id = :id AND extension "
             + "LIKE CONCAT (:extensionPrefix, '.%') "
             + "ORDER BY extension")
     List<ExtensionRecord> getExtensions(@Bind("id") String id, @Bind("extensionPrefix") String extensionPrefix);
@@ -346,6 +433,121 @@ public interface CollectionDAO {
     void deleteAll(@Bind("id") String id);
   }
 
+  /** Rewrites the stored JSON documents of entity tables and {@code entity_extension} with the configured codec */
+  interface JsonStorageDAO {
+    // Rows compressed with another codec, and uncompressed rows from the compression threshold when compressing
+    String MIGRATION_COND_MYSQL =
+        "(codec NOT IN (0, :codec) OR (:codec <> 0 AND codec = 0 AND LENGTH(json) >= :threshold)) ";
+    String MIGRATION_COND_POSTGRES =
+        "(codec NOT IN (0, :codec) OR (:codec <> 0 AND codec = 0 AND LENGTH(json :: text) >= :threshold)) ";
+
+    @ConnectionAwareSqlQuery(
+        value = "SELECT id FROM <table> WHERE id > :after AND " + MIGRATION_COND_MYSQL + "ORDER BY id LIMIT :limit",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value = "SELECT id FROM <table> WHERE id > :after AND " + MIGRATION_COND_POSTGRES + "ORDER BY id LIMIT :limit",
+        connectionType = POSTGRES)
+    List<String> listIdsToMigrate(
+        @Define("table") String table,
+        @Bind("after") String after,
+        @Bind("codec") int codec,
+        @Bind("threshold") int threshold,
+        @Bind("limit") int limit);
+
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT id, extension FROM entity_extension WHERE (id > :afterId OR (id = :afterId AND "
+                + "extension > :afterExtension)) AND "
+                + MIGRATION_COND_MYSQL
+                + "ORDER BY id, extension LIMIT :limit",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT id, extension FROM entity_extension WHERE (id > :afterId OR (id = :afterId AND "
+                + "extension > :afterExtension)) AND "
+                + MIGRATION_COND_POSTGRES
+                + "ORDER BY id, extension LIMIT :limit",
+        connectionType = POSTGRES)
+    @RegisterRowMapper(ExtensionKeyMapper.class)
+    List<Pair<String, String>> listExtensionsToMigrate(
+        @Bind("afterId") String afterId,
+        @Bind("afterExtension") String afterExtension,
+        @Bind("codec") int codec,
+        @Bind("threshold") int threshold,
+        @Bind("limit") int limit);
+
+    @SqlQuery("SELECT " + JSON_COLUMNS + " FROM <table> WHERE id = :id FOR UPDATE")
+    @UseRowMapper(StoredJsonMapper.class)
+    String findForUpdate(@Define("table") String table, @Bind("id") String id);
+
+    @SqlQuery("SELECT " + JSON_COLUMNS + " FROM entity_extension WHERE id = :id AND extension = :extension FOR UPDATE")
+    @UseRowMapper(StoredJsonMapper.class)
+    String findExtensionForUpdate(@Bind("id") String id, @Bind("extension") String extension);
+
+    @ConnectionAwareSqlUpdate(
+        value = "UPDATE <table> SET json = :json, codec = :codec, compressedJson = :compressedJson WHERE id = :id",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "UPDATE <table> SET json = (:json :: jsonb), codec = :codec, compressedJson = :compressedJson "
+                + "WHERE id = :id",
+        connectionType = POSTGRES)
+    void update(
+        @Define("table") String table,
+        @Bind("id") String id,
+        @Bind("json") String json,
+        @Bind("codec") int codec,
+        @Bind("compressedJson") byte[] compressedJson);
+
+    @ConnectionAwareSqlUpdate(
+        value =
+            "UPDATE entity_extension SET json = :json, codec = :codec, compressedJson = :compressedJson "
+                + "WHERE id = :id AND extension = :extension",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "UPDATE entity_extension SET json = (:json :: jsonb), codec = :codec, compressedJson = :compressedJson "
+                + "WHERE id = :id AND extension = :extension",
+        connectionType = POSTGRES)
+    void updateExtension(
+        @Bind("id") String id,
+        @Bind("extension") String extension,
+        @Bind("json") String json,
+        @Bind("codec") int codec,
+        @Bind("compressedJson") byte[] compressedJson);
+
+    /** Rewrite the document of an entity with the configured codec. Returns false when the entity was deleted. */
+    @Transaction
+    default boolean migrate(String table, String id) {
+      String json = findForUpdate(table, id);
+      if (json == null) {
+        return false;
+      }
+      StoredJson stored = JsonStorage.encode(json, true);
+      update(table, id, stored.getJson(), stored.getCodec(), stored.getCompressedJson());
+      return true;
+    }
+
+    /** Rewrite the document of an extension with the configured codec. Returns false when it was deleted. */
+    @Transaction
+    default boolean migrateExtension(String id, String extension) {
+      String json = findExtensionForUpdate(id, extension);
+      if (json == null) {
+        return false;
+      }
+      StoredJson stored = JsonStorage.encode(json, true);
+      updateExtension(id, extension, stored.getJson(), stored.getCodec(), stored.getCompressedJson());
+      return true;
+    }
+
+    class ExtensionKeyMapper implements RowMapper<Pair<String, String>> {
+      @Override
+      public Pair<String, String> map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return Pair.of(rs.getString("id"), rs.getString("extension"));
+      }
+    }
+  }
+
   class EntityVersionPair {
     @Getter private final Double version;
     @Getter private final String entityJson;
@@ -369,7 +571,7 @@ public interface CollectionDAO {
   class ExtensionMapper implements RowMapper<ExtensionRecord> {
     @Override
     public ExtensionRecord map(ResultSet rs, StatementContext ctx) throws SQLException {
-      return new ExtensionRecord(rs.getString("extension"), rs.getString("json"));
+      return new ExtensionRecord(rs.getString("extension"), new StoredJsonMapper().map(rs, ctx));
     }
   }
 
@@ -381,6 +583,17 @@ public interface CollectionDAO {
     private String json;
   }
 
+  @Getter
+  @Builder
+  class EntityRelationshipObject {
+    private String fromId;
+    private String toId;
+    private String fromEntity;
+    private String toEntity;
+    private int relation;
+    private String json;
+  }
+
   interface EntityRelationshipDAO {
     default void insert(UUID fromId, UUID toId, String fromEntity, String toEntity, int relation) {
       insert(fromId, toId, fromEntity, toEntity, relation, null);
@@ -470,6 +683,32 @@ public interface CollectionDAO {
     @RegisterRowMapper(FromRelationshipMapper.class)
     List<EntityRelationshipRecord> findFrom(@Bind("toId") String toId);
 
+    // Find from operations for a batch of entities of the same type
+    @SqlQuery(
+        "SELECT fromId, toId, fromEntity, toEntity, relation, json FROM entity_relationship "
+            + "WHERE toId IN (<toIds>) AND toEntity = :toEntity AND relation = :relation "
+            + "ORDER BY fromId")
+    @RegisterRowMapper(RelationshipObjectMapper.class)
+    List<EntityRelationshipObject> findFromBatch(
+        @BindList("toIds") List<String> toIds, @Bind("toEntity") String toEntity, @Bind("relation") int relation);
+
+    // Find all the relationships of a type to a batch of entities of any type
+    @SqlQuery(
+        "SELECT fromId, toId, fromEntity, toEntity, relation, json FROM entity_relationship "
+            + "WHERE toId IN (<toIds>) AND relation = :relation "
+            + "ORDER BY toId, fromId")
+    @RegisterRowMapper(RelationshipObjectMapper.class)
+    List<EntityRelationshipObject> findFromBatch(@BindList("toIds") List<String> toIds, @Bind("relation") int relation);
+
+    // Find all the relationships of a type from a batch of entities of any type
+    @SqlQuery(
+        "SELECT fromId, toId, fromEntity, toEntity, relation, json FROM entity_relationship "
+            + "WHERE fromId IN (<fromIds>) AND relation = :relation "
+            + "ORDER BY fromId, toId")
+    @RegisterRowMapper(RelationshipObjectMapper.class)
+    List<EntityRelationshipObject> findToBatch(
+        @BindList("fromIds") List<String> fromIds, @Bind("relation") int relation);
+
     //
     // Delete Operations
     //
@@ -530,6 +769,20 @@ public interface CollectionDAO {
             .build();
       }
     }
+
+    class RelationshipObjectMapper implements RowMapper<EntityRelationshipObject> {
+      @Override
+      public EntityRelationshipObject map(ResultSet rs, StatementContext ctx) throws SQLException {
+        return EntityRelationshipObject.builder()
+            .fromId(rs.getString("fromId"))
+            .toId(rs.getString("toId"))
+            .fromEntity(rs.getString("fromEntity"))
+            .toEntity(rs.getString("toEntity"))
+            .relation(rs.getInt("relation"))
+            .json(rs.getString("json"))
+            .build();
+      }
+    }
   }
 
   interface FeedDAO {
@@ -1551,6 +1804,16 @@ public interface CollectionDAO {
     default String getNameColumn() {
       return "fullyQualifiedName";
     }
+
+    @Override
+    default boolean compressesJson() {
+      return true;
+    }
+
+    @Override
+    default int getHierarchyDepth() {
+      return 3;
+    }
   }
 
   interface LocationDAO extends EntityDAO<Location> {
@@ -1672,6 +1935,82 @@ public interface CollectionDAO {
     List<String> listAllWebhooks(@Define("table") String table);
   }
 
+  /**
+   * Cursor of each webhook, the id of the last change event delivered to it, and the lease of the server that delivers
+   * its events. Only the server holding the lease moves the cursor.
+   */
+  interface WebhookDeliveryDAO {
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT IGNORE INTO webhook_delivery (webhookId, changeEventId, leaseOwner, leaseExpiresAt) "
+                + "VALUES (:webhookId, :changeEventId, NULL, 0)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO webhook_delivery (webhookId, changeEventId, leaseOwner, leaseExpiresAt) "
+                + "VALUES (:webhookId, :changeEventId, NULL, 0) ON CONFLICT (webhookId) DO NOTHING",
+        connectionType = POSTGRES)
+    void insertIfAbsent(@Bind("webhookId") String webhookId, @Bind("changeEventId") long changeEventId);
+
+    @SqlQuery("SELECT changeEventId FROM webhook_delivery WHERE webhookId = :webhookId")
+    Long getCursor(@Bind("webhookId") String webhookId);
+
+    /** Cursor and lease of the webhook, unless another server claiming the lease has locked the row */
+    @SqlQuery(
+        "SELECT changeEventId, leaseOwner, leaseExpiresAt FROM webhook_delivery WHERE webhookId = :webhookId "
+            + "FOR UPDATE SKIP LOCKED")
+    @RegisterRowMapper(DeliveryMapper.class)
+    Triple<Long, String, Long> findForUpdate(@Bind("webhookId") String webhookId);
+
+    @SqlUpdate(
+        "UPDATE webhook_delivery SET leaseOwner = :owner, leaseExpiresAt = :leaseExpiresAt "
+            + "WHERE webhookId = :webhookId")
+    void updateLease(
+        @Bind("webhookId") String webhookId, @Bind("owner") String owner, @Bind("leaseExpiresAt") long leaseExpiresAt);
+
+    /**
+     * Claim or renew the lease of the server to deliver the events of the webhook. Returns the cursor of the webhook,
+     * or null when the lease is held by another server.
+     */
+    @Transaction
+    default Long claim(String webhookId, String owner, long now, long leaseExpiresAt) {
+      Triple<Long, String, Long> delivery = findForUpdate(webhookId);
+      if (delivery == null || (!owner.equals(delivery.getMiddle()) && delivery.getRight() > now)) {
+        return null;
+      }
+      updateLease(webhookId, owner, leaseExpiresAt);
+      return delivery.getLeft();
+    }
+
+    /**
+     * Move the cursor of the webhook and extend the lease of the server. Returns 0 when the server no longer holds the
+     * lease, in which case the cursor is not moved.
+     */
+    @SqlUpdate(
+        "UPDATE webhook_delivery SET changeEventId = :changeEventId, leaseExpiresAt = :leaseExpiresAt "
+            + "WHERE webhookId = :webhookId AND leaseOwner = :owner")
+    int updateCursor(
+        @Bind("webhookId") String webhookId,
+        @Bind("owner") String owner,
+        @Bind("changeEventId") long changeEventId,
+        @Bind("leaseExpiresAt") long leaseExpiresAt);
+
+    @SqlUpdate(
+        "UPDATE webhook_delivery SET leaseOwner = NULL, leaseExpiresAt = 0 "
+            + "WHERE webhookId = :webhookId AND leaseOwner = :owner")
+    void release(@Bind("webhookId") String webhookId, @Bind("owner") String owner);
+
+    @SqlUpdate("DELETE FROM webhook_delivery WHERE webhookId = :webhookId")
+    void delete(@Bind("webhookId") String webhookId);
+
+    class DeliveryMapper implements RowMapper<Triple<Long, String, Long>> {
+      @Override
+      public Triple<Long, String, Long> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return Triple.of(r.getLong("changeEventId"), r.getString("leaseOwner"), r.getLong("leaseExpiresAt"));
+      }
+    }
+  }
+
   interface TagCategoryDAO extends EntityDAO<TagCategory> {
     @Override
     default String getTableName() {
@@ -1726,6 +2065,25 @@ public interface CollectionDAO {
         @Bind("labelType") int labelType,
         @Bind("state") int state);
 
+    @SqlBatch
+    @ConnectionAwareSqlBatch(
+        value =
+            "INSERT IGNORE INTO tag_usage (source, tagFQN, targetFQN, labelType, state) "
+                + "VALUES (:source, :tagFQN, :targetFQN, :labelType, :state)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(
+        value =
+            "INSERT INTO tag_usage (source, tagFQN, targetFQN, labelType, state) "
+                + "VALUES (:source, :tagFQN, :targetFQN, :labelType, :state) "
+                + "ON CONFLICT (source, tagFQN, targetFQN) DO NOTHING",
+        connectionType = POSTGRES)
+    void applyTags(
+        @Bind("source") List<Integer> sources,
+        @Bind("tagFQN") List<String> tagFQNs,
+        @Bind("targetFQN") List<String> targetFQNs,
+        @Bind("labelType") List<Integer> labelTypes,
+        @Bind("state") List<Integer> states);
+
     @SqlQuery("SELECT targetFQN FROM tag_usage WHERE tagFQN = :tagFQN")
     List<String> tagTargetFQN(@Bind("tagFQN") String tagFQN);
 
@@ -1751,12 +2109,86 @@ public interface CollectionDAO {
         connectionType = POSTGRES)
     List<TagLabel> getTags(@Bind("targetFQN") String targetFQN);
 
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT tu.targetFQN, tu.source, tu.tagFQN, tu.labelType, tu.state, "
+                + "t.json ->> '$.description' AS description1, "
+                + "g.json ->> '$.description' AS description2 "
+                + "FROM tag_usage tu "
+                + "LEFT JOIN tag t ON tu.tagFQN = t.fullyQualifiedName AND tu.source = 0 "
+                + "LEFT JOIN glossary_term_entity g ON tu.tagFQN = g.fullyQualifiedName AND tu.source = 1 "
+                + "WHERE tu.targetFQN IN (<targetFQNs>) ORDER BY tu.targetFQN, tu.tagFQN",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT tu.targetFQN, tu.source, tu.tagFQN, tu.labelType, tu.state, "
+                + "t.json ->> 'description' AS description1, "
+                + "g.json ->> 'description' AS description2 "
+                + "FROM tag_usage tu "
+                + "LEFT JOIN tag t ON tu.tagFQN = t.fullyQualifiedName AND tu.source = 0 "
+                + "LEFT JOIN glossary_term_entity g ON tu.tagFQN = g.fullyQualifiedName AND tu.source = 1 "
+                + "WHERE tu.targetFQN IN (<targetFQNs>) ORDER BY tu.targetFQN, tu.tagFQN",
+        connectionType = POSTGRES)
+    @RegisterRowMapper(TargetTagLabelMapper.class)
+    List<Pair<String, TagLabel>> getTagsInternalBatch(@BindList("targetFQNs") List<String> targetFQNs);
+
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT tu.targetFQN, tu.source, tu.tagFQN, tu.labelType, tu.state, "
+                + "t.json ->> '$.description' AS description1, "
+                + "g.json ->> '$.description' AS description2 "
+                + "FROM tag_usage tu "
+                + "LEFT JOIN tag t ON tu.tagFQN = t.fullyQualifiedName AND tu.source = 0 "
+                + "LEFT JOIN glossary_term_entity g ON tu.tagFQN = g.fullyQualifiedName AND tu.source = 1 "
+                + "WHERE tu.targetFQN LIKE CONCAT(:targetFQNPrefix, '.%') ORDER BY tu.targetFQN, tu.tagFQN",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT tu.targetFQN, tu.source, tu.tagFQN, tu.labelType, tu.state, "
+                + "t.json ->> 'description' AS description1, "
+                + "g.json ->> 'description' AS description2 "
+                + "FROM tag_usage tu "
+                + "LEFT JOIN tag t ON tu.tagFQN = t.fullyQualifiedName AND tu.source = 0 "
+                + "LEFT JOIN glossary_term_entity g ON tu.tagFQN = g.fullyQualifiedName AND tu.source = 1 "
+                + "WHERE tu.targetFQN LIKE CONCAT(:targetFQNPrefix, '.%') ORDER BY tu.targetFQN, tu.tagFQN",
+        connectionType = POSTGRES)
+    @RegisterRowMapper(TargetTagLabelMapper.class)
+    List<Pair<String, TagLabel>> getTagsInternalByPrefix(@Bind("targetFQNPrefix") String targetFQNPrefix);
+
+    /**
+     * Get tags of all the targets under a parent, such as the columns and nested columns of a table. Targets without any
+     * tags are not in the returned map.
+     */
+    default Map<String, List<TagLabel>> getTagsByPrefix(String targetFQNPrefix) {
+      Map<String, List<TagLabel>> tags = new HashMap<>();
+      for (Pair<String, TagLabel> pair : getTagsInternalByPrefix(targetFQNPrefix)) {
+        tags.computeIfAbsent(pair.getLeft(), k -> new ArrayList<>()).add(pair.getRight());
+      }
+      return tags;
+    }
+
+    /** Get tags for a batch of targets. Targets without any tags have an empty list in the returned map. */
+    default Map<String, List<TagLabel>> getTagsByTargets(List<String> targetFQNs) {
+      Map<String, List<TagLabel>> tags = new HashMap<>();
+      if (targetFQNs.isEmpty()) {
+        return tags;
+      }
+      targetFQNs.forEach(targetFQN -> tags.put(targetFQN, new ArrayList<>()));
+      for (Pair<String, TagLabel> pair : getTagsInternalBatch(targetFQNs)) {
+        tags.get(pair.getLeft()).add(pair.getRight());
+      }
+      return tags;
+    }
+
     @SqlQuery("SELECT COUNT(*) FROM tag_usage WHERE tagFQN LIKE CONCAT(:fqnPrefix, '%') AND source = :source")
     int getTagCount(@Bind("source") int source, @Bind("fqnPrefix") String fqnPrefix);
 
     @SqlUpdate("DELETE FROM tag_usage where targetFQN = :targetFQN")
     void deleteTagsByTarget(@Bind("targetFQN") String targetFQN);
 
+    @SqlUpdate("DELETE FROM tag_usage where targetFQN IN (<targetFQNs>)")
+    void deleteTagsByTargets(@BindList("targetFQNs") List<String> targetFQNs);
+
     @SqlUpdate("DELETE FROM tag_usage where tagFQN = :tagFQN AND source = :source")
     void deleteTagLabels(@Bind("source") int source, @Bind("tagFQN") String tagFQN);
 
@@ -1779,6 +2211,15 @@ public interface CollectionDAO {
             .withDescription(description1 == null ? description2 : description1);
       }
     }
+
+    class TargetTagLabelMapper implements RowMapper<Pair<String, TagLabel>> {
+      private final TagLabelMapper tagLabelMapper = new TagLabelMapper();
+
+      @Override
+      public Pair<String, TagLabel> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return Pair.of(r.getString("targetFQN"), tagLabelMapper.map(r, ctx));
+      }
+    }
   }
 
   interface RoleDAO extends EntityDAO<Role> {
@@ -1820,84 +2261,99 @@ public interface CollectionDAO {
       return "name";
     }
 
+    @Override
+    default Integer listCountEstimate(ListFilter filter) {
+      return filter.getQueryParam("parentTeam") == null ? EntityDAO.super.listCountEstimate(filter) : null;
+    }
+
     @Override
     default int listCount(ListFilter filter) {
       String parentTeam = filter.getQueryParam("parentTeam");
       String condition = filter.getCondition();
+      Map<String, Object> bindings = filter.getBindings();
       if (parentTeam != null) {
         // validate parent team
         Team team = findEntityByName(parentTeam);
+        bindings.put("parentTeamId", team.getId().toString());
         if (ORGANIZATION_NAME.equals(team.getName())) {
           // All the parentless teams should come under "organization" team
           condition =
               String.format(
-                  "%s AND id NOT IN ( (SELECT '%s') UNION (SELECT toId FROM entity_relationship WHERE fromId!='%s' AND fromEntity='team' AND toEntity='team' AND relation=%d) )",
-                  condition, team.getId(), team.getId(), Relationship.PARENT_OF.ordinal());
+                  "%s AND id NOT IN ( (SELECT :parentTeamId) UNION (SELECT toId FROM entity_relationship WHERE fromId!=:parentTeamId AND fromEntity='team' AND toEntity='team' AND relation=%d) )",
+                  condition, Relationship.PARENT_OF.ordinal());
         } else {
           condition =
               String.format(
-                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId='%s' AND fromEntity='team' AND toEntity='team' AND relation=%d)",
-                  condition, team.getId(), Relationship.PARENT_OF.ordinal());
+                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId=:parentTeamId AND fromEntity='team' AND toEntity='team' AND relation=%d)",
+                  condition, Relationship.PARENT_OF.ordinal());
         }
       }
 
-      return listCount(getTableName(), getNameColumn(), condition);
+      return listCount(getTableName(), getNameColumn(), condition, bindings);
     }
 
     @Override
     default List<String> listBefore(ListFilter filter, int limit, String before) {
       String parentTeam = filter.getQueryParam("parentTeam");
       String condition = filter.getCondition();
+      Map<String, Object> bindings = filter.getBindings();
       if (parentTeam != null) {
         // validate parent team
         Team team = findEntityByName(parentTeam);
+        bindings.put("parentTeamId", team.getId().toString());
         if (ORGANIZATION_NAME.equals(team.getName())) {
           // All the parentless teams should come under "organization" team
           condition =
               String.format(
-                  "%s AND id NOT IN ( (SELECT '%s') UNION (SELECT toId FROM entity_relationship WHERE fromId!='%s' AND fromEntity='team' AND toEntity='team' AND relation=%d) )",
-                  condition, team.getId(), team.getId(), Relationship.PARENT_OF.ordinal());
+                  "%s AND id NOT IN ( (SELECT :parentTeamId) UNION (SELECT toId FROM entity_relationship WHERE fromId!=:parentTeamId AND fromEntity='team' AND toEntity='team' AND relation=%d) )",
+                  condition, Relationship.PARENT_OF.ordinal());
         } else {
           condition =
               String.format(
-                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId='%s' AND fromEntity='team' AND toEntity='team' AND relation=%d)",
-                  condition, team.getId(), Relationship.PARENT_OF.ordinal());
+                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId=:parentTeamId AND fromEntity='team' AND toEntity='team' AND relation=%d)",
+                  condition, Relationship.PARENT_OF.ordinal());
         }
       }
 
       // Quoted name is stored in fullyQualifiedName column and not in the name column
       before = getNameColumn().equals("name") ? FullyQualifiedName.unquoteName(before) : before;
-      return listBefore(getTableName(), getNameColumn(), condition, limit, before);
+      return listBefore(getTableName(), getNameColumn(), condition, bindings, limit, before);
     }
 
     @Override
     default List<String> listAfter(ListFilter filter, int limit, String after) {
       String parentTeam = filter.getQueryParam("parentTeam");
       String condition = filter.getCondition();
+      Map<String, Object> bindings = filter.getBindings();
       if (parentTeam != null) {
         // validate parent team
         Team team = findEntityByName(parentTeam);
+        bindings.put("parentTeamId", team.getId().toString());
         if (ORGANIZATION_NAME.equals(team.getName())) {
           // All the parentless teams should come under "organization" team
           condition =
               String.format(
-                  "%s AND id NOT IN ( (SELECT '%s') UNION (SELECT toId FROM entity_relationship WHERE fromId!='%s' AND fromEntity='team' AND toEntity='team' AND relation=%d) )",
-                  condition, team.getId(), team.getId(), Relationship.PARENT_OF.ordinal());
+                  "%s AND id NOT IN ( (SELECT :parentTeamId) UNION (SELECT toId FROM entity_relationship WHERE fromId!=:parentTeamId AND fromEntity='team' AND toEntity='team' AND relation=%d) )",
+                  condition, Relationship.PARENT_OF.ordinal());
         } else {
           condition =
               String.format(
-                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId='%s' AND fromEntity='team' AND toEntity='team' AND relation=%d)",
-                  condition, team.getId(), Relationship.PARENT_OF.ordinal());
+                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId=:parentTeamId AND fromEntity='team' AND toEntity='team' AND relation=%d)",
+                  condition, Relationship.PARENT_OF.ordinal());
         }
       }
 
       // Quoted name is stored in fullyQualifiedName column and not in the name column
       after = getNameColumn().equals("name") ? FullyQualifiedName.unquoteName(after) : after;
-      return listAfter(getTableName(), getNameColumn(), condition, limit, after);
+      return listAfter(getTableName(), getNameColumn(), condition, bindings, limit, after);
     }
 
     @SqlQuery("SELECT count(*) FROM <table> <cond>")
-    int listCount(@Define("table") String table, @Define("nameColumn") String nameColumn, @Define("cond") String cond);
+    int listCount(
+        @Define("table") String table,
+        @Define("nameColumn") String nameColumn,
+        @Define("cond") String cond,
+        @BindMap Map<String, ?> bindings);
 
     @SqlQuery(
         "SELECT json FROM ("
@@ -1912,6 +2368,7 @@ public interface CollectionDAO {
         @Define("table") String table,
         @Define("nameColumn") String nameColumn,
         @Define("cond") String cond,
+        @BindMap Map<String, ?> bindings,
         @Bind("limit") int limit,
         @Bind("before") String before);
 
@@ -1921,6 +2378,7 @@ public interface CollectionDAO {
         @Define("table") String table,
         @Define("nameColumn") String nameColumn,
         @Define("cond") String cond,
+        @BindMap Map<String, ?> bindings,
         @Bind("limit") int limit,
         @Bind("after") String after);
 
@@ -1947,6 +2405,51 @@ public interface CollectionDAO {
             + "(SELECT toId FROM entity_relationship "
             + "WHERE fromId != :teamId AND fromEntity = 'team' AND relation = :relation AND toEntity = 'team')")
     List<String> listTeamsUnderOrganization(@Bind("teamId") String teamId, @Bind("relation") int relation);
+
+    @SqlQuery("SELECT id FROM team_entity")
+    List<String> listIds();
+  }
+
+  /**
+   * Closure table of the team hierarchy. Each team has a row for itself at depth 0 and a row for each of its ancestors
+   * with the length of the shortest path to it. Teams without parents are under the organization.
+   */
+  interface TeamHierarchyDAO {
+    @SqlUpdate("INSERT INTO team_hierarchy (ancestorId, descendantId, depth) VALUES (:teamId, :teamId, 0)")
+    void insertSelf(@Bind("teamId") String teamId);
+
+    /** Add the ancestors of a team from the rows of its parents, which must already be in the table */
+    @SqlUpdate(
+        "INSERT INTO team_hierarchy (ancestorId, descendantId, depth) "
+            + "SELECT ancestorId, :teamId, MIN(depth) + 1 FROM team_hierarchy "
+            + "WHERE descendantId IN (<parentIds>) GROUP BY ancestorId")
+    void insertAncestors(@Bind("teamId") String teamId, @BindList("parentIds") List<String> parentIds);
+
+    @SqlUpdate("DELETE FROM team_hierarchy WHERE descendantId IN (<teamIds>)")
+    void deleteAncestors(@BindList("teamIds") List<String> teamIds);
+
+    @SqlUpdate("DELETE FROM team_hierarchy WHERE ancestorId = :teamId OR descendantId = :teamId")
+    void delete(@Bind("teamId") String teamId);
+
+    @SqlQuery("SELECT DISTINCT descendantId FROM team_hierarchy WHERE ancestorId IN (<teamIds>)")
+    List<String> listDescendantIds(@BindList("teamIds") List<String> teamIds);
+
+    @SqlQuery("SELECT descendantId FROM team_hierarchy WHERE ancestorId = :teamId AND depth = 1")
+    List<String> listChildIds(@Bind("teamId") String teamId);
+
+    @SqlQuery("SELECT count(*) FROM team_hierarchy WHERE ancestorId = :teamId AND depth = 1")
+    int countChildren(@Bind("teamId") String teamId);
+
+    /** Number of distinct users in a team and in all the teams below it */
+    @SqlQuery(
+        "SELECT count(DISTINCT er.toId) FROM team_hierarchy th "
+            + "JOIN entity_relationship er ON er.fromId = th.descendantId "
+            + "WHERE th.ancestorId = :teamId AND er.fromEntity = 'team' AND er.toEntity = 'user' "
+            + "AND er.relation = :relation")
+    int countUsers(@Bind("teamId") String teamId, @Bind("relation") int relation);
+
+    @SqlQuery("SELECT count(*) FROM team_hierarchy")
+    int count();
   }
 
   interface TopicDAO extends EntityDAO<Topic> {
@@ -2014,6 +2517,50 @@ public interface CollectionDAO {
         @Bind("entityType") String entityType,
         @Bind("count1") int count1);
 
+    /**
+     * Batch version of {@link #insertOrUpdateCount(String, String, String, int)}. Rows for the same entity must be in
+     * increasing order of date for the rolling counts to include the earlier dates of the batch.
+     */
+    @SqlBatch
+    @ConnectionAwareSqlBatch(
+        value =
+            "INSERT INTO entity_usage (usageDate, id, entityType, count1, count7, count30) "
+                + "SELECT :date, :id, :entityType, :count1, "
+                + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - "
+                + "INTERVAL 6 DAY)), "
+                + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= :date - "
+                + "INTERVAL 29 DAY)) "
+                + "ON DUPLICATE KEY UPDATE count1 = count1 + :count1, count7 = count7 + :count1, count30 = count30 + :count1",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(
+        value =
+            "INSERT INTO entity_usage (usageDate, id, entityType, count1, count7, count30) "
+                + "SELECT (:date :: date), :id, :entityType, :count1, "
+                + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= (:date :: date) - INTERVAL '6 days')), "
+                + "(:count1 + (SELECT COALESCE(SUM(count1), 0) FROM entity_usage WHERE id = :id AND usageDate >= (:date :: date) - INTERVAL '29 days')) "
+                + "ON CONFLICT (usageDate, id) DO UPDATE SET count1 = entity_usage.count1 + :count1, count7 = entity_usage.count7 + :count1, count30 = entity_usage.count30 + :count1",
+        connectionType = POSTGRES)
+    void insertOrUpdateCounts(
+        @Bind("date") List<String> dates,
+        @Bind("id") List<String> ids,
+        @Bind("entityType") String entityType,
+        @Bind("count1") List<Integer> counts);
+
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT id, usageDate, entityType, count1, count7, count30, "
+                + "percentile1, percentile7, percentile30 FROM entity_usage "
+                + "WHERE id IN (<ids>) AND usageDate = :date",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlQuery(
+        value =
+            "SELECT id, usageDate, entityType, count1, count7, count30, "
+                + "percentile1, percentile7, percentile30 FROM entity_usage "
+                + "WHERE id IN (<ids>) AND usageDate = (:date :: date)",
+        connectionType = POSTGRES)
+    @RegisterRowMapper(EntityUsageDetailsMapper.class)
+    List<Pair<String, UsageDetails>> getUsageByIds(@BindList("ids") List<String> ids, @Bind("date") String date);
+
     @ConnectionAwareSqlQuery(
         value =
             "SELECT id, usageDate, entityType, count1, count7, count30, "
@@ -2039,23 +2586,20 @@ public interface CollectionDAO {
     void delete(@Bind("id") String id);
 
     /**
-     * TODO: Not sure I get what the next comment means, but tests now use mysql 8 so maybe tests can be improved here
-     * Note not using in following percentile computation PERCENT_RANK function as unit tests use mysql5.7, and it does
-     * not have window function
+     * Compute percentile rank of the usage counts of all the entities of a type on a given date. Rank of an entity is
+     * the number of entities with strictly lower count, computed in a single pass with window functions instead of a
+     * correlated count per entity.
      */
     @ConnectionAwareSqlUpdate(
         value =
             "UPDATE entity_usage u JOIN ( "
-                + "SELECT u1.id, "
-                + "(SELECT COUNT(*) FROM entity_usage as u2 WHERE u2.count1 <  u1.count1 AND u2.entityType = :entityType "
-                + "AND u2.usageDate = :date) as p1, "
-                + "(SELECT COUNT(*) FROM entity_usage as u3 WHERE u3.count7 <  u1.count7 AND u3.entityType = :entityType "
-                + "AND u3.usageDate = :date) as p7, "
-                + "(SELECT COUNT(*) FROM entity_usage as u4 WHERE u4.count30 <  u1.count30 AND u4.entityType = :entityType "
-                + "AND u4.usageDate = :date) as p30, "
-                + "(SELECT COUNT(*) FROM entity_usage WHERE entityType = :entityType AND usageDate = :date) as total "
-                + "FROM entity_usage u1 WHERE u1.entityType = :entityType AND u1.usageDate = :date"
-                + ") vals ON u.id = vals.id AND usageDate = :date "
+                + "SELECT id, "
+                + "RANK() OVER (ORDER BY count1) - 1 AS p1, "
+                + "RANK() OVER (ORDER BY count7) - 1 AS p7, "
+                + "RANK() OVER (ORDER BY count30) - 1 AS p30, "
+                + "COUNT(*) OVER () AS total "
+                + "FROM entity_usage WHERE entityType = :entityType AND usageDate = :date"
+                + ") vals ON u.id = vals.id AND u.usageDate = :date "
                 + "SET u.percentile1 = ROUND(100 * p1/total, 2), u.percentile7 = ROUND(p7 * 100/total, 2), u.percentile30 ="
                 + " ROUND(p30*100/total, 2)",
         connectionType = MYSQL)
@@ -2064,18 +2608,48 @@ public interface CollectionDAO {
             "UPDATE entity_usage u "
                 + "SET percentile1 = ROUND(100 * p1 / total, 2), percentile7 = ROUND(p7 * 100 / total, 2), percentile30 = ROUND(p30 * 100 / total, 2) "
                 + "FROM ("
-                + "   SELECT u1.id, "
-                + "       (SELECT COUNT(*) FROM entity_usage as u2 WHERE u2.count1 < u1.count1 AND u2.entityType = :entityType AND u2.usageDate = (:date :: date)) as p1, "
-                + "       (SELECT COUNT(*) FROM entity_usage as u3 WHERE u3.count7 < u1.count7 AND u3.entityType = :entityType AND u3.usageDate = (:date :: date)) as p7, "
-                + "       (SELECT COUNT(*) FROM entity_usage as u4 WHERE u4.count30 < u1.count30 AND u4.entityType = :entityType AND u4.usageDate = (:date :: date)) as p30, "
-                + "       (SELECT COUNT(*) FROM entity_usage WHERE entityType = :entityType AND usageDate = (:date :: date)"
-                + "   ) as total FROM entity_usage u1 "
-                + "   WHERE u1.entityType = :entityType AND u1.usageDate = (:date :: date)"
+                + "   SELECT id, "
+                + "       RANK() OVER (ORDER BY count1) - 1 AS p1, "
+                + "       RANK() OVER (ORDER BY count7) - 1 AS p7, "
+                + "       RANK() OVER (ORDER BY count30) - 1 AS p30, "
+                + "       COUNT(*) OVER () AS total "
+                + "   FROM entity_usage WHERE entityType = :entityType AND usageDate = (:date :: date)"
                 + ") vals "
                 + "WHERE u.id = vals.id AND usageDate = (:date :: date);",
         connectionType = POSTGRES)
     void computePercentile(@Bind("entityType") String entityType, @Bind("date") String date);
 
+    @ConnectionAwareSqlUpdate(
+        value = "INSERT IGNORE INTO usage_percentile_pending (entityType, usageDate) VALUES (:entityType, :date)",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value =
+            "INSERT INTO usage_percentile_pending (entityType, usageDate) VALUES (:entityType, (:date :: date)) "
+                + "ON CONFLICT (entityType, usageDate) DO NOTHING",
+        connectionType = POSTGRES)
+    void insertPendingPercentile(@Bind("entityType") String entityType, @Bind("date") String date);
+
+    /** (entityType, date) for which usage was reported since the percentiles were last computed */
+    @SqlQuery("SELECT entityType, usageDate FROM usage_percentile_pending ORDER BY usageDate")
+    @RegisterRowMapper(PendingPercentileMapper.class)
+    List<Pair<String, String>> listPendingPercentiles();
+
+    /** Returns 0 when the pending computation was already removed, such as by another server computing it */
+    @ConnectionAwareSqlUpdate(
+        value = "DELETE FROM usage_percentile_pending WHERE entityType = :entityType AND usageDate = :date",
+        connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value = "DELETE FROM usage_percentile_pending WHERE entityType = :entityType AND usageDate = (:date :: date)",
+        connectionType = POSTGRES)
+    int deletePendingPercentile(@Bind("entityType") String entityType, @Bind("date") String date);
+
+    class PendingPercentileMapper implements RowMapper<Pair<String, String>> {
+      @Override
+      public Pair<String, String> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return Pair.of(r.getString("entityType"), r.getString("usageDate"));
+      }
+    }
+
     class UsageDetailsMapper implements RowMapper<UsageDetails> {
       @Override
       public UsageDetails map(ResultSet r, StatementContext ctx) throws SQLException {
@@ -2092,6 +2666,15 @@ public interface CollectionDAO {
             .withMonthlyStats(monthlyStats);
       }
     }
+
+    class EntityUsageDetailsMapper implements RowMapper<Pair<String, UsageDetails>> {
+      private final UsageDetailsMapper usageDetailsMapper = new UsageDetailsMapper();
+
+      @Override
+      public Pair<String, UsageDetails> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return Pair.of(r.getString("id"), usageDetailsMapper.map(r, ctx));
+      }
+    }
   }
 
   interface UserDAO extends EntityDAO<User> {
@@ -2110,6 +2693,15 @@ public interface CollectionDAO {
       return "name";
     }
 
+    @Override
+    default Integer listCountEstimate(ListFilter filter) {
+      boolean filtered =
+          filter.getQueryParam("team") != null
+              || filter.getQueryParam("isAdmin") != null
+              || filter.getQueryParam("isBot") != null;
+      return filtered ? null : EntityDAO.super.listCountEstimate(filter);
+    }
+
     @Override
     default int listCount(ListFilter filter) {
       String team = filter.getQueryParam("team");
@@ -2154,7 +2746,13 @@ public interface CollectionDAO {
         return EntityDAO.super.listCount(filter);
       }
       return listCount(
-          getTableName(), getNameColumn(), mySqlCondition, postgresCondition, team, Relationship.HAS.ordinal());
+          getTableName(),
+          getNameColumn(),
+          mySqlCondition,
+          postgresCondition,
+          filter.getBindings(),
+          team,
+          Relationship.HAS.ordinal());
     }
 
     @Override
@@ -2205,6 +2803,7 @@ public interface CollectionDAO {
           getNameColumn(),
           mySqlCondition,
           postgresCondition,
+          filter.getBindings(),
           team,
           limit,
           before,
@@ -2259,6 +2858,7 @@ public interface CollectionDAO {
           getNameColumn(),
           mySqlCondition,
           postgresCondition,
+          filter.getBindings(),
           team,
           limit,
           after,
@@ -2292,6 +2892,7 @@ public interface CollectionDAO {
         @Define("nameColumn") String nameColumn,
         @Define("mysqlCond") String mysqlCond,
         @Define("postgresCond") String postgresCond,
+        @BindMap Map<String, ?> bindings,
         @Bind("team") String team,
         @Bind("relation") int relation);
 
@@ -2330,6 +2931,7 @@ public interface CollectionDAO {
         @Define("nameColumn") String nameColumn,
         @Define("mysqlCond") String mysqlCond,
         @Define("postgresCond") String postgresCond,
+        @BindMap Map<String, ?> bindings,
         @Bind("team") String team,
         @Bind("limit") int limit,
         @Bind("before") String before,
@@ -2366,6 +2968,7 @@ public interface CollectionDAO {
         @Define("nameColumn") String nameColumn,
         @Define("mysqlCond") String mysqlCond,
         @Define("postgresCond") String postgresCond,
+        @BindMap Map<String, ?> bindings,
         @Bind("team") String team,
         @Bind("limit") int limit,
         @Bind("after") String after,
@@ -2379,30 +2982,89 @@ public interface CollectionDAO {
         connectionType = POSTGRES)
     void insert(@Bind("json") String json);
 
-    default List<String> list(String eventType, List<String> entityTypes, long timestamp) {
-      if (CommonUtil.nullOrEmpty(entityTypes)) {
-        return Collections.emptyList();
-      }
-      if (entityTypes.get(0).equals("*")) {
-        return listWithoutEntityFilter(eventType, timestamp);
+    @SqlBatch
+    @ConnectionAwareSqlBatch(value = "INSERT INTO change_event (json) VALUES (:json)", connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(
+        value = "INSERT INTO change_event (json) VALUES (:json :: jsonb)",
+        connectionType = POSTGRES)
+    void insertBatch(@Bind("json") List<String> jsons);
+
+    /**
+     * Events matching the condition on eventType and entityType that come after the (eventTime, id) position, in the
+     * order in which they were stored.
+     */
+    @SqlQuery(
+        "SELECT eventTime, id, json FROM change_event WHERE (<condition>) "
+            + "AND (eventTime > :afterTime OR (eventTime = :afterTime AND id > :afterId)) "
+            + "ORDER BY eventTime ASC, id ASC LIMIT :limit")
+    @RegisterRowMapper(ChangeEventRecordMapper.class)
+    List<Triple<Long, Long, String>> listAfter(
+        @Define("condition") String condition,
+        @Bind("afterTime") long afterTime,
+        @Bind("afterId") long afterId,
+        @Bind("limit") int limit);
+
+    /** Events stored after the event with the given id, in the order of their ids */
+    @SqlQuery("SELECT eventTime, id, json FROM change_event WHERE id > :afterId ORDER BY id ASC LIMIT :limit")
+    @RegisterRowMapper(ChangeEventRecordMapper.class)
+    List<Triple<Long, Long, String>> listAfterId(@Bind("afterId") long afterId, @Bind("limit") int limit);
+
+    /** Id of the first event stored at or after the given time, or null when there is none */
+    @SqlQuery("SELECT id FROM change_event WHERE eventTime >= :eventTime ORDER BY eventTime ASC, id ASC LIMIT 1")
+    Long getFirstIdSince(@Bind("eventTime") long eventTime);
+
+    @SqlQuery("SELECT COALESCE(MAX(id), 0) FROM change_event")
+    long getMaxId();
+
+    @ConnectionAwareSqlUpdate(value = "INSERT INTO change_event_outbox (json) VALUES (:json)", connectionType = MYSQL)
+    @ConnectionAwareSqlUpdate(
+        value = "INSERT INTO change_event_outbox (json) VALUES (:json :: jsonb)",
+        connectionType = POSTGRES)
+    void insertOutbox(@Bind("json") String json);
+
+    @SqlBatch
+    @ConnectionAwareSqlBatch(value = "INSERT INTO change_event_outbox (json) VALUES (:json)", connectionType = MYSQL)
+    @ConnectionAwareSqlBatch(
+        value = "INSERT INTO change_event_outbox (json) VALUES (:json :: jsonb)",
+        connectionType = POSTGRES)
+    void insertOutboxBatch(@Bind("json") List<String> jsons);
+
+    /** Oldest events of the outbox. Rows locked by another server relaying the outbox are skipped. */
+    @SqlQuery("SELECT id, json FROM change_event_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED")
+    @RegisterRowMapper(IdJsonMapper.class)
+    List<Pair<Long, String>> listOutbox(@Bind("limit") int limit);
+
+    @SqlUpdate("DELETE FROM change_event_outbox WHERE id IN (<ids>)")
+    void deleteOutbox(@BindList("ids") List<Long> ids);
+
+    /**
+     * Pass the oldest events of the outbox to the relay and remove them from the outbox in one transaction. Returns the
+     * number of relayed events.
+     */
+    @Transaction
+    default int relayOutbox(int limit, Consumer<List<String>> relay) {
+      List<Pair<Long, String>> records = listOutbox(limit);
+      if (records.isEmpty()) {
+        return 0;
       }
-      return listWithEntityFilter(eventType, entityTypes, timestamp);
+      relay.accept(records.stream().map(Pair::getRight).collect(Collectors.toList()));
+      deleteOutbox(records.stream().map(Pair::getLeft).collect(Collectors.toList()));
+      return records.size();
     }
 
-    @SqlQuery(
-        "SELECT json FROM change_event WHERE "
-            + "eventType = :eventType AND (entityType IN (<entityTypes>)) AND eventTime >= :timestamp "
-            + "ORDER BY eventTime ASC")
-    List<String> listWithEntityFilter(
-        @Bind("eventType") String eventType,
-        @BindList("entityTypes") List<String> entityTypes,
-        @Bind("timestamp") long timestamp);
+    class IdJsonMapper implements RowMapper<Pair<Long, String>> {
+      @Override
+      public Pair<Long, String> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return Pair.of(r.getLong("id"), r.getString("json"));
+      }
+    }
 
-    @SqlQuery(
-        "SELECT json FROM change_event WHERE "
-            + "eventType = :eventType AND eventTime >= :timestamp "
-            + "ORDER BY eventTime ASC")
-    List<String> listWithoutEntityFilter(@Bind("eventType") String eventType, @Bind("timestamp") long timestamp);
+    class ChangeEventRecordMapper implements RowMapper<Triple<Long, Long, String>> {
+      @Override
+      public Triple<Long, Long, String> map(ResultSet r, StatementContext ctx) throws SQLException {
+        return Triple.of(r.getLong("eventTime"), r.getLong("id"), r.getString("json"));
+      }
+    }
   }
 
   interface TypeEntityDAO extends EntityDAO<Type> {
@@ -2451,8 +3113,10 @@ public interface CollectionDAO {
       if (entityType == null) {
         return EntityDAO.super.listBefore(filter, limit, before);
       }
-      condition = String.format("%s AND entityType='%s' ", condition, entityType);
-      return listBefore(getTableName(), getNameColumn(), condition, limit, before);
+      Map<String, Object> bindings = filter.getBindings();
+      bindings.put("entityType", entityType);
+      condition = String.format("%s AND entityType = :entityType ", condition);
+      return listBefore(getTableName(), getNameColumn(), condition, bindings, limit, before);
     }
 
     @Override
@@ -2462,8 +3126,15 @@ public interface CollectionDAO {
       if (entityType == null) {
         return EntityDAO.super.listAfter(filter, limit, after);
       }
-      condition = String.format("%s AND entityType='%s' ", condition, entityType);
-      return listAfter(getTableName(), getNameColumn(), condition, limit, after);
+      Map<String, Object> bindings = filter.getBindings();
+      bindings.put("entityType", entityType);
+      condition = String.format("%s AND entityType = :entityType ", condition);
+      return listAfter(getTableName(), getNameColumn(), condition, bindings, limit, after);
+    }
+
+    @Override
+    default Integer listCountEstimate(ListFilter filter) {
+      return filter.getQueryParam("entityType") == null ? EntityDAO.super.listCountEstimate(filter) : null;
     }
 
     @Override
@@ -2473,8 +3144,10 @@ public interface CollectionDAO {
       if (entityType == null) {
         return EntityDAO.super.listCount(filter);
       }
-      condition = String.format("%s AND entityType='%s' ", condition, entityType);
-      return listCount(getTableName(), getNameColumn(), condition);
+      Map<String, Object> bindings = filter.getBindings();
+      bindings.put("entityType", entityType);
+      condition = String.format("%s AND entityType = :entityType ", condition);
+      return listCount(getTableName(), getNameColumn(), condition, bindings);
     }
   }
 
@@ -2521,24 +3194,28 @@ public interface CollectionDAO {
       if (entityFqn == null && entityId == null && testSuiteId == null) {
         return EntityDAO.super.listBefore(filter, limit, before);
       }
+      Map<String, Object> bindings = filter.getBindings();
       if (entityId != null || entityFqn != null) {
         if (entityId != null) {
+          bindings.put("entityId", entityId);
           condition =
               String.format(
-                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId='%s' AND toEntity='%s' AND relation=%d)",
-                  condition, entityId, Entity.TEST_CASE, Relationship.CONTAINS.ordinal());
+                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId=:entityId AND toEntity='%s' AND relation=%d)",
+                  condition, Entity.TEST_CASE, Relationship.CONTAINS.ordinal());
         } else {
-          condition = String.format("%s AND fullyQualifiedName LIKE '%s.%%' ", condition, entityFqn);
+          bindings.put("entityFqnPrefix", entityFqn + Entity.SEPARATOR + "%");
+          condition = String.format("%s AND fullyQualifiedName LIKE :entityFqnPrefix ", condition);
         }
       }
       if (testSuiteId != null) {
+        bindings.put("testSuiteId", testSuiteId);
         condition =
             String.format(
-                "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId='%s' AND toEntity='%s' AND relation=%d AND fromEntity='%s')",
-                condition, testSuiteId, Entity.TEST_CASE, Relationship.HAS.ordinal(), Entity.TEST_SUITE);
+                "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId=:testSuiteId AND toEntity='%s' AND relation=%d AND fromEntity='%s')",
+                condition, Entity.TEST_CASE, Relationship.HAS.ordinal(), Entity.TEST_SUITE);
       }
 
-      return listBefore(getTableName(), getNameColumn(), condition, limit, before);
+      return listBefore(getTableName(), getNameColumn(), condition, bindings, limit, before);
     }
 
     @Override
@@ -2550,24 +3227,37 @@ public interface CollectionDAO {
       if (entityFqn == null && entityId == null && testSuiteId == null) {
         return EntityDAO.super.listAfter(filter, limit, after);
       }
+      Map<String, Object> bindings = filter.getBindings();
       if (entityId != null || entityFqn != null) {
         if (entityId != null) {
+          bindings.put("entityId", entityId);
           condition =
               String.format(
-                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId='%s' AND toEntity='%s' AND relation=%d)",
-                  condition, entityId, Entity.TEST_CASE, Relationship.CONTAINS.ordinal());
+                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId=:entityId AND toEntity='%s' AND relation=%d)",
+                  condition, Entity.TEST_CASE, Relationship.CONTAINS.ordinal());
         } else {
-          condition = String.format("%s AND fullyQualifiedName LIKE '%s.%%' ", condition, entityFqn);
+          bindings.put("entityFqnPrefix", entityFqn + Entity.SEPARATOR + "%");
+          condition = String.format("%s AND fullyQualifiedName LIKE :entityFqnPrefix ", condition);
         }
       }
       if (testSuiteId != null) {
+        bindings.put("testSuiteId", testSuiteId);
         condition =
             String.format(
-                "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId='%s' AND toEntity='%s' AND relation=%d AND fromEntity='%s')",
-                condition, testSuiteId, Entity.TEST_CASE, Relationship.HAS.ordinal(), Entity.TEST_SUITE);
+                "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId=:testSuiteId AND toEntity='%s' AND relation=%d AND fromEntity='%s')",
+                condition, Entity.TEST_CASE, Relationship.HAS.ordinal(), Entity.TEST_SUITE);
       }
 
-      return listAfter(getTableName(), getNameColumn(), condition, limit, after);
+      return listAfter(getTableName(), getNameColumn(), condition, bindings, limit, after);
+    }
+
+    @Override
+    default Integer listCountEstimate(ListFilter filter) {
+      boolean filtered =
+          filter.getQueryParam("entityId") != null
+              || filter.getQueryParam("entityFqn") != null
+              || filter.getQueryParam("testSuiteId") != null;
+      return filtered ? null : EntityDAO.super.listCountEstimate(filter);
     }
 
     @Override
@@ -2579,24 +3269,28 @@ public interface CollectionDAO {
       if (entityFqn == null && entityId == null && testSuiteId == null) {
         return EntityDAO.super.listCount(filter);
       }
+      Map<String, Object> bindings = filter.getBindings();
       if (entityId != null || entityFqn != null) {
         if (entityId != null) {
+          bindings.put("entityId", entityId);
           condition =
               String.format(
-                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId='%s' AND toEntity='%s' AND relation=%d)",
-                  condition, entityId, Entity.TEST_CASE, Relationship.CONTAINS.ordinal());
+                  "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId=:entityId AND toEntity='%s' AND relation=%d)",
+                  condition, Entity.TEST_CASE, Relationship.CONTAINS.ordinal());
         } else {
-          condition = String.format("%s AND fullyQualifiedName LIKE '%s.%%' ", condition, entityFqn);
+          bindings.put("entityFqnPrefix", entityFqn + Entity.SEPARATOR + "%");
+          condition = String.format("%s AND fullyQualifiedName LIKE :entityFqnPrefix ", condition);
         }
       }
       if (testSuiteId != null) {
+        bindings.put("testSuiteId", testSuiteId);
         condition =
             String.format(
-                "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId='%s' AND toEntity='%s' AND relation=%d AND fromEntity='%s')",
-                condition, testSuiteId, Entity.TEST_CASE, Relationship.HAS.ordinal(), Entity.TEST_SUITE);
+                "%s AND id IN (SELECT toId FROM entity_relationship WHERE fromId=:testSuiteId AND toEntity='%s' AND relation=%d AND fromEntity='%s')",
+                condition, Entity.TEST_CASE, Relationship.HAS.ordinal(), Entity.TEST_SUITE);
       }
 
-      return listCount(getTableName(), getNameColumn(), condition);
+      return listCount(getTableName(), getNameColumn(), condition, bindings);
     }
   }
 
@@ -2647,7 +3341,7 @@ public interface CollectionDAO {
 
     @RegisterRowMapper(ExtensionMapper.class)
     @SqlQuery(
-        "SELECT extension, json FROM entity_extension WHERE id = :id AND extension "
+        "SELECT extension, " + JSON_COLUMNS + " FROM entity_extension WHERE id = :id AND extension "
             + "LIKE CONCAT (:extensionPrefix, '.%') "
             + "ORDER BY extension")
     List<ExtensionRecord> getExtensions(@Bind("id") String id, @Bind("extensionPrefix") String extensionPrefix);
@@ -2667,7 +3361,10 @@ public interface CollectionDAO {
         "SELECT json FROM entity_extension_time_series <condition> "
             + " AND timestamp > :before ORDER BY timestamp ASC LIMIT :limit")
     List<String> listBefore(
-        @Define("condition") String condition, @Bind("limit") int limit, @Bind("before") long before);
+        @Define("condition") String condition,
+        @BindMap Map<String, ?> bindings,
+        @Bind("limit") int limit,
+        @Bind("before") long before);
 
     default List<String> listBefore(ListFilter filter, int limit, long before) {
       String entityId = filter.getQueryParam("entityId");
@@ -2676,32 +3373,44 @@ public interface CollectionDAO {
       String startTs = filter.getQueryParam("startTs");
       String endTs = filter.getQueryParam("endTs");
       String condition = filter.getCondition();
+      Map<String, Object> bindings = filter.getBindings();
 
       if (entityId != null) {
-        condition = String.format("%s AND entityId='%s' ", condition, entityId);
+        bindings.put("entityId", entityId);
+        condition = String.format("%s AND entityId = :entityId ", condition);
       }
       if (extension != null) {
-        condition = String.format("%s AND extension='%s' ", condition, extension);
+        bindings.put("extension", extension);
+        condition = String.format("%s AND extension = :extension ", condition);
       }
       if (entityFqn != null) {
-        condition = String.format("%s AND entityFqn='%s' ", condition, entityFqn);
+        bindings.put("entityFqn", entityFqn);
+        condition = String.format("%s AND entityFqn = :entityFqn ", condition);
+      }
+      if (startTs != null) {
+        bindings.put("startTs", Long.parseLong(startTs));
+      }
+      if (endTs != null) {
+        bindings.put("endTs", Long.parseLong(endTs));
       }
       if (startTs != null & endTs != null) {
-        condition =
-            String.format(
-                "%s AND timestamp BETWEEN %d and %d ", condition, Long.parseLong(startTs), Long.parseLong(endTs));
+        condition = String.format("%s AND timestamp BETWEEN :startTs and :endTs ", condition);
       } else if (startTs != null) {
-        condition = String.format("%s AND timestamp > %d ", condition, Long.parseLong(startTs));
+        condition = String.format("%s AND timestamp > :startTs ", condition);
       } else if (endTs != null) {
-        condition = String.format("%s AND timestamp < %d ", condition, Long.parseLong(endTs));
+        condition = String.format("%s AND timestamp < :endTs ", condition);
       }
-      return listBefore(condition, limit, before);
+      return listBefore(condition, bindings, limit, before);
     }
 
     @SqlQuery(
         "SELECT json FROM entity_extension_time_series <condition> "
             + " AND timestamp < :after ORDER BY timestamp DESC LIMIT :limit")
-    List<String> listAfter(@Define("condition") String condition, @Bind("limit") int limit, @Bind("after") long after);
+    List<String> listAfter(
+        @Define("condition") String condition,
+        @BindMap Map<String, ?> bindings,
+        @Bind("limit") int limit,
+        @Bind("after") long after);
 
     default List<String> listAfter(ListFilter filter, int limit, long after) {
       String entityId = filter.getQueryParam("entityId");
@@ -2710,30 +3419,38 @@ public interface CollectionDAO {
       String startTs = filter.getQueryParam("startTs");
       String endTs = filter.getQueryParam("endTs");
       String condition = filter.getCondition();
+      Map<String, Object> bindings = filter.getBindings();
 
       if (entityId != null) {
-        condition = String.format("%s AND entityId='%s' ", condition, entityId);
+        bindings.put("entityId", entityId);
+        condition = String.format("%s AND entityId = :entityId ", condition);
       }
       if (extension != null) {
-        condition = String.format("%s AND extension='%s' ", condition, extension);
+        bindings.put("extension", extension);
+        condition = String.format("%s AND extension = :extension ", condition);
       }
       if (entityFqn != null) {
-        condition = String.format("%s AND entityFqn='%s' ", condition, entityFqn);
+        bindings.put("entityFqn", entityFqn);
+        condition = String.format("%s AND entityFqn = :entityFqn ", condition);
+      }
+      if (startTs != null) {
+        bindings.put("startTs", Long.parseLong(startTs));
+      }
+      if (endTs != null) {
+        bindings.put("endTs", Long.parseLong(endTs));
       }
       if (startTs != null & endTs != null) {
-        condition =
-            String.format(
-                "%s AND timestamp BETWEEN %d and %d ", condition, Long.parseLong(startTs), Long.parseLong(endTs));
+        condition = String.format("%s AND timestamp BETWEEN :startTs and :endTs ", condition);
       } else if (startTs != null) {
-        condition = String.format("%s AND timestamp > %d ", condition, Long.parseLong(startTs));
+        condition = String.format("%s AND timestamp > :startTs ", condition);
       } else if (endTs != null) {
-        condition = String.format("%s AND timestamp < %d ", condition, Long.parseLong(endTs));
+        condition = String.format("%s AND timestamp < :endTs ", condition);
       }
-      return listAfter(condition, limit, after);
+      return listAfter(condition, bindings, limit, after);
     }
 
     @SqlQuery("SELECT count(*) FROM entity_extension_time_series <cond>")
-    int listCount(@Define("cond") String cond);
+    int listCount(@Define("cond") String cond, @BindMap Map<String, ?> bindings);
 
     default int listCount(ListFilter filter) {
       String entityId = filter.getQueryParam("entityId");
@@ -2742,26 +3459,34 @@ public interface CollectionDAO {
       String startTs = filter.getQueryParam("startTs");
       String endTs = filter.getQueryParam("endTs");
       String condition = filter.getCondition();
+      Map<String, Object> bindings = filter.getBindings();
 
       if (entityId != null) {
-        condition = String.format("%s AND entityId='%s' ", condition, entityId);
+        bindings.put("entityId", entityId);
+        condition = String.format("%s AND entityId = :entityId ", condition);
       }
       if (extension != null) {
-        condition = String.format("%s AND extension='%s' ", condition, extension);
+        bindings.put("extension", extension);
+        condition = String.format("%s AND extension = :extension ", condition);
       }
       if (entityFqn != null) {
-        condition = String.format("%s AND entityFqn='%s' ", condition, entityFqn);
+        bindings.put("entityFqn", entityFqn);
+        condition = String.format("%s AND entityFqn = :entityFqn ", condition);
+      }
+      if (startTs != null) {
+        bindings.put("startTs", Long.parseLong(startTs));
+      }
+      if (endTs != null) {
+        bindings.put("endTs", Long.parseLong(endTs));
       }
       if (startTs != null & endTs != null) {
-        condition =
-            String.format(
-                "%s AND timestamp BETWEEN %d and %d ", condition, Long.parseLong(startTs), Long.parseLong(endTs));
+        condition = String.format("%s AND timestamp BETWEEN :startTs and :endTs ", condition);
       } else if (startTs != null) {
-        condition = String.format("%s AND timestamp > %d ", condition, Long.parseLong(startTs));
+        condition = String.format("%s AND timestamp > :startTs ", condition);
       } else if (endTs != null) {
-        condition = String.format("%s AND timestamp < %d ", condition, Long.parseLong(endTs));
+        condition = String.format("%s AND timestamp < :endTs ", condition);
       }
-      return listCount(condition);
+      return listCount(condition, bindings);
     }
   }
 
@@ -24,7 +24,6 @@ import org.openmetadata.catalog.entity.data.DatabaseSchema;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipRecord;
 import org.openmetadata.catalog.resources.databases.DatabaseSchemaResource;
 import org.openmetadata.catalog.type.EntityReference;
-import org.openmetadata.catalog.type.Include;
 import org.openmetadata.catalog.type.Relationship;
 import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
@@ -106,7 +105,7 @@ public class DatabaseSchemaRepository extends EntityRepository<DatabaseSchema> {
 
   private void setDefaultFields(DatabaseSchema schema) throws IOException {
     EntityReference databaseRef = getContainer(schema.getId());
-    Database database = Entity.getEntity(databaseRef, Fields.EMPTY_FIELDS, Include.ALL);
+    Database database = getContainerEntity(databaseRef);
     schema.withDatabase(databaseRef).withService(database.getService());
   }
 
@@ -14,22 +14,37 @@
 package org.openmetadata.catalog.jdbi3;
 
 import static org.openmetadata.catalog.exception.CatalogExceptionMessage.entityNotFound;
+import static org.openmetadata.catalog.jdbi3.JsonStorage.JSON_COLUMNS;
 import static org.openmetadata.catalog.jdbi3.locator.ConnectionType.MYSQL;
 import static org.openmetadata.catalog.jdbi3.locator.ConnectionType.POSTGRES;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import javax.json.JsonObject;
 import lombok.SneakyThrows;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.sqlobject.config.RegisterRowMapper;
 import org.jdbi.v3.sqlobject.customizer.Bind;
+import org.jdbi.v3.sqlobject.customizer.BindList;
+import org.jdbi.v3.sqlobject.customizer.BindMap;
 import org.jdbi.v3.sqlobject.customizer.Define;
 import org.jdbi.v3.sqlobject.statement.SqlQuery;
 import org.jdbi.v3.sqlobject.statement.SqlUpdate;
+import org.jdbi.v3.sqlobject.statement.UseRowMapper;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.EntityInterface;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
+import org.openmetadata.catalog.jdbi3.JsonStorage.StoredJson;
+import org.openmetadata.catalog.jdbi3.JsonStorage.StoredJsonMapper;
+import org.openmetadata.catalog.jdbi3.locator.ConnectionAwareSqlQuery;
 import org.openmetadata.catalog.jdbi3.locator.ConnectionAwareSqlUpdate;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.Include;
@@ -48,55 +63,197 @@ public interface EntityDAO<T extends EntityInterface> {
     return true;
   }
 
+  /** Return true to compress the large JSON documents of the table with the codec configured in {@link JsonStorage} */
+  default boolean compressesJson() {
+    return false;
+  }
+
+  /**
+   * Number of parents of the entities stored in the {@link HierarchyColumns} of the table: 1 for the service, 2 for
+   * the service and the database, and 3 for the service, the database and the schema
+   */
+  default int getHierarchyDepth() {
+    return 0;
+  }
+
   /** Common queries for all entities implemented here. Do not override. */
-  @ConnectionAwareSqlUpdate(value = "INSERT INTO <table> (json) VALUES (:json)", connectionType = MYSQL)
-  @ConnectionAwareSqlUpdate(value = "INSERT INTO <table> (json) VALUES (:json :: jsonb)", connectionType = POSTGRES)
-  void insert(@Define("table") String table, @Bind("json") String json);
+  @ConnectionAwareSqlUpdate(
+      value = "INSERT INTO <table> (" + JSON_COLUMNS + ") VALUES (:json, :codec, :compressedJson)",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlUpdate(
+      value = "INSERT INTO <table> (" + JSON_COLUMNS + ") VALUES (:json :: jsonb, :codec, :compressedJson)",
+      connectionType = POSTGRES)
+  void insert(
+      @Define("table") String table,
+      @Bind("json") String json,
+      @Bind("codec") int codec,
+      @Bind("compressedJson") byte[] compressedJson);
 
-  @ConnectionAwareSqlUpdate(value = "UPDATE <table> SET  json = :json WHERE id = :id", connectionType = MYSQL)
   @ConnectionAwareSqlUpdate(
-      value = "UPDATE <table> SET  json = (:json :: jsonb) WHERE id = :id",
+      value =
+          "INSERT INTO <table> ("
+              + JSON_COLUMNS
+              + ", <hierarchyColumns>) VALUES (:json, :codec, :compressedJson, <hierarchyValues>)",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlUpdate(
+      value =
+          "INSERT INTO <table> ("
+              + JSON_COLUMNS
+              + ", <hierarchyColumns>) VALUES (:json :: jsonb, :codec, :compressedJson, <hierarchyValues>)",
       connectionType = POSTGRES)
-  void update(@Define("table") String table, @Bind("id") String id, @Bind("json") String json);
+  void insert(
+      @Define("table") String table,
+      @Bind("json") String json,
+      @Bind("codec") int codec,
+      @Bind("compressedJson") byte[] compressedJson,
+      @Define("hierarchyColumns") String hierarchyColumns,
+      @Define("hierarchyValues") String hierarchyValues,
+      @BindMap Map<String, ?> hierarchy);
+
+  @ConnectionAwareSqlUpdate(
+      value = "UPDATE <table> SET json = :json, codec = :codec, compressedJson = :compressedJson WHERE id = :id",
+      connectionType = MYSQL)
+  @ConnectionAwareSqlUpdate(
+      value =
+          "UPDATE <table> SET json = (:json :: jsonb), codec = :codec, compressedJson = :compressedJson "
+              + "WHERE id = :id",
+      connectionType = POSTGRES)
+  void update(
+      @Define("table") String table,
+      @Bind("id") String id,
+      @Bind("json") String json,
+      @Bind("codec") int codec,
+      @Bind("compressedJson") byte[] compressedJson);
 
-  @SqlQuery("SELECT json FROM <table> WHERE id = :id <cond>")
+  @SqlQuery("SELECT " + JSON_COLUMNS + " FROM <table> WHERE id = :id <cond>")
+  @UseRowMapper(StoredJsonMapper.class)
   String findById(@Define("table") String table, @Bind("id") String id, @Define("cond") String cond);
 
-  @SqlQuery("SELECT json FROM <table> WHERE <nameColumn> = :name <cond>")
+  @SqlQuery("SELECT " + JSON_COLUMNS + " FROM <table> WHERE <nameColumn> = :name <cond>")
+  @UseRowMapper(StoredJsonMapper.class)
   String findByName(
       @Define("table") String table,
       @Define("nameColumn") String nameColumn,
       @Bind("name") String name,
       @Define("cond") String cond);
 
+  @SqlQuery("SELECT " + JSON_COLUMNS + " FROM <table> WHERE id IN (<ids>) <cond>")
+  @UseRowMapper(StoredJsonMapper.class)
+  List<String> findByIds(
+      @Define("table") String table, @BindList("ids") List<String> ids, @Define("cond") String cond);
+
+  // Projection of only the fields needed for an EntityReference to avoid reading and parsing the full entity json
+  String REF_COLUMNS_MYSQL =
+      "SELECT id, json ->> '$.name' AS name, json ->> '$.fullyQualifiedName' AS fqn, "
+          + "json ->> '$.displayName' AS displayName, json ->> '$.description' AS description, "
+          + "json ->> '$.deleted' AS deleted FROM <table> ";
+  String REF_COLUMNS_POSTGRES =
+      "SELECT id, json ->> 'name' AS name, json ->> 'fullyQualifiedName' AS fqn, "
+          + "json ->> 'displayName' AS displayName, json ->> 'description' AS description, "
+          + "json ->> 'deleted' AS deleted FROM <table> ";
+
+  @ConnectionAwareSqlQuery(value = REF_COLUMNS_MYSQL + "WHERE id = :id <cond>", connectionType = MYSQL)
+  @ConnectionAwareSqlQuery(value = REF_COLUMNS_POSTGRES + "WHERE id = :id <cond>", connectionType = POSTGRES)
+  @RegisterRowMapper(EntityReferenceMapper.class)
+  EntityReference findReferenceById(@Define("table") String table, @Bind("id") String id, @Define("cond") String cond);
+
+  @ConnectionAwareSqlQuery(value = REF_COLUMNS_MYSQL + "WHERE <nameColumn> = :name <cond>", connectionType = MYSQL)
+  @ConnectionAwareSqlQuery(
+      value = REF_COLUMNS_POSTGRES + "WHERE <nameColumn> = :name <cond>",
+      connectionType = POSTGRES)
+  @RegisterRowMapper(EntityReferenceMapper.class)
+  EntityReference findReferenceByName(
+      @Define("table") String table,
+      @Define("nameColumn") String nameColumn,
+      @Bind("name") String name,
+      @Define("cond") String cond);
+
+  @ConnectionAwareSqlQuery(value = REF_COLUMNS_MYSQL + "WHERE id IN (<ids>) <cond>", connectionType = MYSQL)
+  @ConnectionAwareSqlQuery(value = REF_COLUMNS_POSTGRES + "WHERE id IN (<ids>) <cond>", connectionType = POSTGRES)
+  @RegisterRowMapper(EntityReferenceMapper.class)
+  List<EntityReference> findReferencesByIds(
+      @Define("table") String table, @BindList("ids") List<String> ids, @Define("cond") String cond);
+
+  @ConnectionAwareSqlQuery(value = REF_COLUMNS_MYSQL + "WHERE <nameColumn> IN (<names>) <cond>", connectionType = MYSQL)
+  @ConnectionAwareSqlQuery(
+      value = REF_COLUMNS_POSTGRES + "WHERE <nameColumn> IN (<names>) <cond>",
+      connectionType = POSTGRES)
+  @RegisterRowMapper(EntityReferenceMapper.class)
+  List<EntityReference> findReferencesByNames(
+      @Define("table") String table,
+      @Define("nameColumn") String nameColumn,
+      @BindList("names") List<String> names,
+      @Define("cond") String cond);
+
   @SqlQuery("SELECT count(*) FROM <table> <cond>")
-  int listCount(@Define("table") String table, @Define("nameColumn") String nameColumn, @Define("cond") String cond);
+  int listCount(
+      @Define("table") String table,
+      @Define("nameColumn") String nameColumn,
+      @Define("cond") String cond,
+      @BindMap Map<String, ?> bindings);
+
+  // Row estimate of the query planner, read from the table statistics without counting the rows
+  @ConnectionAwareSqlQuery(value = "EXPLAIN SELECT id FROM <table> <cond>", connectionType = MYSQL)
+  @ConnectionAwareSqlQuery(value = "EXPLAIN (FORMAT JSON) SELECT id FROM <table> <cond>", connectionType = POSTGRES)
+  @RegisterRowMapper(RowEstimateMapper.class)
+  List<Integer> listCountEstimate(
+      @Define("table") String table,
+      @Define("nameColumn") String nameColumn,
+      @Define("cond") String cond,
+      @BindMap Map<String, ?> bindings);
 
   @SqlQuery(
-      "SELECT json FROM ("
-          + "SELECT <nameColumn>, json FROM <table> <cond> AND "
+      "SELECT "
+          + JSON_COLUMNS
+          + " FROM ("
+          + "SELECT <nameColumn>, "
+          + JSON_COLUMNS
+          + " FROM <table> <cond> AND "
           + "<nameColumn> < :before "
           + // Pagination by entity fullyQualifiedName or name (when entity does not have fqn)
           "ORDER BY <nameColumn> DESC "
           + // Pagination ordering by entity fullyQualifiedName or name (when entity does not have fqn)
           "LIMIT :limit"
           + ") last_rows_subquery ORDER BY <nameColumn>")
+  @UseRowMapper(StoredJsonMapper.class)
   List<String> listBefore(
       @Define("table") String table,
       @Define("nameColumn") String nameColumn,
       @Define("cond") String cond,
+      @BindMap Map<String, ?> bindings,
       @Bind("limit") int limit,
       @Bind("before") String before);
 
   @SqlQuery(
-      "SELECT json FROM <table> <cond> AND " + "<nameColumn> > :after " + "ORDER BY <nameColumn> " + "LIMIT :limit")
+      "SELECT "
+          + JSON_COLUMNS
+          + " FROM <table> <cond> AND "
+          + "<nameColumn> > :after "
+          + "ORDER BY <nameColumn> "
+          + "LIMIT :limit")
+  @UseRowMapper(StoredJsonMapper.class)
   List<String> listAfter(
       @Define("table") String table,
       @Define("nameColumn") String nameColumn,
       @Define("cond") String cond,
+      @BindMap Map<String, ?> bindings,
       @Bind("limit") int limit,
       @Bind("after") String after);
 
+  @SqlQuery(
+      "SELECT "
+          + JSON_COLUMNS
+          + " FROM <table> WHERE <nameColumn> > :after AND updatedAt >= :since "
+          + "ORDER BY <nameColumn> "
+          + "LIMIT :limit")
+  @UseRowMapper(StoredJsonMapper.class)
+  List<String> listAfterUpdatedSince(
+      @Define("table") String table,
+      @Define("nameColumn") String nameColumn,
+      @Bind("after") String after,
+      @Bind("since") long since,
+      @Bind("limit") int limit);
+
   @SqlQuery("SELECT EXISTS (SELECT * FROM <table> WHERE id = :id)")
   boolean exists(@Define("table") String table, @Bind("id") String id);
 
@@ -108,11 +265,31 @@ public interface EntityDAO<T extends EntityInterface> {
 
   /** Default methods that interfaces with implementation. Don't override */
   default void insert(EntityInterface entity) throws JsonProcessingException {
-    insert(getTableName(), JsonUtils.pojoToJson(entity));
+    StoredJson stored = JsonStorage.encode(JsonUtils.pojoToJson(entity), compressesJson());
+    int depth = getHierarchyDepth();
+    if (depth == 0) {
+      insert(getTableName(), stored.getJson(), stored.getCodec(), stored.getCompressedJson());
+      return;
+    }
+    insert(
+        getTableName(),
+        stored.getJson(),
+        stored.getCodec(),
+        stored.getCompressedJson(),
+        HierarchyColumns.getColumns(depth),
+        HierarchyColumns.getParameters(depth),
+        HierarchyColumns.getValues(entity.getFullyQualifiedName(), depth));
   }
 
   default void update(UUID id, String json) {
-    update(getTableName(), id.toString(), json);
+    StoredJson stored = JsonStorage.encode(json, compressesJson());
+    update(getTableName(), id.toString(), stored.getJson(), stored.getCodec(), stored.getCompressedJson());
+    // Invalidated again after the commit by EntityReferenceCacheInvalidator
+    EntityReferenceCache.getInstance().invalidate(getEntityType(), id);
+  }
+
+  default String getEntityType() {
+    return Entity.getEntityTypeFromClass(getEntityClass());
   }
 
   default String getCondition(Include include) {
@@ -161,19 +338,72 @@ public interface EntityDAO<T extends EntityInterface> {
   }
 
   default EntityReference findEntityReferenceById(UUID id) throws IOException {
-    return findEntityById(id).getEntityReference();
+    return findEntityReferenceById(id, Include.NON_DELETED);
   }
 
   default EntityReference findEntityReferenceByName(String fqn) {
-    return findEntityByName(fqn).getEntityReference();
+    return findEntityReferenceByName(fqn, Include.NON_DELETED);
   }
 
   default EntityReference findEntityReferenceById(UUID id, Include include) throws IOException {
-    return findEntityById(id, include).getEntityReference();
+    String entityType = getEntityType();
+    EntityReference ref = EntityReferenceCache.getInstance().getById(entityType, id, include);
+    if (ref != null) {
+      return ref;
+    }
+    ref = findReferenceById(getTableName(), id.toString(), getCondition(include));
+    if (ref == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityType, id));
+    }
+    return EntityReferenceCache.getInstance().put(ref.withType(entityType));
   }
 
   default EntityReference findEntityReferenceByName(String fqn, Include include) {
-    return findEntityByName(fqn, include).getEntityReference();
+    String entityType = getEntityType();
+    EntityReference ref = EntityReferenceCache.getInstance().getByName(entityType, fqn, include);
+    if (ref != null) {
+      return ref;
+    }
+    ref = findReferenceByName(getTableName(), getNameColumn(), fqn, getCondition(include));
+    if (ref == null) {
+      throw EntityNotFoundException.byMessage(CatalogExceptionMessage.entityNotFound(entityType, fqn));
+    }
+    return EntityReferenceCache.getInstance().put(ref.withType(entityType));
+  }
+
+  /** Get entity references for a batch of ids in a single query. Ids that are not found are skipped. */
+  default List<EntityReference> findEntityReferencesByIds(List<UUID> ids, Include include) {
+    List<EntityReference> refs = new ArrayList<>();
+    String entityType = getEntityType();
+    List<String> missing = new ArrayList<>();
+    for (UUID id : ids) {
+      EntityReference ref = EntityReferenceCache.getInstance().getById(entityType, id, include);
+      if (ref != null) {
+        refs.add(ref);
+      } else {
+        missing.add(id.toString());
+      }
+    }
+    if (missing.isEmpty()) {
+      return refs;
+    }
+    for (EntityReference ref : findReferencesByIds(getTableName(), missing, getCondition(include))) {
+      refs.add(EntityReferenceCache.getInstance().put(ref.withType(entityType)));
+    }
+    return refs;
+  }
+
+  /** Get entity references for a batch of fully qualified names in a single query. Names not found are skipped. */
+  default List<EntityReference> findEntityReferencesByNames(List<String> fqns, Include include) {
+    List<EntityReference> refs = new ArrayList<>();
+    if (fqns.isEmpty()) {
+      return refs;
+    }
+    String entityType = getEntityType();
+    for (EntityReference ref : findReferencesByNames(getTableName(), getNameColumn(), fqns, getCondition(include))) {
+      refs.add(EntityReferenceCache.getInstance().put(ref.withType(entityType)));
+    }
+    return refs;
   }
 
   default String findJsonById(String id, Include include) {
@@ -185,19 +415,38 @@ public interface EntityDAO<T extends EntityInterface> {
   }
 
   default int listCount(ListFilter filter) {
-    return listCount(getTableName(), getNameColumn(), filter.getCondition());
+    return listCount(getTableName(), getNameColumn(), filter.getCondition(), filter.getBindings());
+  }
+
+  /**
+   * Estimate of {@link #listCount(ListFilter)}, or null when the filter can't be estimated. DAOs that add conditions
+   * to the filter in {@link #listCount(ListFilter)} return null for those filters.
+   */
+  default Integer listCountEstimate(ListFilter filter) {
+    List<Integer> estimates =
+        listCountEstimate(getTableName(), getNameColumn(), filter.getCondition(), filter.getBindings());
+    return estimates.isEmpty() ? null : estimates.get(0);
   }
 
   default List<String> listBefore(ListFilter filter, int limit, String before) {
     // Quoted name is stored in fullyQualifiedName column and not in the name column
     before = getNameColumn().equals("name") ? FullyQualifiedName.unquoteName(before) : before;
-    return listBefore(getTableName(), getNameColumn(), filter.getCondition(), limit, before);
+    return listBefore(getTableName(), getNameColumn(), filter.getCondition(), filter.getBindings(), limit, before);
+  }
+
+  /**
+   * List entities including deleted ones, ordered by the name column and updated at or after {@code since}. Used for
+   * streaming all the entities of a type with keyset pagination where {@code after} is the name column value of the
+   * last entity of the previous page.
+   */
+  default List<String> listAfterUpdatedSince(String after, long since, int limit) {
+    return listAfterUpdatedSince(getTableName(), getNameColumn(), after, since, limit);
   }
 
   default List<String> listAfter(ListFilter filter, int limit, String after) {
     // Quoted name is stored in fullyQualifiedName column and not in the name column
     after = getNameColumn().equals("name") ? FullyQualifiedName.unquoteName(after) : after;
-    return listAfter(getTableName(), getNameColumn(), filter.getCondition(), limit, after);
+    return listAfter(getTableName(), getNameColumn(), filter.getCondition(), filter.getBindings(), limit, after);
   }
 
   default void exists(UUID id) {
@@ -216,10 +465,41 @@ public interface EntityDAO<T extends EntityInterface> {
 
   default int delete(String id) {
     int rowsDeleted = delete(getTableName(), id);
+    // Invalidated again after the commit by EntityReferenceCacheInvalidator
+    EntityReferenceCache.getInstance().invalidate(getEntityType(), UUID.fromString(id));
     if (rowsDeleted <= 0) {
       String entityType = Entity.getEntityTypeFromClass(getEntityClass());
       throw EntityNotFoundException.byMessage(entityNotFound(entityType, id));
     }
     return rowsDeleted;
   }
+
+  /** Maps the plan of the first table of an EXPLAIN statement to its estimated number of rows */
+  class RowEstimateMapper implements RowMapper<Integer> {
+    @Override
+    public Integer map(ResultSet rs, StatementContext ctx) throws SQLException {
+      if (rs.getMetaData().getColumnCount() == 1) { // Postgres plan in JSON format
+        JsonObject plan = JsonUtils.readJson(rs.getString(1)).asJsonArray().getJsonObject(0).getJsonObject("Plan");
+        return plan.getJsonNumber("Plan Rows").intValue();
+      }
+      double filtered = rs.getObject("filtered") == null ? 100 : rs.getDouble("filtered");
+      return (int) Math.round(rs.getLong("rows") * filtered / 100);
+    }
+  }
+
+  class EntityReferenceMapper implements RowMapper<EntityReference> {
+    @Override
+    public EntityReference map(ResultSet rs, StatementContext ctx) throws SQLException {
+      String name = rs.getString("name");
+      String fqn = rs.getString("fqn");
+      String deleted = rs.getString("deleted");
+      return new EntityReference()
+          .withId(UUID.fromString(rs.getString("id")))
+          .withName(name)
+          .withFullyQualifiedName(fqn == null ? name : fqn)
+          .withDisplayName(rs.getString("displayName"))
+          .withDescription(rs.getString("description"))
+          .withDeleted(deleted == null ? null : Boolean.valueOf(deleted));
+    }
+  }
 }
@@ -0,0 +1,130 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.Include;
+
+/**
+ * Bounded cache of {@link EntityReference} keyed by (entityType, id) with a secondary (entityType, fqn) index. Entries
+ * are evicted when the entity is updated, renamed or deleted through {@link EntityDAO}, and again by {@link
+ * EntityReferenceCacheInvalidator} once the change is committed. A short time to live bounds staleness for changes made
+ * by other server instances.
+ */
+public final class EntityReferenceCache {
+  private static final EntityReferenceCache INSTANCE = new EntityReferenceCache();
+
+  private final Cache<String, EntityReference> referenceCache =
+      CacheBuilder.newBuilder().maximumSize(10000).expireAfterWrite(5, TimeUnit.MINUTES).build();
+
+  // Index from (entityType, fqn) to id. The id entry is validated on lookup so a stale index entry after rename is
+  // harmless and only results in a cache miss.
+  private final Cache<String, UUID> fqnIndex =
+      CacheBuilder.newBuilder().maximumSize(10000).expireAfterWrite(5, TimeUnit.MINUTES).build();
+
+  private EntityReferenceCache() {}
+
+  public static EntityReferenceCache getInstance() {
+    return INSTANCE;
+  }
+
+  /** Return a copy of the cached reference if present and matching the include filter, otherwise null. */
+  public EntityReference getById(String entityType, UUID id, Include include) {
+    return matches(referenceCache.getIfPresent(idKey(entityType, id)), include);
+  }
+
+  /** Return a copy of the cached reference if present and matching the include filter, otherwise null. */
+  public EntityReference getByName(String entityType, String fqn, Include include) {
+    UUID id = fqnIndex.getIfPresent(fqnKey(entityType, fqn));
+    if (id == null) {
+      return null;
+    }
+    EntityReference ref = referenceCache.getIfPresent(idKey(entityType, id));
+    if (ref == null || !fqn.equals(ref.getFullyQualifiedName())) {
+      fqnIndex.invalidate(fqnKey(entityType, fqn));
+      return null;
+    }
+    return matches(ref, include);
+  }
+
+  /** Cache a copy of the given reference and return the reference passed in */
+  public EntityReference put(EntityReference ref) {
+    if (ref == null || ref.getType() == null || ref.getId() == null) {
+      return ref;
+    }
+    referenceCache.put(idKey(ref.getType(), ref.getId()), copy(ref));
+    if (ref.getFullyQualifiedName() != null) {
+      fqnIndex.put(fqnKey(ref.getType(), ref.getFullyQualifiedName()), ref.getId());
+    }
+    return ref;
+  }
+
+  public void invalidate(String entityType, UUID id) {
+    EntityReference ref = referenceCache.getIfPresent(idKey(entityType, id));
+    referenceCache.invalidate(idKey(entityType, id));
+    if (ref != null && ref.getFullyQualifiedName() != null) {
+      fqnIndex.invalidate(fqnKey(entityType, ref.getFullyQualifiedName()));
+    }
+  }
+
+  /** Evict all the references of a given entity type. Used after bulk updates that bypass per entity eviction. */
+  public void invalidateAll(String entityType) {
+    String prefix = entityType + ":";
+    referenceCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    fqnIndex.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+  }
+
+  public void invalidateAll() {
+    referenceCache.invalidateAll();
+    fqnIndex.invalidateAll();
+  }
+
+  private static EntityReference matches(EntityReference ref, Include include) {
+    if (ref == null) {
+      return null;
+    }
+    boolean deleted = Boolean.TRUE.equals(ref.getDeleted());
+    if ((include == null || include == Include.NON_DELETED) && deleted) {
+      return null;
+    }
+    if (include == Include.DELETED && !deleted) {
+      return null;
+    }
+    return copy(ref);
+  }
+
+  /** References are mutable (href is set on the way out), so never hand out the cached instance */
+  private static EntityReference copy(EntityReference ref) {
+    return new EntityReference()
+        .withId(ref.getId())
+        .withType(ref.getType())
+        .withName(ref.getName())
+        .withFullyQualifiedName(ref.getFullyQualifiedName())
+        .withDisplayName(ref.getDisplayName())
+        .withDescription(ref.getDescription())
+        .withDeleted(ref.getDeleted());
+  }
+
+  private static String idKey(String entityType, UUID id) {
+    return entityType + ":" + id;
+  }
+
+  private static String fqnKey(String entityType, String fqn) {
+    return entityType + ":" + fqn;
+  }
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.lmax.disruptor.EventHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.catalog.events.EventPubSub.ChangeEventHolder;
+import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.type.EventType;
+
+/**
+ * Invalidates the entries of {@link EntityReferenceCache} affected by change events, which are published after the
+ * transaction of the change is committed. {@link EntityDAO} invalidates the entries when it writes an entity, before the
+ * commit, and a concurrent read may cache the previous version of the entity again until the commit. An updated entity
+ * is invalidated. Deleting an entity also deletes the entities it contains without change events of their own, so all
+ * the entries are invalidated.
+ */
+@Slf4j
+public class EntityReferenceCacheInvalidator implements EventHandler<ChangeEventHolder> {
+  @Override
+  public void onEvent(ChangeEventHolder holder, long sequence, boolean endOfBatch) {
+    ChangeEvent event = holder.get();
+    if (event == null || event.getEventType() == EventType.ENTITY_CREATED) {
+      return; // Entities that don't exist are not cached
+    }
+    try {
+      invalidate(event);
+    } catch (Exception e) {
+      // Exceptions stop the event handler. Entries that were not invalidated expire eventually.
+      LOG.warn("Failed to invalidate entity reference cache for {} {}", event.getEntityType(), event.getEntityId(), e);
+    }
+  }
+
+  void invalidate(ChangeEvent event) {
+    if (event.getEventType() == EventType.ENTITY_DELETED || event.getEventType() == EventType.ENTITY_SOFT_DELETED) {
+      EntityReferenceCache.getInstance().invalidateAll();
+    } else if (event.getEntityType() != null && event.getEntityId() != null) {
+      EntityReferenceCache.getInstance().invalidate(event.getEntityType(), event.getEntityId());
+    }
+  }
+}
@@ -42,13 +42,18 @@ import java.io.IOException;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiPredicate;
 import javax.json.JsonPatch;
 import javax.ws.rs.core.Response.Status;
@@ -60,17 +65,18 @@ import org.openmetadata.catalog.CatalogApplicationConfig;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.EntityInterface;
 import org.openmetadata.catalog.TypeRegistry;
-import org.openmetadata.catalog.entity.data.GlossaryTerm;
 import org.openmetadata.catalog.entity.data.Table;
-import org.openmetadata.catalog.entity.tags.Tag;
 import org.openmetadata.catalog.entity.teams.User;
+import org.openmetadata.catalog.events.ChangeEventHandler;
+import org.openmetadata.catalog.events.ChangeEventOutbox;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.exception.UnhandledServerException;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipObject;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipRecord;
-import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityVersionPair;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.ExtensionRecord;
 import org.openmetadata.catalog.jdbi3.TableRepository.TableUpdater;
+import org.openmetadata.catalog.security.policyevaluator.ResourceContext;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.ChangeEvent;
 import org.openmetadata.catalog.type.EntityHistory;
@@ -143,6 +149,12 @@ public abstract class EntityRepository<T extends EntityInterface> {
   /** Fields that can be updated during PUT operation */
   protected final Fields putFields;
 
+  /** Previous versions of the entities */
+  private final EntityVersionStore versionStore;
+
+  /** Relationships and tags of a page of entities prefetched by {@link #setFieldsBatch(List, Fields)} */
+  private final ThreadLocal<BatchContext> batchContext = new ThreadLocal<>();
+
   EntityRepository(
       String collectionPath,
       String entityType,
@@ -159,6 +171,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
     this.patchFields = getFields(patchFields);
     this.putFields = getFields(putFields);
     this.entityType = entityType;
+    this.versionStore = new EntityVersionStore(collectionDAO, entityType);
 
     this.supportsTags = allowedFields.contains(FIELD_TAGS);
     this.supportsOwner = allowedFields.contains(FIELD_OWNER);
@@ -167,12 +180,37 @@ public abstract class EntityRepository<T extends EntityInterface> {
     Entity.registerEntity(entityClass, entityType, dao, this);
   }
 
+  public final EntityVersionStore getVersionStore() {
+    return versionStore;
+  }
+
   /**
    * Set the requested fields in an entity. This is used for requesting specific fields in the object during GET
    * operations. It is also used during PUT and PATCH operations to set up fields that can be updated.
    */
   public abstract T setFields(T entity, Fields fields) throws IOException;
 
+  /**
+   * Set the requested fields for a page of entities. Owner, followers, tags, and container of all the entities are
+   * resolved up front with a few {@code IN (...)} queries and {@link #setFields(EntityInterface, Fields)} is then
+   * served from those prefetched results instead of issuing single row queries for each entity.
+   */
+  @Transaction
+  public final List<T> setFieldsBatch(List<T> entities, Fields fields) throws IOException {
+    if (entities.isEmpty()) {
+      return entities;
+    }
+    batchContext.set(prefetch(entities, fields));
+    try {
+      for (T entity : entities) {
+        setFields(entity, fields);
+      }
+    } finally {
+      batchContext.remove();
+    }
+    return entities;
+  }
+
   /**
    * This method is used for validating an entity to be created during POST, PUT, and PATCH operations and prepare the
    * entity with all the required attributes and relationships.
@@ -285,6 +323,45 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return withHref(uriInfo, setFields(dao.findEntityById(UUID.fromString(id), include), fields));
   }
 
+  /**
+   * Get an entity with the given fields, reusing the entity, owner and tags that were read to authorize the request
+   * instead of reading them again.
+   */
+  @Transaction
+  public final T get(UriInfo uriInfo, ResourceContext resourceContext, Fields fields) throws IOException {
+    T entity = entityClass.cast(resourceContext.getEntity());
+    BatchContext context = new BatchContext();
+    if (supportsOwner && resourceContext.isOwnerResolved()) {
+      EntityReference owner = resourceContext.getOwner();
+      List<EntityRelationshipRecord> records = new ArrayList<>();
+      if (owner != null) {
+        records.add(EntityRelationshipRecord.builder().id(owner.getId()).type(owner.getType()).build());
+        context.references.put(owner.getId(), owner);
+      }
+      context.fromRecords.put(Relationship.OWNS, Map.of(entity.getId(), records));
+    }
+    if (supportsTags && resourceContext.isTagsResolved()) {
+      context.tags = Map.of(entity.getFullyQualifiedName(), listOrEmpty(resourceContext.getTags()));
+    }
+    context.concurrentFields = true;
+    batchContext.set(context);
+    try {
+      return withHref(uriInfo, setFields(entity, fields));
+    } finally {
+      batchContext.remove();
+    }
+  }
+
+  /** Entity as stored, without the fields that are stored as relationships */
+  public final T getStored(UUID id, Include include) throws IOException {
+    return dao.findEntityById(id, include);
+  }
+
+  /** Entity as stored, without the fields that are stored as relationships */
+  public final T getStoredByName(String fqn, Include include) {
+    return dao.findEntityByName(fqn, include);
+  }
+
   @Transaction
   public final T getByName(UriInfo uriInfo, String fqn, Fields fields) throws IOException {
     return getByName(uriInfo, fqn, fields, NON_DELETED);
@@ -298,16 +375,18 @@ public abstract class EntityRepository<T extends EntityInterface> {
   @Transaction
   public final ResultList<T> listAfter(UriInfo uriInfo, Fields fields, ListFilter filter, int limitParam, String after)
       throws IOException {
-    int total = dao.listCount(filter);
+    withHierarchyDepth(filter);
+    Integer total = listCount(filter);
     List<T> entities = new ArrayList<>();
     if (limitParam > 0) {
       // forward scrolling, if after == null then first page is being asked
       List<String> jsons = dao.listAfter(filter, limitParam + 1, after == null ? "" : RestUtil.decodeCursor(after));
 
       for (String json : jsons) {
-        T entity = withHref(uriInfo, setFields(JsonUtils.readValue(json, entityClass), fields));
-        entities.add(entity);
+        entities.add(JsonUtils.readValue(json, entityClass));
       }
+      setFieldsBatch(entities, fields);
+      entities.forEach(entity -> withHref(uriInfo, entity));
 
       String beforeCursor;
       String afterCursor = null;
@@ -323,18 +402,60 @@ public abstract class EntityRepository<T extends EntityInterface> {
     }
   }
 
+  /**
+   * Select the parents of the filter with the {@link HierarchyColumns} of the entity table. Set once before any query
+   * of a list request, so that the queries and the {@link TotalCounter} key of the filter use the same condition.
+   */
+  private void withHierarchyDepth(ListFilter filter) {
+    filter.withHierarchyDepth(dao.getHierarchyDepth());
+  }
+
+  /** Total count of the entities of a filter, computed as requested with the filter. See {@link TotalCounter}. */
+  private Integer listCount(ListFilter filter) {
+    return TotalCounter.count(
+        filter.getTotalCount(),
+        entityType + ":" + filter.getKey(),
+        () -> dao.listCount(filter),
+        () -> dao.listCountEstimate(filter));
+  }
+
+  /** Column of the entity table that pagination and name lookups use, either the name or fully qualified name */
+  public final String getNameColumn() {
+    return dao.getNameColumn();
+  }
+
+  /**
+   * Return a page of entities including deleted ones, updated at or after {@code since}, ordered by the name column.
+   * The name column value of the last entity is the {@code after} cursor for the next page. See {@link
+   * #getNameColumnValue(EntityInterface)}.
+   */
+  @Transaction
+  public final List<T> listAfterUpdatedSince(Fields fields, String after, long since, int limit) throws IOException {
+    List<T> entities = new ArrayList<>();
+    for (String json : dao.listAfterUpdatedSince(after, since, limit)) {
+      entities.add(JsonUtils.readValue(json, entityClass));
+    }
+    return setFieldsBatch(entities, fields);
+  }
+
+  public final String getNameColumnValue(T entity) {
+    return dao.getNameColumn().equals("name") ? entity.getName() : entity.getFullyQualifiedName();
+  }
+
   @Transaction
   public final ResultList<T> listBefore(
       UriInfo uriInfo, Fields fields, ListFilter filter, int limitParam, String before) throws IOException {
+    withHierarchyDepth(filter);
     // Reverse scrolling - Get one extra result used for computing before cursor
     List<String> jsons = dao.listBefore(filter, limitParam + 1, RestUtil.decodeCursor(before));
 
     List<T> entities = new ArrayList<>();
     for (String json : jsons) {
-      T entity = withHref(uriInfo, setFields(JsonUtils.readValue(json, entityClass), fields));
-      entities.add(entity);
+      entities.add(JsonUtils.readValue(json, entityClass));
     }
-    int total = dao.listCount(filter);
+    setFieldsBatch(entities, fields);
+    entities.forEach(entity -> withHref(uriInfo, entity));
+    Integer total = listCount(filter);
 
     String beforeCursor = null;
     String afterCursor;
@@ -349,10 +470,9 @@ public abstract class EntityRepository<T extends EntityInterface> {
   @Transaction
   public T getVersion(String id, String version) throws IOException {
     Double requestedVersion = Double.parseDouble(version);
-    String extension = EntityUtil.getVersionExtension(entityType, requestedVersion);
 
     // Get previous version from version history
-    String json = daoCollection.entityExtensionDAO().getExtension(id, extension);
+    String json = versionStore.getVersion(id, requestedVersion);
     if (json != null) {
       return JsonUtils.readValue(json, entityClass);
     }
@@ -368,22 +488,20 @@ public abstract class EntityRepository<T extends EntityInterface> {
   @Transaction
   public EntityHistory listVersions(String id) throws IOException {
     T latest = setFields(dao.findEntityById(UUID.fromString(id), ALL), putFields);
-    String extensionPrefix = EntityUtil.getVersionExtensionPrefix(entityType);
-    List<ExtensionRecord> records = daoCollection.entityExtensionDAO().getExtensions(id, extensionPrefix);
-    List<EntityVersionPair> oldVersions = new ArrayList<>();
-    records.forEach(r -> oldVersions.add(new EntityVersionPair(r)));
-    oldVersions.sort(EntityUtil.compareVersion.reversed());
-
     final List<Object> allVersions = new ArrayList<>();
     allVersions.add(JsonUtils.pojoToJson(latest));
-    oldVersions.forEach(version -> allVersions.add(version.getEntityJson()));
+    allVersions.addAll(versionStore.listVersions(id));
     return new EntityHistory().withEntityType(entityType).withVersions(allVersions);
   }
 
   public final T create(UriInfo uriInfo, T entity) throws IOException {
-    entity = withHref(uriInfo, createInternal(entity));
-    postCreate(entity);
-    return entity;
+    T created =
+        ChangeEventOutbox.record(
+            daoCollection,
+            () -> withHref(uriInfo, createInternal(entity)),
+            e -> ChangeEventHandler.getChangeEvent(Status.CREATED.getStatusCode(), RestUtil.ENTITY_CREATED, e));
+    postCreate(created);
+    return created;
   }
 
   @Transaction
@@ -393,8 +511,15 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return createNewEntity(entity);
   }
 
-  @Transaction
   public final PutResponse<T> createOrUpdate(UriInfo uriInfo, T original, T updated) throws IOException {
+    return ChangeEventOutbox.record(
+        daoCollection,
+        () -> createOrUpdateInternal(uriInfo, original, updated),
+        response -> ChangeEventOutbox.getChangeEvent(response.toResponse()));
+  }
+
+  @Transaction
+  private PutResponse<T> createOrUpdateInternal(UriInfo uriInfo, T original, T updated) throws IOException {
     prepare(updated);
     validateExtension(updated);
     // Check if there is any original, deleted or not
@@ -406,7 +531,11 @@ public abstract class EntityRepository<T extends EntityInterface> {
   }
 
   public final PutResponse<T> createOrUpdate(UriInfo uriInfo, T updated) throws IOException {
-    PutResponse<T> response = createOrUpdateInternal(uriInfo, updated);
+    PutResponse<T> response =
+        ChangeEventOutbox.record(
+            daoCollection,
+            () -> createOrUpdateInternal(uriInfo, updated),
+            r -> ChangeEventOutbox.getChangeEvent(r.toResponse()));
     if (response.getStatus() == Status.CREATED) {
       postCreate(response.getEntity());
     } else if (response.getStatus() == Status.OK) {
@@ -453,8 +582,15 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return new PutResponse<>(Status.OK, withHref(uriInfo, updated), change);
   }
 
-  @Transaction
   public final PatchResponse<T> patch(UriInfo uriInfo, UUID id, String user, JsonPatch patch) throws IOException {
+    return ChangeEventOutbox.record(
+        daoCollection,
+        () -> patchInternal(uriInfo, id, user, patch),
+        response -> ChangeEventOutbox.getChangeEvent(response.toResponse()));
+  }
+
+  @Transaction
+  private PatchResponse<T> patchInternal(UriInfo uriInfo, UUID id, String user, JsonPatch patch) throws IOException {
     // Get all the fields in the original entity that can be updated during PATCH operation
     T original = setFields(dao.findEntityById(id), patchFields);
 
@@ -474,8 +610,15 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return new PatchResponse<>(Status.OK, withHref(uriInfo, updated), change);
   }
 
-  @Transaction
   public PutResponse<T> addFollower(String updatedBy, UUID entityId, UUID userId) throws IOException {
+    return ChangeEventOutbox.record(
+        daoCollection,
+        () -> addFollowerInternal(updatedBy, entityId, userId),
+        response -> ChangeEventOutbox.getChangeEvent(response.toResponse()));
+  }
+
+  @Transaction
+  private PutResponse<T> addFollowerInternal(String updatedBy, UUID entityId, UUID userId) throws IOException {
     // Get entity
     T entity = dao.findEntityById(entityId);
 
@@ -511,14 +654,22 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   public final DeleteResponse<T> delete(String updatedBy, String id, boolean recursive, boolean hardDelete)
       throws IOException {
-    DeleteResponse<T> response = deleteInternal(updatedBy, id, recursive, hardDelete);
+    DeleteResponse<T> response =
+        ChangeEventOutbox.record(
+            daoCollection,
+            () -> deleteInternal(updatedBy, id, recursive, hardDelete),
+            r -> ChangeEventOutbox.getChangeEvent(r.toResponse()));
     postDelete(response.getEntity());
     return response;
   }
 
   public final DeleteResponse<T> deleteByName(String updatedBy, String name, boolean recursive, boolean hardDelete)
       throws IOException {
-    DeleteResponse<T> response = deleteInternalByName(updatedBy, name, recursive, hardDelete);
+    DeleteResponse<T> response =
+        ChangeEventOutbox.record(
+            daoCollection,
+            () -> deleteInternalByName(updatedBy, name, recursive, hardDelete),
+            r -> ChangeEventOutbox.getChangeEvent(r.toResponse()));
     postDelete(response.getEntity());
     return response;
   }
@@ -626,8 +777,15 @@ public abstract class EntityRepository<T extends EntityInterface> {
     dao.delete(id);
   }
 
-  @Transaction
   public PutResponse<T> deleteFollower(String updatedBy, UUID entityId, UUID userId) throws IOException {
+    return ChangeEventOutbox.record(
+        daoCollection,
+        () -> deleteFollowerInternal(updatedBy, entityId, userId),
+        response -> ChangeEventOutbox.getChangeEvent(response.toResponse()));
+  }
+
+  @Transaction
+  private PutResponse<T> deleteFollowerInternal(String updatedBy, UUID entityId, UUID userId) throws IOException {
     T entity = dao.findEntityById(entityId);
 
     // Validate follower
@@ -657,7 +815,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return new PutResponse<>(Status.OK, changeEvent, RestUtil.ENTITY_FIELDS_CHANGED);
   }
 
-  public final ResultList<T> getResultList(List<T> entities, String beforeCursor, String afterCursor, int total) {
+  public final ResultList<T> getResultList(List<T> entities, String beforeCursor, String afterCursor, Integer total) {
     return new ResultList<>(entities, beforeCursor, afterCursor, total);
   }
 
@@ -784,31 +942,64 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   /** Apply tags {@code tagLabels} to the entity or field identified by {@code targetFQN} */
   public void applyTags(List<TagLabel> tagLabels, String targetFQN) {
-    for (TagLabel tagLabel : listOrEmpty(tagLabels)) {
-      if (tagLabel.getSource() == TagSource.TAG) {
-        Tag tag = daoCollection.tagDAO().findEntityByName(tagLabel.getTagFQN());
-        tagLabel.withDescription(tag.getDescription());
-        tagLabel.setSource(TagSource.TAG);
-      } else if (tagLabel.getSource() == TagSource.GLOSSARY) {
-        GlossaryTerm term = daoCollection.glossaryTermDAO().findEntityByName(tagLabel.getTagFQN(), NON_DELETED);
-        tagLabel.withDescription(term.getDescription());
-        tagLabel.setSource(TagSource.GLOSSARY);
-      }
+    applyTags(Map.of(targetFQN, listOrEmpty(tagLabels)));
+  }
 
-      // Apply tagLabel to targetFQN that identifies an entity or field
-      daoCollection
-          .tagUsageDAO()
-          .applyTag(
-              tagLabel.getSource().ordinal(),
-              tagLabel.getTagFQN(),
-              targetFQN,
-              tagLabel.getLabelType().ordinal(),
-              tagLabel.getState().ordinal());
+  /**
+   * Apply tags to a batch of entities or fields, such as the columns of a table, keyed by the fully qualified name of
+   * the target. All the tag labels are written with one batch statement.
+   */
+  protected final void applyTags(Map<String, List<TagLabel>> tagLabelsByTarget) {
+    List<Integer> sources = new ArrayList<>();
+    List<String> tagFQNs = new ArrayList<>();
+    List<String> targetFQNs = new ArrayList<>();
+    List<Integer> labelTypes = new ArrayList<>();
+    List<Integer> states = new ArrayList<>();
+    TagLabelCache cache = TagLabelCache.getInstance(); // Tags and glossary terms are not read for each label
+    for (Entry<String, List<TagLabel>> entry : tagLabelsByTarget.entrySet()) {
+      for (TagLabel tagLabel : listOrEmpty(entry.getValue())) {
+        if (tagLabel.getSource() == TagSource.TAG) {
+          tagLabel.withDescription(cache.getDescription(TagSource.TAG, tagLabel.getTagFQN(), this::getTagDescription));
+        } else if (tagLabel.getSource() == TagSource.GLOSSARY) {
+          tagLabel.withDescription(
+              cache.getDescription(TagSource.GLOSSARY, tagLabel.getTagFQN(), this::getGlossaryTermDescription));
+        }
+
+        // Apply tagLabel to targetFQN that identifies an entity or field
+        sources.add(tagLabel.getSource().ordinal());
+        tagFQNs.add(tagLabel.getTagFQN());
+        targetFQNs.add(entry.getKey());
+        labelTypes.add(tagLabel.getLabelType().ordinal());
+        states.add(tagLabel.getState().ordinal());
+      }
+    }
+    if (!targetFQNs.isEmpty()) {
+      daoCollection.tagUsageDAO().applyTags(sources, tagFQNs, targetFQNs, labelTypes, states);
     }
   }
 
+  private String getTagDescription(String fqn) {
+    return daoCollection.tagDAO().findEntityByName(fqn).getDescription();
+  }
+
+  private String getGlossaryTermDescription(String fqn) {
+    return daoCollection.glossaryTermDAO().findEntityByName(fqn, NON_DELETED).getDescription();
+  }
+
+  /** Tags applied to an entity, read without reading the entity */
+  public final List<TagLabel> getEntityTags(String fqn) {
+    return getTags(fqn);
+  }
+
   protected List<TagLabel> getTags(String fqn) {
-    return !supportsTags ? null : daoCollection.tagUsageDAO().getTags(fqn);
+    if (!supportsTags) {
+      return null;
+    }
+    BatchContext context = batchContext.get();
+    if (context != null && context.tags != null && context.tags.containsKey(fqn)) {
+      return new ArrayList<>(context.tags.get(fqn));
+    }
+    return daoCollection.tagUsageDAO().getTags(fqn);
   }
 
   protected List<EntityReference> getFollowers(T entity) throws IOException {
@@ -818,7 +1009,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
     List<EntityReference> followers = new ArrayList<>();
     List<EntityRelationshipRecord> records = findFrom(entity.getId(), entityType, Relationship.FOLLOWS, Entity.USER);
     for (EntityRelationshipRecord record : records) {
-      followers.add(daoCollection.userDAO().findEntityReferenceById(record.getId(), ALL));
+      followers.add(getEntityReference(Entity.USER, record.getId()));
     }
     return followers;
   }
@@ -893,6 +1084,13 @@ public abstract class EntityRepository<T extends EntityInterface> {
 
   public List<EntityRelationshipRecord> findFrom(
       UUID toId, String toEntityType, Relationship relationship, String fromEntityType) {
+    BatchContext context = batchContext.get();
+    if (context != null && entityType.equals(toEntityType)) {
+      List<EntityRelationshipRecord> records = context.getFromRecords(toId, relationship, fromEntityType);
+      if (records != null) {
+        return records;
+      }
+    }
     return fromEntityType == null
         ? daoCollection.relationshipDAO().findFrom(toId.toString(), toEntityType, relationship.ordinal())
         : daoCollection
@@ -912,9 +1110,106 @@ public abstract class EntityRepository<T extends EntityInterface> {
       UUID toId, Relationship relationship, String fromEntityType, boolean mustHaveRelationship) throws IOException {
     List<EntityRelationshipRecord> records = findFrom(toId, entityType, relationship, fromEntityType);
     ensureSingleRelationship(entityType, toId, records, relationship.value(), mustHaveRelationship);
-    return records.size() >= 1
-        ? Entity.getEntityReferenceById(records.get(0).getType(), records.get(0).getId(), ALL)
-        : null;
+    return records.size() >= 1 ? getEntityReference(records.get(0).getType(), records.get(0).getId()) : null;
+  }
+
+  /**
+   * Loader for the fields of an entity in {@link #setFields(EntityInterface, Fields)}. Fields are loaded concurrently
+   * only when enabled and when an entity is read by {@link #get(UriInfo, ResourceContext, Fields)}, outside of any
+   * transaction. The loaders read the results prefetched for the request.
+   */
+  protected final FieldLoader fieldLoader() {
+    BatchContext context = batchContext.get();
+    if (context == null || !context.concurrentFields) {
+      return new FieldLoader(entityType, null);
+    }
+    return new FieldLoader(
+        entityType,
+        new FieldLoader.ThreadContext() {
+          @Override
+          public void attach() {
+            batchContext.set(context);
+          }
+
+          @Override
+          public void detach() {
+            batchContext.remove();
+          }
+        });
+  }
+
+  /**
+   * Get the container entity with no additional fields. Entities listed together typically share the same container,
+   * so during {@link #setFieldsBatch(List, Fields)} each container is read only once for the whole page.
+   */
+  protected <E extends EntityInterface> E getContainerEntity(EntityReference containerRef) throws IOException {
+    BatchContext context = batchContext.get();
+    if (context == null) {
+      return Entity.getEntity(containerRef, Fields.EMPTY_FIELDS, ALL);
+    }
+    @SuppressWarnings("unchecked")
+    E container = (E) context.containers.get(containerRef.getId());
+    if (container == null) {
+      container = Entity.getEntity(containerRef, Fields.EMPTY_FIELDS, ALL);
+      context.containers.put(containerRef.getId(), container);
+    }
+    return container;
+  }
+
+  private EntityReference getEntityReference(String type, UUID id) throws IOException {
+    BatchContext context = batchContext.get();
+    EntityReference ref = context == null ? null : context.references.get(id);
+    if (ref == null) {
+      return Entity.getEntityReferenceById(type, id, ALL);
+    }
+    // Return a copy as the same reference can be shared by several entities in the batch
+    return EntityUtil.copy(ref, new EntityReference()).withDescription(ref.getDescription());
+  }
+
+  private BatchContext prefetch(List<T> entities, Fields fields) throws IOException {
+    BatchContext context = new BatchContext();
+    List<String> ids = new ArrayList<>();
+    entities.forEach(entity -> ids.add(entity.getId().toString()));
+
+    List<Relationship> relationships = new ArrayList<>();
+    relationships.add(Relationship.CONTAINS);
+    if (supportsOwner && fields.contains(FIELD_OWNER)) {
+      relationships.add(Relationship.OWNS);
+    }
+    if (supportsFollower && fields.contains(FIELD_FOLLOWERS)) {
+      relationships.add(Relationship.FOLLOWS);
+    }
+
+    // Get the relationships for all the entities and collect the ids of related entities by type
+    Map<String, Set<UUID>> relatedIds = new HashMap<>();
+    for (Relationship relationship : relationships) {
+      Map<UUID, List<EntityRelationshipRecord>> recordMap = new HashMap<>();
+      entities.forEach(entity -> recordMap.put(entity.getId(), new ArrayList<>()));
+      for (EntityRelationshipObject object :
+          daoCollection.relationshipDAO().findFromBatch(ids, entityType, relationship.ordinal())) {
+        UUID fromId = UUID.fromString(object.getFromId());
+        EntityRelationshipRecord record =
+            EntityRelationshipRecord.builder().id(fromId).type(object.getFromEntity()).json(object.getJson()).build();
+        recordMap.get(UUID.fromString(object.getToId())).add(record);
+        relatedIds.computeIfAbsent(object.getFromEntity(), k -> new HashSet<>()).add(fromId);
+      }
+      context.fromRecords.put(relationship, recordMap);
+    }
+
+    // Resolve the references of related entities with one query per entity type
+    for (Entry<String, Set<UUID>> entry : relatedIds.entrySet()) {
+      for (EntityReference ref :
+          Entity.getEntityReferencesByIds(entry.getKey(), new ArrayList<>(entry.getValue()), ALL)) {
+        context.references.put(ref.getId(), ref);
+      }
+    }
+
+    if (supportsTags && fields.contains(FIELD_TAGS)) {
+      List<String> fqns = new ArrayList<>();
+      entities.forEach(entity -> fqns.add(entity.getFullyQualifiedName()));
+      context.tags = daoCollection.tagUsageDAO().getTagsByTargets(fqns);
+    }
+    return context;
   }
 
   public EntityReference getToEntityRef(
@@ -1000,6 +1295,11 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return getFromEntityRef(entity.getId(), Relationship.OWNS, null, false);
   }
 
+  /** Owner of an entity, read without reading the entity */
+  public final EntityReference getOwnerById(UUID id) throws IOException {
+    return supportsOwner ? getFromEntityRef(id, Relationship.OWNS, null, false) : null;
+  }
+
   public EntityReference getOwner(EntityReference ref) throws IOException {
     return !supportsOwner ? null : Entity.getEntityReferenceById(ref.getType(), ref.getId(), ALL);
   }
@@ -1086,6 +1386,32 @@ public abstract class EntityRepository<T extends EntityInterface> {
     return ingestionPipelines;
   }
 
+  /** Results prefetched for a page of entities that {@link #setFields(EntityInterface, Fields)} reads from */
+  private static class BatchContext {
+    private final Map<Relationship, Map<UUID, List<EntityRelationshipRecord>>> fromRecords =
+        new EnumMap<>(Relationship.class);
+    private final Map<UUID, EntityReference> references = new HashMap<>();
+    private final Map<UUID, EntityInterface> containers = new ConcurrentHashMap<>();
+    private Map<String, List<TagLabel>> tags;
+    private boolean concurrentFields; // Fields of a single entity that is only read may be loaded concurrently
+
+    /** Returns null when the relationship was not prefetched for the given entity */
+    private List<EntityRelationshipRecord> getFromRecords(UUID toId, Relationship relationship, String fromEntity) {
+      Map<UUID, List<EntityRelationshipRecord>> recordMap = fromRecords.get(relationship);
+      List<EntityRelationshipRecord> records = recordMap == null ? null : recordMap.get(toId);
+      if (records == null) {
+        return null;
+      }
+      List<EntityRelationshipRecord> filtered = new ArrayList<>();
+      for (EntityRelationshipRecord record : records) {
+        if (fromEntity == null || fromEntity.equals(record.getType())) {
+          filtered.add(record);
+        }
+      }
+      return filtered;
+    }
+  }
+
   public enum Operation {
     PUT,
     PATCH,
@@ -1411,10 +1737,7 @@ public abstract class EntityRepository<T extends EntityInterface> {
     }
 
     private void storeOldVersion() throws JsonProcessingException {
-      String extensionName = EntityUtil.getVersionExtension(entityType, original.getVersion());
-      daoCollection
-          .entityExtensionDAO()
-          .insert(original.getId().toString(), extensionName, entityType, JsonUtils.pojoToJson(original));
+      versionStore.store(original);
     }
 
     private void storeNewVersion() throws IOException {
@@ -0,0 +1,290 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.function.Function;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonPatch;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.catalog.EntityInterface;
+import org.openmetadata.catalog.exception.UnhandledServerException;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityExtensionDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.ExtensionRecord;
+import org.openmetadata.catalog.util.EntityUtil;
+import org.openmetadata.catalog.util.JsonUtils;
+
+/**
+ * Stores the previous versions of an entity in {@code entity_extension} under {@code <entityType>.version.<version>}.
+ *
+ * <p>A version is stored either as the full entity, a snapshot, or when delta encoding is enabled with {@link
+ * VersionHistoryConfiguration}, as an RFC 6902 JSON patch from the snapshot of an earlier version:
+ *
+ * <pre>{"@om-version-delta": {"baseVersion": "0.3", "depth": 2, "patch": [...]}}</pre>
+ *
+ * A version is read by applying its patch to the snapshot it refers to. A snapshot is stored instead of a patch every
+ * {@code snapshotInterval} versions, when the patch is not much smaller than the entity, and when the patch does not
+ * reproduce the entity. Versions in both forms are always readable, and {@link #compactAll(int)} rewrites the history
+ * of existing entities in the form of the configuration.
+ */
+@Slf4j
+public final class EntityVersionStore {
+  static final String DELTA_FIELD = "@om-version-delta";
+  private static final String DELTA_PREFIX = "{\"" + DELTA_FIELD + "\"";
+  private static final String BASE_VERSION = "baseVersion";
+  private static final String DEPTH = "depth";
+  private static final String PATCH = "patch";
+
+  // Bounds the patches applied to read a version. Versions refer to snapshots, except when the snapshot was compacted
+  // into a patch while the version was being stored.
+  private static final int MAX_PATCHES = 100;
+
+  private static volatile VersionHistoryConfiguration config = new VersionHistoryConfiguration();
+
+  private final CollectionDAO daoCollection;
+  private final String entityType;
+
+  EntityVersionStore(CollectionDAO daoCollection, String entityType) {
+    this.daoCollection = daoCollection;
+    this.entityType = entityType;
+  }
+
+  public static void initialize(VersionHistoryConfiguration configuration) {
+    if (configuration != null) {
+      config = configuration;
+    }
+  }
+
+  /** Store the version of an entity that is replaced by an update */
+  void store(EntityInterface original) throws JsonProcessingException {
+    String id = original.getId().toString();
+    String json = JsonUtils.pojoToJson(original);
+    String delta = null;
+    if (Boolean.TRUE.equals(config.getDeltaEncoding()) && original.getChangeDescription() != null) {
+      delta = encodeFromPrevious(id, json, original.getChangeDescription().getPreviousVersion());
+    }
+    dao().insert(id, extension(original.getVersion()), entityType, delta != null ? delta : json);
+  }
+
+  /** Encode a version as a patch from the snapshot the previous version refers to, or null to store a snapshot */
+  private String encodeFromPrevious(String id, String json, Double previousVersion) {
+    if (previousVersion == null) {
+      return null;
+    }
+    Decoder decoder = new Decoder(id, version -> dao().getExtension(id, extension(version)));
+    String previous = decoder.getStored(previousVersion);
+    if (previous == null) {
+      return null;
+    }
+    if (!isDelta(previous)) {
+      return encode(json, previousVersion, previous, 1);
+    }
+    JsonObject delta = readDelta(previous);
+    Double baseVersion = Double.valueOf(delta.getString(BASE_VERSION));
+    return encode(json, baseVersion, decoder.decode(baseVersion), delta.getInt(DEPTH) + 1);
+  }
+
+  /** Return the JSON of a previous version of an entity, or null when the version is not stored */
+  String getVersion(String id, Double version) {
+    return new Decoder(id, v -> dao().getExtension(id, extension(v))).decode(version);
+  }
+
+  /** Return the JSON of the previous versions of an entity, latest version first */
+  List<String> listVersions(String id) {
+    Map<Double, String> stored = getStoredVersions(id);
+    Decoder decoder = new Decoder(id, stored::get);
+    List<String> versions = new ArrayList<>();
+    for (Double version : stored.keySet()) {
+      versions.add(decoder.decode(version));
+    }
+    Collections.reverse(versions);
+    return versions;
+  }
+
+  /**
+   * Rewrite the previous versions of an entity in the form of the configuration, as patches from periodic snapshots
+   * when delta encoding is enabled and as snapshots otherwise. Returns the number of versions rewritten.
+   */
+  int compact(String id) throws IOException {
+    Map<Double, String> stored = getStoredVersions(id);
+    Decoder decoder = new Decoder(id, stored::get);
+    List<String> extensions = new ArrayList<>();
+    List<String> jsons = new ArrayList<>();
+    Double snapshotVersion = null;
+    String snapshot = null;
+    int depth = 0;
+    for (Entry<Double, String> entry : stored.entrySet()) {
+      String json = decoder.decode(entry.getKey());
+      String delta = null;
+      if (Boolean.TRUE.equals(config.getDeltaEncoding()) && snapshot != null) {
+        delta = encode(json, snapshotVersion, snapshot, depth + 1);
+      }
+      if (delta != null) {
+        depth++;
+      } else {
+        snapshotVersion = entry.getKey();
+        snapshot = json;
+        depth = 0;
+      }
+      String encoded = delta != null ? delta : json;
+      if (!JsonUtils.readJson(encoded).equals(JsonUtils.readJson(entry.getValue()))) {
+        extensions.add(extension(entry.getKey()));
+        jsons.add(encoded);
+      }
+    }
+    if (!extensions.isEmpty()) {
+      // Versions are rewritten together so that no version refers to a snapshot that was already rewritten as a patch
+      daoCollection.inTransaction(
+          () -> {
+            dao().insertAll(id, extensions, entityType, jsons);
+            return null;
+          });
+    }
+    return extensions.size();
+  }
+
+  /** Compact the version history of all the entities of the type. Returns the number of versions rewritten. */
+  public int compactAll(int batchSize) throws IOException {
+    String prefix = EntityUtil.getVersionExtensionPrefix(entityType);
+    int rewritten = 0;
+    String after = "";
+    List<String> ids;
+    do {
+      ids = dao().listIds(prefix, after, batchSize);
+      for (String id : ids) {
+        rewritten += compact(id);
+      }
+      after = ids.isEmpty() ? after : ids.get(ids.size() - 1);
+      LOG.info("Compacted the version history of {} {} entities up to {}", ids.size(), entityType, after);
+    } while (ids.size() == batchSize);
+    return rewritten;
+  }
+
+  /**
+   * Encode the JSON of a version as a patch from the snapshot of {@code baseVersion}. Returns null when a snapshot
+   * should be stored instead.
+   */
+  static String encode(String json, Double baseVersion, String base, int depth) {
+    if (depth > config.getSnapshotInterval()) {
+      return null;
+    }
+    try {
+      JsonObject source = JsonUtils.readJson(base).asJsonObject();
+      JsonObject target = JsonUtils.readJson(json).asJsonObject();
+      JsonPatch patch = Json.createDiff(source, target);
+      if (!target.equals(patch.apply(source))) {
+        LOG.debug("Storing a snapshot since the patch from version {} does not reproduce the entity", baseVersion);
+        return null;
+      }
+      String delta =
+          Json.createObjectBuilder()
+              .add(
+                  DELTA_FIELD,
+                  Json.createObjectBuilder()
+                      .add(BASE_VERSION, baseVersion.toString())
+                      .add(DEPTH, depth)
+                      .add(PATCH, patch.toJsonArray()))
+              .build()
+              .toString();
+      return delta.length() * 2 <= json.length() ? delta : null; // Small entities are stored as snapshots
+    } catch (RuntimeException e) {
+      LOG.warn("Storing a snapshot since the patch from version {} failed", baseVersion, e);
+      return null;
+    }
+  }
+
+  static boolean isDelta(String stored) {
+    return stored.startsWith(DELTA_PREFIX);
+  }
+
+  private static JsonObject readDelta(String stored) {
+    return JsonUtils.readJson(stored).asJsonObject().getJsonObject(DELTA_FIELD);
+  }
+
+  private Map<Double, String> getStoredVersions(String id) {
+    Map<Double, String> stored = new TreeMap<>();
+    String prefix = EntityUtil.getVersionExtensionPrefix(entityType);
+    for (ExtensionRecord record : dao().getExtensions(id, prefix)) {
+      stored.put(EntityUtil.getVersion(record.getExtensionName()), record.getExtensionJson());
+    }
+    return stored;
+  }
+
+  private String extension(Double version) {
+    return EntityUtil.getVersionExtension(entityType, version);
+  }
+
+  private EntityExtensionDAO dao() {
+    return daoCollection.entityExtensionDAO();
+  }
+
+  /** Decodes the versions of an entity, reading and decoding each version once */
+  static class Decoder {
+    private final String id;
+    private final Function<Double, String> storedVersions;
+    private final Map<Double, String> stored = new HashMap<>();
+    private final Map<Double, String> decoded = new HashMap<>();
+
+    Decoder(String id, Function<Double, String> storedVersions) {
+      this.id = id;
+      this.storedVersions = storedVersions;
+    }
+
+    String getStored(Double version) {
+      if (!stored.containsKey(version)) {
+        stored.put(version, storedVersions.apply(version));
+      }
+      return stored.get(version);
+    }
+
+    String decode(Double version) {
+      return decode(version, 0);
+    }
+
+    private String decode(Double version, int patches) {
+      String json = decoded.get(version);
+      if (json != null) {
+        return json;
+      }
+      json = getStored(version);
+      if (json != null && isDelta(json)) {
+        if (patches >= MAX_PATCHES) {
+          throw new UnhandledServerException(String.format("Version %s of %s refers to too many patches", version, id));
+        }
+        JsonObject delta = readDelta(json);
+        Double baseVersion = Double.valueOf(delta.getString(BASE_VERSION));
+        String base = decode(baseVersion, patches + 1);
+        if (base == null) {
+          throw new UnhandledServerException(
+              String.format("Version %s of %s is a patch from the missing version %s", version, id, baseVersion));
+        }
+        JsonPatch patch = Json.createPatch(delta.getJsonArray(PATCH));
+        json = patch.apply(JsonUtils.readJson(base).asJsonObject()).toString();
+      }
+      if (json != null) {
+        decoded.put(version, json);
+      }
+      return json;
+    }
+  }
+}
@@ -35,6 +35,7 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import io.jsonwebtoken.lang.Collections;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
@@ -64,6 +65,7 @@ import org.openmetadata.catalog.entity.teams.User;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipRecord;
+import org.openmetadata.catalog.jdbi3.PaginationConfiguration.TotalCount;
 import org.openmetadata.catalog.resources.feeds.FeedResource;
 import org.openmetadata.catalog.resources.feeds.FeedUtil;
 import org.openmetadata.catalog.resources.feeds.MessageParser;
@@ -560,10 +562,11 @@ public class FeedRepository {
       PaginationType paginationType,
       ThreadType threadType,
       TaskStatus taskStatus,
-      Boolean activeAnnouncement)
+      Boolean activeAnnouncement,
+      TotalCount totalCount)
       throws IOException {
     List<Thread> threads;
-    int total;
+    Integer total;
     // Here updatedAt time is used for page marker since threads are sorted by last update time
     long time = Long.MAX_VALUE;
     // if paginationType is "before", it must have a pageMarker time.
@@ -583,7 +586,12 @@ public class FeedRepository {
         jsons = dao.feedDAO().listAfter(limit + 1, time, taskStatus, isResolved, threadType, activeAnnouncement);
       }
       threads = JsonUtils.readObjects(jsons, Thread.class);
-      total = dao.feedDAO().listCount(taskStatus, isResolved, threadType, activeAnnouncement);
+      total =
+          TotalCounter.count(
+              totalCount,
+              countKey("all", taskStatus, isResolved, threadType, activeAnnouncement),
+              () -> dao.feedDAO().listCount(taskStatus, isResolved, threadType, activeAnnouncement),
+              null);
     } else {
       // Either one or both the filters are enabled
       // we don't support both the filters together. If both are not null, entity link takes precedence
@@ -595,7 +603,8 @@ public class FeedRepository {
         // For a user entityLink get created or replied relationships to the thread
         if (reference.getType().equals(Entity.USER)) {
           FilteredThreads filteredThreads =
-              getThreadsByOwner(reference.getId().toString(), limit + 1, time, threadType, isResolved, paginationType);
+              getThreadsByOwner(
+                  reference.getId().toString(), limit + 1, time, threadType, isResolved, paginationType, totalCount);
           threads = filteredThreads.getThreads();
           total = filteredThreads.getTotalCount();
         } else {
@@ -630,15 +639,20 @@ public class FeedRepository {
           }
           threads = JsonUtils.readObjects(jsons, Thread.class);
           total =
-              dao.feedDAO()
-                  .listCountThreadsByEntityLink(
-                      entityLink.getFullyQualifiedFieldValue(),
-                      entityLink.getFullyQualifiedFieldType(),
-                      threadType,
-                      taskStatus,
-                      activeAnnouncement,
-                      isResolved,
-                      IS_ABOUT.ordinal());
+              TotalCounter.count(
+                  totalCount,
+                  countKey("entityLink", link, threadType, taskStatus, activeAnnouncement, isResolved),
+                  () ->
+                      dao.feedDAO()
+                          .listCountThreadsByEntityLink(
+                              entityLink.getFullyQualifiedFieldValue(),
+                              entityLink.getFullyQualifiedFieldType(),
+                              threadType,
+                              taskStatus,
+                              activeAnnouncement,
+                              isResolved,
+                              IS_ABOUT.ordinal()),
+                  null);
         }
       } else {
         // userId filter present
@@ -646,18 +660,21 @@ public class FeedRepository {
         if (ThreadType.Task.equals(threadType)) {
           // Only two filter types are supported for tasks -> ASSIGNED_TO, ASSIGNED_BY
           if (filterType == FilterType.ASSIGNED_BY) {
-            filteredThreads = getTasksAssignedBy(userId, limit + 1, time, taskStatus, paginationType);
+            filteredThreads = getTasksAssignedBy(userId, limit + 1, time, taskStatus, paginationType, totalCount);
           } else {
             // make ASSIGNED_TO a default filter
-            filteredThreads = getTasksAssignedTo(userId, limit + 1, time, taskStatus, paginationType);
+            filteredThreads = getTasksAssignedTo(userId, limit + 1, time, taskStatus, paginationType, totalCount);
           }
         } else {
           if (filterType == FilterType.FOLLOWS) {
-            filteredThreads = getThreadsByFollows(userId, limit + 1, time, threadType, isResolved, paginationType);
+            filteredThreads =
+                getThreadsByFollows(userId, limit + 1, time, threadType, isResolved, paginationType, totalCount);
           } else if (filterType == FilterType.MENTIONS) {
-            filteredThreads = getThreadsByMentions(userId, limit + 1, time, threadType, isResolved, paginationType);
+            filteredThreads =
+                getThreadsByMentions(userId, limit + 1, time, threadType, isResolved, paginationType, totalCount);
           } else {
-            filteredThreads = getThreadsByOwner(userId, limit + 1, time, threadType, isResolved, paginationType);
+            filteredThreads =
+                getThreadsByOwner(userId, limit + 1, time, threadType, isResolved, paginationType, totalCount);
           }
         }
         threads = filteredThreads.getThreads();
@@ -871,7 +888,8 @@ public class FeedRepository {
 
   /** Return the tasks assigned to the user. */
   private FilteredThreads getTasksAssignedTo(
-      String userId, int limit, long time, TaskStatus status, PaginationType paginationType) throws IOException {
+      String userId, int limit, long time, TaskStatus status, PaginationType paginationType, TotalCount totalCount)
+      throws IOException {
     List<String> teamIds = getTeamIds(userId);
     List<String> jsons;
     List<String> userTeamJsonPostgres = getUserTeamJsonPostgres(userId, teamIds);
@@ -882,9 +900,14 @@ public class FeedRepository {
       jsons = dao.feedDAO().listTasksAssignedToAfter(userTeamJsonPostgres, userTeamJsonMysql, limit, time, status);
     }
     List<Thread> threads = JsonUtils.readObjects(jsons, Thread.class);
-    int totalCount = dao.feedDAO().listCountTasksAssignedTo(userTeamJsonPostgres, userTeamJsonMysql, status);
+    Integer total =
+        TotalCounter.count(
+            totalCount,
+            countKey("assignedTo", userId, status),
+            () -> dao.feedDAO().listCountTasksAssignedTo(userTeamJsonPostgres, userTeamJsonMysql, status),
+            null);
     sortPostsInThreads(threads);
-    return new FilteredThreads(threads, totalCount);
+    return new FilteredThreads(threads, total);
   }
 
   private void populateAssignees(List<Thread> threads) {
@@ -920,7 +943,8 @@ public class FeedRepository {
 
   /** Return the tasks created by the user. */
   private FilteredThreads getTasksAssignedBy(
-      String userId, int limit, long time, TaskStatus status, PaginationType paginationType) throws IOException {
+      String userId, int limit, long time, TaskStatus status, PaginationType paginationType, TotalCount totalCount)
+      throws IOException {
     User user = dao.userDAO().findEntityById(UUID.fromString(userId));
     String username = user.getName();
     List<String> jsons;
@@ -930,9 +954,14 @@ public class FeedRepository {
       jsons = dao.feedDAO().listTasksAssignedByAfter(username, limit, time, status);
     }
     List<Thread> threads = JsonUtils.readObjects(jsons, Thread.class);
-    int totalCount = dao.feedDAO().listCountTasksAssignedBy(username, status);
+    Integer total =
+        TotalCounter.count(
+            totalCount,
+            countKey("assignedBy", userId, status),
+            () -> dao.feedDAO().listCountTasksAssignedBy(username, status),
+            null);
     sortPostsInThreads(threads);
-    return new FilteredThreads(threads, totalCount);
+    return new FilteredThreads(threads, total);
   }
 
   /**
@@ -940,7 +969,13 @@ public class FeedRepository {
    * the user.
    */
   private FilteredThreads getThreadsByOwner(
-      String userId, int limit, long time, ThreadType type, boolean isResolved, PaginationType paginationType)
+      String userId,
+      int limit,
+      long time,
+      ThreadType type,
+      boolean isResolved,
+      PaginationType paginationType,
+      TotalCount totalCount)
       throws IOException {
     // add threads on user or team owned entities
     // and threads created by or replied to by the user
@@ -952,9 +987,14 @@ public class FeedRepository {
       jsons = dao.feedDAO().listThreadsByOwnerAfter(userId, teamIds, limit, time, type, isResolved);
     }
     List<Thread> threads = JsonUtils.readObjects(jsons, Thread.class);
-    int totalCount = dao.feedDAO().listCountThreadsByOwner(userId, teamIds, type, isResolved);
+    Integer total =
+        TotalCounter.count(
+            totalCount,
+            countKey("owner", userId, type, isResolved),
+            () -> dao.feedDAO().listCountThreadsByOwner(userId, teamIds, type, isResolved),
+            null);
     sortPostsInThreads(threads);
-    return new FilteredThreads(threads, totalCount);
+    return new FilteredThreads(threads, total);
   }
 
   /** Get a list of team ids that the given user is a part of. */
@@ -970,7 +1010,13 @@ public class FeedRepository {
 
   /** Returns the threads where the user or the team they belong to were mentioned by other users with @mention. */
   private FilteredThreads getThreadsByMentions(
-      String userId, int limit, long time, ThreadType type, boolean isResolved, PaginationType paginationType)
+      String userId,
+      int limit,
+      long time,
+      ThreadType type,
+      boolean isResolved,
+      PaginationType paginationType,
+      TotalCount totalCount)
       throws IOException {
     List<EntityReference> teams =
         populateEntityReferences(
@@ -995,17 +1041,29 @@ public class FeedRepository {
                   user.getName(), teamNames, limit, time, type, isResolved, Relationship.MENTIONED_IN.ordinal());
     }
     List<Thread> threads = JsonUtils.readObjects(jsons, Thread.class);
-    int totalCount =
-        dao.feedDAO()
-            .listCountThreadsByMentions(
-                user.getName(), teamNames, type, isResolved, Relationship.MENTIONED_IN.ordinal());
+    List<String> mentionedTeams = teamNames;
+    Integer total =
+        TotalCounter.count(
+            totalCount,
+            countKey("mentions", userId, type, isResolved),
+            () ->
+                dao.feedDAO()
+                    .listCountThreadsByMentions(
+                        user.getName(), mentionedTeams, type, isResolved, Relationship.MENTIONED_IN.ordinal()),
+            null);
     sortPostsInThreads(threads);
-    return new FilteredThreads(threads, totalCount);
+    return new FilteredThreads(threads, total);
   }
 
   /** Returns the threads that are associated with the entities followed by the user. */
   private FilteredThreads getThreadsByFollows(
-      String userId, int limit, long time, ThreadType type, boolean isResolved, PaginationType paginationType)
+      String userId,
+      int limit,
+      long time,
+      ThreadType type,
+      boolean isResolved,
+      PaginationType paginationType,
+      TotalCount totalCount)
       throws IOException {
     List<String> jsons;
     List<String> teamIds = getTeamIds(userId);
@@ -1021,22 +1079,33 @@ public class FeedRepository {
                   userId, teamIds, limit, time, type, isResolved, Relationship.FOLLOWS.ordinal());
     }
     List<Thread> threads = JsonUtils.readObjects(jsons, Thread.class);
-    int totalCount =
-        dao.feedDAO().listCountThreadsByFollows(userId, teamIds, type, isResolved, Relationship.FOLLOWS.ordinal());
+    Integer total =
+        TotalCounter.count(
+            totalCount,
+            countKey("follows", userId, type, isResolved),
+            () ->
+                dao.feedDAO()
+                    .listCountThreadsByFollows(userId, teamIds, type, isResolved, Relationship.FOLLOWS.ordinal()),
+            null);
     sortPostsInThreads(threads);
-    return new FilteredThreads(threads, totalCount);
+    return new FilteredThreads(threads, total);
   }
 
   public static class FilteredThreads {
     @Getter private final List<Thread> threads;
-    @Getter private final int totalCount;
+    @Getter private final Integer totalCount;
 
-    public FilteredThreads(List<Thread> threads, int totalCount) {
+    public FilteredThreads(List<Thread> threads, Integer totalCount) {
       this.threads = threads;
       this.totalCount = totalCount;
     }
   }
 
+  /** Key of the total count of the threads of a filter, see {@link TotalCounter} */
+  private static String countKey(String filter, Object... params) {
+    return Entity.THREAD + ":" + filter + ":" + Arrays.toString(params);
+  }
+
   public User findUserByName(String userName) {
     return dao.userDAO().findEntityByName(userName);
   }
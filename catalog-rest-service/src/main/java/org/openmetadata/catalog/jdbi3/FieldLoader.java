@@ -0,0 +1,211 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.github.maksymdolgykh.dropwizard.micrometer.MicrometerBundle;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads the fields of an entity in {@link EntityRepository#setFields}. By default, each field is loaded on the calling
+ * thread when it is added. When concurrent loading is enabled with {@link FieldLoaderConfiguration}, the fields of an
+ * entity read by id or name are loaded on a bounded executor, each with its own database handle, and {@link #join()}
+ * waits for them and sets the loaded values on the calling thread. The time taken by each field is recorded in the
+ * {@code entity.field.load} timer.
+ */
+@Slf4j
+public final class FieldLoader {
+  private static volatile ExecutorService executor;
+  private static volatile long timeoutMillis;
+  private static final ThreadLocal<Boolean> LOADING = new ThreadLocal<>();
+
+  private final String entityType;
+  private final ThreadContext threadContext;
+  private final List<Future<Runnable>> results = new ArrayList<>();
+
+  /** Loads the value of a field */
+  @FunctionalInterface
+  public interface Loader<V> {
+    V load() throws IOException;
+  }
+
+  /** Loads fields that are set directly on the entity, such as the fields of the columns of a table */
+  @FunctionalInterface
+  public interface Task {
+    void run() throws IOException;
+  }
+
+  /** State of the calling thread, such as the results prefetched for the request, that the loaders read */
+  interface ThreadContext {
+    void attach();
+
+    void detach();
+  }
+
+  /**
+   * Field loader for an entity. The thread context is attached to the executor threads while they load the fields.
+   * Fields are loaded on the calling thread when it is null, and when the calling thread is itself loading a field.
+   */
+  FieldLoader(String entityType, ThreadContext threadContext) {
+    this.entityType = entityType;
+    this.threadContext = executor == null || LOADING.get() != null ? null : threadContext;
+  }
+
+  public static synchronized void initialize(FieldLoaderConfiguration config) {
+    if (executor != null || config == null || !Boolean.TRUE.equals(config.getConcurrent())) {
+      return;
+    }
+    int threads = config.getThreads();
+    ThreadPoolExecutor pool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("field-loader-%d").setDaemon(true).build());
+    pool.allowCoreThreadTimeOut(true);
+    timeoutMillis = TimeUnit.SECONDS.toMillis(config.getTimeoutSeconds());
+    executor = pool;
+    LOG.info("Concurrent field loading enabled with {} threads", threads);
+  }
+
+  public static synchronized void shutdown() throws InterruptedException {
+    if (executor != null) {
+      ExecutorService pool = executor;
+      executor = null;
+      pool.shutdown();
+      pool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
+  public boolean isConcurrent() {
+    return threadContext != null;
+  }
+
+  /** Load a field with the loader when it is included, and set it to null otherwise */
+  public <V> void load(boolean include, String field, Loader<V> loader, Consumer<V> setter) throws IOException {
+    if (!include) {
+      setter.accept(null);
+      return;
+    }
+    if (!isConcurrent()) {
+      setter.accept(timed(field, loader));
+      return;
+    }
+    submit(
+        field,
+        () -> {
+          V value = loader.load();
+          return () -> setter.accept(value);
+        });
+  }
+
+  /**
+   * Run a task that loads fields directly on the entity. Tasks for fields that are not included only clear the fields
+   * and run on the calling thread.
+   */
+  public void run(boolean include, String field, Task task) throws IOException {
+    if (!include) {
+      task.run();
+      return;
+    }
+    Loader<Runnable> loader =
+        () -> {
+          task.run();
+          return () -> {};
+        };
+    if (!isConcurrent()) {
+      timed(field, loader);
+      return;
+    }
+    submit(field, loader);
+  }
+
+  /** Load a field on the executor. The loader returns the action that sets the loaded field on the entity. */
+  private void submit(String field, Loader<Runnable> loader) {
+    results.add(
+        executor.submit(
+            () -> {
+              threadContext.attach();
+              LOADING.set(true);
+              try {
+                return timed(field, loader);
+              } finally {
+                LOADING.remove();
+                threadContext.detach();
+              }
+            }));
+  }
+
+  /** Wait for the fields loaded concurrently and set them on the entity */
+  public void join() throws IOException {
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+    try {
+      for (Future<Runnable> result : results) {
+        result.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS).run();
+      }
+    } catch (ExecutionException e) {
+      cancel();
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    } catch (TimeoutException e) {
+      cancel();
+      throw new IOException(String.format("Timed out loading the fields of %s", entityType), e);
+    } catch (InterruptedException e) {
+      cancel();
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } finally {
+      results.clear();
+    }
+  }
+
+  private void cancel() {
+    results.forEach(result -> result.cancel(true));
+  }
+
+  private <V> V timed(String field, Loader<V> loader) throws IOException {
+    long start = System.nanoTime();
+    try {
+      return loader.load();
+    } finally {
+      long nanos = System.nanoTime() - start;
+      Timer.builder("entity.field.load")
+          .description("Time taken to load a field of an entity")
+          .tag("entityType", entityType)
+          .tag("field", field)
+          .register(MicrometerBundle.prometheusRegistry)
+          .record(nanos, TimeUnit.NANOSECONDS);
+      LOG.debug("Loaded {} of {} in {} ms", field, entityType, TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+  }
+}
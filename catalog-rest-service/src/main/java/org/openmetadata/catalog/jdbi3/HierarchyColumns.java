@@ -0,0 +1,69 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.util.FullyQualifiedName;
+
+/**
+ * Columns of the tables of the database hierarchy that store the fully qualified names of the service, database and
+ * schema of an entity. Each column is indexed with the name column, so that listing the entities of a parent with the
+ * {@code service}, {@code database} or {@code databaseSchema} query param of {@link ListFilter} is an index range scan
+ * instead of a prefix scan of the fully qualified names.
+ *
+ * <p>The values are derived from the fully qualified name set by {@code prepare()} when the entity is created. The
+ * fully qualified name of an entity never changes after it is created, so the values are not updated.
+ */
+public final class HierarchyColumns {
+  /** Columns in the order of the parts of the fully qualified name */
+  private static final List<String> COLUMNS = List.of("serviceFqn", "databaseFqn", "schemaFqn");
+
+  /** List filter query param selecting the entities of the parent stored in each column */
+  private static final List<String> QUERY_PARAMS = List.of("service", "database", "databaseSchema");
+
+  private HierarchyColumns() {}
+
+  /** Comma separated hierarchy columns of a table storing {@code depth} parents */
+  static String getColumns(int depth) {
+    return String.join(", ", COLUMNS.subList(0, depth));
+  }
+
+  /** Comma separated named parameters of the values of {@link #getColumns(int)} */
+  static String getParameters(int depth) {
+    return COLUMNS.subList(0, depth).stream().map(column -> ":" + column).collect(Collectors.joining(", "));
+  }
+
+  /** Values of the hierarchy columns of an entity, keyed by the names of {@link #getParameters(int)} */
+  static Map<String, Object> getValues(String fqn, int depth) {
+    String[] parts = FullyQualifiedName.split(fqn);
+    Map<String, Object> values = new HashMap<>();
+    for (int i = 0; i < depth; i++) {
+      // Parts are quoted as needed, as they are in the fully qualified name
+      String value = i < parts.length - 1 ? String.join(Entity.SEPARATOR, Arrays.copyOf(parts, i + 1)) : null;
+      values.put(COLUMNS.get(i), value);
+    }
+    return values;
+  }
+
+  /** Hierarchy column storing the parent selected by a list filter query param, or null when there is none */
+  static String getColumn(String queryParam, int depth) {
+    int index = QUERY_PARAMS.indexOf(queryParam);
+    return index >= 0 && index < depth ? COLUMNS.get(index) : null;
+  }
+}
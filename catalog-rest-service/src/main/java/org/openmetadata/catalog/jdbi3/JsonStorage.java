@@ -0,0 +1,171 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map.Entry;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import javax.json.Json;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+import javax.json.JsonValue.ValueType;
+import lombok.Getter;
+import org.jdbi.v3.core.mapper.RowMapper;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.openmetadata.catalog.exception.UnhandledServerException;
+import org.openmetadata.catalog.util.JsonUtils;
+
+/**
+ * Codec for the JSON documents stored by {@link EntityDAO} and {@link CollectionDAO.EntityExtensionDAO}. Documents
+ * smaller than the compression threshold are stored as is in the {@code json} column. Larger documents are compressed
+ * into the {@code compressedJson} column and the {@code codec} column records the codec used. The {@code json} column
+ * of a compressed document keeps only its top level attributes that are not objects or arrays, so that the generated
+ * columns and the queries on them keep working.
+ *
+ * <p>Decoding is transparent to the repositories: the queries read the three columns with {@link StoredJsonMapper},
+ * which returns the original document.
+ */
+public final class JsonStorage {
+  /** Columns read by {@link StoredJsonMapper} */
+  public static final String JSON_COLUMNS = "json, codec, compressedJson";
+
+  private static volatile JsonStorageConfiguration config = new JsonStorageConfiguration();
+
+  /** Codecs of the stored documents. The id is stored in the {@code codec} column and must never change. */
+  public enum Codec {
+    NONE(0),
+    DEFLATE(1);
+
+    @Getter private final int id;
+
+    Codec(int id) {
+      this.id = id;
+    }
+
+    static Codec of(int id) {
+      for (Codec codec : values()) {
+        if (codec.id == id) {
+          return codec;
+        }
+      }
+      throw new UnhandledServerException("Unknown JSON storage codec " + id);
+    }
+
+    OutputStream compress(OutputStream out) {
+      return this == DEFLATE ? new DeflaterOutputStream(out) : out;
+    }
+
+    InputStream decompress(InputStream in) {
+      return this == DEFLATE ? new InflaterInputStream(in) : in;
+    }
+  }
+
+  /** Column values of a stored document */
+  @Getter
+  public static class StoredJson {
+    private final String json;
+    private final int codec;
+    private final byte[] compressedJson;
+
+    StoredJson(String json, Codec codec, byte[] compressedJson) {
+      this.json = json;
+      this.codec = codec.getId();
+      this.compressedJson = compressedJson;
+    }
+  }
+
+  private JsonStorage() {}
+
+  public static void initialize(JsonStorageConfiguration configuration) {
+    if (configuration != null) {
+      config = configuration;
+    }
+  }
+
+  static JsonStorageConfiguration getConfiguration() {
+    return config;
+  }
+
+  /** Configured codec, or {@link Codec#NONE} when compression is disabled */
+  static Codec getCodec() {
+    return config.getCodec() == JsonStorageConfiguration.Codec.DEFLATE ? Codec.DEFLATE : Codec.NONE;
+  }
+
+  /**
+   * Encode a JSON document for storage. Only objects and arrays larger than the compression threshold are compressed,
+   * and only when {@code compress} is true for the table.
+   */
+  public static StoredJson encode(String json, boolean compress) {
+    Codec codec = getCodec();
+    if (!compress || codec == Codec.NONE || json.length() < config.getCompressionThreshold()) {
+      return new StoredJson(json, Codec.NONE, null);
+    }
+    JsonValue value = JsonUtils.readJson(json);
+    if (value.getValueType() != ValueType.OBJECT && value.getValueType() != ValueType.ARRAY) {
+      return new StoredJson(json, Codec.NONE, null);
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length() / 4);
+    try (OutputStream out = codec.compress(bytes)) {
+      out.write(json.getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UnhandledServerException("Failed to compress JSON", e);
+    }
+    return new StoredJson(getIndexedAttributes(value), codec, bytes.toByteArray());
+  }
+
+  /** Return the JSON document stored in the given columns */
+  public static String decode(String json, int codecId, byte[] compressedJson) {
+    Codec codec = Codec.of(codecId);
+    if (codec == Codec.NONE || compressedJson == null) {
+      return json;
+    }
+    try (InputStream in = codec.decompress(new ByteArrayInputStream(compressedJson))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UnhandledServerException("Failed to decompress JSON with codec " + codec, e);
+    }
+  }
+
+  /** Top level attributes of an object that are not objects or arrays, and an empty array for arrays */
+  static String getIndexedAttributes(JsonValue value) {
+    if (value.getValueType() == ValueType.ARRAY) {
+      return JsonValue.EMPTY_JSON_ARRAY.toString();
+    }
+    JsonObjectBuilder builder = Json.createObjectBuilder();
+    for (Entry<String, JsonValue> entry : ((JsonObject) value).entrySet()) {
+      ValueType type = entry.getValue().getValueType();
+      if (type != ValueType.OBJECT && type != ValueType.ARRAY) {
+        builder.add(entry.getKey(), entry.getValue());
+      }
+    }
+    return builder.build().toString();
+  }
+
+  /** Maps the {@link #JSON_COLUMNS} of a row to the stored JSON document */
+  public static class StoredJsonMapper implements RowMapper<String> {
+    @Override
+    public String map(ResultSet rs, StatementContext ctx) throws SQLException {
+      return decode(rs.getString("json"), rs.getInt("codec"), rs.getBytes("compressedJson"));
+    }
+  }
+}
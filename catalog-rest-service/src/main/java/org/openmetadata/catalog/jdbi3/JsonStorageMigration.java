@@ -0,0 +1,108 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.JsonStorageDAO;
+
+/**
+ * Rewrites the JSON documents stored before the codec configured in {@link JsonStorage} was changed. The migration runs
+ * once in the background when the server starts with {@code migrateExistingRows} enabled. Rows are read in batches
+ * ordered by key, and each row is locked, decoded and encoded again in its own transaction so that concurrent updates
+ * are never overwritten.
+ */
+@Slf4j
+public final class JsonStorageMigration {
+  private static ExecutorService executor;
+  private static volatile boolean running = false;
+
+  private JsonStorageMigration() {}
+
+  public static synchronized void start(JsonStorageConfiguration config, CollectionDAO collectionDAO) {
+    if (running || config == null || !Boolean.TRUE.equals(config.getMigrateExistingRows())) {
+      return;
+    }
+    executor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("json-storage-migration").setDaemon(true).build());
+    running = true;
+    executor.submit(() -> migrate(collectionDAO.jsonStorageDAO(), config.getMigrationBatchSize()));
+  }
+
+  public static synchronized void shutdown() throws InterruptedException {
+    if (executor != null) {
+      running = false;
+      executor.shutdownNow();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+      executor = null;
+    }
+  }
+
+  private static void migrate(JsonStorageDAO dao, int batchSize) {
+    int codec = JsonStorage.getCodec().getId();
+    int threshold = JsonStorage.getConfiguration().getCompressionThreshold();
+    LOG.info("Migrating the stored JSON documents to codec {}", JsonStorage.getCodec());
+    try {
+      for (String table : getCompressedTables()) {
+        int migrated = 0;
+        String after = "";
+        List<String> ids;
+        do {
+          ids = dao.listIdsToMigrate(table, after, codec, threshold, batchSize);
+          for (String id : ids) {
+            migrated += dao.migrate(table, id) ? 1 : 0;
+          }
+          after = ids.isEmpty() ? after : ids.get(ids.size() - 1);
+        } while (ids.size() == batchSize && running);
+        LOG.info("Migrated {} rows of {}", migrated, table);
+      }
+
+      int migrated = 0;
+      Pair<String, String> after = Pair.of("", "");
+      List<Pair<String, String>> keys;
+      do {
+        keys = dao.listExtensionsToMigrate(after.getLeft(), after.getRight(), codec, threshold, batchSize);
+        for (Pair<String, String> key : keys) {
+          migrated += dao.migrateExtension(key.getLeft(), key.getRight()) ? 1 : 0;
+        }
+        after = keys.isEmpty() ? after : keys.get(keys.size() - 1);
+      } while (keys.size() == batchSize && running);
+      LOG.info("Migrated {} rows of entity_extension", migrated);
+    } catch (Exception ex) {
+      LOG.error("Failed to migrate the stored JSON documents", ex);
+    } finally {
+      running = false;
+    }
+  }
+
+  /** Tables of the registered entities that compress their documents */
+  private static List<String> getCompressedTables() {
+    List<String> tables = new ArrayList<>();
+    for (String entityType : Entity.getEntityList()) {
+      EntityDAO<?> dao = Entity.getEntityRepository(entityType).dao;
+      if (dao.compressesJson() && !tables.contains(dao.getTableName())) {
+        tables.add(dao.getTableName());
+      }
+    }
+    return tables;
+  }
+}
@@ -17,14 +17,20 @@ import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.api.lineage.AddLineage;
 import org.openmetadata.catalog.entity.data.Table;
-import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipRecord;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipObject;
 import org.openmetadata.catalog.type.ColumnLineage;
 import org.openmetadata.catalog.type.Edge;
 import org.openmetadata.catalog.type.EntityLineage;
@@ -35,11 +41,26 @@ import org.openmetadata.catalog.type.Relationship;
 import org.openmetadata.catalog.util.FullyQualifiedName;
 import org.openmetadata.catalog.util.JsonUtils;
 
+@Slf4j
 public class LineageRepository {
+  // Upper bounds on the size of the lineage graph returned for a single request
+  static final int MAX_NODES = 10000;
+  static final int MAX_EDGES = 50000;
+  // Maximum number of ids in a single IN (...) list
+  private static final int BATCH_SIZE = 500;
+
   private final CollectionDAO dao;
+  private final int maxNodes;
+  private final int maxEdges;
 
   public LineageRepository(CollectionDAO dao) {
+    this(dao, MAX_NODES, MAX_EDGES);
+  }
+
+  LineageRepository(CollectionDAO dao, int maxNodes, int maxEdges) {
     this.dao = dao;
+    this.maxNodes = maxNodes;
+    this.maxEdges = maxEdges;
   }
 
   @Transaction
@@ -120,74 +141,123 @@ public class LineageRepository {
         > 0;
   }
 
-  private EntityLineage getLineage(EntityReference primary, int upstreamDepth, int downstreamDepth) throws IOException {
-    List<EntityReference> entities = new ArrayList<>();
+  EntityLineage getLineage(EntityReference primary, int upstreamDepth, int downstreamDepth) throws IOException {
     EntityLineage lineage =
         new EntityLineage()
             .withEntity(primary)
-            .withNodes(entities)
+            .withNodes(new ArrayList<>())
             .withUpstreamEdges(new ArrayList<>())
             .withDownstreamEdges(new ArrayList<>());
-    getUpstreamLineage(primary.getId(), primary.getType(), lineage, upstreamDepth);
-    getDownstreamLineage(primary.getId(), primary.getType(), lineage, downstreamDepth);
-
-    // Remove duplicate nodes
-    lineage.withNodes(lineage.getNodes().stream().distinct().collect(Collectors.toList()));
+    // Ids of the nodes added to the lineage across both directions. Primary entity is never added as a node.
+    Set<UUID> nodeIds = new HashSet<>();
+    nodeIds.add(primary.getId());
+    addLineage(primary, lineage, nodeIds, upstreamDepth, true);
+    addLineage(primary, lineage, nodeIds, downstreamDepth, false);
     return lineage;
   }
 
-  private void getUpstreamLineage(UUID id, String entityType, EntityLineage lineage, int upstreamDepth)
+  /**
+   * Breadth first traversal of the lineage graph in one direction. All the nodes at a given depth are expanded together
+   * with batched queries and the references for newly discovered nodes are resolved in one query per entity type. A
+   * visited set ensures each node is expanded only once, so shared ancestors in diamond shaped graphs and cycles are
+   * not traversed again. Traversal stops when the node or edge limit is reached.
+   */
+  private void addLineage(
+      EntityReference primary, EntityLineage lineage, Set<UUID> nodeIds, int depth, boolean upstream)
       throws IOException {
-    if (upstreamDepth == 0) {
-      return;
-    }
-    // from this id ---> find other ids
-    List<EntityRelationshipRecord> records =
-        dao.relationshipDAO().findFrom(id.toString(), entityType, Relationship.UPSTREAM.ordinal());
-
-    final List<EntityReference> upstreamEntityReferences = new ArrayList<>();
-    for (EntityRelationshipRecord record : records) {
-      EntityReference ref = Entity.getEntityReferenceById(record.getType(), record.getId(), Include.ALL);
-      LineageDetails lineageDetails = JsonUtils.readValue(record.getJson(), LineageDetails.class);
-      upstreamEntityReferences.add(ref);
-      lineage
-          .getUpstreamEdges()
-          .add(new Edge().withFromEntity(ref.getId()).withToEntity(id).withLineageDetails(lineageDetails));
-    }
+    List<Edge> edges = upstream ? lineage.getUpstreamEdges() : lineage.getDownstreamEdges();
+    Set<UUID> visited = new HashSet<>();
+    visited.add(primary.getId());
+    List<UUID> frontier = List.of(primary.getId());
 
-    lineage.getNodes().addAll(upstreamEntityReferences);
+    while (depth-- > 0 && !frontier.isEmpty()) {
+      List<EntityRelationshipObject> records = findEdges(frontier, upstream);
 
-    upstreamDepth--;
-    // Recursively add upstream nodes and edges
-    for (EntityReference entity : upstreamEntityReferences) {
-      getUpstreamLineage(entity.getId(), entity.getType(), lineage, upstreamDepth);
+      // Nodes seen for the first time at this depth, in the order they are found
+      Map<UUID, String> discovered = new LinkedHashMap<>();
+      for (EntityRelationshipObject record : records) {
+        UUID other = UUID.fromString(upstream ? record.getFromId() : record.getToId());
+        if (!visited.contains(other)) {
+          discovered.putIfAbsent(other, upstream ? record.getFromEntity() : record.getToEntity());
+        }
+      }
+      Map<UUID, EntityReference> references = getEntityReferences(discovered);
+
+      List<UUID> nextFrontier = new ArrayList<>();
+      boolean truncated = false;
+      for (EntityRelationshipObject record : records) {
+        if (edges.size() >= maxEdges) {
+          truncated = true;
+          break;
+        }
+        UUID fromId = UUID.fromString(record.getFromId());
+        UUID toId = UUID.fromString(record.getToId());
+        UUID other = upstream ? fromId : toId;
+        if (!visited.contains(other)) {
+          EntityReference ref = references.get(other);
+          if (ref == null) {
+            continue; // Relationship to an entity that no longer exists
+          }
+          if (!nodeIds.contains(other) && lineage.getNodes().size() >= maxNodes) {
+            truncated = true;
+            continue;
+          }
+          visited.add(other);
+          nextFrontier.add(other);
+          if (nodeIds.add(other)) {
+            lineage.getNodes().add(ref);
+          }
+        }
+        LineageDetails lineageDetails = JsonUtils.readValue(record.getJson(), LineageDetails.class);
+        edges.add(new Edge().withFromEntity(fromId).withToEntity(toId).withLineageDetails(lineageDetails));
+      }
+
+      if (truncated) {
+        LOG.warn(
+            "Lineage of {} {} truncated at {} nodes and {} edges",
+            primary.getType(),
+            primary.getId(),
+            lineage.getNodes().size(),
+            lineage.getUpstreamEdges().size() + lineage.getDownstreamEdges().size());
+        return;
+      }
+      frontier = nextFrontier;
     }
   }
 
-  private void getDownstreamLineage(UUID id, String entityType, EntityLineage lineage, int downstreamDepth)
-      throws IOException {
-    if (downstreamDepth == 0) {
-      return;
-    }
-    // from other ids ---> to this id
-    List<EntityRelationshipRecord> records =
-        dao.relationshipDAO().findTo(id.toString(), entityType, Relationship.UPSTREAM.ordinal());
-
-    final List<EntityReference> downstreamEntityReferences = new ArrayList<>();
-    for (EntityRelationshipRecord record : records) {
-      EntityReference ref = Entity.getEntityReferenceById(record.getType(), record.getId(), Include.ALL);
-      LineageDetails lineageDetails = JsonUtils.readValue(record.getJson(), LineageDetails.class);
-      downstreamEntityReferences.add(ref);
-      lineage
-          .getDownstreamEdges()
-          .add(new Edge().withToEntity(ref.getId()).withFromEntity(id).withLineageDetails(lineageDetails));
+  /** Get upstream (or downstream) edges of all the given nodes, querying at most BATCH_SIZE nodes at a time */
+  private List<EntityRelationshipObject> findEdges(List<UUID> nodes, boolean upstream) {
+    List<EntityRelationshipObject> records = new ArrayList<>();
+    for (int i = 0; i < nodes.size(); i += BATCH_SIZE) {
+      List<String> batch =
+          nodes.subList(i, Math.min(i + BATCH_SIZE, nodes.size())).stream()
+              .map(UUID::toString)
+              .collect(Collectors.toList());
+      int relation = Relationship.UPSTREAM.ordinal();
+      records.addAll(
+          upstream
+              ? dao.relationshipDAO().findFromBatch(batch, relation)
+              : dao.relationshipDAO().findToBatch(batch, relation));
     }
-    lineage.getNodes().addAll(downstreamEntityReferences);
+    return records;
+  }
+
+  private Map<UUID, EntityReference> getEntityReferences(Map<UUID, String> nodes) throws IOException {
+    Map<String, List<UUID>> idsByType = new HashMap<>();
+    nodes.forEach((id, type) -> idsByType.computeIfAbsent(type, t -> new ArrayList<>()).add(id));
 
-    downstreamDepth--;
-    // Recursively add upstream nodes and edges
-    for (EntityReference entity : downstreamEntityReferences) {
-      getDownstreamLineage(entity.getId(), entity.getType(), lineage, downstreamDepth);
+    Map<UUID, EntityReference> references = new HashMap<>();
+    for (Map.Entry<String, List<UUID>> entry : idsByType.entrySet()) {
+      List<UUID> ids = entry.getValue();
+      for (int i = 0; i < ids.size(); i += BATCH_SIZE) {
+        List<UUID> batch = ids.subList(i, Math.min(i + BATCH_SIZE, ids.size()));
+        getEntityReferences(entry.getKey(), batch).forEach(ref -> references.put(ref.getId(), ref));
+      }
     }
+    return references;
+  }
+
+  List<EntityReference> getEntityReferences(String entityType, List<UUID> ids) throws IOException {
+    return Entity.getEntityReferencesByIds(entityType, ids, Include.ALL);
   }
 }
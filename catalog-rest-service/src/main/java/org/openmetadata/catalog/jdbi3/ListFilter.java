@@ -5,12 +5,19 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.jdbi3.PaginationConfiguration.TotalCount;
+import org.openmetadata.catalog.security.policyevaluator.RowFilter;
 import org.openmetadata.catalog.type.Include;
 
 public class ListFilter {
   private final Include include;
   private final Map<String, String> queryParams = new HashMap<>();
+  private RowFilter rowFilter;
+  private String nameColumn;
+  private TotalCount totalCount;
+  private int hierarchyDepth;
 
   public ListFilter() {
     this(Include.NON_DELETED);
@@ -36,16 +43,69 @@ public class ListFilter {
     return getCondition(null);
   }
 
+  /**
+   * SQL condition of the filter with named parameters, such as {@code fullyQualifiedName LIKE :serviceFqnPrefix}, whose
+   * values are returned by {@link #getBindings()}. The condition only depends on the shape of the filter and not on the
+   * values of its query params, so that the statements of the list queries can be reused by the database.
+   */
   public String getCondition(String tableName) {
+    return getCondition(tableName, new HashMap<>());
+  }
+
+  /** Values of the named parameters of {@link #getCondition(String)} */
+  public Map<String, Object> getBindings() {
+    Map<String, Object> bindings = new HashMap<>();
+    getCondition(null, bindings);
+    return bindings;
+  }
+
+  private String getCondition(String tableName, Map<String, Object> bindings) {
     String condition = getIncludeCondition(tableName);
-    condition = addCondition(condition, getDatabaseCondition(tableName));
-    condition = addCondition(condition, getServiceCondition(tableName));
-    condition = addCondition(condition, getParentCondition(tableName));
-    condition = addCondition(condition, getCategoryCondition(tableName));
-    condition = addCondition(condition, getWebhookCondition(tableName));
+    condition = addCondition(condition, getDatabaseCondition(tableName, bindings));
+    condition = addCondition(condition, getServiceCondition(tableName, bindings));
+    condition = addCondition(condition, getDatabaseSchemaCondition(tableName, bindings));
+    condition = addCondition(condition, getParentCondition(tableName, bindings));
+    condition = addCondition(condition, getCategoryCondition(tableName, bindings));
+    condition = addCondition(condition, getWebhookCondition(tableName, bindings));
+    condition = addCondition(condition, getRowFilterCondition(tableName, bindings));
     return condition.isEmpty() ? "WHERE TRUE" : "WHERE " + condition;
   }
 
+  /** Key identifying the rows selected by the filter, used to cache their total count */
+  public String getKey() {
+    return getCondition() + new TreeMap<>(getBindings()) + new TreeMap<>(queryParams);
+  }
+
+  /** Computation of the total count of the listed entities. See {@link TotalCounter}. */
+  public ListFilter withTotalCount(TotalCount totalCount) {
+    this.totalCount = totalCount;
+    return this;
+  }
+
+  public TotalCount getTotalCount() {
+    return totalCount == null ? TotalCounter.getMode(null) : totalCount;
+  }
+
+  /**
+   * Select the entities of the service, database or schema query params with the {@link HierarchyColumns} of a table
+   * storing {@code depth} parents, instead of a prefix of their fully qualified names
+   */
+  public ListFilter withHierarchyDepth(int depth) {
+    this.hierarchyDepth = depth;
+    return this;
+  }
+
+  /** Restrict the listed entities to those selected by an access control filter */
+  public ListFilter withRowFilter(RowFilter rowFilter, String nameColumn) {
+    this.rowFilter = rowFilter;
+    this.nameColumn = nameColumn;
+    return this;
+  }
+
+  public String getRowFilterCondition(String tableName, Map<String, Object> bindings) {
+    return rowFilter == null ? "" : rowFilter.getCondition(tableName, nameColumn, bindings);
+  }
+
   public String getIncludeCondition(String tableName) {
     String columnName = tableName == null ? "deleted" : tableName + ".deleted";
     if (include == Include.NON_DELETED) {
@@ -57,56 +117,78 @@ public class ListFilter {
     return "";
   }
 
-  public String getDatabaseCondition(String tableName) {
+  public String getDatabaseCondition(String tableName, Map<String, Object> bindings) {
     String database = queryParams.get("database");
-    return database == null ? "" : getFqnPrefixCondition(tableName, escape(database));
+    return database == null
+        ? ""
+        : getHierarchyCondition(tableName, "database", "databaseFqnPrefix", database, bindings);
   }
 
-  public String getServiceCondition(String tableName) {
+  public String getServiceCondition(String tableName, Map<String, Object> bindings) {
     String service = queryParams.get("service");
-    return service == null ? "" : getFqnPrefixCondition(tableName, escape(service));
+    return service == null ? "" : getHierarchyCondition(tableName, "service", "serviceFqnPrefix", service, bindings);
+  }
+
+  public String getDatabaseSchemaCondition(String tableName, Map<String, Object> bindings) {
+    String schema = queryParams.get("databaseSchema");
+    return schema == null
+        ? ""
+        : getHierarchyCondition(tableName, "databaseSchema", "databaseSchemaFqnPrefix", schema, bindings);
   }
 
-  public String getParentCondition(String tableName) {
+  public String getParentCondition(String tableName, Map<String, Object> bindings) {
     String parentFqn = queryParams.get("parent");
-    return parentFqn == null ? "" : getFqnPrefixCondition(tableName, escape(parentFqn));
+    return parentFqn == null ? "" : getFqnPrefixCondition(tableName, "parentFqnPrefix", parentFqn, bindings);
   }
 
-  public String getCategoryCondition(String tableName) {
+  public String getCategoryCondition(String tableName, Map<String, Object> bindings) {
     String category = queryParams.get("category");
-    return category == null ? "" : getCategoryPrefixCondition(tableName, escape(category));
+    if (category == null) {
+      return "";
+    }
+    bindings.put("categoryPrefix", category + "%");
+    return getColumnName(tableName, "category") + " LIKE :categoryPrefix";
   }
 
-  public String getWebhookCondition(String tableName) {
+  public String getWebhookCondition(String tableName, Map<String, Object> bindings) {
     String webhookStatus = queryParams.get("status");
-    return webhookStatus == null ? "" : getStatusPrefixCondition(tableName, escape(webhookStatus));
+    return webhookStatus == null ? "" : getStatusPrefixCondition(tableName, webhookStatus, bindings);
   }
 
-  private String getFqnPrefixCondition(String tableName, String fqnPrefix) {
-    return tableName == null
-        ? String.format("fullyQualifiedName LIKE '%s%s%%'", fqnPrefix, Entity.SEPARATOR)
-        : String.format("%s.fullyQualifiedName LIKE '%s%s%%'", tableName, fqnPrefix, Entity.SEPARATOR);
+  /** Condition on the hierarchy column storing the parent of a query param, or on the fully qualified name prefix */
+  private String getHierarchyCondition(
+      String tableName, String queryParam, String fqnPrefixParameter, String fqn, Map<String, Object> bindings) {
+    String column = HierarchyColumns.getColumn(queryParam, hierarchyDepth);
+    if (column == null) {
+      return getFqnPrefixCondition(tableName, fqnPrefixParameter, fqn, bindings);
+    }
+    bindings.put(column, fqn);
+    return getColumnName(tableName, column) + " = :" + column;
   }
 
-  private String getCategoryPrefixCondition(String tableName, String category) {
-    return tableName == null
-        ? String.format("category LIKE '%s%s%%'", category, "")
-        : String.format("%s.category LIKE '%s%s%%'", tableName, category, "");
+  private String getFqnPrefixCondition(
+      String tableName, String parameter, String fqnPrefix, Map<String, Object> bindings) {
+    bindings.put(parameter, fqnPrefix + Entity.SEPARATOR + "%");
+    return getColumnName(tableName, "fullyQualifiedName") + " LIKE :" + parameter;
   }
 
-  private String getStatusPrefixCondition(String tableName, String statusPrefix) {
+  private String getStatusPrefixCondition(String tableName, String statusPrefix, Map<String, Object> bindings) {
     if (!statusPrefix.isEmpty()) {
       List<String> statusList = new ArrayList<>(Arrays.asList(statusPrefix.split(",")));
       List<String> condition = new ArrayList<>();
       for (String s : statusList) {
-        String format = "\"" + s + "\"";
-        condition.add(format);
+        String parameter = "status" + condition.size();
+        bindings.put(parameter, s);
+        condition.add(":" + parameter);
       }
       return "status in (" + String.join(",", condition) + ")";
     }
-    return tableName == null
-        ? String.format("status LIKE '%s%s%%'", statusPrefix, "")
-        : String.format("%s.status LIKE '%s%s%%'", tableName, statusPrefix, "");
+    bindings.put("statusPrefix", "%");
+    return getColumnName(tableName, "status") + " LIKE :statusPrefix";
+  }
+
+  private String getColumnName(String tableName, String columnName) {
+    return tableName == null ? columnName : tableName + "." + columnName;
   }
 
   private String addCondition(String condition1, String condition2) {
@@ -118,8 +200,4 @@ public class ListFilter {
     }
     return condition1 + " AND " + condition2;
   }
-
-  private String escape(String name) {
-    return name.replace("'", "''");
-  }
 }
@@ -38,6 +38,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -114,29 +115,46 @@ public class TableRepository extends EntityRepository<Table> {
   public Table setFields(Table table, Fields fields) throws IOException {
     setDefaultFields(table);
     table.setTableConstraints(fields.contains("tableConstraints") ? table.getTableConstraints() : null);
-    table.setOwner(fields.contains(FIELD_OWNER) ? getOwner(table) : null);
-    table.setFollowers(fields.contains(FIELD_FOLLOWERS) ? getFollowers(table) : null);
-    table.setUsageSummary(
-        fields.contains("usageSummary") ? EntityUtil.getLatestUsage(daoCollection.usageDAO(), table.getId()) : null);
-    table.setTags(fields.contains(FIELD_TAGS) ? getTags(table.getFullyQualifiedName()) : null);
-    getColumnTags(fields.contains(FIELD_TAGS), table.getColumns());
-    table.setJoins(fields.contains("joins") ? getJoins(table) : null);
-    table.setSampleData(fields.contains("sampleData") ? getSampleData(table) : null);
     table.setViewDefinition(fields.contains("viewDefinition") ? table.getViewDefinition() : null);
-    table.setTableProfile(fields.contains("tableProfile") ? getTableProfile(table) : null);
-    table.setTableProfilerConfig(fields.contains("tableProfilerConfig") ? getTableProfilerConfig(table) : null);
-    table.setLocation(fields.contains("location") ? getLocation(table) : null);
-    table.setTableQueries(fields.contains("tableQueries") ? getQueries(table) : null);
-    table.setTableTests(fields.contains("tests") ? getTableTests(table) : null);
-    getColumnTests(fields.contains("tests"), table);
-    getCustomMetrics(fields.contains("customMetrics"), table);
-    table.setExtension(fields.contains("extension") ? getExtension(table) : null);
+
+    // The remaining fields are independent of each other and can be loaded concurrently
+    FieldLoader loader = fieldLoader();
+    loader.load(fields.contains(FIELD_OWNER), FIELD_OWNER, () -> getOwner(table), table::setOwner);
+    loader.load(fields.contains(FIELD_FOLLOWERS), FIELD_FOLLOWERS, () -> getFollowers(table), table::setFollowers);
+    loader.load(
+        fields.contains("usageSummary"),
+        "usageSummary",
+        () -> EntityUtil.getLatestUsage(daoCollection.usageDAO(), table.getId()),
+        table::setUsageSummary);
+    loader.load(fields.contains(FIELD_TAGS), FIELD_TAGS, () -> getTags(table.getFullyQualifiedName()), table::setTags);
+    loader.run(
+        fields.contains(FIELD_TAGS),
+        "columnTags",
+        () -> getColumnTags(fields.contains(FIELD_TAGS), table));
+    loader.load(fields.contains("joins"), "joins", () -> getJoins(table), table::setJoins);
+    loader.load(fields.contains("sampleData"), "sampleData", () -> getSampleData(table), table::setSampleData);
+    loader.load(fields.contains("tableProfile"), "tableProfile", () -> getTableProfile(table), table::setTableProfile);
+    loader.load(
+        fields.contains("tableProfilerConfig"),
+        "tableProfilerConfig",
+        () -> getTableProfilerConfig(table),
+        table::setTableProfilerConfig);
+    loader.load(fields.contains("location"), "location", () -> getLocation(table), table::setLocation);
+    loader.load(fields.contains("tableQueries"), "tableQueries", () -> getQueries(table), table::setTableQueries);
+    loader.load(fields.contains("tests"), "tests", () -> getTableTests(table), table::setTableTests);
+    loader.run(fields.contains("tests"), "columnTests", () -> getColumnTests(fields.contains("tests"), table));
+    loader.run(
+        fields.contains("customMetrics"),
+        "customMetrics",
+        () -> getCustomMetrics(fields.contains("customMetrics"), table));
+    loader.load(fields.contains("extension"), "extension", () -> getExtension(table), table::setExtension);
+    loader.join();
     return table;
   }
 
   private void setDefaultFields(Table table) throws IOException {
     EntityReference schemaRef = getContainer(table.getId());
-    DatabaseSchema schema = Entity.getEntity(schemaRef, Fields.EMPTY_FIELDS, Include.ALL);
+    DatabaseSchema schema = getContainerEntity(schemaRef);
     table.withDatabaseSchema(schemaRef).withDatabase(schema.getDatabase()).withService(schema.getService());
   }
 
@@ -723,25 +741,38 @@ public class TableRepository extends EntityRepository<Table> {
 
   private void applyTags(List<Column> columns) {
     // Add column level tags by adding tag to column relationship
-    for (Column column : columns) {
-      applyTags(column.getTags(), column.getFullyQualifiedName());
-      if (column.getChildren() != null) {
-        applyTags(column.getChildren());
-      }
+    Map<String, List<TagLabel>> columnTags = new LinkedHashMap<>();
+    collectColumnTags(columns, columnTags);
+    applyTags(columnTags);
+  }
+
+  private static void collectColumnTags(List<Column> columns, Map<String, List<TagLabel>> columnTags) {
+    for (Column column : listOrEmpty(columns)) {
+      columnTags.put(column.getFullyQualifiedName(), column.getTags());
+      collectColumnTags(column.getChildren(), columnTags);
     }
   }
 
   @Override
   public void applyTags(Table table) {
-    // Add table level tags by adding tag to table relationship
-    super.applyTags(table);
-    applyTags(table.getColumns());
+    // Add table level and column level tags with one batch
+    Map<String, List<TagLabel>> tags = new LinkedHashMap<>();
+    tags.put(table.getFullyQualifiedName(), table.getTags());
+    collectColumnTags(table.getColumns(), tags);
+    applyTags(tags);
+  }
+
+  private void getColumnTags(boolean setTags, Table table) {
+    // Tags of all the columns and nested columns are read with one query
+    Map<String, List<TagLabel>> columnTags =
+        setTags ? daoCollection.tagUsageDAO().getTagsByPrefix(table.getFullyQualifiedName()) : Map.of();
+    setColumnTags(setTags, table.getColumns(), columnTags);
   }
 
-  private void getColumnTags(boolean setTags, List<Column> columns) {
+  private static void setColumnTags(boolean setTags, List<Column> columns, Map<String, List<TagLabel>> columnTags) {
     for (Column c : listOrEmpty(columns)) {
-      c.setTags(setTags ? getTags(c.getFullyQualifiedName()) : null);
-      getColumnTags(setTags, c.getChildren());
+      c.setTags(setTags ? new ArrayList<>(columnTags.getOrDefault(c.getFullyQualifiedName(), List.of())) : null);
+      setColumnTags(setTags, c.getChildren(), columnTags);
     }
   }
 
@@ -848,7 +879,7 @@ public class TableRepository extends EntityRepository<Table> {
   public ResultList<TableProfile> getTableProfiles(ListFilter filter, String before, String after, int limit)
       throws IOException {
     List<TableProfile> tableProfiles;
-    int total;
+    Integer total;
     // Here timestamp is used for page marker since table profiles are sorted by timestamp
     long time = Long.MAX_VALUE;
 
@@ -865,7 +896,12 @@ public class TableRepository extends EntityRepository<Table> {
           JsonUtils.readObjects(
               daoCollection.entityExtensionTimeSeriesDao().listAfter(filter, limit + 1, time), TableProfile.class);
     }
-    total = daoCollection.entityExtensionTimeSeriesDao().listCount(filter);
+    total =
+        TotalCounter.count(
+            filter.getTotalCount(),
+            "tableProfile:" + filter.getKey(),
+            () -> daoCollection.entityExtensionTimeSeriesDao().listCount(filter),
+            null);
     String beforeCursor = null;
     String afterCursor = null;
     if (before != null) {
@@ -1106,13 +1142,16 @@ public class TableRepository extends EntityRepository<Table> {
       }
 
       // Delete tags related to deleted columns
-      deletedColumns.forEach(
-          deleted -> daoCollection.tagUsageDAO().deleteTagsByTarget(deleted.getFullyQualifiedName()));
+      if (!deletedColumns.isEmpty()) {
+        List<String> deletedFQNs = new ArrayList<>();
+        deletedColumns.forEach(deleted -> deletedFQNs.add(deleted.getFullyQualifiedName()));
+        daoCollection.tagUsageDAO().deleteTagsByTargets(deletedFQNs);
+      }
 
       // Add tags related to newly added columns
-      for (Column added : addedColumns) {
-        applyTags(added.getTags(), added.getFullyQualifiedName());
-      }
+      Map<String, List<TagLabel>> addedTags = new LinkedHashMap<>();
+      addedColumns.forEach(added -> addedTags.put(added.getFullyQualifiedName(), added.getTags()));
+      applyTags(addedTags);
 
       // Carry forward the user generated metadata from existing columns to new columns
       for (Column updated : updatedColumns) {
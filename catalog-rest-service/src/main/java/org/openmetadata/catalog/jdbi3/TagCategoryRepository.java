@@ -111,6 +111,8 @@ public class TagCategoryRepository extends EntityRepository<TagCategory> {
     TagCategory category = get(uriInfo, id, Fields.EMPTY_FIELDS, Include.NON_DELETED);
     dao.delete(id);
     daoCollection.tagDAO().deleteTagsByPrefix(category.getName());
+    EntityReferenceCache.getInstance().invalidateAll(Entity.TAG);
+    TagLabelCache.getInstance().invalidateAll(TagSource.TAG);
     daoCollection.tagUsageDAO().deleteTagLabels(TagSource.TAG.ordinal(), category.getName());
     daoCollection.tagUsageDAO().deleteTagLabelsByPrefix(TagSource.TAG.ordinal(), category.getName());
     return category;
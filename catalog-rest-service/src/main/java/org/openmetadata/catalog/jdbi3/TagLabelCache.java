@@ -0,0 +1,76 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.openmetadata.catalog.type.TagLabel.TagSource;
+
+/**
+ * Descriptions of the tags and glossary terms copied into the tag labels applied to entities, keyed by (source, fqn).
+ * Tags and glossary terms that don't exist are not cached, so applying them keeps failing. Entries are evicted by
+ * {@link TagLabelCacheInvalidator} on the change events of tags and glossary terms, and by the bulk updates of tag
+ * names. A time to live bounds staleness for changes made by other server instances.
+ */
+public final class TagLabelCache {
+  private static final TagLabelCache INSTANCE = new TagLabelCache();
+
+  // Guava caches don't hold null values, and tags and glossary terms may not have a description
+  private final Cache<String, Optional<String>> descriptionCache =
+      CacheBuilder.newBuilder().maximumSize(10000).expireAfterWrite(10, TimeUnit.MINUTES).build();
+
+  /** Loads the description of a tag or glossary term. Throws an exception when it does not exist. */
+  @FunctionalInterface
+  public interface DescriptionLoader {
+    String load(String fqn);
+  }
+
+  private TagLabelCache() {}
+
+  public static TagLabelCache getInstance() {
+    return INSTANCE;
+  }
+
+  /** Return the description of a tag or glossary term, loading it with {@code loader} when it is not cached */
+  public String getDescription(TagSource source, String fqn, DescriptionLoader loader) {
+    try {
+      return descriptionCache.get(key(source, fqn), () -> Optional.ofNullable(loader.load(fqn))).orElse(null);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      // Rethrow the exception of the loader, such as EntityNotFoundException
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e);
+    }
+  }
+
+  public void invalidate(TagSource source, String fqn) {
+    descriptionCache.invalidate(key(source, fqn));
+  }
+
+  /** Evict the descriptions of all the tags or glossary terms. Used when their names change or they are deleted. */
+  public void invalidateAll(TagSource source) {
+    String prefix = source + ":";
+    descriptionCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+  }
+
+  public void invalidateAll() {
+    descriptionCache.invalidateAll();
+  }
+
+  private static String key(TagSource source, String fqn) {
+    return source + ":" + fqn;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
+
+import com.lmax.disruptor.EventHandler;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.events.EventPubSub.ChangeEventHolder;
+import org.openmetadata.catalog.type.ChangeDescription;
+import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.type.EventType;
+import org.openmetadata.catalog.type.TagLabel.TagSource;
+
+/**
+ * Invalidates the entries of {@link TagLabelCache} affected by the change events of tags, tag categories, glossaries
+ * and glossary terms. A changed tag or glossary term is invalidated. Renaming or deleting a tag, glossary term, tag
+ * category or glossary also renames or removes the terms below it, so all the entries of the source are invalidated.
+ */
+@Slf4j
+public class TagLabelCacheInvalidator implements EventHandler<ChangeEventHolder> {
+  private static final Set<String> ENTITY_TYPES =
+      Set.of(Entity.TAG, Entity.TAG_CATEGORY, Entity.GLOSSARY, Entity.GLOSSARY_TERM);
+
+  @Override
+  public void onEvent(ChangeEventHolder holder, long sequence, boolean endOfBatch) {
+    ChangeEvent event = holder.get();
+    if (event == null || !ENTITY_TYPES.contains(event.getEntityType())) {
+      return;
+    }
+    try {
+      invalidate(event);
+    } catch (Exception e) {
+      // Exceptions stop the event handler. Entries that were not invalidated expire eventually.
+      LOG.warn("Failed to invalidate tag label cache for {} {}", event.getEntityType(), event.getEntityId(), e);
+    }
+  }
+
+  void invalidate(ChangeEvent event) {
+    if (event.getEventType() == EventType.ENTITY_CREATED) {
+      return; // Tags and glossary terms that don't exist are not cached
+    }
+    // Soft deleting also soft deletes the tags or glossary terms below the entity
+    boolean renamedOrDeleted =
+        event.getEventType() == EventType.ENTITY_DELETED
+            || event.getEventType() == EventType.ENTITY_SOFT_DELETED
+            || isRenamed(event);
+    String fqn = event.getEntityFullyQualifiedName();
+    switch (event.getEntityType()) {
+      case Entity.TAG:
+        invalidate(TagSource.TAG, fqn, renamedOrDeleted);
+        break;
+      case Entity.GLOSSARY_TERM:
+        invalidate(TagSource.GLOSSARY, fqn, renamedOrDeleted);
+        break;
+      case Entity.TAG_CATEGORY:
+        if (renamedOrDeleted) {
+          TagLabelCache.getInstance().invalidateAll(TagSource.TAG);
+        }
+        break;
+      case Entity.GLOSSARY:
+        if (renamedOrDeleted) {
+          TagLabelCache.getInstance().invalidateAll(TagSource.GLOSSARY);
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  private static void invalidate(TagSource source, String fqn, boolean all) {
+    if (all || fqn == null) {
+      TagLabelCache.getInstance().invalidateAll(source);
+    } else {
+      TagLabelCache.getInstance().invalidate(source, fqn);
+    }
+  }
+
+  private static boolean isRenamed(ChangeEvent event) {
+    ChangeDescription change = event.getChangeDescription();
+    return change != null
+        && listOrEmpty(change.getFieldsUpdated()).stream().anyMatch(field -> "name".equals(field.getName()));
+  }
+}
@@ -58,6 +58,8 @@ public class TagRepository extends EntityRepository<Tag> {
       daoCollection.tagDAO().update(tag.getId(), JsonUtils.pojoToJson(tag));
       updateChildrenTagNames(oldFQN, newFQN);
     }
+    // The descriptions of renamed tags are cached by their old names
+    TagLabelCache.getInstance().invalidateAll(TagSource.TAG);
   }
 
   // Populate the children tags for a given tag
@@ -131,6 +133,8 @@ public class TagRepository extends EntityRepository<Tag> {
     Tag tag = get(uriInfo, id, Fields.EMPTY_FIELDS, Include.NON_DELETED);
     dao.delete(id);
     daoCollection.tagDAO().deleteTagsByPrefix(tag.getFullyQualifiedName());
+    EntityReferenceCache.getInstance().invalidateAll(Entity.TAG);
+    TagLabelCache.getInstance().invalidateAll(TagSource.TAG);
     daoCollection.tagUsageDAO().deleteTagLabels(TagSource.TAG.ordinal(), tag.getFullyQualifiedName());
     daoCollection.tagUsageDAO().deleteTagLabelsByPrefix(TagSource.TAG.ordinal(), tag.getFullyQualifiedName());
     return tag;
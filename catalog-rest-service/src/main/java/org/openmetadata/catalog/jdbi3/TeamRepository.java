@@ -28,16 +28,26 @@ import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.api.teams.CreateTeam.TeamType;
 import org.openmetadata.catalog.entity.teams.Team;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipObject;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipRecord;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TeamHierarchyDAO;
 import org.openmetadata.catalog.resources.teams.TeamResource;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.Include;
@@ -136,6 +146,9 @@ public class TeamRepository extends EntityRepository<Team> {
     for (EntityReference policy : listOrEmpty(team.getPolicies())) {
       addRelationship(team.getId(), policy.getId(), TEAM, POLICY, Relationship.HAS);
     }
+    List<String> teamIds = new ArrayList<>(List.of(team.getId().toString()));
+    listOrEmpty(team.getChildren()).forEach(child -> teamIds.add(child.getId().toString()));
+    updateHierarchy(teamIds);
   }
 
   @Override
@@ -162,7 +175,10 @@ public class TeamRepository extends EntityRepository<Team> {
         LOG.info("Moving parent of team " + childTeam.getId() + " to organization");
       }
     }
+    List<String> childIds = daoCollection.teamHierarchyDAO().listChildIds(team.getId().toString());
     super.cleanup(team);
+    daoCollection.teamHierarchyDAO().delete(team.getId().toString());
+    updateHierarchy(childIds);
   }
 
   private List<EntityReference> getUsers(Team team) throws IOException {
@@ -170,14 +186,8 @@ public class TeamRepository extends EntityRepository<Team> {
     return EntityUtil.populateEntityReferences(userIds, Entity.USER);
   }
 
-  private Integer getUserCount(UUID teamId) throws IOException {
-    List<EntityRelationshipRecord> userIds = findTo(teamId, TEAM, Relationship.HAS, Entity.USER);
-    int userCount = userIds.size();
-    List<EntityReference> children = getChildren(teamId);
-    for (EntityReference child : children) {
-      userCount += getUserCount(child.getId());
-    }
-    return userCount;
+  private Integer getUserCount(UUID teamId) {
+    return daoCollection.teamHierarchyDAO().countUsers(teamId.toString(), Relationship.HAS.ordinal());
   }
 
   private List<EntityReference> getOwns(Team team) throws IOException {
@@ -209,7 +219,10 @@ public class TeamRepository extends EntityRepository<Team> {
   }
 
   private Integer getChildrenCount(Team team) throws IOException {
-    return getChildren(team.getId()).size();
+    if (team.getId().equals(organization.getId())) {
+      return getChildren(team.getId()).size();
+    }
+    return daoCollection.teamHierarchyDAO().countChildren(team.getId().toString());
   }
 
   private List<EntityReference> getPolicies(Team team) throws IOException {
@@ -310,6 +323,64 @@ public class TeamRepository extends EntityRepository<Team> {
     }
   }
 
+  /**
+   * Rebuild the team hierarchy rows of the given teams and of all the teams below them from the parent relationships.
+   * A team is added after its parents, since its ancestors are derived from the rows of the parents.
+   */
+  private void updateHierarchy(Collection<String> teamIds) {
+    if (teamIds.isEmpty()) {
+      return;
+    }
+    TeamHierarchyDAO hierarchyDAO = daoCollection.teamHierarchyDAO();
+    Set<String> affected = new LinkedHashSet<>(teamIds);
+    affected.addAll(hierarchyDAO.listDescendantIds(new ArrayList<>(teamIds)));
+    List<String> affectedIds = new ArrayList<>(affected);
+
+    Map<String, List<String>> parents = new HashMap<>();
+    for (EntityRelationshipObject record :
+        daoCollection.relationshipDAO().findFromBatch(affectedIds, TEAM, Relationship.PARENT_OF.ordinal())) {
+      if (TEAM.equals(record.getFromEntity())) {
+        parents.computeIfAbsent(record.getToId(), k -> new ArrayList<>()).add(record.getFromId());
+      }
+    }
+    hierarchyDAO.deleteAncestors(affectedIds);
+
+    Deque<String> pending = new ArrayDeque<>(affectedIds);
+    Set<String> added = new HashSet<>();
+    int skipped = 0;
+    while (!pending.isEmpty()) {
+      String teamId = pending.poll();
+      List<String> teamParents = parents.getOrDefault(teamId, getDefaultParents(teamId));
+      boolean parentsPending = teamParents.stream().anyMatch(p -> affected.contains(p) && !added.contains(p));
+      if (parentsPending && skipped <= pending.size()) {
+        pending.add(teamId); // Add after the parents
+        skipped++;
+        continue;
+      }
+      if (parentsPending) {
+        LOG.warn("Team {} is in a cycle in the team hierarchy", teamId);
+      }
+      hierarchyDAO.insertSelf(teamId);
+      if (!teamParents.isEmpty()) {
+        hierarchyDAO.insertAncestors(teamId, teamParents);
+      }
+      added.add(teamId);
+      skipped = 0;
+    }
+  }
+
+  private List<String> getDefaultParents(String teamId) {
+    // Teams without parents are under the organization, whose relationship is not stored
+    if (organization == null || organization.getId().toString().equals(teamId)) {
+      return List.of();
+    }
+    return List.of(organization.getId().toString());
+  }
+
+  private static boolean referencesChanged(List<EntityReference> original, List<EntityReference> updated) {
+    return !new HashSet<>(EntityUtil.toIds(original)).equals(new HashSet<>(EntityUtil.toIds(updated)));
+  }
+
   public void initOrganization() throws IOException {
     String json = dao.findJsonByFqn(ORGANIZATION_NAME, Include.ALL);
     if (json == null) {
@@ -337,6 +408,11 @@ public class TeamRepository extends EntityRepository<Team> {
       organization = JsonUtils.readValue(json, Team.class);
       LOG.info("Organization is already initialized");
     }
+    if (daoCollection.teamHierarchyDAO().count() == 0) {
+      // Build the team hierarchy of the teams created before it was maintained
+      updateHierarchy(daoCollection.teamDAO().listIds());
+      LOG.info("Team hierarchy is initialized");
+    }
   }
 
   /** Handles entity updated from PUT and POST operation. */
@@ -382,6 +458,9 @@ public class TeamRepository extends EntityRepository<Team> {
       List<EntityReference> updatedParents = listOrEmpty(updated.getParents());
       updateFromRelationships(
           "parents", TEAM, origParents, updatedParents, Relationship.PARENT_OF, TEAM, original.getId());
+      if (referencesChanged(origParents, updatedParents)) {
+        updateHierarchy(List.of(original.getId().toString()));
+      }
     }
 
     private void updateChildren(Team original, Team updated) throws JsonProcessingException {
@@ -389,6 +468,13 @@ public class TeamRepository extends EntityRepository<Team> {
       List<EntityReference> updatedParents = listOrEmpty(updated.getChildren());
       updateToRelationships(
           "children", TEAM, original.getId(), Relationship.PARENT_OF, TEAM, origParents, updatedParents, false);
+      if (referencesChanged(origParents, updatedParents)) {
+        // Teams added or removed as children have new parents
+        Set<String> childIds = new HashSet<>();
+        origParents.forEach(child -> childIds.add(child.getId().toString()));
+        updatedParents.forEach(child -> childIds.add(child.getId().toString()));
+        updateHierarchy(childIds);
+      }
     }
 
     private void updatePolicies(Team original, Team updated) throws JsonProcessingException {
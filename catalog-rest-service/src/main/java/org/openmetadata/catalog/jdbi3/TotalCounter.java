@@ -0,0 +1,99 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.catalog.jdbi3.PaginationConfiguration.TotalCount;
+
+/**
+ * Computes the total of the paging of list responses. Counting the rows that match a filter can cost more than reading
+ * the page itself, so the total is computed as requested with the {@code totalCount} query param, or as configured
+ * with {@link PaginationConfiguration}: counted for each page, reused from the count of the same filter for a time to
+ * live, estimated by the query planner of the database, or omitted. The data and cursors of the page don't depend on
+ * the total.
+ */
+@Slf4j
+public final class TotalCounter {
+  public static final String QUERY_PARAM = "totalCount";
+  public static final String QUERY_PARAM_DESCRIPTION =
+      "Computation of the total in the paging. It can take one of 'exact', 'cached', 'estimate', 'none'. "
+          + "The server default is used when not set";
+
+  private static volatile PaginationConfiguration config = new PaginationConfiguration();
+  private static volatile Cache<String, Integer> countCache = buildCache(config);
+
+  private TotalCounter() {}
+
+  public static void initialize(PaginationConfiguration configuration) {
+    if (configuration != null) {
+      config = configuration;
+      countCache = buildCache(configuration);
+    }
+  }
+
+  /** Return the mode requested with the {@code totalCount} query param, or the configured one when not requested */
+  public static TotalCount getMode(String param) {
+    return param == null ? config.getTotalCount() : TotalCount.fromValue(param);
+  }
+
+  /**
+   * Return the total count of the rows of a filter identified by {@code key}, or null when the total is omitted.
+   * {@code estimate} returns null when the filter can't be estimated, in which case the cached count is used.
+   */
+  public static Integer count(TotalCount mode, String key, Supplier<Integer> count, Supplier<Integer> estimate) {
+    if (mode == TotalCount.NONE) {
+      return null;
+    }
+    if (mode == TotalCount.EXACT) {
+      return count.get();
+    }
+    if (mode == TotalCount.ESTIMATE && estimate != null) {
+      Integer estimated = estimate(key, estimate);
+      if (estimated != null) {
+        return estimated;
+      }
+    }
+    try {
+      return countCache.get(key, count::get);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e);
+    }
+  }
+
+  public static void invalidateAll() {
+    countCache.invalidateAll();
+  }
+
+  private static Integer estimate(String key, Supplier<Integer> estimate) {
+    try {
+      return estimate.get();
+    } catch (RuntimeException e) {
+      LOG.debug("Failed to estimate the total count of {}", key, e);
+      return null;
+    }
+  }
+
+  private static Cache<String, Integer> buildCache(PaginationConfiguration configuration) {
+    return CacheBuilder.newBuilder()
+        .maximumSize(configuration.getTotalCountCacheSize())
+        .expireAfterWrite(configuration.getTotalCountCacheTtlSeconds(), TimeUnit.SECONDS)
+        .build();
+  }
+}
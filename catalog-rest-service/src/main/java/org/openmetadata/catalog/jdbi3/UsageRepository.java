@@ -22,21 +22,41 @@ import static org.openmetadata.catalog.Entity.TABLE;
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import javax.ws.rs.core.Response;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
 import org.jdbi.v3.core.mapper.RowMapper;
 import org.jdbi.v3.core.statement.StatementContext;
 import org.jdbi.v3.sqlobject.transaction.Transaction;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.EntityInterface;
+import org.openmetadata.catalog.api.usage.BulkUsage;
+import org.openmetadata.catalog.api.usage.BulkUsageResponse;
+import org.openmetadata.catalog.api.usage.EntityUsageCount;
 import org.openmetadata.catalog.entity.data.Chart;
 import org.openmetadata.catalog.entity.data.Dashboard;
 import org.openmetadata.catalog.entity.data.MlModel;
 import org.openmetadata.catalog.entity.data.Table;
+import org.openmetadata.catalog.events.ChangeEventOutbox;
+import org.openmetadata.catalog.events.EventPubSub;
 import org.openmetadata.catalog.exception.CatalogExceptionMessage;
 import org.openmetadata.catalog.exception.UnhandledServerException;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipObject;
+import org.openmetadata.catalog.resources.usage.UsageConfiguration;
 import org.openmetadata.catalog.type.ChangeDescription;
 import org.openmetadata.catalog.type.ChangeEvent;
 import org.openmetadata.catalog.type.DailyCount;
@@ -45,21 +65,47 @@ import org.openmetadata.catalog.type.EntityUsage;
 import org.openmetadata.catalog.type.EventType;
 import org.openmetadata.catalog.type.FieldChange;
 import org.openmetadata.catalog.type.Include;
+import org.openmetadata.catalog.type.Relationship;
 import org.openmetadata.catalog.type.UsageDetails;
 import org.openmetadata.catalog.type.UsageStats;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
+import org.openmetadata.catalog.util.JsonUtils;
 import org.openmetadata.catalog.util.RestUtil;
 
 @Slf4j
 public class UsageRepository {
   private static final String PUT = "createOrUpdate";
   private static final String POST = "createNew";
+  private static final List<String> USAGE_ENTITY_TYPES = List.of(TABLE, DASHBOARD, CHART, MLMODEL);
+  private static final int BATCH_SIZE = 1000;
   private final CollectionDAO dao;
 
+  private boolean deferPercentileComputation = false;
+  private ScheduledExecutorService percentileScheduler;
+
   public UsageRepository(CollectionDAO dao) {
     this.dao = dao;
   }
 
+  public void initialize(UsageConfiguration config) {
+    if (config == null || !Boolean.TRUE.equals(config.getDeferPercentileComputation())) {
+      return;
+    }
+    deferPercentileComputation = true;
+    Integer interval = config.getPercentileComputationIntervalSeconds();
+    if (interval != null && interval > 0) {
+      percentileScheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                Thread thread = new Thread(runnable, "usage-percentile-computation");
+                thread.setDaemon(true);
+                return thread;
+              });
+      percentileScheduler.scheduleWithFixedDelay(this::computePendingPercentiles, interval, interval, TimeUnit.SECONDS);
+    }
+    LOG.info("Usage percentile computation is deferred. Scheduled interval {} seconds", interval);
+  }
+
   @Transaction
   public EntityUsage get(String entityType, String id, String date, int days) throws IOException {
     EntityReference ref = Entity.getEntityReferenceById(entityType, UUID.fromString(id), Include.NON_DELETED);
@@ -102,11 +148,126 @@ public class UsageRepository {
     return addUsage(PUT, entityType, ref.getId().toString(), usage);
   }
 
+  /**
+   * Record usage of many entities of the given type in a single transaction. Entities are looked up by fully qualified
+   * name in batches and the usage counts are upserted with batched statements. Usage of tables is also added to the
+   * schema and database that contain them. Unknown entities are skipped and returned in the response. The change events
+   * of the usage are published once the transaction is committed.
+   */
+  public BulkUsageResponse createOrUpdateBulk(String entityType, BulkUsage bulkUsage, String userName)
+      throws IOException {
+    if (!USAGE_ENTITY_TYPES.contains(entityType)) {
+      throw new UnhandledServerException(CatalogExceptionMessage.entityTypeNotSupported(entityType));
+    }
+    List<EntityUsageCount> usage = bulkUsage.getUsage();
+    BulkUsageResponse response = new BulkUsageResponse().withEntitiesUpdated(0).withUsageRecorded(0);
+    if (usage == null || usage.isEmpty()) {
+      return response;
+    }
+
+    // Resolve the fully qualified names to entity references. We accept usage for deleted entities.
+    List<String> fqns = usage.stream().map(EntityUsageCount::getEntityFQN).distinct().collect(Collectors.toList());
+    EntityDAO<?> entityDAO = Entity.getEntityRepository(entityType).dao;
+    Map<String, EntityReference> refs = new HashMap<>();
+    for (List<String> batch : partition(fqns)) {
+      for (EntityReference ref : entityDAO.findEntityReferencesByNames(batch, Include.ALL)) {
+        refs.put(ref.getFullyQualifiedName(), ref);
+      }
+    }
+
+    // Usage count per date and entity id, with dates in increasing order
+    SortedMap<String, Map<String, Integer>> counts = new TreeMap<>();
+    Map<String, String> latestDates = new LinkedHashMap<>();
+    Set<String> notFound = new LinkedHashSet<>();
+    int recorded = 0;
+    for (EntityUsageCount entityUsage : usage) {
+      EntityReference ref = refs.get(entityUsage.getEntityFQN());
+      if (ref == null) {
+        notFound.add(entityUsage.getEntityFQN());
+        continue;
+      }
+      String id = ref.getId().toString();
+      counts
+          .computeIfAbsent(entityUsage.getDate(), d -> new HashMap<>())
+          .merge(id, entityUsage.getCount(), Integer::sum);
+      latestDates.merge(id, entityUsage.getDate(), (d1, d2) -> d1.compareTo(d2) >= 0 ? d1 : d2);
+      recorded++;
+    }
+    response.withEntitiesNotFound(new ArrayList<>(notFound));
+    if (counts.isEmpty()) {
+      return response;
+    }
+
+    // UsageRepository is not a SqlObject, so the transaction is run by the DAO
+    dao.inTransaction(
+        () -> {
+          insertOrUpdateCounts(entityType, counts);
+          if (entityType.equals(TABLE)) {
+            // Add the usage count to schema and database
+            SortedMap<String, Map<String, Integer>> schemaCounts =
+                rollUp(counts, getContainers(latestDates.keySet(), TABLE, Entity.DATABASE_SCHEMA));
+            insertOrUpdateCounts(Entity.DATABASE_SCHEMA, schemaCounts);
+            Set<String> schemaIds =
+                schemaCounts.values().stream().flatMap(m -> m.keySet().stream()).collect(Collectors.toSet());
+            insertOrUpdateCounts(
+                Entity.DATABASE,
+                rollUp(schemaCounts, getContainers(schemaIds, Entity.DATABASE_SCHEMA, Entity.DATABASE)));
+            counts.keySet().forEach(date -> updatePercentile(entityType, date));
+          }
+          return null;
+        });
+
+    Map<String, String> fqnsById = new HashMap<>();
+    refs.values().forEach(ref -> fqnsById.put(ref.getId().toString(), ref.getFullyQualifiedName()));
+    publishUsageEvents(entityType, latestDates, fqnsById, userName);
+    return response.withEntitiesUpdated(latestDates.size()).withUsageRecorded(recorded);
+  }
+
   @Transaction
   public void computePercentile(String entityType, String date) {
+    dao.usageDAO().deletePendingPercentile(entityType, date);
     dao.usageDAO().computePercentile(entityType, date);
   }
 
+  /**
+   * Compute percentiles once for each (entityType, date) that received usage since the last computation. The pending
+   * computations are stored in the database, so that they survive a restart and are shared by the servers. Each one is
+   * run by the server that removes it.
+   */
+  public void computePendingPercentiles() {
+    List<Pair<String, String>> pendingPercentiles;
+    try {
+      pendingPercentiles = dao.usageDAO().listPendingPercentiles();
+    } catch (Exception e) {
+      // Exceptions cancel the scheduled computation
+      LOG.error("Failed to list pending usage percentile computations", e);
+      return;
+    }
+    for (Pair<String, String> pending : pendingPercentiles) {
+      try {
+        // Removed in the transaction of the computation, so that a failed computation stays pending, and usage
+        // reported during the computation schedules another run once it is committed
+        dao.inTransaction(
+            () -> {
+              if (dao.usageDAO().deletePendingPercentile(pending.getLeft(), pending.getRight()) > 0) {
+                dao.usageDAO().computePercentile(pending.getLeft(), pending.getRight());
+              }
+              return null;
+            });
+      } catch (Exception e) {
+        LOG.error("Failed to compute usage percentile for {} on {}", pending.getLeft(), pending.getRight(), e);
+      }
+    }
+  }
+
+  private void updatePercentile(String entityType, String date) {
+    if (deferPercentileComputation) {
+      dao.usageDAO().insertPendingPercentile(entityType, date);
+    } else {
+      dao.usageDAO().computePercentile(entityType, date);
+    }
+  }
+
   private RestUtil.PutResponse addUsage(String method, String entityType, String entityId, DailyCount usage)
       throws IOException {
     Fields fields = new Fields(List.of("usageSummary"));
@@ -136,7 +297,7 @@ public class UsageRepository {
     Table updated = Entity.getEntity(Entity.TABLE, UUID.fromString(entityId), fields, Include.ALL);
     insertToUsageRepository(method, table.getDatabaseSchema().getId().toString(), Entity.DATABASE_SCHEMA, usage);
     insertToUsageRepository(method, table.getDatabase().getId().toString(), Entity.DATABASE, usage);
-    dao.usageDAO().computePercentile(entityType, usage.getDate());
+    updatePercentile(entityType, usage.getDate());
 
     ChangeDescription change =
         getChangeDescription(table.getVersion(), updated.getUsageSummary(), table.getUsageSummary());
@@ -192,6 +353,105 @@ public class UsageRepository {
     }
   }
 
+  private void insertOrUpdateCounts(String entityType, SortedMap<String, Map<String, Integer>> counts) {
+    List<String> dates = new ArrayList<>();
+    List<String> ids = new ArrayList<>();
+    List<Integer> values = new ArrayList<>();
+    counts.forEach(
+        (date, countById) ->
+            countById.forEach(
+                (id, count) -> {
+                  dates.add(date);
+                  ids.add(id);
+                  values.add(count);
+                }));
+    if (!ids.isEmpty()) {
+      dao.usageDAO().insertOrUpdateCounts(dates, ids, entityType, values);
+    }
+  }
+
+  /** Return a map of entity id to the id of the entity of type {@code containerType} that contains it */
+  private Map<String, String> getContainers(Set<String> ids, String entityType, String containerType) {
+    Map<String, String> containers = new HashMap<>();
+    for (List<String> batch : partition(new ArrayList<>(ids))) {
+      for (EntityRelationshipObject record :
+          dao.relationshipDAO().findFromBatch(batch, entityType, Relationship.CONTAINS.ordinal())) {
+        if (containerType.equals(record.getFromEntity())) {
+          containers.put(record.getToId(), record.getFromId());
+        }
+      }
+    }
+    return containers;
+  }
+
+  private static SortedMap<String, Map<String, Integer>> rollUp(
+      SortedMap<String, Map<String, Integer>> counts, Map<String, String> containers) {
+    SortedMap<String, Map<String, Integer>> rolledUp = new TreeMap<>();
+    counts.forEach(
+        (date, countById) ->
+            countById.forEach(
+                (id, count) -> {
+                  String containerId = containers.get(id);
+                  if (containerId != null) {
+                    rolledUp.computeIfAbsent(date, d -> new HashMap<>()).merge(containerId, count, Integer::sum);
+                  }
+                }));
+    return rolledUp;
+  }
+
+  /**
+   * Bulk usage generates a usage only change event per entity with the usage summary of the latest reported date. The
+   * entity itself is not loaded or included in the event.
+   */
+  private void publishUsageEvents(
+      String entityType, Map<String, String> latestDates, Map<String, String> fqnsById, String userName)
+      throws IOException {
+    Map<String, List<String>> idsByDate = new TreeMap<>();
+    latestDates.forEach((id, date) -> idsByDate.computeIfAbsent(date, d -> new ArrayList<>()).add(id));
+
+    long timestamp = System.currentTimeMillis();
+    List<ChangeEvent> events = new ArrayList<>();
+    List<String> jsons = new ArrayList<>();
+    for (Map.Entry<String, List<String>> entry : idsByDate.entrySet()) {
+      for (List<String> batch : partition(entry.getValue())) {
+        for (Pair<String, UsageDetails> usage : dao.usageDAO().getUsageByIds(batch, entry.getKey())) {
+          ChangeEvent event =
+              new ChangeEvent()
+                  .withEventType(EventType.ENTITY_UPDATED)
+                  .withEntityType(entityType)
+                  .withEntityId(UUID.fromString(usage.getLeft()))
+                  .withEntityFullyQualifiedName(fqnsById.get(usage.getLeft()))
+                  .withUserName(userName)
+                  .withTimestamp(timestamp)
+                  .withChangeDescription(getChangeDescription(null, usage.getRight(), null));
+          events.add(event);
+          jsons.add(JsonUtils.pojoToJson(event));
+        }
+      }
+    }
+    if (jsons.isEmpty()) {
+      return;
+    }
+    if (ChangeEventOutbox.isEnabled()) {
+      dao.inTransaction(
+          () -> {
+            ChangeEventOutbox.writeBatch(dao, jsons);
+            return null;
+          });
+    } else {
+      dao.changeEventDAO().insertBatch(jsons);
+      events.forEach(EventPubSub::publish);
+    }
+  }
+
+  private static <T> List<List<T>> partition(List<T> list) {
+    List<List<T>> batches = new ArrayList<>();
+    for (int i = 0; i < list.size(); i += BATCH_SIZE) {
+      batches.add(list.subList(i, Math.min(i + BATCH_SIZE, list.size())));
+    }
+    return batches;
+  }
+
   private ChangeEvent getChangeEvent(
       EntityInterface updated, ChangeDescription change, String entityType, Double prevVersion) {
     return new ChangeEvent()
@@ -17,7 +17,6 @@ import static org.openmetadata.catalog.util.EntityUtil.eventFilterMatch;
 import static org.openmetadata.catalog.util.EntityUtil.failureDetailsMatch;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.lmax.disruptor.BatchEventProcessor;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
@@ -26,8 +25,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.catalog.Entity;
-import org.openmetadata.catalog.events.EventPubSub;
-import org.openmetadata.catalog.events.EventPubSub.ChangeEventHolder;
 import org.openmetadata.catalog.events.WebhookPublisher;
 import org.openmetadata.catalog.resources.events.WebhookResource;
 import org.openmetadata.catalog.slack.SlackWebhookEventPublisher;
@@ -91,8 +88,7 @@ public class WebhookRepository extends EntityRepository<Webhook> {
     } else {
       publisher = new WebhookPublisher(webhook, daoCollection);
     }
-    BatchEventProcessor<ChangeEventHolder> processor = EventPubSub.addEventHandler(publisher);
-    publisher.setProcessor(processor);
+    publisher.start();
     webhookPublisherMap.put(webhook.getId(), publisher);
     LOG.info("Webhook subscription started for {}", webhook.getName());
   }
@@ -113,8 +109,8 @@ public class WebhookRepository extends EntityRepository<Webhook> {
       previousPublisher.updateWebhook(webhook);
       if (status != Status.ACTIVE && status != Status.AWAITING_RETRY) {
         // Restart the previously stopped publisher (in states notStarted, error, retryLimitReached)
-        BatchEventProcessor<ChangeEventHolder> processor = EventPubSub.addEventHandler(previousPublisher);
-        previousPublisher.setProcessor(processor);
+        previousPublisher.stop();
+        previousPublisher.start();
         LOG.info("Webhook publisher restarted for {}", webhook.getName());
       }
     } else {
@@ -126,12 +122,12 @@ public class WebhookRepository extends EntityRepository<Webhook> {
   public void deleteWebhookPublisher(UUID id) throws InterruptedException {
     WebhookPublisher publisher = webhookPublisherMap.get(id);
     if (publisher != null) {
-      publisher.getProcessor().halt();
-      publisher.awaitShutdown();
-      EventPubSub.removeProcessor(publisher.getProcessor());
+      publisher.stop();
       LOG.info("Webhook publisher deleted for {}", publisher.getWebhook().getName());
     }
     webhookPublisherMap.remove(id);
+    // Delivery starts again from the time the webhook is enabled
+    daoCollection.webhookDeliveryDAO().delete(id.toString());
   }
 
   public class WebhookUpdater extends EntityUpdater {
@@ -156,6 +152,9 @@ public class WebhookRepository extends EntityRepository<Webhook> {
               .withFailureDetails(publisher.getWebhook().getFailureDetails());
           if (Boolean.FALSE.equals(updated.getEnabled())) {
             updated.setStatus(Status.DISABLED);
+          } else if (updated.getStatus() == Status.FAILED || updated.getStatus() == Status.RETRY_LIMIT_REACHED) {
+            // The update restarts the delivery stopped after failures, and the server holding the lease delivers it
+            updated.setStatus(Status.AWAITING_RETRY);
           }
         }
         recordChange(
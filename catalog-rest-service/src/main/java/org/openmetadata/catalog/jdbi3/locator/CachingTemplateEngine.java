@@ -0,0 +1,55 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.jdbi3.locator;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.commons.lang3.tuple.Pair;
+import org.jdbi.v3.core.statement.StatementContext;
+import org.jdbi.v3.core.statement.TemplateEngine;
+
+/**
+ * Template engine that caches the SQL rendered from a template for the attributes defined on the statement, such as
+ * the {@code <table>} and {@code <cond>} of the list queries. The conditions of a {@link
+ * org.openmetadata.catalog.jdbi3.ListFilter} bind their values as parameters, so a list query is rendered once per
+ * table and filter shape and the rendered SQL is the same for all the values of the filter.
+ */
+public class CachingTemplateEngine implements TemplateEngine {
+  /** Maximum total length of the cached SQL */
+  private static final long MAX_WEIGHT = 4_000_000;
+
+  private final TemplateEngine delegate;
+  private final Cache<Pair<String, Map<String, Object>>, String> renderedSql =
+      CacheBuilder.newBuilder()
+          .maximumWeight(MAX_WEIGHT)
+          .<Pair<String, Map<String, Object>>, String>weigher((key, sql) -> sql.length())
+          .build();
+
+  public CachingTemplateEngine(TemplateEngine delegate) {
+    this.delegate = delegate;
+  }
+
+  @Override
+  public String render(String template, StatementContext ctx) {
+    Pair<String, Map<String, Object>> key = Pair.of(template, new HashMap<>(ctx.getAttributes()));
+    String sql = renderedSql.getIfPresent(key);
+    if (sql == null) {
+      sql = delegate.render(template, ctx);
+      renderedSql.put(key, sql);
+    }
+    return sql;
+  }
+}
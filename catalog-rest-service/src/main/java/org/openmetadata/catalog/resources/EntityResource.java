@@ -1,6 +1,5 @@
 package org.openmetadata.catalog.resources;
 
-import static org.openmetadata.catalog.Entity.FIELD_OWNER;
 import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 
 import java.io.IOException;
@@ -16,6 +15,7 @@ import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.EntityInterface;
 import org.openmetadata.catalog.jdbi3.EntityRepository;
 import org.openmetadata.catalog.jdbi3.ListFilter;
+import org.openmetadata.catalog.jdbi3.TotalCounter;
 import org.openmetadata.catalog.security.Authorizer;
 import org.openmetadata.catalog.security.policyevaluator.OperationContext;
 import org.openmetadata.catalog.security.policyevaluator.ResourceContext;
@@ -35,7 +35,6 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
   protected final List<String> allowedFields;
   protected final K dao;
   protected final Authorizer authorizer;
-  private final boolean supportsOwner;
   protected final OperationContext createOperationContext;
   protected final OperationContext deleteOperationContext;
   protected final OperationContext getOperationContext;
@@ -45,7 +44,6 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
     this.entityClass = entityClass;
     entityType = Entity.getEntityTypeFromClass(entityClass);
     allowedFields = Entity.getAllowedFields(entityClass);
-    supportsOwner = allowedFields.contains(FIELD_OWNER);
     this.dao = repository;
     this.authorizer = authorizer;
 
@@ -77,10 +75,13 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
       ListFilter filter,
       int limitParam,
       String before,
-      String after)
+      String after,
+      String totalCountParam)
       throws IOException {
     RestUtil.validateCursors(before, after);
     authorizer.authorize(securityContext, listOperationContext, getResourceContext(), true);
+    filter.withRowFilter(authorizer.getRowFilter(securityContext, listOperationContext), dao.getNameColumn());
+    filter.withTotalCount(TotalCounter.getMode(totalCountParam));
     Fields fields = getFields(fieldsParam);
 
     ResultList<T> resultList;
@@ -94,17 +95,19 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
 
   public T getInternal(UriInfo uriInfo, SecurityContext securityContext, String id, String fieldsParam, Include include)
       throws IOException {
-    authorizer.authorize(securityContext, getOperationContext, getResourceContextById(id), true);
+    ResourceContext resourceContext = getResourceContextById(id, include);
+    authorizer.authorize(securityContext, getOperationContext, resourceContext, true);
     Fields fields = getFields(fieldsParam);
-    return addHref(uriInfo, dao.get(uriInfo, id, fields, include));
+    return addHref(uriInfo, dao.get(uriInfo, resourceContext, fields));
   }
 
   public T getByNameInternal(
       UriInfo uriInfo, SecurityContext securityContext, String name, String fieldsParam, Include include)
       throws IOException {
-    authorizer.authorize(securityContext, getOperationContext, getResourceContextByName(name), true);
+    ResourceContext resourceContext = getResourceContextByName(name, include);
+    authorizer.authorize(securityContext, getOperationContext, resourceContext, true);
     Fields fields = getFields(fieldsParam);
-    return addHref(uriInfo, dao.getByName(uriInfo, name, fields, include));
+    return addHref(uriInfo, dao.get(uriInfo, resourceContext, fields));
   }
 
   public Response create(UriInfo uriInfo, SecurityContext securityContext, T entity, boolean allowBots)
@@ -181,12 +184,18 @@ public abstract class EntityResource<T extends EntityInterface, K extends Entity
   }
 
   protected ResourceContext getResourceContextById(String id) {
-    String fields = supportsOwner ? FIELD_OWNER : null;
-    return ResourceContext.builder().resource(entityType).entityRepository(dao).id(id).fields(fields).build();
+    return getResourceContextById(id, Include.NON_DELETED);
+  }
+
+  protected ResourceContext getResourceContextById(String id, Include include) {
+    return ResourceContext.builder().resource(entityType).entityRepository(dao).id(id).include(include).build();
   }
 
   protected ResourceContext getResourceContextByName(String name) {
-    String fields = supportsOwner ? FIELD_OWNER : null;
-    return ResourceContext.builder().resource(entityType).entityRepository(dao).name(name).fields(fields).build();
+    return getResourceContextByName(name, Include.NON_DELETED);
+  }
+
+  protected ResourceContext getResourceContextByName(String name, Include include) {
+    return ResourceContext.builder().resource(entityType).entityRepository(dao).name(name).include(include).build();
   }
 }
@@ -50,6 +50,7 @@ import org.openmetadata.catalog.entity.Bot;
 import org.openmetadata.catalog.jdbi3.BotRepository;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.ListFilter;
+import org.openmetadata.catalog.jdbi3.TotalCounter;
 import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.resources.EntityResource;
 import org.openmetadata.catalog.security.Authorizer;
@@ -113,9 +114,13 @@ public class BotResource extends EntityResource<Bot, BotRepository> {
               schema = @Schema(implementation = Include.class))
           @QueryParam("include")
           @DefaultValue("non-deleted")
-          Include include)
+          Include include,
+      @Parameter(description = TotalCounter.QUERY_PARAM_DESCRIPTION, schema = @Schema(type = "string"))
+          @QueryParam(TotalCounter.QUERY_PARAM)
+          String totalCountParam)
       throws IOException {
-    return listInternal(uriInfo, securityContext, "", new ListFilter(include), limitParam, before, after);
+    return listInternal(
+        uriInfo, securityContext, "", new ListFilter(include), limitParam, before, after, totalCountParam);
   }
 
   @GET
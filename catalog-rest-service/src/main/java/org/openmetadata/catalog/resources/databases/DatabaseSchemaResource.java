@@ -50,6 +50,7 @@ import org.openmetadata.catalog.entity.data.DatabaseSchema;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.DatabaseSchemaRepository;
 import org.openmetadata.catalog.jdbi3.ListFilter;
+import org.openmetadata.catalog.jdbi3.TotalCounter;
 import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.resources.EntityResource;
 import org.openmetadata.catalog.security.Authorizer;
@@ -114,10 +115,10 @@ public class DatabaseSchemaResource extends EntityResource<DatabaseSchema, Datab
           @QueryParam("fields")
           String fieldsParam,
       @Parameter(
-              description = "Filter schemas by database name",
+              description = "Filter schemas by database fully qualified name",
               schema = @Schema(type = "string", example = "customerDatabase"))
           @QueryParam("database")
-          String serviceParam,
+          String databaseParam,
       @Parameter(description = "Limit the number schemas returned. (1 to 1000000, default" + " = 10)")
           @DefaultValue("10")
           @QueryParam("limit")
@@ -135,10 +136,13 @@ public class DatabaseSchemaResource extends EntityResource<DatabaseSchema, Datab
               schema = @Schema(implementation = Include.class))
           @QueryParam("include")
           @DefaultValue("non-deleted")
-          Include include)
+          Include include,
+      @Parameter(description = TotalCounter.QUERY_PARAM_DESCRIPTION, schema = @Schema(type = "string"))
+          @QueryParam(TotalCounter.QUERY_PARAM)
+          String totalCountParam)
       throws IOException {
-    ListFilter filter = new ListFilter(include).addQueryParam("service", serviceParam);
-    return listInternal(uriInfo, securityContext, fieldsParam, filter, limitParam, before, after);
+    ListFilter filter = new ListFilter(include).addQueryParam("database", databaseParam);
+    return listInternal(uriInfo, securityContext, fieldsParam, filter, limitParam, before, after, totalCountParam);
   }
 
   @GET
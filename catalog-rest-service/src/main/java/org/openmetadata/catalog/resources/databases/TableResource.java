@@ -55,6 +55,7 @@ import org.openmetadata.catalog.entity.data.Table;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.ListFilter;
 import org.openmetadata.catalog.jdbi3.TableRepository;
+import org.openmetadata.catalog.jdbi3.TotalCounter;
 import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.resources.EntityResource;
 import org.openmetadata.catalog.security.Authorizer;
@@ -154,6 +155,11 @@ public class TableResource extends EntityResource<Table, TableRepository> {
               schema = @Schema(type = "string", example = "snowflakeWestCoast.financeDB"))
           @QueryParam("database")
           String databaseParam,
+      @Parameter(
+              description = "Filter tables by database schema fully qualified name",
+              schema = @Schema(type = "string", example = "snowflakeWestCoast.financeDB.finance"))
+          @QueryParam("databaseSchema")
+          String databaseSchemaParam,
       @Parameter(description = "Limit the number tables returned. (1 to 1000000, default = " + "10) ")
           @DefaultValue("10")
           @Min(0)
@@ -171,10 +177,17 @@ public class TableResource extends EntityResource<Table, TableRepository> {
               schema = @Schema(implementation = Include.class))
           @QueryParam("include")
           @DefaultValue("non-deleted")
-          Include include)
+          Include include,
+      @Parameter(description = TotalCounter.QUERY_PARAM_DESCRIPTION, schema = @Schema(type = "string"))
+          @QueryParam(TotalCounter.QUERY_PARAM)
+          String totalCountParam)
       throws IOException {
-    ListFilter filter = new ListFilter(include).addQueryParam("database", databaseParam);
-    return super.listInternal(uriInfo, securityContext, fieldsParam, filter, limitParam, before, after);
+    ListFilter filter =
+        new ListFilter(include)
+            .addQueryParam("database", databaseParam)
+            .addQueryParam("databaseSchema", databaseSchemaParam);
+    return super.listInternal(
+        uriInfo, securityContext, fieldsParam, filter, limitParam, before, after, totalCountParam);
   }
 
   @GET
@@ -593,12 +606,16 @@ public class TableResource extends EntityResource<Table, TableRepository> {
           String before,
       @Parameter(description = "Returns list of table profiles after this cursor", schema = @Schema(type = "string"))
           @QueryParam("after")
-          String after)
+          String after,
+      @Parameter(description = TotalCounter.QUERY_PARAM_DESCRIPTION, schema = @Schema(type = "string"))
+          @QueryParam(TotalCounter.QUERY_PARAM)
+          String totalCountParam)
       throws IOException {
     RestUtil.validateCursors(before, after);
 
     ListFilter filter =
         new ListFilter(Include.ALL).addQueryParam("entityId", id).addQueryParam("extension", "table.tableProfile");
+    filter.withTotalCount(TotalCounter.getMode(totalCountParam));
 
     if (startTs != null) {
       filter.addQueryParam("startTs", String.valueOf(startTs));
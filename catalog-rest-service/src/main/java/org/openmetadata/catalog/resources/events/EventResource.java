@@ -23,13 +23,18 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
 import javax.validation.Valid;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import org.openmetadata.catalog.Entity.EntityList;
 import org.openmetadata.catalog.jdbi3.ChangeEventRepository;
@@ -37,7 +42,6 @@ import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.security.Authorizer;
 import org.openmetadata.catalog.type.ChangeEvent;
-import org.openmetadata.catalog.util.EntityUtil;
 import org.openmetadata.catalog.util.ResultList;
 
 @Path("/v1/events")
@@ -46,6 +50,8 @@ import org.openmetadata.catalog.util.ResultList;
 @Consumes(MediaType.APPLICATION_JSON)
 @Collection(name = "events")
 public class EventResource {
+  public static final String NDJSON = "application/x-ndjson";
+  private static final int STREAM_PAGE_SIZE = 1000;
   private final ChangeEventRepository dao;
   private final Authorizer authorizer;
 
@@ -111,13 +117,81 @@ public class EventResource {
               required = true,
               schema = @Schema(type = "long", example = "1426349294842"))
           @QueryParam("timestamp")
-          long timestamp)
+          long timestamp,
+      @Parameter(description = "Limit the number of events returned. (1 to 10000, default = 1000)")
+          @DefaultValue("1000")
+          @Min(1)
+          @Max(10000)
+          @QueryParam("limit")
+          int limitParam,
+      @Parameter(
+              description =
+                  "Returns the events after this cursor. The `after` cursor of a response is always set, so that "
+                      + "the next request returns the events stored since",
+              schema = @Schema(type = "string"))
+          @QueryParam("after")
+          String after)
       throws IOException {
     List<String> entityCreatedList = EntityList.getEntityList("entityCreated", entityCreated);
     List<String> entityUpdatedList = EntityList.getEntityList("entityUpdated", entityUpdated);
     List<String> entityDeletedList = EntityList.getEntityList("entityDeleted", entityDeleted);
-    List<ChangeEvent> events = dao.list(timestamp, entityCreatedList, entityUpdatedList, entityDeletedList);
-    events.sort(EntityUtil.compareChangeEvent); // Sort change events based on time
-    return new ChangeEventList(events, null, null, events.size()); // TODO
+    return dao.list(timestamp, entityCreatedList, entityUpdatedList, entityDeletedList, limitParam, after);
+  }
+
+  @GET
+  @Path("/stream")
+  @Produces(NDJSON)
+  @Operation(
+      operationId = "streamChangeEvents",
+      summary = "Stream change events",
+      tags = "events",
+      description =
+          "Stream the change events matching event types, entity type, from a given date or cursor as newline "
+              + "delimited JSON",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Entity events", content = @Content(mediaType = NDJSON))
+      })
+  public Response stream(
+      @Context UriInfo uriInfo,
+      @Parameter(
+              description =
+                  "List of comma separated entities requested for "
+                      + "`entityCreated` event. When set to `*` all entities will be "
+                      + "returned",
+              schema = @Schema(type = "string", example = "table,dashboard,..."))
+          @QueryParam("entityCreated")
+          String entityCreated,
+      @Parameter(
+              description =
+                  "List of comma separated entities requested for "
+                      + "`entityUpdated` event. When set to `*` all entities will be "
+                      + "returned",
+              schema = @Schema(type = "string", example = "table,dashboard,..."))
+          @QueryParam("entityUpdated")
+          String entityUpdated,
+      @Parameter(
+              description =
+                  "List of comma separated entities requested for "
+                      + "`entityDeleted` event. When set to `*` all entities will be "
+                      + "returned",
+              schema = @Schema(type = "string", example = "table,dashboard,..."))
+          @QueryParam("entityDeleted")
+          String entityDeleted,
+      @Parameter(
+              description = "Events starting from this unix timestamp in milliseconds",
+              schema = @Schema(type = "long", example = "1426349294842"))
+          @QueryParam("timestamp")
+          long timestamp,
+      @Parameter(description = "Returns the events after this cursor", schema = @Schema(type = "string"))
+          @QueryParam("after")
+          String after) {
+    List<String> entityCreatedList = EntityList.getEntityList("entityCreated", entityCreated);
+    List<String> entityUpdatedList = EntityList.getEntityList("entityUpdated", entityUpdated);
+    List<String> entityDeletedList = EntityList.getEntityList("entityDeleted", entityDeleted);
+    StreamingOutput output =
+        out ->
+            dao.stream(
+                timestamp, entityCreatedList, entityUpdatedList, entityDeletedList, STREAM_PAGE_SIZE, after, out);
+    return Response.ok(output, NDJSON).build();
   }
 }
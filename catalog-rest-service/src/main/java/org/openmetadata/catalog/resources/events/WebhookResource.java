@@ -50,6 +50,7 @@ import org.openmetadata.catalog.api.events.CreateWebhook;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.CollectionDAO.WebhookDAO;
 import org.openmetadata.catalog.jdbi3.ListFilter;
+import org.openmetadata.catalog.jdbi3.TotalCounter;
 import org.openmetadata.catalog.jdbi3.WebhookRepository;
 import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.resources.EntityResource;
@@ -137,10 +138,13 @@ public class WebhookResource extends EntityResource<Webhook, WebhookRepository>
               schema = @Schema(implementation = Include.class))
           @QueryParam("include")
           @DefaultValue("non-deleted")
-          Include include)
+          Include include,
+      @Parameter(description = TotalCounter.QUERY_PARAM_DESCRIPTION, schema = @Schema(type = "string"))
+          @QueryParam(TotalCounter.QUERY_PARAM)
+          String totalCountParam)
       throws IOException {
     ListFilter filter = new ListFilter(Include.ALL).addQueryParam("status", statusParam);
-    return listInternal(uriInfo, securityContext, "", filter, limitParam, before, after);
+    return listInternal(uriInfo, securityContext, "", filter, limitParam, before, after, totalCountParam);
   }
 
   @GET
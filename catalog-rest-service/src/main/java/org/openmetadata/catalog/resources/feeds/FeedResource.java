@@ -61,6 +61,8 @@ import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.FeedRepository;
 import org.openmetadata.catalog.jdbi3.FeedRepository.FilterType;
 import org.openmetadata.catalog.jdbi3.FeedRepository.PaginationType;
+import org.openmetadata.catalog.jdbi3.PaginationConfiguration.TotalCount;
+import org.openmetadata.catalog.jdbi3.TotalCounter;
 import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.resources.feeds.MessageParser.EntityLink;
 import org.openmetadata.catalog.security.Authorizer;
@@ -199,9 +201,13 @@ public class FeedResource {
                   "Whether to filter results by announcements that are currently active. This filter will take effect only when type is set to Announcement",
               schema = @Schema(type = "boolean"))
           @QueryParam("activeAnnouncement")
-          Boolean activeAnnouncement)
+          Boolean activeAnnouncement,
+      @Parameter(description = TotalCounter.QUERY_PARAM_DESCRIPTION, schema = @Schema(type = "string"))
+          @QueryParam(TotalCounter.QUERY_PARAM)
+          String totalCountParam)
       throws IOException {
     RestUtil.validateCursors(before, after);
+    TotalCount totalCount = TotalCounter.getMode(totalCountParam);
 
     ResultList<Thread> threads;
     if (before != null) { // Reverse paging
@@ -217,7 +223,8 @@ public class FeedResource {
               PaginationType.BEFORE,
               threadType,
               taskStatus,
-              activeAnnouncement);
+              activeAnnouncement,
+              totalCount);
     } else { // Forward paging or first page
       threads =
           dao.list(
@@ -231,7 +238,8 @@ public class FeedResource {
               PaginationType.AFTER,
               threadType,
               taskStatus,
-              activeAnnouncement);
+              activeAnnouncement,
+              totalCount);
     }
     addHref(uriInfo, threads.getData());
     return threads;
@@ -57,6 +57,7 @@ import org.openmetadata.catalog.entity.type.Category;
 import org.openmetadata.catalog.entity.type.CustomProperty;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.ListFilter;
+import org.openmetadata.catalog.jdbi3.TotalCounter;
 import org.openmetadata.catalog.jdbi3.TypeRepository;
 import org.openmetadata.catalog.resources.Collection;
 import org.openmetadata.catalog.resources.EntityResource;
@@ -165,10 +166,13 @@ public class TypeResource extends EntityResource<Type, TypeRepository> {
           String before,
       @Parameter(description = "Returns list of types after this cursor", schema = @Schema(type = "string"))
           @QueryParam("after")
-          String after)
+          String after,
+      @Parameter(description = TotalCounter.QUERY_PARAM_DESCRIPTION, schema = @Schema(type = "string"))
+          @QueryParam(TotalCounter.QUERY_PARAM)
+          String totalCountParam)
       throws IOException {
     ListFilter filter = new ListFilter(Include.ALL).addQueryParam("category", categoryParam);
-    return super.listInternal(uriInfo, securityContext, "", filter, limitParam, before, after);
+    return super.listInternal(uriInfo, securityContext, "", filter, limitParam, before, after, totalCountParam);
   }
 
   @GET
@@ -35,9 +35,13 @@ import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
 import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.catalog.CatalogApplicationConfig;
 import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.api.usage.BulkUsage;
+import org.openmetadata.catalog.api.usage.BulkUsageResponse;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
 import org.openmetadata.catalog.jdbi3.UsageRepository;
 import org.openmetadata.catalog.resources.Collection;
@@ -61,6 +65,11 @@ public class UsageResource {
     this.dao = new UsageRepository(dao);
   }
 
+  @SuppressWarnings("unused") // Method used for reflection
+  public void initialize(CatalogApplicationConfig config) {
+    dao.initialize(config.getUsageConfiguration());
+  }
+
   @GET
   @Valid
   @Path("/{entity}/{id}")
@@ -278,13 +287,49 @@ public class UsageResource {
     return dao.createOrUpdateByName(entity, fullyQualifiedName, usage).toResponse();
   }
 
+  @PUT
+  @Path("/{entity}/bulk")
+  @Operation(
+      operationId = "reportBulkEntityUsage",
+      summary = "Report usage of many entities",
+      tags = "usage",
+      description =
+          "Report usage information for many entities of a given type identified by fully qualified name. All the "
+              + "usage is recorded in a single transaction. Entities that are not found are skipped and returned in "
+              + "the response.",
+      responses = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Bulk usage result",
+            content =
+                @Content(mediaType = "application/json", schema = @Schema(implementation = BulkUsageResponse.class))),
+        @ApiResponse(responseCode = "400", description = "Bad request")
+      })
+  public Response createOrUpdateBulk(
+      @Context UriInfo uriInfo,
+      @Context SecurityContext securityContext,
+      @Parameter(
+              description = "Entity type for which usage is reported",
+              required = true,
+              schema = @Schema(type = "string", example = "table, report, metrics, or dashboard"))
+          @PathParam("entity")
+          String entity,
+      @Parameter(description = "Usage information of entities") @Valid BulkUsage bulkUsage)
+      throws IOException {
+    String userName = securityContext.getUserPrincipal().getName();
+    return Response.ok(dao.createOrUpdateBulk(entity, bulkUsage, userName)).build();
+  }
+
   @POST
   @Path("/compute.percentile/{entity}/{date}")
   @Operation(
       operationId = "computeEntityUsagePercentile",
       summary = "Compute percentiles",
       tags = "usage",
-      description = "Compute percentile ranking for an entity based on last 30 days of usage.",
+      description =
+          "Compute percentile ranking for an entity based on last 30 days of usage. When percentile computation "
+              + "is deferred in the usage configuration, this triggers the computation for the given entity type "
+              + "and date.",
       hidden = true,
       responses = {
         @ApiResponse(responseCode = "201", description = "Percentiles computed"),
@@ -302,7 +347,6 @@ public class UsageResource {
               schema = @Schema(type = "string", example = "2021-01-28"))
           @PathParam("date")
           String date) {
-    // TODO delete this?
     dao.computePercentile(entity, date);
     return Response.status(Response.Status.CREATED).build();
   }
@@ -19,6 +19,7 @@ import javax.ws.rs.core.SecurityContext;
 import org.jdbi.v3.core.Jdbi;
 import org.openmetadata.catalog.security.policyevaluator.OperationContext;
 import org.openmetadata.catalog.security.policyevaluator.ResourceContextInterface;
+import org.openmetadata.catalog.security.policyevaluator.RowFilter;
 import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.MetadataOperation;
 
@@ -40,4 +41,12 @@ public interface Authorizer {
       throws IOException;
 
   void authorizeAdmin(SecurityContext securityContext, boolean allowBots);
+
+  /**
+   * Returns the filter that restricts a list of entities to those on which the user can perform the operations, or
+   * null when the list is not filtered.
+   */
+  default RowFilter getRowFilter(SecurityContext securityContext, OperationContext operationContext) {
+    return null;
+  }
 }
@@ -0,0 +1,218 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security;
+
+import com.auth0.jwk.Jwk;
+import com.auth0.jwk.JwkException;
+import com.auth0.jwk.JwkProvider;
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.auth0.jwk.UrlJwkProvider;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.net.URL;
+import java.security.PublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Provides the signing keys published in the JWKS documents of the identity providers. The keys of all the documents
+ * are cached with their parsed public key and the {@link Algorithm} used to verify tokens, so that verifying a token
+ * doesn't fetch or parse anything.
+ *
+ * <p>The documents are refreshed in the background once the cached keys are older than the TTL. When a document can't
+ * be fetched, the keys previously fetched from it keep being served. A token signed with an unknown key id triggers an
+ * immediate refresh, since the identity provider may have rotated its keys, but at most once per minimum refresh
+ * interval so that tokens with random key ids can't flood the identity provider.
+ */
+@Slf4j
+final class CachedJwkProvider implements JwkProvider {
+  static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+  static final long DEFAULT_MIN_REFRESH_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(10);
+  private static final int TIMEOUT_MILLIS = 5000;
+
+  /** Source of the keys of a JWKS document */
+  @FunctionalInterface
+  interface JwksSource {
+    List<Jwk> getAll() throws JwkException;
+  }
+
+  private final List<JwksSource> sources;
+  private final long ttlMillis;
+  private final long minRefreshIntervalMillis;
+  private final ExecutorService refresher;
+
+  // Keys last fetched from each source. Guarded by this.
+  private final Map<JwksSource, List<CachedKey>> keysBySource = new HashMap<>();
+  private long lastRefreshAttempt = 0;
+
+  private volatile Map<String, CachedKey> keysById = Map.of();
+  private volatile List<CachedKey> keys = List.of();
+  private volatile long refreshedAt = 0;
+  private volatile boolean refreshing = false;
+
+  CachedJwkProvider(List<URL> publicKeyUrls) {
+    this(urlSources(publicKeyUrls), DEFAULT_TTL_MILLIS, DEFAULT_MIN_REFRESH_INTERVAL_MILLIS);
+  }
+
+  CachedJwkProvider(List<JwksSource> sources, long ttlMillis, long minRefreshIntervalMillis) {
+    this.sources = sources;
+    this.ttlMillis = ttlMillis;
+    this.minRefreshIntervalMillis = minRefreshIntervalMillis;
+    this.refresher =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("jwks-refresh").setDaemon(true).build());
+  }
+
+  @Override
+  public Jwk get(String keyId) throws JwkException {
+    return getKey(keyId).jwk;
+  }
+
+  public RSAPublicKey getPublicKey(String keyId) throws JwkException {
+    return getKey(keyId).publicKey;
+  }
+
+  /** Algorithm that verifies the tokens signed with the given key */
+  public Algorithm getAlgorithm(String keyId) throws JwkException {
+    return getKey(keyId).algorithm;
+  }
+
+  private CachedKey getKey(String keyId) throws JwkException {
+    CachedKey key = lookup(keyId);
+    if (key != null) {
+      if (System.currentTimeMillis() - refreshedAt > ttlMillis) {
+        refreshInBackground();
+      }
+      return key;
+    }
+    // Unknown key id. The keys might have been rotated since they were last fetched.
+    refresh();
+    key = lookup(keyId);
+    if (key == null) {
+      throw new SigningKeyNotFoundException("No key found with kid " + keyId, null);
+    }
+    return key;
+  }
+
+  private CachedKey lookup(String keyId) {
+    if (keyId == null) {
+      // Tokens without a key id are accepted when a single key is published
+      List<CachedKey> current = keys;
+      return current.size() == 1 ? current.get(0) : null;
+    }
+    return keysById.get(keyId);
+  }
+
+  private void refreshInBackground() {
+    if (refreshing) {
+      return;
+    }
+    refreshing = true;
+    try {
+      refresher.execute(
+          () -> {
+            try {
+              refresh();
+            } finally {
+              refreshing = false;
+            }
+          });
+    } catch (RuntimeException e) {
+      refreshing = false;
+      LOG.warn("Failed to schedule JWKS refresh", e);
+    }
+  }
+
+  /** Fetch the JWKS documents. Returns false when the refresh was skipped to respect the minimum interval. */
+  synchronized boolean refresh() {
+    long now = System.currentTimeMillis();
+    if (now - lastRefreshAttempt < minRefreshIntervalMillis) {
+      return false;
+    }
+    lastRefreshAttempt = now;
+    boolean refreshed = false;
+    for (JwksSource source : sources) {
+      try {
+        keysBySource.put(source, parse(source.getAll()));
+        refreshed = true;
+      } catch (Exception e) {
+        // Keep serving the keys previously fetched from this source
+        LOG.warn("Failed to fetch JWKS, using cached keys: {}", e.getMessage());
+      }
+    }
+
+    List<CachedKey> allKeys = new ArrayList<>();
+    Map<String, CachedKey> byId = new HashMap<>();
+    for (List<CachedKey> sourceKeys : keysBySource.values()) {
+      for (CachedKey key : sourceKeys) {
+        allKeys.add(key);
+        if (key.jwk.getId() != null) {
+          byId.putIfAbsent(key.jwk.getId(), key);
+        }
+      }
+    }
+    keys = List.copyOf(allKeys);
+    keysById = Map.copyOf(byId);
+    if (refreshed) {
+      refreshedAt = now;
+    }
+    return true;
+  }
+
+  private static List<CachedKey> parse(List<Jwk> jwks) {
+    List<CachedKey> parsed = new ArrayList<>();
+    for (Jwk jwk : jwks) {
+      try {
+        PublicKey publicKey = jwk.getPublicKey();
+        if (publicKey instanceof RSAPublicKey) {
+          parsed.add(new CachedKey(jwk, (RSAPublicKey) publicKey));
+        }
+      } catch (Exception e) {
+        LOG.warn("Ignoring JWK {} that can't be parsed: {}", jwk.getId(), e.getMessage());
+      }
+    }
+    return parsed;
+  }
+
+  static List<JwksSource> urlSources(List<URL> publicKeyUrls) {
+    return publicKeyUrls.stream()
+        .map(url -> new UrlJwkProvider(url, TIMEOUT_MILLIS, TIMEOUT_MILLIS))
+        .map(provider -> (JwksSource) provider::getAll)
+        .collect(Collectors.toUnmodifiableList());
+  }
+
+  void shutdown() {
+    refresher.shutdownNow();
+  }
+
+  private static final class CachedKey {
+    private final Jwk jwk;
+    private final RSAPublicKey publicKey;
+    private final Algorithm algorithm;
+
+    private CachedKey(Jwk jwk, RSAPublicKey publicKey) {
+      this.jwk = jwk;
+      this.publicKey = publicKey;
+      this.algorithm = Algorithm.RSA256(publicKey, null);
+    }
+  }
+}
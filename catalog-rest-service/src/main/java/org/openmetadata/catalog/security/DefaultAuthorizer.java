@@ -31,13 +31,16 @@ import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.jdbi.v3.core.Jdbi;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.teams.User;
+import org.openmetadata.catalog.events.EventPubSub;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.jdbi3.EntityRepository;
+import org.openmetadata.catalog.security.policyevaluator.AuthorizationCacheInvalidator;
 import org.openmetadata.catalog.security.policyevaluator.OperationContext;
 import org.openmetadata.catalog.security.policyevaluator.PolicyCache;
 import org.openmetadata.catalog.security.policyevaluator.PolicyEvaluator;
 import org.openmetadata.catalog.security.policyevaluator.ResourceContextInterface;
 import org.openmetadata.catalog.security.policyevaluator.RoleCache;
+import org.openmetadata.catalog.security.policyevaluator.RowFilter;
 import org.openmetadata.catalog.security.policyevaluator.SubjectCache;
 import org.openmetadata.catalog.security.policyevaluator.SubjectContext;
 import org.openmetadata.catalog.type.EntityReference;
@@ -50,6 +53,7 @@ public class DefaultAuthorizer implements Authorizer {
   private Set<String> botUsers;
   private Set<String> testUsers;
   private String principalDomain;
+  private boolean rowLevelFiltering;
 
   @Override
   public void init(AuthorizerConfiguration config, Jdbi dbi) {
@@ -58,10 +62,12 @@ public class DefaultAuthorizer implements Authorizer {
     this.botUsers = new HashSet<>(config.getBotPrincipals());
     this.testUsers = new HashSet<>(config.getTestPrincipals());
     this.principalDomain = config.getPrincipalDomain();
+    this.rowLevelFiltering = Boolean.TRUE.equals(config.getEnableRowLevelFiltering());
 
     SubjectCache.getInstance().initialize();
     PolicyCache.getInstance().initialize();
     RoleCache.getInstance().initialize();
+    EventPubSub.addEventHandler(new AuthorizationCacheInvalidator());
     LOG.debug("Admin users: {}", adminUsers);
     initializeUsers();
   }
@@ -169,6 +175,19 @@ public class DefaultAuthorizer implements Authorizer {
     throw new AuthorizationException(notAdmin(securityContext.getUserPrincipal().getName()));
   }
 
+  @Override
+  public RowFilter getRowFilter(SecurityContext securityContext, OperationContext operationContext) {
+    if (!rowLevelFiltering) {
+      return null;
+    }
+    SubjectContext subjectContext = getSubjectContext(securityContext);
+    if (subjectContext.isAdmin() || subjectContext.isBot()) {
+      return null;
+    }
+    RowFilter filter = PolicyEvaluator.getRowFilter(subjectContext, operationContext);
+    return filter == RowFilter.TRUE ? null : filter;
+  }
+
   private void addOrUpdateUser(User user) {
     EntityRepository<User> userRepository = Entity.getEntityRepository(Entity.USER);
     try {
@@ -13,8 +13,6 @@
 
 package org.openmetadata.catalog.security;
 
-import com.auth0.jwk.Jwk;
-import com.auth0.jwk.JwkProvider;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTDecodeException;
@@ -26,7 +24,6 @@ import com.google.common.collect.ImmutableList;
 import io.dropwizard.util.Strings;
 import java.io.IOException;
 import java.net.URL;
-import java.security.interfaces.RSAPublicKey;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
@@ -57,7 +54,7 @@ public class JwtFilter implements ContainerRequestFilter {
   public static final String TOKEN_PREFIX = "Bearer";
   public static final String BOT_CLAIM = "isBot";
   private List<String> jwtPrincipalClaims;
-  private JwkProvider jwkProvider;
+  private CachedJwkProvider jwkProvider;
   private String principalDomain;
   private boolean enforcePrincipalDomain;
 
@@ -73,14 +70,14 @@ public class JwtFilter implements ContainerRequestFilter {
     for (String publicKeyUrlStr : authenticationConfiguration.getPublicKeyUrls()) {
       publicKeyUrlsBuilder.add(new URL(publicKeyUrlStr));
     }
-    this.jwkProvider = new MultiUrlJwkProvider(publicKeyUrlsBuilder.build());
+    this.jwkProvider = new CachedJwkProvider(publicKeyUrlsBuilder.build());
     this.principalDomain = authorizerConfiguration.getPrincipalDomain();
     this.enforcePrincipalDomain = authorizerConfiguration.getEnforcePrincipalDomain();
   }
 
   @VisibleForTesting
   JwtFilter(
-      JwkProvider jwkProvider,
+      CachedJwkProvider jwkProvider,
       List<String> jwtPrincipalClaims,
       String principalDomain,
       boolean enforcePrincipalDomain) {
@@ -103,16 +100,10 @@ public class JwtFilter implements ContainerRequestFilter {
     String tokenFromHeader = extractToken(headers);
     LOG.debug("Token from header:{}", tokenFromHeader);
 
-    DecodedJWT jwt = validateAndReturnDecodedJwtToken(tokenFromHeader);
-
-    Map<String, Claim> claims = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-    claims.putAll(jwt.getClaims());
-
-    String userName = validateAndReturnUsername(claims);
-
-    // validate bot token
-    if (claims.containsKey(BOT_CLAIM) && claims.get(BOT_CLAIM).asBoolean()) {
-      validateBotToken(tokenFromHeader, userName);
+    // Tokens verified by a previous request are accepted until they expire
+    String userName = VerifiedTokenCache.getUserName(tokenFromHeader);
+    if (userName == null) {
+      userName = verifyAndReturnUsername(tokenFromHeader);
     }
 
     // Setting Security Context
@@ -124,6 +115,22 @@ public class JwtFilter implements ContainerRequestFilter {
     requestContext.setSecurityContext(catalogSecurityContext);
   }
 
+  private String verifyAndReturnUsername(String token) throws IOException {
+    DecodedJWT jwt = validateAndReturnDecodedJwtToken(token);
+
+    Map<String, Claim> claims = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    claims.putAll(jwt.getClaims());
+
+    String userName = validateAndReturnUsername(claims);
+
+    // validate bot token
+    if (claims.containsKey(BOT_CLAIM) && claims.get(BOT_CLAIM).asBoolean()) {
+      validateBotToken(token, userName);
+    }
+    VerifiedTokenCache.put(token, userName, jwt.getExpiresAt());
+    return userName;
+  }
+
   @SneakyThrows
   public DecodedJWT validateAndReturnDecodedJwtToken(String token) {
     // Decode JWT Token
@@ -142,8 +149,7 @@ public class JwtFilter implements ContainerRequestFilter {
     }
 
     // Validate JWT with public key
-    Jwk jwk = jwkProvider.get(jwt.getKeyId());
-    Algorithm algorithm = Algorithm.RSA256((RSAPublicKey) jwk.getPublicKey(), null);
+    Algorithm algorithm = jwkProvider.getAlgorithm(jwt.getKeyId());
     try {
       algorithm.verify(jwt);
     } catch (RuntimeException runtimeException) {
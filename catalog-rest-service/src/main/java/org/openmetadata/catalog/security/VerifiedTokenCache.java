@@ -0,0 +1,82 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tokens that passed the signature, expiry, principal and bot token checks of {@link JwtFilter}, keyed by the SHA-256
+ * hash of the token. A cached token is accepted without verifying it again until it expires. The tokens of a user are
+ * invalidated on every server by the change events of the user, see {@link
+ * org.openmetadata.catalog.security.policyevaluator.AuthorizationCacheInvalidator}. Tokens are kept for at most {@link
+ * #MAX_AGE_MINUTES} so that tokens without expiry are verified again periodically.
+ */
+@Slf4j
+public final class VerifiedTokenCache {
+  private static final long MAX_AGE_MINUTES = 10;
+  private static final long MAX_SIZE = 10000;
+
+  private static final Cache<String, VerifiedToken> CACHE =
+      CacheBuilder.newBuilder().maximumSize(MAX_SIZE).expireAfterWrite(MAX_AGE_MINUTES, TimeUnit.MINUTES).build();
+
+  private VerifiedTokenCache() {}
+
+  /** User name of a verified token that has not expired. Returns null when the token has to be verified. */
+  public static String getUserName(String token) {
+    String hash = hash(token);
+    VerifiedToken verified = CACHE.getIfPresent(hash);
+    if (verified == null) {
+      return null;
+    }
+    if (verified.expiresAt != null && verified.expiresAt.getTime() <= System.currentTimeMillis()) {
+      CACHE.invalidate(hash);
+      return null;
+    }
+    return verified.userName;
+  }
+
+  public static void put(String token, String userName, Date expiresAt) {
+    CACHE.put(hash(token), new VerifiedToken(userName, expiresAt));
+  }
+
+  /** Invalidate the tokens of a user, for example when the token of a bot is regenerated or revoked */
+  public static void invalidateUser(String userName) {
+    CACHE.asMap().values().removeIf(verified -> verified.userName.equals(userName));
+    LOG.debug("Invalidated the verified tokens of user {}", userName);
+  }
+
+  public static void invalidateAll() {
+    CACHE.invalidateAll();
+  }
+
+  private static String hash(String token) {
+    return Hashing.sha256().hashString(token, StandardCharsets.UTF_8).toString();
+  }
+
+  private static final class VerifiedToken {
+    private final String userName;
+    private final Date expiresAt;
+
+    private VerifiedToken(String userName, Date expiresAt) {
+      this.userName = userName;
+      this.expiresAt = expiresAt;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security.policyevaluator;
+
+import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
+
+import com.lmax.disruptor.EventHandler;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.events.EventPubSub.ChangeEventHolder;
+import org.openmetadata.catalog.security.VerifiedTokenCache;
+import org.openmetadata.catalog.type.ChangeDescription;
+import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.EventType;
+import org.openmetadata.catalog.type.FieldChange;
+import org.openmetadata.catalog.util.JsonUtils;
+
+/**
+ * Invalidates the entries of {@link SubjectCache}, {@link RoleCache}, {@link PolicyCache} and {@link VerifiedTokenCache}
+ * affected by the change events of users, teams, roles and policies.
+ *
+ * <ul>
+ *   <li>A changed user, role or policy is invalidated. The verified tokens of a changed user are invalidated, so that
+ *       tokens revoked on any server are verified again. A deleted role or policy also invalidates the cached entries
+ *       that refer to it.
+ *   <li>A changed team is invalidated along with the teams and users added to or removed from it as parents, children
+ *       or users, since the relationship is stored on both sides.
+ *   <li>A deleted team is invalidated along with the cached teams below it and the cached users that belong to them.
+ * </ul>
+ */
+@Slf4j
+public class AuthorizationCacheInvalidator implements EventHandler<ChangeEventHolder> {
+  private static final Set<String> ENTITY_TYPES = Set.of(Entity.USER, Entity.TEAM, Entity.ROLE, Entity.POLICY);
+  private static final Set<String> TEAM_FIELDS = Set.of("parents", "children");
+
+  @Override
+  public void onEvent(ChangeEventHolder holder, long sequence, boolean endOfBatch) {
+    ChangeEvent event = holder.get();
+    if (event == null || !ENTITY_TYPES.contains(event.getEntityType())) {
+      return;
+    }
+    try {
+      invalidate(event);
+    } catch (Exception e) {
+      // Exceptions stop the event handler. Entries that were not invalidated expire eventually.
+      LOG.warn("Failed to invalidate authorization caches for {} {}", event.getEntityType(), event.getEntityId(), e);
+    }
+  }
+
+  void invalidate(ChangeEvent event) {
+    boolean deleted = event.getEventType() == EventType.ENTITY_DELETED;
+    UUID id = event.getEntityId();
+    switch (event.getEntityType()) {
+      case Entity.USER:
+        if (event.getEntityFullyQualifiedName() != null) {
+          SubjectCache.getInstance().invalidateUser(event.getEntityFullyQualifiedName());
+          VerifiedTokenCache.invalidateUser(event.getEntityFullyQualifiedName());
+        } else {
+          SubjectCache.getInstance().invalidateAllUsers();
+          VerifiedTokenCache.invalidateAll();
+        }
+        break;
+      case Entity.TEAM:
+        if (deleted) {
+          SubjectCache.getInstance().invalidateTeamHierarchy(id);
+          break;
+        }
+        SubjectCache.getInstance().invalidateTeam(id);
+        for (EntityReference team : getChangedReferences(event.getChangeDescription(), TEAM_FIELDS)) {
+          SubjectCache.getInstance().invalidateTeam(team.getId());
+        }
+        for (EntityReference user : getChangedReferences(event.getChangeDescription(), Set.of("users"))) {
+          SubjectCache.getInstance().invalidateUser(user.getName());
+        }
+        break;
+      case Entity.ROLE:
+        RoleCache.getInstance().invalidateRole(id);
+        if (deleted) { // Users and teams that have the role are reloaded
+          SubjectCache.getInstance().invalidateAllUsers();
+          SubjectCache.getInstance().invalidateTeamsReferring(id);
+        }
+        break;
+      case Entity.POLICY:
+        PolicyCache.getInstance().invalidatePolicy(id);
+        if (deleted) { // Roles and teams that have the policy are reloaded
+          RoleCache.getInstance().invalidateRolesReferring(id);
+          SubjectCache.getInstance().invalidateTeamsReferring(id);
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  /** Entity references added to or removed from the given fields of an entity */
+  static List<EntityReference> getChangedReferences(ChangeDescription change, Set<String> fieldNames) {
+    List<EntityReference> refs = new ArrayList<>();
+    if (change == null) {
+      return refs;
+    }
+    List<FieldChange> fieldChanges = new ArrayList<>(listOrEmpty(change.getFieldsAdded()));
+    fieldChanges.addAll(listOrEmpty(change.getFieldsDeleted()));
+    fieldChanges.addAll(listOrEmpty(change.getFieldsUpdated()));
+    for (FieldChange fieldChange : fieldChanges) {
+      if (fieldNames.contains(fieldChange.getName())) {
+        refs.addAll(readReferences(fieldChange.getOldValue()));
+        refs.addAll(readReferences(fieldChange.getNewValue()));
+      }
+    }
+    return refs;
+  }
+
+  private static List<EntityReference> readReferences(Object value) {
+    if (value == null) {
+      return List.of();
+    }
+    try {
+      String json = value instanceof String ? (String) value : JsonUtils.pojoToJson(value);
+      return listOrEmpty(JsonUtils.readObjects(json, EntityReference.class));
+    } catch (Exception e) {
+      LOG.debug("Ignoring field change that is not a list of entity references: {}", e.getMessage());
+      return List.of();
+    }
+  }
+}
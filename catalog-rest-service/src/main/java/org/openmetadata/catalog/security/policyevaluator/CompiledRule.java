@@ -3,14 +3,22 @@ package org.openmetadata.catalog.security.policyevaluator;
 import java.util.List;
 import org.openmetadata.catalog.entity.policies.accessControl.Rule;
 import org.openmetadata.catalog.type.MetadataOperation;
+import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
-/** This class is used in a single threaded model and hence does not have concurrency support */
+/**
+ * Rule with its parsed condition. Conditions are compiled to bytecode after their first evaluation when SpEL can
+ * compile them, and are interpreted otherwise. Compiled rules are cached and shared by the threads evaluating policies.
+ */
 public class CompiledRule extends Rule {
-  private static final SpelExpressionParser EXPRESSION_PARSER = new SpelExpressionParser();
-  private Expression expression;
+  private static final SpelExpressionParser EXPRESSION_PARSER =
+      new SpelExpressionParser(
+          new SpelParserConfiguration(SpelCompilerMode.MIXED, CompiledRule.class.getClassLoader()));
+  private volatile Expression expression;
 
   public CompiledRule(Rule rule) {
     super();
@@ -47,6 +55,12 @@ public class CompiledRule extends Rule {
     return expression == null ? true : rule.getExpression().getValue(evaluationContext, Boolean.class);
   }
 
+  /** Returns true if the rule has no condition or its condition is true in the given evaluation context */
+  public boolean matchCondition(EvaluationContext evaluationContext) {
+    Expression expression = getExpression();
+    return expression == null || Boolean.TRUE.equals(expression.getValue(evaluationContext, Boolean.class));
+  }
+
   public static boolean matchRuleForPermissions(CompiledRule rule, SubjectContext subjectContext) {
     return matchResource(rule, "all") && rule.getCondition() == null;
   }
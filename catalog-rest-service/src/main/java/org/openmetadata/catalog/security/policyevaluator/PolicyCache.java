@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.CheckForNull;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.catalog.Entity;
@@ -49,7 +50,11 @@ public class PolicyCache {
   /** To be called during application startup by Default Authorizer */
   public void initialize() {
     if (!INITIALIZED) {
-      POLICY_CACHE = CacheBuilder.newBuilder().maximumSize(100).build(new PolicyLoader());
+      POLICY_CACHE =
+          CacheBuilder.newBuilder()
+              .maximumSize(100)
+              .expireAfterWrite(SubjectCache.EXPIRY_MINUTES, TimeUnit.MINUTES)
+              .build(new PolicyLoader());
       POLICY_REPOSITORY = Entity.getEntityRepository(Entity.POLICY);
       FIELDS = POLICY_REPOSITORY.getFields("rules");
       INITIALIZED = true;
@@ -67,6 +72,7 @@ public class PolicyCache {
   public void invalidatePolicy(UUID policyId) {
     try {
       POLICY_CACHE.invalidate(policyId);
+      PolicyEvaluator.invalidateDecisions();
     } catch (Exception ex) {
       LOG.error("Failed to invalidate cache for policy {}", policyId, ex);
     }
@@ -91,6 +97,7 @@ public class PolicyCache {
   public void cleanUp() {
     POLICY_CACHE.cleanUp();
     INITIALIZED = false;
+    PolicyEvaluator.invalidateDecisions();
   }
 
   static class PolicyLoader extends CacheLoader<UUID, List<CompiledRule>> {
@@ -13,17 +13,28 @@
 
 package org.openmetadata.catalog.security.policyevaluator;
 
+import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.catalog.entity.policies.Policy;
 import org.openmetadata.catalog.entity.policies.accessControl.Rule;
 import org.openmetadata.catalog.entity.policies.accessControl.Rule.Effect;
-import org.openmetadata.catalog.security.policyevaluator.SubjectContext.PolicyContext;
+import org.openmetadata.catalog.security.policyevaluator.SubjectPolicies.Candidates;
+import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.type.MetadataOperation;
+import org.openmetadata.catalog.type.TagLabel;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 /**
  * PolicyEvaluator for {@link MetadataOperation metadata operations} based on OpenMetadata's internal {@link Policy}
@@ -40,56 +51,154 @@ import org.openmetadata.catalog.type.MetadataOperation;
  *   <li>Second, all the Allow rules are applied and if there is rule match, then the operation is allowed.
  *   <li>All operations that don't a match rule are not allowed.
  * </ul>
+ *
+ * <p>Rules are looked up in the {@link SubjectPolicies} of the subject, which are indexed by resource and operation,
+ * so that only the conditions of the rules that match the resource and operations are evaluated.
  */
 @Slf4j
 public class PolicyEvaluator {
+  /**
+   * Decisions of rules with conditions, keyed by the subject, resource, operations and the owner and tags of the entity
+   * the conditions are evaluated against. Decisions are short-lived since team membership is not part of the key.
+   */
+  private static final Cache<DecisionKey, Boolean> DECISION_CACHE =
+      CacheBuilder.newBuilder().maximumSize(10000).expireAfterWrite(10, TimeUnit.SECONDS).build();
+
   /** Checks if the policy has rules that give permission to perform an operation on the given entity. */
   public static boolean hasPermission(
       @NonNull SubjectContext subjectContext,
       @NonNull ResourceContextInterface resourceContext,
       @NonNull OperationContext operationContext) {
+    Candidates candidates =
+        subjectContext
+            .getCompiledPolicies()
+            .getCandidates(operationContext.getResource(), operationContext.getOperations());
+    if (!candidates.isConditional()) {
+      // Decision does not depend on the resource
+      return candidates.getDeny().length == 0 && candidates.getAllow().length > 0;
+    }
 
-    // First run through all the DENY policies
-    Iterator<PolicyContext> policies = subjectContext.getPolicies();
-    while (policies.hasNext()) {
-      PolicyContext policyContext = policies.next();
-      for (CompiledRule rule : policyContext.getRules()) {
-        if (rule.getEffect() == Effect.DENY
-            && CompiledRule.matchRule(rule, operationContext, subjectContext, resourceContext)) {
-          return false;
-        }
+    DecisionKey key = DecisionKey.of(subjectContext, resourceContext, operationContext);
+    if (key == null) {
+      return evaluate(candidates, subjectContext, resourceContext, operationContext);
+    }
+    Boolean decision = DECISION_CACHE.getIfPresent(key);
+    if (decision == null) {
+      decision = evaluate(candidates, subjectContext, resourceContext, operationContext);
+      DECISION_CACHE.put(key, decision);
+    }
+    return decision;
+  }
+
+  private static boolean evaluate(
+      Candidates candidates,
+      SubjectContext subjectContext,
+      ResourceContextInterface resourceContext,
+      OperationContext operationContext) {
+    EvaluationContext evaluationContext =
+        new StandardEvaluationContext(new RuleEvaluator(operationContext, subjectContext, resourceContext));
+    // First run through all the DENY rules
+    for (CompiledRule rule : candidates.getDeny()) {
+      if (rule.matchCondition(evaluationContext)) {
+        return false;
       }
     }
-    // Next run through all the ALLOW policies
-    policies = subjectContext.getPolicies(); // Refresh the iterator
-    while (policies.hasNext()) {
-      PolicyContext policyContext = policies.next();
-      for (CompiledRule rule : policyContext.getRules()) {
-        if (rule.getEffect() == Effect.ALLOW
-            && CompiledRule.matchRule(rule, operationContext, subjectContext, resourceContext)) {
-          return true;
-        }
+    // Next run through all the ALLOW rules
+    for (CompiledRule rule : candidates.getAllow()) {
+      if (rule.matchCondition(evaluationContext)) {
+        return true;
       }
     }
     return false;
   }
 
+  /**
+   * Returns the filter that selects the entities on which the subject can perform the operations, with rule conditions
+   * translated to SQL. Returns null when the decision does not depend on the entity, or when a condition can't be
+   * translated and entities can't be filtered in the database.
+   */
+  public static RowFilter getRowFilter(
+      @NonNull SubjectContext subjectContext, @NonNull OperationContext operationContext) {
+    Candidates candidates =
+        subjectContext
+            .getCompiledPolicies()
+            .getCandidates(operationContext.getResource(), operationContext.getOperations());
+    RowFilter deny = RowFilter.FALSE;
+    for (CompiledRule rule : candidates.getDeny()) {
+      RowFilter filter = RowFilter.of(rule, subjectContext);
+      if (filter == null) {
+        LOG.debug("Condition of rule {} can't be evaluated in the database", rule.getName());
+        return null;
+      }
+      deny = RowFilter.or(deny, filter);
+    }
+    RowFilter allow = RowFilter.FALSE;
+    for (CompiledRule rule : candidates.getAllow()) {
+      RowFilter filter = RowFilter.of(rule, subjectContext);
+      if (filter == null) {
+        LOG.debug("Condition of rule {} can't be evaluated in the database", rule.getName());
+        return null;
+      }
+      allow = RowFilter.or(allow, filter);
+    }
+    return RowFilter.and(allow, RowFilter.not(deny));
+  }
+
+  /** Invalidate compiled policies and cached decisions when a user, team, role or policy changes */
+  public static void invalidateDecisions() {
+    SubjectPolicies.invalidateAll();
+    DECISION_CACHE.invalidateAll();
+  }
+
   /** Returns a list of operations that a user can perform on the given entity. */
   public static List<MetadataOperation> getAllowedOperations(@NonNull SubjectContext subjectContext) {
     List<MetadataOperation> list = new ArrayList<>();
-    Iterator<PolicyContext> policies = subjectContext.getPolicies();
-
-    while (policies.hasNext()) {
-      // TODO clean up (add resource name and allow/deny)
-      PolicyContext policyContext = policies.next();
-      for (CompiledRule rule : policyContext.getRules()) {
-        if (CompiledRule.matchRuleForPermissions(rule, subjectContext)) {
-          if (rule.getEffect() == Effect.ALLOW) {
-            list.addAll(rule.getOperations());
-          }
+    // TODO clean up (add resource name and allow/deny)
+    for (CompiledRule rule : subjectContext.getCompiledPolicies().getRules()) {
+      if (CompiledRule.matchRuleForPermissions(rule, subjectContext)) {
+        if (rule.getEffect() == Effect.ALLOW) {
+          list.addAll(rule.getOperations());
         }
       }
     }
     return list.stream().distinct().collect(Collectors.toList());
   }
+
+  /** Key of a decision that depends on the owner and tags of the resource */
+  @EqualsAndHashCode
+  private static final class DecisionKey {
+    private final String userName;
+    private final String resource;
+    private final List<MetadataOperation> operations;
+    private final UUID ownerId;
+    private final Set<String> tags;
+
+    private DecisionKey(
+        String userName, String resource, List<MetadataOperation> operations, UUID ownerId, Set<String> tags) {
+      this.userName = userName;
+      this.resource = resource;
+      this.operations = operations;
+      this.ownerId = ownerId;
+      this.tags = tags;
+    }
+
+    /** Returns null when the owner or tags of the resource can't be read, in which case decisions are not cached */
+    static DecisionKey of(
+        SubjectContext subjectContext, ResourceContextInterface resourceContext, OperationContext operationContext) {
+      try {
+        EntityReference owner = resourceContext.getOwner();
+        Set<String> tags =
+            listOrEmpty(resourceContext.getTags()).stream().map(TagLabel::getTagFQN).collect(Collectors.toSet());
+        return new DecisionKey(
+            subjectContext.getUserName(),
+            operationContext.getResource(),
+            List.copyOf(operationContext.getOperations()),
+            owner == null ? null : owner.getId(),
+            tags);
+      } catch (Exception e) {
+        LOG.debug("Not caching policy decision for resource {}: {}", operationContext.getResource(), e.getMessage());
+        return null;
+      }
+    }
+  }
 }
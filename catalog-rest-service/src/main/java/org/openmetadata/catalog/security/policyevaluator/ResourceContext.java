@@ -2,46 +2,89 @@ package org.openmetadata.catalog.security.policyevaluator;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.UUID;
+import javax.ws.rs.core.UriInfo;
 import lombok.Builder;
+import lombok.Getter;
 import lombok.NonNull;
 import org.openmetadata.catalog.EntityInterface;
 import org.openmetadata.catalog.jdbi3.EntityRepository;
 import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.Include;
 import org.openmetadata.catalog.type.TagLabel;
+import org.openmetadata.catalog.util.EntityUtil.Fields;
 
-/** Builds ResourceContext lazily. As multiple threads don't access this, the class is not thread-safe by design. */
+/**
+ * Builds ResourceContext lazily. As multiple threads don't access this, the class is not thread-safe by design.
+ *
+ * <p>Only what the rules being evaluated need is read: the owner of an entity identified by id is read without reading
+ * the entity, and the tags of an entity identified by name are read without reading the entity. The entity as stored,
+ * and the owner and tags read here, are scoped to the request and reused by {@link EntityRepository#get(UriInfo,
+ * ResourceContext, Fields)} so that a GET request does not read them twice.
+ */
 @Builder
 public class ResourceContext implements ResourceContextInterface {
   @NonNull private String resource;
   @NonNull private EntityRepository<? extends EntityInterface> entityRepository;
-  private String fields;
   private String id;
   private String name;
-  private EntityInterface entity; // Will be lazily initialized
+  @Builder.Default private Include include = Include.NON_DELETED;
+
+  // Lazily initialized
+  private EntityInterface entity;
+  private EntityReference owner;
+  @Getter private boolean ownerResolved;
+  private List<TagLabel> tags;
+  @Getter private boolean tagsResolved;
 
   @Override
   public EntityReference getOwner() throws IOException {
-    resolveEntity();
-    return entity == null ? null : entity.getOwner();
+    if (id == null && name == null) { // Entity with its fields was given
+      return entity == null ? null : entity.getOwner();
+    }
+    if (!ownerResolved) {
+      UUID entityId = id != null ? UUID.fromString(id) : getEntityId();
+      owner = entityId == null ? null : entityRepository.getOwnerById(entityId);
+      ownerResolved = true;
+    }
+    return owner;
   }
 
   @Override
   public List<TagLabel> getTags() throws IOException {
-    resolveEntity();
-    return entity == null ? null : entity.getTags();
+    if (id == null && name == null) {
+      return entity == null ? null : entity.getTags();
+    }
+    if (!tagsResolved) {
+      String fqn = name != null ? name : getEntityFqn();
+      tags = fqn == null ? null : entityRepository.getEntityTags(fqn);
+      tagsResolved = true;
+    }
+    return tags;
   }
 
+  /** Entity as stored, without the fields that are stored as relationships */
   @Override
   public EntityInterface getEntity() throws IOException {
     return resolveEntity();
   }
 
+  private UUID getEntityId() throws IOException {
+    EntityInterface resolved = resolveEntity();
+    return resolved == null ? null : resolved.getId();
+  }
+
+  private String getEntityFqn() throws IOException {
+    EntityInterface resolved = resolveEntity();
+    return resolved == null ? null : resolved.getFullyQualifiedName();
+  }
+
   private EntityInterface resolveEntity() throws IOException {
     if (entity == null) {
       if (id != null) {
-        entity = entityRepository.get(null, id, entityRepository.getFields(fields));
+        entity = entityRepository.getStored(UUID.fromString(id), include);
       } else if (name != null) {
-        entity = entityRepository.getByName(null, name, entityRepository.getFields(fields));
+        entity = entityRepository.getStoredByName(name, include);
       }
     }
     return entity;
@@ -13,6 +13,8 @@
 
 package org.openmetadata.catalog.security.policyevaluator;
 
+import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
+
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
@@ -20,6 +22,7 @@ import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.io.IOException;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.CheckForNull;
 import lombok.extern.slf4j.Slf4j;
 import org.openmetadata.catalog.Entity;
@@ -44,7 +47,11 @@ public class RoleCache {
   /** To be called only once during the application start from DefaultAuthorizer */
   public void initialize() {
     if (!INITIALIZED) {
-      ROLE_CACHE = CacheBuilder.newBuilder().maximumSize(100).build(new RoleLoader());
+      ROLE_CACHE =
+          CacheBuilder.newBuilder()
+              .maximumSize(100)
+              .expireAfterWrite(SubjectCache.EXPIRY_MINUTES, TimeUnit.MINUTES)
+              .build(new RoleLoader());
       ROLE_REPOSITORY = Entity.getEntityRepository(Entity.ROLE);
       FIELDS = ROLE_REPOSITORY.getFields("policies");
       INITIALIZED = true;
@@ -62,11 +69,21 @@ public class RoleCache {
   public void invalidateRole(UUID roleId) {
     try {
       ROLE_CACHE.invalidate(roleId);
+      PolicyEvaluator.invalidateDecisions();
     } catch (Exception ex) {
       LOG.error("Failed to invalidate cache for role {}", roleId, ex);
     }
   }
 
+  /** Invalidate the cached roles that have the given policy */
+  public void invalidateRolesReferring(UUID policyId) {
+    ROLE_CACHE
+        .asMap()
+        .values()
+        .removeIf(role -> listOrEmpty(role.getPolicies()).stream().anyMatch(p -> p.getId().equals(policyId)));
+    PolicyEvaluator.invalidateDecisions();
+  }
+
   static class RoleLoader extends CacheLoader<UUID, Role> {
     private static final EntityRepository<Role> ROLE_REPOSITORY = Entity.getEntityRepository(Entity.ROLE);
     private static final Fields FIELDS = ROLE_REPOSITORY.getFields("policies");
@@ -82,5 +99,6 @@ public class RoleCache {
   public static void cleanUp() {
     ROLE_CACHE.cleanUp();
     INITIALIZED = false;
+    PolicyEvaluator.invalidateDecisions();
   }
 }
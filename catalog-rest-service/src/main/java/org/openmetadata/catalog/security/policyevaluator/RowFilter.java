@@ -0,0 +1,232 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security.policyevaluator;
+
+import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.Relationship;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelNode;
+import org.springframework.expression.spel.ast.InlineList;
+import org.springframework.expression.spel.ast.MethodReference;
+import org.springframework.expression.spel.ast.OpAnd;
+import org.springframework.expression.spel.ast.OpOr;
+import org.springframework.expression.spel.ast.OperatorNot;
+import org.springframework.expression.spel.ast.StringLiteral;
+import org.springframework.expression.spel.standard.SpelExpression;
+
+/**
+ * SQL predicate over the rows of an entity table that selects the entities to which rule conditions apply, so that list
+ * queries only return the entities a user can access. The {@link RuleEvaluator} conditions {@code isOwner()}, {@code
+ * noOwner()}, {@code matchAnyTag(...)} and {@code matchAllTags(...)} combined with {@code !}, {@code &&} and {@code ||}
+ * are translated to sub-queries on {@code entity_relationship} and {@code tag_usage}. Owner ids and tags are bound as
+ * parameters, so that the SQL text only depends on the shape of the conditions.
+ */
+public abstract class RowFilter {
+  public static final RowFilter TRUE = new Predicate("TRUE", List.of());
+  public static final RowFilter FALSE = new Predicate("FALSE", List.of());
+
+  private static final String BINDING_PREFIX = "rowFilter";
+
+  /**
+   * SQL condition for the rows of the given table, or of the table in the FROM clause when {@code tableName} is null.
+   * The name column is the column that stores the fully qualified name of the entities. The values of the named
+   * parameters of the condition are added to {@code bindings}.
+   */
+  public final String getCondition(String tableName, String nameColumn, Map<String, Object> bindings) {
+    String idColumn = tableName == null ? "id" : tableName + ".id";
+    return toSql(idColumn, tableName == null ? nameColumn : tableName + "." + nameColumn, bindings);
+  }
+
+  protected abstract String toSql(String idColumn, String nameColumn, Map<String, Object> bindings);
+
+  public static RowFilter and(RowFilter left, RowFilter right) {
+    if (left == FALSE || right == FALSE) {
+      return FALSE;
+    }
+    if (left == TRUE) {
+      return right;
+    }
+    return right == TRUE ? left : new Binary("AND", left, right);
+  }
+
+  public static RowFilter or(RowFilter left, RowFilter right) {
+    if (left == TRUE || right == TRUE) {
+      return TRUE;
+    }
+    if (left == FALSE) {
+      return right;
+    }
+    return right == FALSE ? left : new Binary("OR", left, right);
+  }
+
+  public static RowFilter not(RowFilter filter) {
+    if (filter == TRUE) {
+      return FALSE;
+    }
+    return filter == FALSE ? TRUE : new Not(filter);
+  }
+
+  /** Rows to which a rule applies for a subject. Returns null when the rule condition can't be translated to SQL. */
+  static RowFilter of(CompiledRule rule, SubjectContext subjectContext) {
+    Expression expression = rule.getExpression();
+    if (expression == null) {
+      return TRUE;
+    }
+    return expression instanceof SpelExpression
+        ? translate(((SpelExpression) expression).getAST(), subjectContext)
+        : null;
+  }
+
+  private static RowFilter translate(SpelNode node, SubjectContext subjectContext) {
+    if (node instanceof OpAnd || node instanceof OpOr) {
+      RowFilter left = translate(node.getChild(0), subjectContext);
+      RowFilter right = translate(node.getChild(1), subjectContext);
+      if (left == null || right == null) {
+        return null;
+      }
+      return node instanceof OpAnd ? and(left, right) : or(left, right);
+    }
+    if (node instanceof OperatorNot) {
+      RowFilter filter = translate(node.getChild(0), subjectContext);
+      return filter == null ? null : not(filter);
+    }
+    if (node instanceof MethodReference) {
+      return translateMethod((MethodReference) node, subjectContext);
+    }
+    return null;
+  }
+
+  private static RowFilter translateMethod(MethodReference method, SubjectContext subjectContext) {
+    List<String> args = getStringArguments(method);
+    if (args == null) {
+      return null;
+    }
+    String owns = String.valueOf(Relationship.OWNS.ordinal());
+    switch (method.getName()) {
+      case "noOwner":
+        return new Predicate(
+            "%1$s NOT IN (SELECT toId FROM entity_relationship WHERE relation = " + owns + ")", List.of());
+      case "isOwner":
+        List<String> ownerIds = new ArrayList<>();
+        ownerIds.add(subjectContext.user.getId().toString());
+        for (EntityReference team : listOrEmpty(subjectContext.user.getTeams())) {
+          ownerIds.add(team.getId().toString());
+        }
+        return new Predicate(
+            "%1$s IN (SELECT toId FROM entity_relationship WHERE relation = "
+                + owns
+                + " AND fromId IN (%3$s))",
+            ownerIds);
+      case "matchAnyTag":
+        if (args.isEmpty()) {
+          return FALSE;
+        }
+        return new Predicate("%2$s IN (SELECT targetFQN FROM tag_usage WHERE tagFQN IN (%3$s))", args);
+      case "matchAllTags":
+        if (args.isEmpty()) {
+          return TRUE;
+        }
+        return new Predicate(
+            "%2$s IN (SELECT targetFQN FROM tag_usage WHERE tagFQN IN (%3$s) "
+                + "GROUP BY targetFQN HAVING COUNT(DISTINCT tagFQN) = "
+                + args.stream().distinct().count()
+                + ")",
+            args);
+      default:
+        return null;
+    }
+  }
+
+  /** String arguments of a method, either as literals or as an inline list. Returns null for other arguments. */
+  private static List<String> getStringArguments(MethodReference method) {
+    List<String> args = new ArrayList<>();
+    for (int i = 0; i < method.getChildCount(); i++) {
+      SpelNode child = method.getChild(i);
+      if (child instanceof StringLiteral) {
+        args.add(String.valueOf(((StringLiteral) child).getLiteralValue().getValue()));
+      } else if (child instanceof InlineList) {
+        for (int j = 0; j < child.getChildCount(); j++) {
+          if (!(child.getChild(j) instanceof StringLiteral)) {
+            return null;
+          }
+          args.add(String.valueOf(((StringLiteral) child.getChild(j)).getLiteralValue().getValue()));
+        }
+      } else {
+        return null;
+      }
+    }
+    return args;
+  }
+
+  /**
+   * SQL template where {@code %1$s} is the id column, {@code %2$s} the name column and {@code %3$s} the list of the
+   * named parameters bound to the values
+   */
+  private static final class Predicate extends RowFilter {
+    private final String template;
+    private final List<String> values;
+
+    private Predicate(String template, List<String> values) {
+      this.template = template;
+      this.values = values;
+    }
+
+    @Override
+    protected String toSql(String idColumn, String nameColumn, Map<String, Object> bindings) {
+      List<String> parameters = new ArrayList<>();
+      for (String value : values) {
+        String name = BINDING_PREFIX + bindings.size();
+        bindings.put(name, value);
+        parameters.add(":" + name);
+      }
+      return String.format(template, idColumn, nameColumn, String.join(",", parameters));
+    }
+  }
+
+  private static final class Binary extends RowFilter {
+    private final String operator;
+    private final RowFilter left;
+    private final RowFilter right;
+
+    private Binary(String operator, RowFilter left, RowFilter right) {
+      this.operator = operator;
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    protected String toSql(String idColumn, String nameColumn, Map<String, Object> bindings) {
+      String leftSql = left.toSql(idColumn, nameColumn, bindings);
+      return "(" + leftSql + " " + operator + " " + right.toSql(idColumn, nameColumn, bindings) + ")";
+    }
+  }
+
+  private static final class Not extends RowFilter {
+    private final RowFilter filter;
+
+    private Not(RowFilter filter) {
+      this.filter = filter;
+    }
+
+    @Override
+    protected String toSql(String idColumn, String nameColumn, Map<String, Object> bindings) {
+      return "NOT (" + filter.toSql(idColumn, nameColumn, bindings) + ")";
+    }
+  }
+}
@@ -13,11 +13,16 @@
 
 package org.openmetadata.catalog.security.policyevaluator;
 
+import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
+
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -29,11 +34,13 @@ import org.openmetadata.catalog.entity.teams.Team;
 import org.openmetadata.catalog.entity.teams.User;
 import org.openmetadata.catalog.exception.EntityNotFoundException;
 import org.openmetadata.catalog.jdbi3.EntityRepository;
+import org.openmetadata.catalog.type.EntityReference;
 import org.openmetadata.catalog.util.EntityUtil.Fields;
 
 /** Subject context used for Access Control Policies */
 @Slf4j
 public class SubjectCache {
+  static final long EXPIRY_MINUTES = 10;
   private static SubjectCache INSTANCE = new SubjectCache();
   private static volatile boolean INITIALIZED = false;
 
@@ -48,10 +55,18 @@ public class SubjectCache {
   // Expected to be called only once from the DefaultAuthorizer
   public void initialize() {
     if (!INITIALIZED) {
+      // Entries are invalidated by AuthorizationCacheInvalidator. Expiry only bounds staleness of changes made on
+      // other servers.
       USER_CACHE =
-          CacheBuilder.newBuilder().maximumSize(1000).expireAfterAccess(1, TimeUnit.MINUTES).build(new UserLoader());
+          CacheBuilder.newBuilder()
+              .maximumSize(1000)
+              .expireAfterWrite(EXPIRY_MINUTES, TimeUnit.MINUTES)
+              .build(new UserLoader());
       TEAM_CACHE =
-          CacheBuilder.newBuilder().maximumSize(1000).expireAfterAccess(1, TimeUnit.MINUTES).build(new TeamLoader());
+          CacheBuilder.newBuilder()
+              .maximumSize(1000)
+              .expireAfterWrite(EXPIRY_MINUTES, TimeUnit.MINUTES)
+              .build(new TeamLoader());
       USER_REPOSITORY = Entity.getEntityRepository(Entity.USER);
       USER_FIELDS = USER_REPOSITORY.getFields("roles, teams");
       TEAM_REPOSITORY = Entity.getEntityRepository(Entity.TEAM);
@@ -84,16 +99,69 @@ public class SubjectCache {
     USER_CACHE.invalidateAll();
     TEAM_CACHE.invalidateAll();
     INITIALIZED = false;
+    PolicyEvaluator.invalidateDecisions();
   }
 
   public void invalidateUser(String userName) {
     try {
       USER_CACHE.invalidate(userName);
+      PolicyEvaluator.invalidateDecisions();
     } catch (Exception ex) {
       LOG.error("Failed to invalidate cache for user {}", userName, ex);
     }
   }
 
+  /** Invalidate all the users, for example when a role or policy they may refer to is deleted */
+  public void invalidateAllUsers() {
+    USER_CACHE.invalidateAll();
+    PolicyEvaluator.invalidateDecisions();
+  }
+
+  public void invalidateTeam(UUID teamId) {
+    try {
+      TEAM_CACHE.invalidate(teamId);
+      PolicyEvaluator.invalidateDecisions();
+    } catch (Exception ex) {
+      LOG.error("Failed to invalidate cache for team {}", teamId, ex);
+    }
+  }
+
+  /**
+   * Invalidate a team along with the cached teams below it in the hierarchy and the cached users that belong to any of
+   * them. Used when a team is deleted, since the teams and users that refer to it must be reloaded.
+   */
+  public void invalidateTeamHierarchy(UUID teamId) {
+    Set<UUID> teams = new HashSet<>();
+    teams.add(teamId);
+    boolean added = true;
+    while (added) { // Walk down the hierarchy through the parents of the cached teams
+      added = false;
+      for (Team team : TEAM_CACHE.asMap().values()) {
+        if (!teams.contains(team.getId()) && refersTo(team.getParents(), teams)) {
+          added = teams.add(team.getId());
+        }
+      }
+    }
+    TEAM_CACHE.invalidateAll(teams);
+    USER_CACHE.asMap().values().removeIf(subject -> refersTo(subject.user.getTeams(), teams));
+    PolicyEvaluator.invalidateDecisions();
+    LOG.debug("Invalidated team {} and {} teams below it", teamId, teams.size() - 1);
+  }
+
+  /** Invalidate the cached teams that have the given role as a default role, or the given policy */
+  public void invalidateTeamsReferring(UUID roleOrPolicyId) {
+    Set<UUID> ids = Set.of(roleOrPolicyId);
+    TEAM_CACHE
+        .asMap()
+        .values()
+        .removeIf(team -> refersTo(team.getDefaultRoles(), ids) || refersTo(team.getPolicies(), ids));
+    PolicyEvaluator.invalidateDecisions();
+  }
+
+  private static boolean refersTo(List<EntityReference> refs, Set<UUID> ids) {
+    return listOrEmpty(refs).stream().anyMatch(ref -> ids.contains(ref.getId()));
+  }
+
   static class UserLoader extends CacheLoader<String, SubjectContext> {
     @Override
     public SubjectContext load(@CheckForNull String userName) throws IOException {
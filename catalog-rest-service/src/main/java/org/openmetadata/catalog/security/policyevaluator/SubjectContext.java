@@ -31,11 +31,16 @@ import org.openmetadata.catalog.type.EntityReference;
 @Slf4j
 public class SubjectContext {
   protected final User user;
+  private volatile SubjectPolicies compiledPolicies;
 
   protected SubjectContext(User user) {
     this.user = user;
   }
 
+  public String getUserName() {
+    return user.getName();
+  }
+
   public boolean isAdmin() {
     return Boolean.TRUE.equals(user.getIsAdmin());
   }
@@ -66,6 +71,16 @@ public class SubjectContext {
     return new UserPolicyIterator(user, new ArrayList<>());
   }
 
+  /** Rules of all the policies of the subject indexed for evaluation */
+  SubjectPolicies getCompiledPolicies() {
+    SubjectPolicies policies = compiledPolicies;
+    if (policies == null || policies.isStale()) {
+      policies = new SubjectPolicies(getPolicies());
+      compiledPolicies = policies;
+    }
+    return policies;
+  }
+
   @Getter
   static class PolicyContext {
     private final String entityName;
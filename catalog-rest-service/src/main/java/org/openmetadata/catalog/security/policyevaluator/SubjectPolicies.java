@@ -0,0 +1,158 @@
+/*
+ *  Copyright 2021 Collate
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+
+package org.openmetadata.catalog.security.policyevaluator;
+
+import static org.openmetadata.common.utils.CommonUtil.nullOrEmpty;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import org.openmetadata.catalog.entity.policies.accessControl.Rule.Effect;
+import org.openmetadata.catalog.security.policyevaluator.SubjectContext.PolicyContext;
+import org.openmetadata.catalog.type.MetadataOperation;
+
+/**
+ * Rules of all the policies that apply to a subject, flattened in the order in which policies are evaluated and
+ * indexed by resource and operation. For a given resource and list of operations the rules that can match are computed
+ * once with bitset operations, so that evaluating a policy only evaluates the conditions of those rules.
+ *
+ * <p>Compiled policies are rebuilt when a user, team, role or policy is invalidated, and at least every
+ * {@link #MAX_AGE_MILLIS} to pick up changes made on other servers.
+ */
+class SubjectPolicies {
+  private static final long MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(SubjectCache.EXPIRY_MINUTES);
+  private static final AtomicLong GENERATION = new AtomicLong();
+
+  @Getter private final List<CompiledRule> rules = new ArrayList<>();
+  private final long generation;
+  private final long compiledAt;
+
+  private final BitSet allResourceRules = new BitSet();
+  private final Map<String, BitSet> rulesByResource = new HashMap<>();
+  private final Map<MetadataOperation, BitSet> rulesByOperation = new EnumMap<>(MetadataOperation.class);
+  private final BitSet denyRules = new BitSet();
+  private final Map<String, Map<List<MetadataOperation>, Candidates>> candidates = new ConcurrentHashMap<>();
+
+  SubjectPolicies(Iterator<PolicyContext> policies) {
+    this.generation = GENERATION.get();
+    this.compiledAt = System.currentTimeMillis();
+    while (policies.hasNext()) {
+      rules.addAll(policies.next().getRules());
+    }
+    for (MetadataOperation operation : MetadataOperation.values()) {
+      rulesByOperation.put(operation, new BitSet());
+    }
+    for (int i = 0; i < rules.size(); i++) {
+      CompiledRule rule = rules.get(i);
+      if (rule.getEffect() == Effect.DENY) {
+        denyRules.set(i);
+      }
+      indexResources(i, rule);
+      indexOperations(i, rule);
+    }
+  }
+
+  /** Invalidate all the compiled policies, when a role, policy, or subject changes */
+  static void invalidateAll() {
+    GENERATION.incrementAndGet();
+  }
+
+  boolean isStale() {
+    return generation != GENERATION.get() || System.currentTimeMillis() - compiledAt > MAX_AGE_MILLIS;
+  }
+
+  /** Rules that match the resource and operations, before evaluating their conditions */
+  Candidates getCandidates(String resource, List<MetadataOperation> operations) {
+    Map<List<MetadataOperation>, Candidates> byOperations =
+        candidates.computeIfAbsent(resource, r -> new ConcurrentHashMap<>());
+    Candidates result = byOperations.get(operations);
+    if (result == null) {
+      List<MetadataOperation> key = List.copyOf(operations);
+      result = byOperations.computeIfAbsent(key, ops -> computeCandidates(resource, ops));
+    }
+    return result;
+  }
+
+  private Candidates computeCandidates(String resource, List<MetadataOperation> operations) {
+    BitSet matches = (BitSet) allResourceRules.clone();
+    BitSet resourceRules = rulesByResource.get(resource);
+    if (resourceRules != null) {
+      matches.or(resourceRules);
+    }
+    // A rule matches a list of operations only if it matches each operation
+    for (MetadataOperation operation : operations) {
+      matches.and(rulesByOperation.get(operation));
+    }
+    List<CompiledRule> deny = new ArrayList<>();
+    List<CompiledRule> allow = new ArrayList<>();
+    for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+      CompiledRule rule = rules.get(i);
+      if (operations.size() > 1 && !CompiledRule.matchOperations(rule, operations)) {
+        continue; // Edit and view wildcards only match operations of the same kind
+      }
+      (denyRules.get(i) ? deny : allow).add(rule);
+    }
+    return new Candidates(deny, allow);
+  }
+
+  private void indexResources(int index, CompiledRule rule) {
+    if (nullOrEmpty(rule.getResources())) {
+      return;
+    }
+    if (CompiledRule.matchResource(rule, "all")) {
+      allResourceRules.set(index);
+      return;
+    }
+    for (String resource : rule.getResources()) {
+      rulesByResource.computeIfAbsent(resource, r -> new BitSet()).set(index);
+    }
+  }
+
+  private void indexOperations(int index, CompiledRule rule) {
+    if (nullOrEmpty(rule.getOperations())) {
+      return;
+    }
+    for (MetadataOperation operation : MetadataOperation.values()) {
+      if (CompiledRule.matchOperations(rule, List.of(operation))) {
+        rulesByOperation.get(operation).set(index);
+      }
+    }
+  }
+
+  /** Deny and allow rules that match a resource and operations, in policy evaluation order */
+  @Getter
+  static class Candidates {
+    private final CompiledRule[] deny;
+    private final CompiledRule[] allow;
+
+    /** True when a decision depends on the resource because of a rule condition */
+    private final boolean conditional;
+
+    Candidates(List<CompiledRule> deny, List<CompiledRule> allow) {
+      this.deny = deny.toArray(new CompiledRule[0]);
+      this.allow = allow.toArray(new CompiledRule[0]);
+      this.conditional =
+          deny.stream().anyMatch(r -> r.getCondition() != null)
+              || allow.stream().anyMatch(r -> r.getCondition() != null);
+    }
+  }
+}
@@ -86,13 +86,22 @@ public final class ChangeEventParser {
   public static SlackMessage buildSlackMessage(ChangeEvent event) {
     SlackMessage slackMessage = new SlackMessage();
     slackMessage.setUsername(event.getUserName());
+    String headerTxt = "%s posted on " + event.getEntityType() + " %s";
+    EntityReference entityReference;
     if (event.getEntity() != null) {
-      String headerTxt = "%s posted on " + event.getEntityType() + " %s";
-      String headerText = String.format(headerTxt, event.getUserName(), getEntityUrl(event));
-      slackMessage.setText(headerText);
+      slackMessage.setText(String.format(headerTxt, event.getUserName(), getEntityUrl(event)));
+      entityReference = ((EntityInterface) event.getEntity()).getEntityReference();
+    } else {
+      // Events published in bulk, such as usage events, carry only the type and the name of the entity
+      slackMessage.setText(String.format(headerTxt, event.getUserName(), event.getEntityFullyQualifiedName()));
+      entityReference =
+          new EntityReference()
+              .withId(event.getEntityId())
+              .withType(event.getEntityType())
+              .withFullyQualifiedName(event.getEntityFullyQualifiedName());
     }
     Map<EntityLink, String> messages =
-        getFormattedMessages(PUBLISH_TO.SLACK, event.getChangeDescription(), (EntityInterface) event.getEntity());
+        getFormattedMessages(PUBLISH_TO.SLACK, event.getChangeDescription(), entityReference);
     List<SlackAttachment> attachmentList = new ArrayList<>();
     for (var entryset : messages.entrySet()) {
       SlackAttachment attachment = new SlackAttachment();
@@ -108,6 +117,11 @@ public final class ChangeEventParser {
 
   public static Map<EntityLink, String> getFormattedMessages(
       PUBLISH_TO publishTo, ChangeDescription changeDescription, EntityInterface entity) {
+    return getFormattedMessages(publishTo, changeDescription, entity.getEntityReference());
+  }
+
+  public static Map<EntityLink, String> getFormattedMessages(
+      PUBLISH_TO publishTo, ChangeDescription changeDescription, EntityReference entity) {
     // Store a map of entityLink -> message
     Map<EntityLink, String> messages;
 
@@ -124,7 +138,7 @@ public final class ChangeEventParser {
   }
 
   private static Map<EntityLink, String> getFormattedMessagesForAllFieldChange(
-      PUBLISH_TO publishTo, EntityInterface entity, List<FieldChange> fields, CHANGE_TYPE changeType) {
+      PUBLISH_TO publishTo, EntityReference entity, List<FieldChange> fields, CHANGE_TYPE changeType) {
     Map<EntityLink, String> messages = new HashMap<>();
 
     for (var field : fields) {
@@ -191,7 +205,7 @@ public final class ChangeEventParser {
 
   /** Tries to merge additions and deletions into updates and returns a map of formatted messages. */
   private static Map<EntityLink, String> mergeAddtionsDeletion(
-      PUBLISH_TO publishTo, EntityInterface entity, List<FieldChange> addedFields, List<FieldChange> deletedFields) {
+      PUBLISH_TO publishTo, EntityReference entity, List<FieldChange> addedFields, List<FieldChange> deletedFields) {
     // Major schema version changes such as renaming a column from colA to colB
     // will be recorded as "Removed column colA" and "Added column colB"
     // This method will try to detect such changes and combine those events into one update.
@@ -234,10 +248,9 @@ public final class ChangeEventParser {
     return messages;
   }
 
-  private static EntityLink getEntityLink(String fieldName, EntityInterface entity) {
-    EntityReference entityReference = entity.getEntityReference();
-    String entityType = entityReference.getType();
-    String entityFQN = entityReference.getFullyQualifiedName();
+  private static EntityLink getEntityLink(String fieldName, EntityReference entity) {
+    String entityType = entity.getType();
+    String entityFQN = entity.getFullyQualifiedName();
     String arrayFieldName = null;
     String arrayFieldValue = null;
 
@@ -76,7 +76,7 @@ public class ResultList<T> {
    * <p>CASE 4: Page 1 has exactly page number of entries Returns: page1 beforeCursor = null afterCursor = Empty string
    * to start at page1 -------- BACKWARD SCROLLING ENDS -------------
    */
-  public ResultList(List<T> data, String beforeCursor, String afterCursor, int total) {
+  public ResultList(List<T> data, String beforeCursor, String afterCursor, Integer total) {
     this.data = data;
     paging =
         new Paging()
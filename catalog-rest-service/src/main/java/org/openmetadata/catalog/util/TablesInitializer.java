@@ -25,11 +25,17 @@ import io.dropwizard.db.DataSourceFactory;
 import io.dropwizard.jackson.Jackson;
 import io.dropwizard.jersey.validation.Validators;
 import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
 import javax.validation.Validator;
 import org.apache.commons.cli.CommandLine;
@@ -44,24 +50,36 @@ import org.jdbi.v3.core.Jdbi;
 import org.jdbi.v3.sqlobject.SqlObjectPlugin;
 import org.jdbi.v3.sqlobject.SqlObjects;
 import org.openmetadata.catalog.CatalogApplicationConfig;
+import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.elasticsearch.ElasticSearchConfiguration;
 import org.openmetadata.catalog.elasticsearch.ElasticSearchIndexDefinition;
+import org.openmetadata.catalog.elasticsearch.ElasticSearchReindexer;
 import org.openmetadata.catalog.entity.teams.AuthenticationMechanism;
 import org.openmetadata.catalog.entity.teams.User;
 import org.openmetadata.catalog.fernet.Fernet;
 import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.EntityRepository;
+import org.openmetadata.catalog.jdbi3.EntityVersionStore;
 import org.openmetadata.catalog.jdbi3.UserRepository;
 import org.openmetadata.catalog.jdbi3.locator.ConnectionAwareAnnotationSqlLocator;
+import org.openmetadata.catalog.secrets.SecretsManager;
+import org.openmetadata.catalog.secrets.SecretsManagerFactory;
 import org.openmetadata.catalog.security.jwt.JWTTokenGenerator;
 import org.openmetadata.catalog.teams.authn.GenerateTokenRequest;
 import org.openmetadata.catalog.teams.authn.JWTAuthMechanism;
 import org.openmetadata.catalog.teams.authn.JWTTokenExpiry;
+import org.reflections.Reflections;
 
 public final class TablesInitializer {
   private static final String DEBUG_MODE_ENABLED = "debug_mode";
   private static final String OPTION_SCRIPT_ROOT_PATH = "script-root";
   private static final String OPTION_CONFIG_FILE_PATH = "config";
   private static final String DISABLE_VALIDATE_ON_MIGRATE = "disable-validate-on-migrate";
+  private static final String OPTION_REINDEX_ENTITIES = "entities";
+  private static final String OPTION_REINDEX_SINCE = "since";
+  private static final String OPTION_REINDEX_BATCH_SIZE = "batch-size";
+  private static final String OPTION_REINDEX_WORKERS = "workers";
+  private static final String OPTION_REINDEX_CHECKPOINT = "checkpoint";
   private static final Options OPTIONS;
   private static boolean DEBUG_MODE = false;
 
@@ -102,6 +120,31 @@ public final class TablesInitializer {
     OPTIONS.addOption(
         null, SchemaMigrationOption.ES_DROP.toString(), false, "Drop all the indexes in the elastic search");
     OPTIONS.addOption(null, SchemaMigrationOption.ES_MIGRATE.toString(), false, "Update Elastic Search index mapping");
+    OPTIONS.addOption(
+        null,
+        SchemaMigrationOption.ES_REINDEX.toString(),
+        false,
+        "Rebuild the Elastic Search indexes from the database into new indexes and switch to them");
+    OPTIONS.addOption(
+        null,
+        OPTION_REINDEX_ENTITIES,
+        true,
+        "Comma separated entity types to reindex or compact. Defaults to all entity types");
+    OPTIONS.addOption(
+        null,
+        OPTION_REINDEX_SINCE,
+        true,
+        "Only reindex entities updated at or after this time in epoch milliseconds, into the current indexes");
+    OPTIONS.addOption(
+        null, OPTION_REINDEX_BATCH_SIZE, true, "Number of entities read and indexed or compacted at a time");
+    OPTIONS.addOption(null, OPTION_REINDEX_WORKERS, true, "Number of entity types reindexed in parallel");
+    OPTIONS.addOption(null, OPTION_REINDEX_CHECKPOINT, true, "File used to save the reindex progress for resuming");
+    OPTIONS.addOption(
+        null,
+        SchemaMigrationOption.COMPACT_VERSIONS.toString(),
+        false,
+        "Rewrite the version history of entities as patches from periodic snapshots when delta encoding is enabled "
+            + "in versionHistoryConfiguration, and as full versions otherwise");
     OPTIONS.addOption(null, SchemaMigrationOption.CREATE_INGESTION_BOT.toString(), false, "Create Ingestion Bot");
     OPTIONS.addOption(null, SchemaMigrationOption.UPDATE_INGESTION_BOT.toString(), false, "Update Ingestion Bot");
   }
@@ -174,7 +217,13 @@ public final class TablesInitializer {
             !disableValidateOnMigrate);
     RestHighLevelClient client = ElasticSearchClientUtils.createElasticSearchClient(esConfig);
     try {
-      execute(config, flyway, client, schemaMigrationOptionSpecified);
+      if (schemaMigrationOptionSpecified == SchemaMigrationOption.ES_REINDEX) {
+        reindex(config, client, commandLine);
+      } else if (schemaMigrationOptionSpecified == SchemaMigrationOption.COMPACT_VERSIONS) {
+        compactVersions(config, commandLine);
+      } else {
+        execute(config, flyway, client, schemaMigrationOptionSpecified);
+      }
       printToConsoleInDebug(schemaMigrationOptionSpecified + "option successful");
     } catch (Exception e) {
       printError(schemaMigrationOptionSpecified + "option failed with : " + e);
@@ -393,6 +442,81 @@ public final class TablesInitializer {
     }
   }
 
+  private static void reindex(CatalogApplicationConfig config, RestHighLevelClient client, CommandLine commandLine)
+      throws IOException {
+    final Jdbi jdbi =
+        Jdbi.create(
+            config.getDataSourceFactory().getUrl(),
+            config.getDataSourceFactory().getUser(),
+            config.getDataSourceFactory().getPassword());
+    jdbi.installPlugin(new SqlObjectPlugin());
+    jdbi.getConfig(SqlObjects.class)
+        .setSqlLocator(new ConnectionAwareAnnotationSqlLocator(config.getDataSourceFactory().getDriverClass()));
+    registerEntityRepositories(jdbi.onDemand(CollectionDAO.class), config);
+
+    List<String> entityTypes =
+        commandLine.hasOption(OPTION_REINDEX_ENTITIES)
+            ? Arrays.asList(commandLine.getOptionValue(OPTION_REINDEX_ENTITIES).split(","))
+            : ElasticSearchReindexer.getEntityTypes();
+    int batchSize = Integer.parseInt(commandLine.getOptionValue(OPTION_REINDEX_BATCH_SIZE, "500"));
+    int workers = Integer.parseInt(commandLine.getOptionValue(OPTION_REINDEX_WORKERS, "4"));
+    Path checkpoint =
+        commandLine.hasOption(OPTION_REINDEX_CHECKPOINT)
+            ? Paths.get(commandLine.getOptionValue(OPTION_REINDEX_CHECKPOINT))
+            : null;
+    ElasticSearchReindexer reindexer = new ElasticSearchReindexer(client, batchSize, workers, checkpoint);
+    if (commandLine.hasOption(OPTION_REINDEX_SINCE)) {
+      reindexer.reindexSince(entityTypes, Long.parseLong(commandLine.getOptionValue(OPTION_REINDEX_SINCE)));
+    } else {
+      reindexer.reindex(entityTypes);
+    }
+    printToConsoleMandatory("Reindexed " + entityTypes);
+  }
+
+  /** Rewrite the stored versions of the entities as patches from periodic snapshots */
+  private static void compactVersions(CatalogApplicationConfig config, CommandLine commandLine) throws IOException {
+    final Jdbi jdbi =
+        Jdbi.create(
+            config.getDataSourceFactory().getUrl(),
+            config.getDataSourceFactory().getUser(),
+            config.getDataSourceFactory().getPassword());
+    jdbi.installPlugin(new SqlObjectPlugin());
+    jdbi.getConfig(SqlObjects.class)
+        .setSqlLocator(new ConnectionAwareAnnotationSqlLocator(config.getDataSourceFactory().getDriverClass()));
+    registerEntityRepositories(jdbi.onDemand(CollectionDAO.class), config);
+    EntityVersionStore.initialize(config.getVersionHistoryConfiguration());
+
+    List<String> entityTypes =
+        commandLine.hasOption(OPTION_REINDEX_ENTITIES)
+            ? Arrays.asList(commandLine.getOptionValue(OPTION_REINDEX_ENTITIES).split(","))
+            : Entity.getEntityList();
+    int batchSize = Integer.parseInt(commandLine.getOptionValue(OPTION_REINDEX_BATCH_SIZE, "500"));
+    for (String entityType : entityTypes) {
+      int rewritten = Entity.getEntityRepository(entityType).getVersionStore().compactAll(batchSize);
+      printToConsoleMandatory("Rewrote " + rewritten + " versions of " + entityType);
+    }
+  }
+
+  /** Create the entity repositories, which registers them by entity type as done by the resources in the server */
+  private static void registerEntityRepositories(CollectionDAO dao, CatalogApplicationConfig config) {
+    SecretsManager secretsManager = SecretsManagerFactory.createSecretsManager(config.getSecretsManagerConfiguration());
+    Reflections reflections = new Reflections("org.openmetadata.catalog.jdbi3");
+    for (Class<?> clz : reflections.getSubTypesOf(EntityRepository.class)) {
+      if (Modifier.isAbstract(clz.getModifiers())) {
+        continue;
+      }
+      try {
+        try {
+          clz.getDeclaredConstructor(CollectionDAO.class).newInstance(dao);
+        } catch (NoSuchMethodException e) {
+          clz.getDeclaredConstructor(CollectionDAO.class, SecretsManager.class).newInstance(dao, secretsManager);
+        }
+      } catch (ReflectiveOperationException e) {
+        printToConsoleInDebug("Skipping repository " + clz.getSimpleName() + " : " + e);
+      }
+    }
+  }
+
   private static void addOrUpdateUser(User user, Jdbi jdbi) throws Exception {
     CollectionDAO daoObject = jdbi.onDemand(CollectionDAO.class);
     UserRepository userRepository = new UserRepository(daoObject);
@@ -411,6 +535,8 @@ public final class TablesInitializer {
     ES_DROP("es-drop"),
     ES_CREATE("es-create"),
     ES_MIGRATE("es-migrate"),
+    ES_REINDEX("es-reindex"),
+    COMPACT_VERSIONS("compact-versions"),
     CREATE_INGESTION_BOT("create-ingestion-bot"),
     UPDATE_INGESTION_BOT("update-ingestion-bot");
     private final String value;
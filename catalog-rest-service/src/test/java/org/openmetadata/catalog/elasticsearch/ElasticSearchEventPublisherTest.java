@@ -0,0 +1,122 @@
+package org.openmetadata.catalog.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.rest.RestStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.resources.events.EventResource.ChangeEventList;
+import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.type.EventType;
+
+class ElasticSearchEventPublisherTest {
+  private RestHighLevelClient client;
+  private ElasticSearchEventPublisher publisher;
+  private final ArgumentCaptor<BulkRequest> bulkRequests = ArgumentCaptor.forClass(BulkRequest.class);
+
+  @BeforeEach
+  void setUp() {
+    client = mock(RestHighLevelClient.class);
+    publisher = new ElasticSearchEventPublisher(10, client);
+  }
+
+  @Test
+  void test_eventsOfBatchSentInOneBulkRequest() throws IOException {
+    UUID table1 = UUID.randomUUID();
+    UUID table2 = UUID.randomUUID();
+    respond(Set.of());
+    publisher.publish(events(event(table1, EventType.ENTITY_SOFT_DELETED), event(table2, EventType.ENTITY_DELETED)));
+
+    verify(client, times(1)).bulk(bulkRequests.capture(), any(RequestOptions.class));
+    BulkRequest request = bulkRequests.getValue();
+    assertEquals(List.of(table1.toString(), table2.toString()), getIds(request));
+    assertEquals(DocWriteRequest.OpType.UPDATE, request.requests().get(0).opType());
+    assertEquals(DocWriteRequest.OpType.DELETE, request.requests().get(1).opType());
+    // Refresh policy of the delete request is applied to the bulk request
+    assertEquals(WriteRequest.RefreshPolicy.WAIT_UNTIL, request.getRefreshPolicy());
+    for (DocWriteRequest<?> r : request.requests()) {
+      assertEquals(WriteRequest.RefreshPolicy.NONE, ((WriteRequest<?>) r).getRefreshPolicy());
+    }
+  }
+
+  @Test
+  void test_bulkRequestSentAtMaxActions() throws IOException {
+    List<ChangeEvent> events = new ArrayList<>();
+    for (int i = 0; i < 1001; i++) {
+      events.add(event(UUID.randomUUID(), EventType.ENTITY_SOFT_DELETED));
+    }
+    respond(Set.of());
+    publisher.publish(new ChangeEventList(events, null, null, events.size()));
+
+    verify(client, times(2)).bulk(bulkRequests.capture(), any(RequestOptions.class));
+    assertEquals(1000, bulkRequests.getAllValues().get(0).numberOfActions());
+    assertEquals(1, bulkRequests.getAllValues().get(1).numberOfActions());
+  }
+
+  @Test
+  void test_retriableItemFailure() throws IOException {
+    // The batch is published again after backoff when a request of the bulk request fails with 429
+    respond(Set.of(1));
+    ChangeEvent softDeleted = event(UUID.randomUUID(), EventType.ENTITY_SOFT_DELETED);
+    ChangeEvent deleted = event(UUID.randomUUID(), EventType.ENTITY_DELETED);
+    ChangeEventList events = events(softDeleted, deleted);
+    assertThrows(ElasticSearchRetriableException.class, () -> publisher.publish(events));
+    verify(client, times(1)).bulk(any(BulkRequest.class), any(RequestOptions.class));
+  }
+
+  /** Respond to bulk requests with an item for each request, failed with 429 for the items of {@code failed} */
+  private void respond(Set<Integer> failed) throws IOException {
+    when(client.bulk(any(BulkRequest.class), any(RequestOptions.class)))
+        .thenAnswer(
+            invocation -> {
+              BulkRequest request = invocation.getArgument(0);
+              BulkItemResponse[] items = new BulkItemResponse[request.numberOfActions()];
+              for (int i = 0; i < items.length; i++) {
+                BulkItemResponse item = mock(BulkItemResponse.class);
+                when(item.getItemId()).thenReturn(i);
+                when(item.isFailed()).thenReturn(failed.contains(i));
+                when(item.status()).thenReturn(failed.contains(i) ? RestStatus.TOO_MANY_REQUESTS : RestStatus.OK);
+                items[i] = item;
+              }
+              return new BulkResponse(items, 1);
+            });
+  }
+
+  private static ChangeEvent event(UUID entityId, EventType eventType) {
+    return new ChangeEvent()
+        .withEntityId(entityId)
+        .withEntityType(Entity.TABLE)
+        .withEventType(eventType)
+        .withTimestamp(System.currentTimeMillis());
+  }
+
+  private static ChangeEventList events(ChangeEvent... events) {
+    return new ChangeEventList(List.of(events), null, null, events.length);
+  }
+
+  private static List<String> getIds(BulkRequest request) {
+    List<String> ids = new ArrayList<>();
+    request.requests().forEach(r -> ids.add(r.id()));
+    return ids;
+  }
+}
@@ -0,0 +1,49 @@
+package org.openmetadata.catalog.elasticsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.elasticsearch.ReindexCheckpoint.Progress;
+
+class ReindexCheckpointTest {
+  @TempDir Path tempDir;
+
+  @Test
+  void test_resumeFromCheckpoint() throws IOException {
+    Path file = tempDir.resolve("reindex.json");
+    ReindexCheckpoint checkpoint = ReindexCheckpoint.load(file, null);
+    Progress progress = checkpoint.getProgress(Entity.TABLE, "table_search_index_" + checkpoint.getStartedAt());
+    progress.setAfter("service.db.schema.table");
+    progress.setCount(500);
+    checkpoint.getProgress(Entity.TOPIC, "topic_search_index_" + checkpoint.getStartedAt()).setCompleted(true);
+    checkpoint.save(file);
+
+    ReindexCheckpoint resumed = ReindexCheckpoint.load(file, null);
+    assertEquals(checkpoint.getStartedAt(), resumed.getStartedAt());
+    Progress resumedProgress = resumed.getProgress(Entity.TABLE, "ignored");
+    assertEquals("table_search_index_" + checkpoint.getStartedAt(), resumedProgress.getIndex());
+    assertEquals("service.db.schema.table", resumedProgress.getAfter());
+    assertEquals(500, resumedProgress.getCount());
+    assertTrue(resumed.getProgress(Entity.TOPIC, "ignored").isCompleted());
+  }
+
+  @Test
+  void test_checkpointOfDifferentModeIsIgnored() throws IOException {
+    Path file = tempDir.resolve("reindex.json");
+    ReindexCheckpoint checkpoint = ReindexCheckpoint.load(file, 1000L);
+    checkpoint.getProgress(Entity.TABLE, "table_search_index").setAfter("a.b.c.d");
+    checkpoint.save(file);
+
+    // A full reindex does not resume from an incremental reindex checkpoint
+    ReindexCheckpoint full = ReindexCheckpoint.load(file, null);
+    assertTrue(full.getProgress().isEmpty());
+    assertNotEquals(1000L, full.getSince());
+    assertEquals("", full.getProgress(Entity.TABLE, "table_search_index_1").getAfter());
+  }
+}
@@ -0,0 +1,80 @@
+package org.openmetadata.catalog.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.ChangeEventDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TransactionCallback;
+import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.type.EventType;
+
+class ChangeEventOutboxTest {
+  private CollectionDAO dao;
+  private ChangeEventDAO changeEventDAO;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    dao = mock(CollectionDAO.class);
+    changeEventDAO = mock(ChangeEventDAO.class);
+    when(dao.changeEventDAO()).thenReturn(changeEventDAO);
+    when(dao.inTransaction(any())).thenAnswer(i -> ((TransactionCallback<?>) i.getArgument(0)).call());
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    ChangeEventOutbox.shutdown();
+    ChangeEventOutbox.consumeRecorded();
+  }
+
+  @Test
+  void test_disabledOutboxRunsOperationOnly() throws IOException {
+    assertEquals("done", ChangeEventOutbox.record(dao, () -> "done", r -> newChangeEvent()));
+    verify(dao, never()).inTransaction(any());
+    verify(changeEventDAO, never()).insertOutbox(anyString());
+    assertFalse(ChangeEventOutbox.consumeRecorded());
+  }
+
+  @Test
+  void test_changeEventRecordedInTransaction() throws IOException {
+    ChangeEventOutbox.initialize(new EventHandlerConfiguration().withOutbox(true), dao);
+
+    assertEquals("done", ChangeEventOutbox.record(dao, () -> "done", r -> newChangeEvent()));
+    verify(dao).inTransaction(any());
+    verify(changeEventDAO).insert(anyString());
+    verify(changeEventDAO).insertOutbox(anyString());
+    assertTrue(ChangeEventOutbox.consumeRecorded());
+    assertFalse(ChangeEventOutbox.consumeRecorded());
+  }
+
+  @Test
+  void test_nestedOperationsDontRecordChangeEvents() throws IOException {
+    ChangeEventOutbox.initialize(new EventHandlerConfiguration().withOutbox(true), dao);
+
+    ChangeEventOutbox.record(
+        dao, () -> ChangeEventOutbox.record(dao, () -> "child", r -> newChangeEvent()), r -> newChangeEvent());
+    verify(dao, times(1)).inTransaction(any());
+    verify(changeEventDAO, times(1)).insertOutbox(anyString());
+  }
+
+  private static ChangeEvent newChangeEvent() {
+    return new ChangeEvent()
+        .withEventType(EventType.ENTITY_UPDATED)
+        .withEntityType("table")
+        .withEntityId(UUID.randomUUID())
+        .withTimestamp(System.currentTimeMillis());
+  }
+}
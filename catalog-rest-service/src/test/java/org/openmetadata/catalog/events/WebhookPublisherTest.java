@@ -0,0 +1,188 @@
+package org.openmetadata.catalog.events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.tuple.Triple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.events.errors.EventPublisherException;
+import org.openmetadata.catalog.jdbi3.CollectionDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.ChangeEventDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.WebhookDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.WebhookDeliveryDAO;
+import org.openmetadata.catalog.resources.events.EventResource.ChangeEventList;
+import org.openmetadata.catalog.type.EventFilter;
+import org.openmetadata.catalog.type.EventType;
+import org.openmetadata.catalog.type.Include;
+import org.openmetadata.catalog.type.Webhook;
+import org.openmetadata.catalog.util.JsonUtils;
+
+class WebhookPublisherTest {
+  private CollectionDAO dao;
+  private ChangeEventDAO changeEventDAO;
+  private WebhookDeliveryDAO deliveryDAO;
+  private WebhookDAO webhookDAO;
+  private Webhook webhook;
+  private String webhookId;
+  private WebhookPublisher publisher;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    dao = mock(CollectionDAO.class);
+    changeEventDAO = mock(ChangeEventDAO.class);
+    deliveryDAO = mock(WebhookDeliveryDAO.class);
+    webhookDAO = mock(WebhookDAO.class);
+    when(dao.changeEventDAO()).thenReturn(changeEventDAO);
+    when(dao.webhookDeliveryDAO()).thenReturn(deliveryDAO);
+    when(dao.webhookDAO()).thenReturn(webhookDAO);
+    // The events read by the tests don't match the filter, so that they are not posted to an endpoint
+    EventFilter filter = new EventFilter().withEventType(EventType.ENTITY_DELETED).withEntities(List.of("*"));
+    webhook =
+        new Webhook()
+            .withId(UUID.randomUUID())
+            .withName("webhook")
+            .withEnabled(true)
+            .withStatus(Webhook.Status.ACTIVE)
+            .withBatchSize(10)
+            .withEventFilters(List.of(filter));
+    webhookId = webhook.getId().toString();
+    storeWebhook(webhook);
+    publisher = new WebhookPublisher(copy(webhook), dao);
+  }
+
+  @Test
+  void test_readEventsInOrderOfIds() {
+    when(changeEventDAO.listAfterId(0L, 10)).thenReturn(List.of(record(1), record(2), record(3)));
+    assertEquals(List.of(1L, 2L, 3L), getIds(publisher.readEvents()));
+  }
+
+  @Test
+  void test_readEventsStopsAtGapNotYetCommitted() {
+    // Event 3 may be committed after event 4, so event 4 is not delivered before the gap times out
+    when(changeEventDAO.listAfterId(0L, 10)).thenReturn(List.of(record(1), record(2), record(4)));
+    assertEquals(List.of(1L, 2L), getIds(publisher.readEvents()));
+
+    when(changeEventDAO.listAfterId(0L, 10)).thenReturn(List.of(record(2)));
+    assertEquals(Collections.emptyList(), getIds(publisher.readEvents()));
+  }
+
+  @Test
+  void test_pollWithoutLeaseDeliversNothing() {
+    when(deliveryDAO.claim(eq(webhookId), anyString(), anyLong(), anyLong())).thenReturn(null);
+    publisher.poll();
+    verify(changeEventDAO, never()).listAfterId(anyLong(), anyInt());
+    verify(deliveryDAO, never()).updateCursor(anyString(), anyString(), anyLong(), anyLong());
+  }
+
+  @Test
+  void test_pollWithLeaseMovesCursor() {
+    // The cursor is read from the lease, as another server may have moved it
+    when(deliveryDAO.claim(eq(webhookId), anyString(), anyLong(), anyLong())).thenReturn(5L);
+    when(deliveryDAO.updateCursor(eq(webhookId), anyString(), anyLong(), anyLong())).thenReturn(1);
+    when(changeEventDAO.listAfterId(5L, 10)).thenReturn(List.of(record(6), record(7)));
+    publisher.poll();
+    verify(deliveryDAO).updateCursor(eq(webhookId), anyString(), eq(7L), anyLong());
+
+    // The lease is held without claiming it again until half of it is left
+    when(changeEventDAO.listAfterId(7L, 10)).thenReturn(List.of(record(8)));
+    publisher.poll();
+    verify(deliveryDAO, times(1)).claim(eq(webhookId), anyString(), anyLong(), anyLong());
+    verify(deliveryDAO).updateCursor(eq(webhookId), anyString(), eq(8L), anyLong());
+  }
+
+  @Test
+  void test_lostLeaseIsClaimedAgain() {
+    when(deliveryDAO.claim(eq(webhookId), anyString(), anyLong(), anyLong())).thenReturn(5L, (Long) null);
+    when(deliveryDAO.updateCursor(eq(webhookId), anyString(), anyLong(), anyLong())).thenReturn(0);
+    when(changeEventDAO.listAfterId(5L, 10)).thenReturn(List.of(record(6)));
+    publisher.poll();
+
+    // Another server claimed the lease before the cursor was moved, and holds it now
+    publisher.poll();
+    verify(deliveryDAO, times(2)).claim(eq(webhookId), anyString(), anyLong(), anyLong());
+    verify(changeEventDAO, times(1)).listAfterId(anyLong(), anyInt());
+  }
+
+  @Test
+  void test_claimLease() {
+    WebhookDeliveryDAO dao = mock(WebhookDeliveryDAO.class, CALLS_REAL_METHODS);
+    doReturn(Triple.of(5L, "server1", 2000L)).when(dao).findForUpdate("webhook");
+    assertEquals(5L, dao.claim("webhook", "server1", 1000L, 3000L));
+    assertNull(dao.claim("webhook", "server2", 1000L, 3000L));
+    assertEquals(5L, dao.claim("webhook", "server2", 2001L, 3000L));
+    verify(dao, times(2)).updateLease(eq("webhook"), anyString(), eq(3000L));
+
+    // The row is missing, or locked by another server claiming the lease
+    doReturn(null).when(dao).findForUpdate("webhook");
+    assertNull(dao.claim("webhook", "server1", 1000L, 3000L));
+  }
+
+  @Test
+  void test_terminalFailureStopsDeliveryOnAllServers() throws IOException {
+    EventFilter created = new EventFilter().withEventType(EventType.ENTITY_CREATED).withEntities(List.of("*"));
+    storeWebhook(copy(webhook).withEventFilters(List.of(created)));
+    WebhookPublisher failing =
+        new WebhookPublisher(copy(webhook), dao) {
+          @Override
+          public void publish(ChangeEventList list) {
+            throw new EventPublisherException("failed");
+          }
+        };
+    when(deliveryDAO.claim(eq(webhookId), anyString(), anyLong(), anyLong())).thenReturn(5L);
+    when(changeEventDAO.listAfterId(5L, 10)).thenReturn(List.of(record(6)));
+    failing.poll();
+    verify(deliveryDAO).release(eq(webhookId), anyString());
+
+    // The failure stored in the webhook keeps another server from resuming the delivery once it claims the lease
+    storeWebhook(copy(webhook).withEventFilters(List.of(created)).withStatus(Webhook.Status.FAILED));
+    publisher.poll();
+    verify(deliveryDAO, times(1)).claim(eq(webhookId), anyString(), anyLong(), anyLong());
+    verify(changeEventDAO, times(1)).listAfterId(anyLong(), anyInt());
+
+    storeWebhook(copy(webhook).withEnabled(false));
+    publisher.poll();
+    verify(deliveryDAO, times(1)).claim(eq(webhookId), anyString(), anyLong(), anyLong());
+  }
+
+  @Test
+  void test_claimLeaseUsesStoredWebhook() throws IOException {
+    // The webhook was updated through another server
+    storeWebhook(copy(webhook).withBatchSize(5));
+    when(deliveryDAO.claim(eq(webhookId), anyString(), anyLong(), anyLong())).thenReturn(5L);
+    publisher.poll();
+    verify(changeEventDAO).listAfterId(5L, 5);
+  }
+
+  private void storeWebhook(Webhook stored) throws IOException {
+    when(webhookDAO.findJsonById(webhookId, Include.NON_DELETED)).thenReturn(JsonUtils.pojoToJson(stored));
+  }
+
+  private static Webhook copy(Webhook webhook) throws IOException {
+    return JsonUtils.readValue(JsonUtils.pojoToJson(webhook), Webhook.class);
+  }
+
+  private static Triple<Long, Long, String> record(long id) {
+    return Triple.of(System.currentTimeMillis(), id, "{\"eventType\":\"entityCreated\",\"entityType\":\"table\"}");
+  }
+
+  private static List<Long> getIds(List<Triple<Long, Long, String>> records) {
+    return records.stream().map(Triple::getMiddle).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,81 @@
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.lang3.tuple.Triple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.jdbi3.ChangeEventRepository.Cursor;
+import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.util.RestUtil;
+import org.openmetadata.catalog.util.ResultList;
+
+class ChangeEventRepositoryTest {
+  private CollectionDAO.ChangeEventDAO changeEventDAO;
+  private ChangeEventRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    CollectionDAO dao = mock(CollectionDAO.class);
+    changeEventDAO = mock(CollectionDAO.ChangeEventDAO.class);
+    when(dao.changeEventDAO()).thenReturn(changeEventDAO);
+    repository = new ChangeEventRepository(dao);
+  }
+
+  @Test
+  void test_condition() {
+    assertNull(ChangeEventRepository.getCondition(null, Collections.emptyList(), null));
+    assertEquals(
+        "eventType = 'entityCreated' OR (eventType = 'entityUpdated' AND entityType IN ('table','topic'))",
+        ChangeEventRepository.getCondition(List.of("*"), List.of("table", "topic"), null));
+    assertEquals(
+        "eventType = 'entityDeleted' OR eventType = 'entitySoftDeleted'",
+        ChangeEventRepository.getCondition(null, null, List.of("*")));
+  }
+
+  @Test
+  void test_listReturnsCursorOfLastEvent() throws IOException {
+    when(changeEventDAO.listAfter(anyString(), eq(1000L), eq(0L), eq(2)))
+        .thenReturn(List.of(record(1000L, 5L), record(1001L, 7L)));
+    ResultList<ChangeEvent> events = repository.list(1000L, List.of("*"), null, null, 2, null);
+    assertEquals(2, events.getData().size());
+    assertEquals("1001:7", RestUtil.decodeCursor(events.getPaging().getAfter()));
+
+    // Without new events, the cursor is returned as is so that consumers keep tailing from it
+    when(changeEventDAO.listAfter(anyString(), eq(1001L), eq(7L), eq(2))).thenReturn(Collections.emptyList());
+    events = repository.list(0L, List.of("*"), null, null, 2, events.getPaging().getAfter());
+    assertEquals(0, events.getData().size());
+    assertEquals("1001:7", RestUtil.decodeCursor(events.getPaging().getAfter()));
+  }
+
+  @Test
+  void test_streamReadsAllPages() throws IOException {
+    when(changeEventDAO.listAfter(anyString(), eq(0L), eq(0L), eq(2)))
+        .thenReturn(List.of(record(1000L, 1L), record(1000L, 2L)));
+    when(changeEventDAO.listAfter(anyString(), eq(1000L), eq(2L), eq(2))).thenReturn(List.of(record(1002L, 3L)));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    repository.stream(0L, List.of("*"), null, null, 2, null, out);
+    assertEquals(3, out.toString(StandardCharsets.UTF_8).split("\n").length);
+  }
+
+  @Test
+  void test_invalidCursor() {
+    assertThrows(IllegalArgumentException.class, () -> Cursor.of(0, "invalid"));
+    assertThrows(IllegalArgumentException.class, () -> Cursor.of(0, RestUtil.encodeCursor("1:x")));
+  }
+
+  private static Triple<Long, Long, String> record(long eventTime, long id) {
+    return Triple.of(eventTime, id, "{\"eventType\":\"entityCreated\",\"timestamp\":" + eventTime + "}");
+  }
+}
@@ -0,0 +1,110 @@
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.net.URI;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.EventType;
+import org.openmetadata.catalog.type.Include;
+
+class EntityReferenceCacheTest {
+  private final EntityReferenceCache cache = EntityReferenceCache.getInstance();
+
+  @AfterEach
+  void cleanUp() {
+    cache.invalidateAll();
+  }
+
+  @Test
+  void test_getByIdAndName() {
+    EntityReference ref = newReference("db.schema.table", false);
+    cache.put(ref);
+
+    EntityReference cached = cache.getById("table", ref.getId(), Include.NON_DELETED);
+    assertEquals(ref, cached);
+    assertNotSame(ref, cached);
+    assertEquals(ref, cache.getByName("table", "db.schema.table", Include.ALL));
+
+    // Changes to the returned reference must not leak into the cache
+    cached.setHref(URI.create("http://localhost/table"));
+    assertNull(cache.getById("table", ref.getId(), Include.ALL).getHref());
+
+    // Same id under a different entity type is not a hit
+    assertNull(cache.getById("topic", ref.getId(), Include.ALL));
+  }
+
+  @Test
+  void test_includeFilter() {
+    EntityReference ref = newReference("db.schema.deletedTable", true);
+    cache.put(ref);
+    assertNull(cache.getById("table", ref.getId(), Include.NON_DELETED));
+    assertEquals(ref, cache.getById("table", ref.getId(), Include.DELETED));
+    assertEquals(ref, cache.getById("table", ref.getId(), Include.ALL));
+  }
+
+  @Test
+  void test_invalidateOnUpdateAndRename() {
+    EntityReference ref = newReference("db.schema.oldName", false);
+    cache.put(ref);
+    cache.invalidate("table", ref.getId());
+    assertNull(cache.getById("table", ref.getId(), Include.ALL));
+    assertNull(cache.getByName("table", "db.schema.oldName", Include.ALL));
+
+    // Old fqn index entry pointing to a renamed entity is not returned
+    cache.put(ref);
+    cache.put(newReference("db.schema.newName", false).withId(ref.getId()));
+    assertNull(cache.getByName("table", "db.schema.oldName", Include.ALL));
+    assertEquals("db.schema.newName", cache.getByName("table", "db.schema.newName", Include.ALL).getName());
+  }
+
+  @Test
+  void test_invalidateAllOfType() {
+    EntityReference table = newReference("db.schema.table", false);
+    EntityReference topic = newReference("service.topic", false).withType("topic");
+    cache.put(table);
+    cache.put(topic);
+    cache.invalidateAll("table");
+    assertNull(cache.getById("table", table.getId(), Include.ALL));
+    assertEquals(topic, cache.getById("topic", topic.getId(), Include.ALL));
+  }
+
+  @Test
+  void test_invalidatedByChangeEvents() {
+    EntityReferenceCacheInvalidator invalidator = new EntityReferenceCacheInvalidator();
+    EntityReference table = newReference("db.schema.table", false);
+    EntityReference topic = newReference("service.topic", false).withType("topic");
+    cache.put(table);
+    cache.put(topic);
+
+    // An updated entity is invalidated
+    invalidator.invalidate(event("table", table, EventType.ENTITY_UPDATED));
+    assertNull(cache.getById("table", table.getId(), Include.ALL));
+    assertEquals(topic, cache.getById("topic", topic.getId(), Include.ALL));
+
+    // Deleting an entity invalidates the entities it contains, that are deleted without change events
+    cache.put(table);
+    invalidator.invalidate(event("databaseSchema", newReference("db.schema", false), EventType.ENTITY_SOFT_DELETED));
+    assertNull(cache.getById("table", table.getId(), Include.ALL));
+    assertNull(cache.getById("topic", topic.getId(), Include.ALL));
+  }
+
+  private static ChangeEvent event(String entityType, EntityReference ref, EventType eventType) {
+    return new ChangeEvent().withEntityType(entityType).withEntityId(ref.getId()).withEventType(eventType);
+  }
+
+  private static EntityReference newReference(String fqn, boolean deleted) {
+    return new EntityReference()
+        .withId(UUID.randomUUID())
+        .withType("table")
+        .withName(fqn)
+        .withFullyQualifiedName(fqn)
+        .withDescription("description")
+        .withDeleted(deleted);
+  }
+}
@@ -0,0 +1,97 @@
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.entity.data.Table;
+import org.openmetadata.catalog.exception.UnhandledServerException;
+import org.openmetadata.catalog.jdbi3.EntityVersionStore.Decoder;
+import org.openmetadata.catalog.type.Column;
+import org.openmetadata.catalog.type.ColumnDataType;
+import org.openmetadata.catalog.util.JsonUtils;
+
+class EntityVersionStoreTest {
+  private static final String ID = UUID.randomUUID().toString();
+
+  @BeforeEach
+  void setUp() {
+    EntityVersionStore.initialize(new VersionHistoryConfiguration().withDeltaEncoding(true).withSnapshotInterval(2));
+  }
+
+  @AfterEach
+  void tearDown() {
+    EntityVersionStore.initialize(new VersionHistoryConfiguration());
+  }
+
+  @Test
+  void test_versionsDecodedFromSnapshots() throws JsonProcessingException {
+    String v1 = json(table(0.1, "first"));
+    String v2 = json(table(0.2, "second"));
+    String v3 = json(table(0.3, "third"));
+    String delta2 = EntityVersionStore.encode(v2, 0.1, v1, 1);
+    String delta3 = EntityVersionStore.encode(v3, 0.1, v1, 2);
+    assertTrue(EntityVersionStore.isDelta(delta2));
+    assertTrue(delta2.length() < v2.length() / 2);
+
+    Map<Double, String> stored = new HashMap<>(Map.of(0.1, v1, 0.2, delta2, 0.3, delta3));
+    Decoder decoder = new Decoder(ID, stored::get);
+    assertEquals(JsonUtils.readJson(v2), JsonUtils.readJson(decoder.decode(0.2)));
+    assertEquals(JsonUtils.readJson(v3), JsonUtils.readJson(decoder.decode(0.3)));
+    assertEquals(v1, decoder.decode(0.1));
+    assertNull(decoder.decode(0.4));
+
+    // A patch from a snapshot that was compacted into a patch is applied to the decoded snapshot
+    String v4 = json(table(0.4, "fourth"));
+    stored.put(0.4, EntityVersionStore.encode(v4, 0.3, v3, 1));
+    assertEquals(JsonUtils.readJson(v4), JsonUtils.readJson(new Decoder(ID, stored::get).decode(0.4)));
+
+    // Versions that refer to a missing version can't be read
+    stored.remove(0.1);
+    assertThrows(UnhandledServerException.class, () -> new Decoder(ID, stored::get).decode(0.2));
+  }
+
+  @Test
+  void test_snapshotsStored() throws JsonProcessingException {
+    String v1 = json(table(0.1, "first"));
+    String v2 = json(table(0.2, "second"));
+
+    // Snapshots are stored after the snapshot interval and when the patch is not much smaller than the entity
+    assertNull(EntityVersionStore.encode(v2, 0.1, v1, 3));
+    assertNull(EntityVersionStore.encode(json(new Table().withName("t2")), 0.1, json(new Table().withName("t1")), 1));
+    assertNotNull(EntityVersionStore.encode(v2, 0.1, v1, 2));
+  }
+
+  private static Table table(Double version, String description) {
+    List<Column> columns = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      columns.add(
+          new Column()
+              .withName("column" + i)
+              .withDataType(ColumnDataType.INT)
+              .withDescription("Description of column " + i));
+    }
+    return new Table()
+        .withId(UUID.fromString(ID))
+        .withName("table")
+        .withFullyQualifiedName("service.database.schema.table")
+        .withVersion(version)
+        .withDescription(description)
+        .withColumns(columns);
+  }
+
+  private static String json(Table table) throws JsonProcessingException {
+    return JsonUtils.pojoToJson(table);
+  }
+}
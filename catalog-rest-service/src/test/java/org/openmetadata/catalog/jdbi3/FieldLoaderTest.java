@@ -0,0 +1,118 @@
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.maksymdolgykh.dropwizard.micrometer.MicrometerBundle;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.entity.data.Table;
+
+class FieldLoaderTest {
+  private static final ThreadLocal<String> CONTEXT = new ThreadLocal<>();
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    FieldLoader.shutdown();
+  }
+
+  @Test
+  void test_sequentialWhenNotEnabled() throws IOException {
+    FieldLoader loader = new FieldLoader(Entity.TABLE, context("request"));
+    assertFalse(loader.isConcurrent());
+
+    Table table = new Table().withName("table");
+    String thread = Thread.currentThread().getName();
+    long loadedNames = loadCount("name");
+    long loadedDescriptions = loadCount("description");
+    loader.load(true, "name", () -> Thread.currentThread().getName(), table::setName);
+    assertEquals(thread, table.getName()); // Loaded when added
+    loader.load(false, "description", () -> "description", table::setDescription);
+    assertNull(table.getDescription());
+    loader.join();
+    assertEquals(loadedNames + 1, loadCount("name")); // Only loaded fields are timed
+    assertEquals(loadedDescriptions, loadCount("description"));
+  }
+
+  @Test
+  void test_concurrentLoading() throws IOException {
+    FieldLoader.initialize(new FieldLoaderConfiguration().withConcurrent(true).withThreads(2).withTimeoutSeconds(5));
+    FieldLoader loader = new FieldLoader(Entity.TABLE, context("request"));
+    assertTrue(loader.isConcurrent());
+
+    // Each loader waits for the other one, which only completes when they run concurrently
+    CountDownLatch latch = new CountDownLatch(2);
+    Table table = new Table();
+    loader.load(true, "name", () -> await(latch, CONTEXT.get()), table::setName);
+    loader.load(true, "description", () -> await(latch, "description"), table::setDescription);
+    AtomicReference<String> loaderThread = new AtomicReference<>();
+    loader.run(true, "columns", () -> loaderThread.set(Thread.currentThread().getName()));
+    assertNull(table.getName()); // Values are set on join
+    loader.join();
+
+    assertEquals("request", table.getName()); // Thread context is attached to the loaders
+    assertEquals("description", table.getDescription());
+    assertTrue(loaderThread.get().startsWith("field-loader-"));
+  }
+
+  @Test
+  void test_concurrentLoadingFailure() throws IOException {
+    FieldLoader.initialize(new FieldLoaderConfiguration().withConcurrent(true).withThreads(2).withTimeoutSeconds(5));
+    FieldLoader loader = new FieldLoader(Entity.TABLE, context("request"));
+    Table table = new Table();
+    loader.load(
+        true,
+        "name",
+        () -> {
+          throw new IOException("failed");
+        },
+        table::setName);
+    IOException exception = assertThrows(IOException.class, loader::join);
+    assertEquals("failed", exception.getMessage());
+  }
+
+  private static String await(CountDownLatch latch, String value) throws IOException {
+    latch.countDown();
+    try {
+      if (!latch.await(5, TimeUnit.SECONDS)) {
+        throw new IOException("Fields were not loaded concurrently");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+    return value;
+  }
+
+  private static long loadCount(String field) {
+    Timer timer =
+        MicrometerBundle.prometheusRegistry
+            .find("entity.field.load")
+            .tags("entityType", Entity.TABLE, "field", field)
+            .timer();
+    return timer == null ? 0 : timer.count();
+  }
+
+  private static FieldLoader.ThreadContext context(String value) {
+    return new FieldLoader.ThreadContext() {
+      @Override
+      public void attach() {
+        CONTEXT.set(value);
+      }
+
+      @Override
+      public void detach() {
+        CONTEXT.remove();
+      }
+    };
+  }
+}
@@ -0,0 +1,89 @@
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.entity.data.Table;
+import org.openmetadata.catalog.jdbi3.JsonStorage.Codec;
+import org.openmetadata.catalog.jdbi3.JsonStorage.StoredJson;
+import org.openmetadata.catalog.type.Column;
+import org.openmetadata.catalog.type.ColumnDataType;
+import org.openmetadata.catalog.util.JsonUtils;
+
+class JsonStorageTest {
+  @BeforeEach
+  void setUp() {
+    JsonStorageConfiguration config = new JsonStorageConfiguration().withCompressionThreshold(1000);
+    JsonStorage.initialize(config.withCodec(JsonStorageConfiguration.Codec.DEFLATE));
+  }
+
+  @AfterEach
+  void tearDown() {
+    JsonStorage.initialize(new JsonStorageConfiguration());
+  }
+
+  @Test
+  void test_largeDocumentsCompressed() throws JsonProcessingException {
+    Table table = table(50);
+    String json = JsonUtils.pojoToJson(table);
+    StoredJson stored = JsonStorage.encode(json, true);
+    assertEquals(Codec.DEFLATE.getId(), stored.getCodec());
+    assertTrue(stored.getCompressedJson().length < json.length() / 2);
+    assertEquals(json, JsonStorage.decode(stored.getJson(), stored.getCodec(), stored.getCompressedJson()));
+
+    // Only the top level attributes that are not objects or arrays are kept in the json column
+    Table indexed = JsonUtils.readValue(stored.getJson(), Table.class);
+    assertEquals(table.getId(), indexed.getId());
+    assertEquals(table.getFullyQualifiedName(), indexed.getFullyQualifiedName());
+    assertNull(indexed.getColumns());
+  }
+
+  @Test
+  void test_documentsStoredAsIs() throws JsonProcessingException {
+    // Small documents, tables that don't compress and disabled compression
+    String small = JsonUtils.pojoToJson(table(1));
+    String large = JsonUtils.pojoToJson(table(50));
+    assertStoredAsIs(small, JsonStorage.encode(small, true));
+    assertStoredAsIs(large, JsonStorage.encode(large, false));
+
+    StoredJson compressed = JsonStorage.encode(large, true);
+    JsonStorage.initialize(new JsonStorageConfiguration());
+    assertStoredAsIs(large, JsonStorage.encode(large, true));
+
+    // Compressed documents are read whatever the configured codec
+    assertNotNull(compressed.getCompressedJson());
+    String decoded = JsonStorage.decode(compressed.getJson(), compressed.getCodec(), compressed.getCompressedJson());
+    assertEquals(large, decoded);
+  }
+
+  private static void assertStoredAsIs(String json, StoredJson stored) {
+    assertEquals(Codec.NONE.getId(), stored.getCodec());
+    assertNull(stored.getCompressedJson());
+    assertEquals(json, stored.getJson());
+  }
+
+  private static Table table(int columnCount) {
+    List<Column> columns = new ArrayList<>();
+    for (int i = 0; i < columnCount; i++) {
+      columns.add(
+          new Column()
+              .withName("column" + i)
+              .withDataType(ColumnDataType.INT)
+              .withDescription("Description of column " + i));
+    }
+    return new Table()
+        .withId(UUID.randomUUID())
+        .withName("table")
+        .withFullyQualifiedName("service.database.schema.table")
+        .withColumns(columns);
+  }
+}
@@ -0,0 +1,190 @@
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.EntityRelationshipObject;
+import org.openmetadata.catalog.type.Edge;
+import org.openmetadata.catalog.type.EntityLineage;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.Relationship;
+
+/** Lineage traversal against an in-memory lineage graph */
+@Slf4j
+class LineageRepositoryTest {
+  private final Map<String, List<EntityRelationshipObject>> edgesFrom = new HashMap<>();
+  private final Map<String, List<EntityRelationshipObject>> edgesTo = new HashMap<>();
+  private final AtomicInteger queryCount = new AtomicInteger();
+
+  @Test
+  void test_diamondLineageIsExpandedOnce() throws IOException {
+    // root <-- a1,b1 <-- a2,b2 <-- ... each level is connected to both the nodes of the level above.
+    // Without a visited set the number of paths doubles at each level.
+    UUID root = UUID.randomUUID();
+    List<UUID> previous = List.of(root);
+    for (int level = 0; level < 30; level++) {
+      List<UUID> current = List.of(UUID.randomUUID(), UUID.randomUUID());
+      for (UUID from : current) {
+        previous.forEach(to -> addEdge(from, to));
+      }
+      previous = current;
+    }
+
+    EntityLineage lineage = newRepository(10000, 50000).getLineage(reference(root), 30, 0);
+    assertEquals(60, lineage.getNodes().size());
+    assertEquals(2 + 29 * 4, lineage.getUpstreamEdges().size());
+    assertEquals(30, queryCount.get());
+    assertConsistent(lineage);
+  }
+
+  @Test
+  void test_cyclicLineage() throws IOException {
+    UUID a = UUID.randomUUID();
+    UUID b = UUID.randomUUID();
+    UUID c = UUID.randomUUID();
+    addEdge(a, b);
+    addEdge(b, c);
+    addEdge(c, a);
+
+    EntityLineage lineage = newRepository(10000, 50000).getLineage(reference(a), 10, 10);
+    assertEquals(2, lineage.getNodes().size());
+    assertEquals(3, lineage.getUpstreamEdges().size());
+    assertEquals(3, lineage.getDownstreamEdges().size());
+    assertConsistent(lineage);
+  }
+
+  @Test
+  void test_lineageLimits() throws IOException {
+    UUID root = buildLayeredGraph(10, 1000, 10);
+    EntityLineage lineage = newRepository(100, 50000).getLineage(reference(root), 0, 5);
+    assertEquals(100, lineage.getNodes().size());
+    assertConsistent(lineage);
+
+    lineage = newRepository(10000, 500).getLineage(reference(root), 0, 5);
+    assertEquals(500, lineage.getDownstreamEdges().size());
+    assertConsistent(lineage);
+  }
+
+  @Test
+  void test_largeLineageGraph() throws IOException {
+    // 100k edges: 10 layers of 1000 nodes with each node connected to 10 nodes in the next layer
+    UUID root = buildLayeredGraph(10, 1000, 10);
+    LineageRepository repository = newRepository(LineageRepository.MAX_NODES, LineageRepository.MAX_EDGES);
+
+    long start = System.nanoTime();
+    EntityLineage lineage = repository.getLineage(reference(root), 0, 5);
+    long elapsed = (System.nanoTime() - start) / 1_000_000;
+    LOG.info(
+        "Lineage with {} nodes and {} edges traversed in {} ms with {} queries",
+        lineage.getNodes().size(),
+        lineage.getDownstreamEdges().size(),
+        elapsed,
+        queryCount.get());
+
+    // Each depth is expanded in batches of ids instead of one query per node
+    assertTrue(queryCount.get() <= 1 + 4 * 2, "Unexpected number of queries " + queryCount.get());
+    assertTrue(lineage.getNodes().size() > 4000);
+    assertEquals(1000 + 4 * 1000 * 10, lineage.getDownstreamEdges().size());
+    assertConsistent(lineage);
+  }
+
+  private UUID buildLayeredGraph(int layers, int width, int fanOut) {
+    Random random = new Random(0);
+    UUID root = UUID.randomUUID();
+    List<UUID> previous = new ArrayList<>();
+    for (int i = 0; i < width; i++) {
+      UUID node = UUID.randomUUID();
+      previous.add(node);
+      addEdge(root, node);
+    }
+    for (int layer = 1; layer < layers; layer++) {
+      List<UUID> current = new ArrayList<>();
+      for (int i = 0; i < width; i++) {
+        current.add(UUID.randomUUID());
+      }
+      for (UUID from : previous) {
+        Set<UUID> targets = new HashSet<>();
+        while (targets.size() < fanOut) {
+          targets.add(current.get(random.nextInt(width)));
+        }
+        targets.forEach(to -> addEdge(from, to));
+      }
+      previous = current;
+    }
+    return root;
+  }
+
+  private void addEdge(UUID from, UUID to) {
+    EntityRelationshipObject edge =
+        EntityRelationshipObject.builder()
+            .fromId(from.toString())
+            .toId(to.toString())
+            .fromEntity(Entity.TABLE)
+            .toEntity(Entity.TABLE)
+            .relation(Relationship.UPSTREAM.ordinal())
+            .build();
+    edgesFrom.computeIfAbsent(from.toString(), k -> new ArrayList<>()).add(edge);
+    edgesTo.computeIfAbsent(to.toString(), k -> new ArrayList<>()).add(edge);
+  }
+
+  private LineageRepository newRepository(int maxNodes, int maxEdges) {
+    EntityRelationshipDAO relationshipDAO = mock(EntityRelationshipDAO.class);
+    when(relationshipDAO.findFromBatch(anyList(), anyInt()))
+        .thenAnswer(invocation -> find(edgesTo, invocation.getArgument(0)));
+    when(relationshipDAO.findToBatch(anyList(), anyInt()))
+        .thenAnswer(invocation -> find(edgesFrom, invocation.getArgument(0)));
+    CollectionDAO dao = mock(CollectionDAO.class);
+    when(dao.relationshipDAO()).thenReturn(relationshipDAO);
+
+    return new LineageRepository(dao, maxNodes, maxEdges) {
+      @Override
+      List<EntityReference> getEntityReferences(String entityType, List<UUID> ids) {
+        return ids.stream().map(LineageRepositoryTest::reference).collect(Collectors.toList());
+      }
+    };
+  }
+
+  private List<EntityRelationshipObject> find(Map<String, List<EntityRelationshipObject>> index, List<String> ids) {
+    queryCount.incrementAndGet();
+    List<EntityRelationshipObject> result = new ArrayList<>();
+    ids.forEach(id -> result.addAll(index.getOrDefault(id, List.of())));
+    return result;
+  }
+
+  private static EntityReference reference(UUID id) {
+    return new EntityReference().withId(id).withType(Entity.TABLE).withName(id.toString());
+  }
+
+  /** Nodes are unique, edges are unique and every edge connects nodes that are part of the lineage */
+  private static void assertConsistent(EntityLineage lineage) {
+    Set<UUID> nodes = lineage.getNodes().stream().map(EntityReference::getId).collect(Collectors.toSet());
+    assertEquals(lineage.getNodes().size(), nodes.size());
+    nodes.add(lineage.getEntity().getId());
+    for (List<Edge> edges : List.of(lineage.getUpstreamEdges(), lineage.getDownstreamEdges())) {
+      assertEquals(edges.size(), new HashSet<>(edges).size());
+      for (Edge edge : edges) {
+        assertTrue(nodes.contains(edge.getFromEntity()));
+        assertTrue(nodes.contains(edge.getToEntity()));
+      }
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.type.Include;
+
+class ListFilterTest {
+  @Test
+  void test_conditionBindsValues() {
+    ListFilter filter = new ListFilter().addQueryParam("service", "it's").addQueryParam("database", "db");
+    assertEquals(
+        "WHERE deleted = FALSE AND fullyQualifiedName LIKE :databaseFqnPrefix "
+            + "AND fullyQualifiedName LIKE :serviceFqnPrefix",
+        filter.getCondition());
+    assertEquals(
+        "WHERE t.deleted = FALSE AND t.fullyQualifiedName LIKE :databaseFqnPrefix "
+            + "AND t.fullyQualifiedName LIKE :serviceFqnPrefix",
+        filter.getCondition("t"));
+    assertEquals(Map.of("serviceFqnPrefix", "it's.%", "databaseFqnPrefix", "db.%"), filter.getBindings());
+
+    ListFilter webhooks = new ListFilter(Include.ALL).addQueryParam("status", "active,failed");
+    assertEquals("WHERE status in (:status0,:status1)", webhooks.getCondition());
+    assertEquals(Map.of("status0", "active", "status1", "failed"), webhooks.getBindings());
+  }
+
+  @Test
+  void test_conditionIndependentOfValues() {
+    ListFilter mysql = new ListFilter().addQueryParam("service", "mysql").addQueryParam("category", "PII");
+    ListFilter redshift = new ListFilter().addQueryParam("service", "redshift").addQueryParam("category", "Tier");
+    assertEquals(mysql.getCondition(), redshift.getCondition());
+    assertEquals(Map.of("serviceFqnPrefix", "redshift.%", "categoryPrefix", "Tier%"), redshift.getBindings());
+  }
+
+  @Test
+  void test_hierarchyColumns() {
+    String schema = "mysql.\"db.1\".schema";
+    ListFilter filter = new ListFilter().addQueryParam("service", "mysql").addQueryParam("databaseSchema", schema);
+    assertEquals(
+        "WHERE deleted = FALSE AND serviceFqn = :serviceFqn AND schemaFqn = :schemaFqn",
+        filter.withHierarchyDepth(3).getCondition());
+    assertEquals(Map.of("serviceFqn", "mysql", "schemaFqn", schema), filter.getBindings());
+
+    // Parents that are not stored in the hierarchy columns of the table are filtered by prefix
+    assertEquals(
+        "WHERE deleted = FALSE AND serviceFqn = :serviceFqn AND fullyQualifiedName LIKE :databaseSchemaFqnPrefix",
+        filter.withHierarchyDepth(1).getCondition());
+    assertEquals(Map.of("serviceFqn", "mysql", "databaseSchemaFqnPrefix", schema + ".%"), filter.getBindings());
+
+    assertEquals(
+        Map.of("serviceFqn", "mysql", "databaseFqn", "mysql.\"db.1\"", "schemaFqn", schema),
+        HierarchyColumns.getValues(schema + ".\"table.1\"", 3));
+    assertEquals("serviceFqn, databaseFqn", HierarchyColumns.getColumns(2));
+    assertEquals(":serviceFqn, :databaseFqn", HierarchyColumns.getParameters(2));
+  }
+}
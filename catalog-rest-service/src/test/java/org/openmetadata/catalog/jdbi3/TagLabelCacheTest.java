@@ -0,0 +1,116 @@
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.exception.EntityNotFoundException;
+import org.openmetadata.catalog.type.ChangeDescription;
+import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.type.EventType;
+import org.openmetadata.catalog.type.FieldChange;
+import org.openmetadata.catalog.type.TagLabel.TagSource;
+
+class TagLabelCacheTest {
+  private final TagLabelCache cache = TagLabelCache.getInstance();
+  private final TagLabelCacheInvalidator invalidator = new TagLabelCacheInvalidator();
+  private final AtomicInteger loads = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() {
+    cache.invalidateAll();
+  }
+
+  @Test
+  void test_descriptionsCached() {
+    assertEquals("PII", description(TagSource.TAG, "PII.Sensitive", "PII"));
+    assertEquals("PII", description(TagSource.TAG, "PII.Sensitive", "changed"));
+    assertEquals(1, loads.get());
+
+    // Missing descriptions are cached and sources don't share entries
+    assertNull(description(TagSource.GLOSSARY, "PII.Sensitive", null));
+    assertNull(description(TagSource.GLOSSARY, "PII.Sensitive", "changed"));
+    assertEquals(2, loads.get());
+
+    // Tags that don't exist are not cached
+    for (int i = 0; i < 2; i++) {
+      assertThrows(
+          EntityNotFoundException.class,
+          () ->
+              cache.getDescription(
+                  TagSource.TAG,
+                  "unknown",
+                  fqn -> {
+                    throw EntityNotFoundException.byName(fqn);
+                  }));
+    }
+  }
+
+  @Test
+  void test_invalidatedByChangeEvents() {
+    description(TagSource.TAG, "PII.Sensitive", "PII");
+    description(TagSource.TAG, "PII.None", "None");
+    description(TagSource.GLOSSARY, "glossary.term", "term");
+
+    // Creating entities does not invalidate entries
+    invalidator.invalidate(event(Entity.TAG, "PII.Sensitive", EventType.ENTITY_CREATED, null));
+    assertEquals("PII", description(TagSource.TAG, "PII.Sensitive", "changed"));
+
+    // An updated tag is invalidated
+    invalidator.invalidate(event(Entity.TAG, "PII.Sensitive", EventType.ENTITY_UPDATED, "description"));
+    assertEquals("changed", description(TagSource.TAG, "PII.Sensitive", "changed"));
+    assertEquals("None", description(TagSource.TAG, "PII.None", "changed"));
+
+    // Updating a tag category does not invalidate entries unless it is renamed
+    invalidator.invalidate(event(Entity.TAG_CATEGORY, "PII", EventType.ENTITY_UPDATED, "description"));
+    assertEquals("None", description(TagSource.TAG, "PII.None", "renamed"));
+    invalidator.invalidate(event(Entity.TAG_CATEGORY, "PII", EventType.ENTITY_UPDATED, "name"));
+    assertEquals("renamed", description(TagSource.TAG, "PII.None", "renamed"));
+    assertEquals("term", description(TagSource.GLOSSARY, "glossary.term", "changed"));
+
+    // Deleting a glossary term invalidates the glossary terms below it
+    invalidator.invalidate(event(Entity.GLOSSARY_TERM, "glossary", EventType.ENTITY_DELETED, null));
+    assertEquals("changed", description(TagSource.GLOSSARY, "glossary.term", "changed"));
+  }
+
+  @Test
+  void test_invalidatedBySoftDelete() {
+    description(TagSource.TAG, "PII.Sensitive", "PII");
+    description(TagSource.GLOSSARY, "glossary.term", "term");
+
+    // Soft deleting a tag category or a glossary invalidates all the entries of its source
+    invalidator.invalidate(event(Entity.TAG_CATEGORY, "PII", EventType.ENTITY_SOFT_DELETED, null));
+    assertEquals("deleted", description(TagSource.TAG, "PII.Sensitive", "deleted"));
+    assertEquals("term", description(TagSource.GLOSSARY, "glossary.term", "deleted"));
+
+    invalidator.invalidate(event(Entity.GLOSSARY, "glossary", EventType.ENTITY_SOFT_DELETED, null));
+    assertEquals("deleted", description(TagSource.GLOSSARY, "glossary.term", "deleted"));
+  }
+
+  private String description(TagSource source, String fqn, String description) {
+    return cache.getDescription(
+        source,
+        fqn,
+        f -> {
+          loads.incrementAndGet();
+          return description;
+        });
+  }
+
+  private static ChangeEvent event(String entityType, String fqn, EventType eventType, String updatedField) {
+    ChangeDescription change =
+        updatedField == null
+            ? null
+            : new ChangeDescription().withFieldsUpdated(List.of(new FieldChange().withName(updatedField)));
+    return new ChangeEvent()
+        .withEntityType(entityType)
+        .withEntityFullyQualifiedName(fqn)
+        .withEventType(eventType)
+        .withChangeDescription(change);
+  }
+}
@@ -0,0 +1,64 @@
+package org.openmetadata.catalog.jdbi3;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.jdbi3.PaginationConfiguration.TotalCount;
+import org.openmetadata.catalog.type.Include;
+
+class TotalCounterTest {
+  private final AtomicInteger counts = new AtomicInteger();
+  private final Supplier<Integer> count = () -> 10 + counts.incrementAndGet();
+
+  @AfterEach
+  void tearDown() {
+    TotalCounter.initialize(new PaginationConfiguration());
+  }
+
+  @Test
+  void test_totalCountModes() {
+    assertEquals(11, TotalCounter.count(TotalCount.EXACT, "exact", count, null));
+    assertEquals(12, TotalCounter.count(TotalCount.EXACT, "exact", count, null));
+    assertNull(TotalCounter.count(TotalCount.NONE, "none", count, null));
+    assertEquals(2, counts.get());
+
+    // The count of a filter is cached, and estimates are used when the filter can be estimated
+    assertEquals(13, TotalCounter.count(TotalCount.CACHED, "cached", count, null));
+    assertEquals(13, TotalCounter.count(TotalCount.CACHED, "cached", count, null));
+    assertEquals(100, TotalCounter.count(TotalCount.ESTIMATE, "cached", count, () -> 100));
+    assertEquals(13, TotalCounter.count(TotalCount.ESTIMATE, "cached", count, () -> null));
+    Supplier<Integer> failedEstimate =
+        () -> {
+          throw new IllegalStateException("failed");
+        };
+    assertEquals(13, TotalCounter.count(TotalCount.ESTIMATE, "cached", count, failedEstimate));
+    assertEquals(3, counts.get());
+  }
+
+  @Test
+  void test_totalCountMode() {
+    assertEquals(TotalCount.EXACT, TotalCounter.getMode(null));
+    assertEquals(TotalCount.ESTIMATE, TotalCounter.getMode("estimate"));
+    assertThrows(IllegalArgumentException.class, () -> TotalCounter.getMode("invalid"));
+
+    TotalCounter.initialize(new PaginationConfiguration().withTotalCount(TotalCount.NONE));
+    assertEquals(TotalCount.NONE, TotalCounter.getMode(null));
+    assertEquals(TotalCount.NONE, new ListFilter().getTotalCount());
+    assertEquals(TotalCount.CACHED, new ListFilter().withTotalCount(TotalCount.CACHED).getTotalCount());
+  }
+
+  @Test
+  void test_filterKeys() {
+    ListFilter filter = new ListFilter().addQueryParam("service", "mysql");
+    assertEquals(filter.getKey(), new ListFilter().addQueryParam("service", "mysql").getKey());
+    assertNotEquals(filter.getKey(), new ListFilter().addQueryParam("service", "redshift").getKey());
+    assertNotEquals(filter.getKey(), new ListFilter(Include.ALL).addQueryParam("service", "mysql").getKey());
+    assertNotEquals(filter.getKey(), new ListFilter().addQueryParam("database", "mysql").getKey());
+  }
+}
@@ -0,0 +1,65 @@
+package org.openmetadata.catalog.jdbi3;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.UsageDAO;
+
+class UsageRepositoryTest {
+  private CollectionDAO dao;
+  private UsageDAO usageDAO;
+  private UsageRepository repository;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    dao = mock(CollectionDAO.class);
+    usageDAO = mock(UsageDAO.class);
+    when(dao.usageDAO()).thenReturn(usageDAO);
+    when(dao.inTransaction(any())).thenCallRealMethod();
+    repository = new UsageRepository(dao);
+  }
+
+  @Test
+  void test_pendingPercentileComputedByServerRemovingIt() throws IOException {
+    when(usageDAO.listPendingPercentiles())
+        .thenReturn(List.of(Pair.of("table", "2022-01-01"), Pair.of("dashboard", "2022-01-01")));
+    when(usageDAO.deletePendingPercentile("table", "2022-01-01")).thenReturn(1);
+    // Another server removed the pending computation after it was listed, and computes it
+    when(usageDAO.deletePendingPercentile("dashboard", "2022-01-01")).thenReturn(0);
+
+    repository.computePendingPercentiles();
+    verify(dao, times(2)).inTransaction(any());
+    verify(usageDAO).computePercentile("table", "2022-01-01");
+    verify(usageDAO, never()).computePercentile("dashboard", "2022-01-01");
+  }
+
+  @Test
+  void test_failedPercentileComputationDoesNotStopOthers() {
+    when(usageDAO.listPendingPercentiles())
+        .thenReturn(List.of(Pair.of("table", "2022-01-01"), Pair.of("table", "2022-01-02")));
+    when(usageDAO.deletePendingPercentile(anyString(), anyString())).thenReturn(1);
+    doThrow(new IllegalStateException("failed")).when(usageDAO).computePercentile("table", "2022-01-01");
+
+    // The removal of the failed computation is rolled back with its transaction, so it stays pending
+    repository.computePendingPercentiles();
+    verify(usageDAO).computePercentile("table", "2022-01-02");
+  }
+
+  @Test
+  void test_computePercentileRemovesPendingComputation() {
+    repository.computePercentile("table", "2022-01-01");
+    verify(usageDAO).deletePendingPercentile("table", "2022-01-01");
+    verify(usageDAO).computePercentile("table", "2022-01-01");
+  }
+}
@@ -15,6 +15,7 @@ package org.openmetadata.catalog.resources;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.openmetadata.catalog.Entity.FIELD_OWNER;
+import static org.openmetadata.catalog.Entity.FIELD_USAGE_SUMMARY;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import java.io.IOException;
@@ -31,15 +32,21 @@ import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.TestInstance.Lifecycle;
 import org.junit.jupiter.api.TestMethodOrder;
 import org.openmetadata.catalog.CatalogApplicationTest;
+import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.entity.data.Table;
 import org.openmetadata.catalog.resources.databases.TableResourceTest;
 import org.openmetadata.catalog.resources.feeds.MessageParser.EntityLink;
+import org.openmetadata.catalog.slack.SlackMessage;
 import org.openmetadata.catalog.type.ChangeDescription;
+import org.openmetadata.catalog.type.ChangeEvent;
 import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.EventType;
 import org.openmetadata.catalog.type.FieldChange;
 import org.openmetadata.catalog.type.TagLabel;
 import org.openmetadata.catalog.type.TagLabel.LabelType;
 import org.openmetadata.catalog.type.TagLabel.State;
+import org.openmetadata.catalog.type.UsageDetails;
+import org.openmetadata.catalog.type.UsageStats;
 import org.openmetadata.catalog.util.ChangeEventParser;
 import org.openmetadata.catalog.util.JsonUtils;
 
@@ -313,4 +320,27 @@ class ChangeEventParserResourceTest extends CatalogApplicationTest {
 
     assertEquals("Updated *columns* : lo_orderpriority*, newColumn* ", messages.values().iterator().next());
   }
+
+  @Test
+  void testSlackMessageOfUsageEvent() {
+    // Usage events are published in bulk without the entity
+    UsageDetails usage =
+        new UsageDetails()
+            .withDate("2022-01-01")
+            .withDailyStats(new UsageStats().withCount(10).withPercentileRank(50.0));
+    FieldChange usageSummary = new FieldChange().withName(FIELD_USAGE_SUMMARY).withNewValue(usage);
+    ChangeEvent event =
+        new ChangeEvent()
+            .withEventType(EventType.ENTITY_UPDATED)
+            .withEntityType(Entity.TABLE)
+            .withEntityId(TABLE.getId())
+            .withEntityFullyQualifiedName(TABLE.getFullyQualifiedName())
+            .withUserName("admin")
+            .withTimestamp(System.currentTimeMillis())
+            .withChangeDescription(new ChangeDescription().withFieldsUpdated(List.of(usageSummary)));
+
+    SlackMessage message = ChangeEventParser.buildSlackMessage(event);
+    assertEquals("admin posted on table " + TABLE.getFullyQualifiedName(), message.getText());
+    assertEquals(1, message.getAttachments().length);
+  }
 }
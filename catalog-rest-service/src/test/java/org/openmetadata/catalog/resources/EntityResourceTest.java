@@ -57,6 +57,7 @@ import static org.openmetadata.catalog.util.TestUtils.assertResponseContains;
 import static org.openmetadata.catalog.util.TestUtils.checkUserFollowing;
 import static org.openmetadata.catalog.util.TestUtils.validateEntityReference;
 import static org.openmetadata.catalog.util.TestUtils.validateEntityReferences;
+import static org.openmetadata.catalog.util.TestUtils.validateTags;
 import static org.openmetadata.common.utils.CommonUtil.listOrEmpty;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -637,6 +638,63 @@ public abstract class EntityResourceTest<T extends EntityInterface, K extends Cr
     validateGetCommonFields(entity);
   }
 
+  @Test
+  void get_entityListWithFields_200_OK(TestInfo test) throws IOException {
+    if (!supportsFieldsQueryParam) {
+      return;
+    }
+    // The fields of a page of entities are set in a batch, and must be the same as the fields of each entity
+    UserResourceTest userResourceTest = new UserResourceTest();
+    User user1 = userResourceTest.createEntity(userResourceTest.createRequest(test, 2), TEST_AUTH_HEADERS);
+    List<T> entities = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      K create = createRequest(getEntityName(test, i), "description", "displayName", USER_OWNER1);
+      T entity = createEntity(create, ADMIN_AUTH_HEADERS);
+      if (supportsTags) {
+        String origJson = JsonUtils.pojoToJson(entity);
+        entity.setTags(new ArrayList<>());
+        entity.getTags().add(USER_ADDRESS_TAG_LABEL);
+        entity.getTags().add(GLOSSARY2_TERM1_LABEL);
+        entity = patchEntity(entity.getId(), origJson, entity, ADMIN_AUTH_HEADERS);
+      }
+      if (supportsFollowers) {
+        addFollower(entity.getId(), user1.getId(), OK, TEST_AUTH_HEADERS);
+      }
+      entities.add(entity);
+    }
+
+    List<String> fieldList = new ArrayList<>();
+    if (supportsOwner) {
+      fieldList.add(FIELD_OWNER);
+    }
+    if (supportsTags) {
+      fieldList.add(FIELD_TAGS);
+    }
+    if (supportsFollowers) {
+      fieldList.add(FIELD_FOLLOWERS);
+    }
+    String fields = String.join(",", fieldList);
+    Map<String, String> queryParams = new HashMap<>();
+    queryParams.put("fields", fields);
+    ResultList<T> list = listEntities(queryParams, 1000000, null, null, ADMIN_AUTH_HEADERS);
+
+    for (T entity : entities) {
+      T expected = getEntity(entity.getId(), fields, ADMIN_AUTH_HEADERS);
+      T listed = list.getData().stream().filter(e -> e.getId().equals(entity.getId())).findAny().orElseThrow();
+      if (supportsOwner) {
+        assertEquals(expected.getOwner().getId(), listed.getOwner().getId());
+        validateEntityReference(listed.getOwner());
+      }
+      if (supportsTags) {
+        validateTags(expected.getTags(), listed.getTags());
+      }
+      if (supportsFollowers) {
+        assertEquals(expected.getFollowers().size(), listed.getFollowers().size());
+        assertEntityReferences(expected.getFollowers(), listed.getFollowers());
+      }
+    }
+  }
+
   private void validateGetCommonFields(EntityInterface entityInterface) {
     if (supportsOwner) {
       validateEntityReference(entityInterface.getOwner());
@@ -705,6 +705,53 @@ public class TableResourceTest extends EntityResourceTest<Table, CreateTable> {
         glossaryTermUsageCount + 1, getGlossaryTermUsageCount(GLOSSARY1_TERM1_LABEL.getTagFQN(), TEST_AUTH_HEADERS));
   }
 
+  @Test
+  void put_columnTagsRoundTrip_200(TestInfo test) throws IOException {
+    int addressTagUsageCount = getTagUsageCount(USER_ADDRESS_TAG_LABEL.getTagFQN(), TEST_AUTH_HEADERS);
+    int glossaryTermUsageCount = getGlossaryTermUsageCount(GLOSSARY1_TERM1_LABEL.getTagFQN(), TEST_AUTH_HEADERS);
+
+    // Tags of the columns and nested columns of a table are written in a batch and read with one query
+    Column c1 = getColumn("c1", INT, USER_ADDRESS_TAG_LABEL);
+    Column c2_a = getColumn("a", INT, USER_ADDRESS_TAG_LABEL);
+    Column c2_b = getColumn("b", CHAR, GLOSSARY1_TERM1_LABEL);
+    Column c2 =
+        getColumn("c2", STRUCT, "struct<a: int, b:char>", PERSONAL_DATA_TAG_LABEL)
+            .withChildren(new ArrayList<>(Arrays.asList(c2_a, c2_b)));
+    List<Column> columns = new ArrayList<>(Arrays.asList(c1, c2));
+    CreateTable request = createRequest(test).withColumns(columns);
+    Table table = createAndCheckEntity(request, ADMIN_AUTH_HEADERS);
+    assertColumns(columns, getEntity(table.getId(), FIELD_TAGS, ADMIN_AUTH_HEADERS).getColumns());
+    assertEquals(addressTagUsageCount + 2, getTagUsageCount(USER_ADDRESS_TAG_LABEL.getTagFQN(), TEST_AUTH_HEADERS));
+    assertEquals(
+        glossaryTermUsageCount + 1, getGlossaryTermUsageCount(GLOSSARY1_TERM1_LABEL.getTagFQN(), TEST_AUTH_HEADERS));
+
+    // Column tags are read by the prefix of the table name, and are not read for a table whose name starts with it
+    List<Column> otherColumns = List.of(getColumn("c1", INT, null));
+    CreateTable otherRequest = createRequest(test).withName(request.getName() + "1").withColumns(otherColumns);
+    Table otherTable = createAndCheckEntity(otherRequest, ADMIN_AUTH_HEADERS);
+    assertColumns(otherColumns, getEntity(otherTable.getId(), FIELD_TAGS, ADMIN_AUTH_HEADERS).getColumns());
+
+    // Tags of a deleted column and of its nested columns are deleted in a batch
+    ChangeDescription change = getChangeDescription(table.getVersion());
+    columns.remove(c2);
+    change.getFieldsDeleted().add(new FieldChange().withName("columns").withOldValue(List.of(c2)));
+    table = updateAndCheckEntity(request.withColumns(columns), OK, ADMIN_AUTH_HEADERS, MAJOR_UPDATE, change);
+    assertColumns(columns, getEntity(table.getId(), FIELD_TAGS, ADMIN_AUTH_HEADERS).getColumns());
+    assertEquals(addressTagUsageCount + 1, getTagUsageCount(USER_ADDRESS_TAG_LABEL.getTagFQN(), TEST_AUTH_HEADERS));
+    assertEquals(
+        glossaryTermUsageCount, getGlossaryTermUsageCount(GLOSSARY1_TERM1_LABEL.getTagFQN(), TEST_AUTH_HEADERS));
+
+    // Tags of an added column and of its nested columns are written in a batch
+    change = getChangeDescription(table.getVersion());
+    columns.add(c2);
+    change.getFieldsAdded().add(new FieldChange().withName("columns").withNewValue(List.of(c2)));
+    table = updateAndCheckEntity(request.withColumns(columns), OK, ADMIN_AUTH_HEADERS, MINOR_UPDATE, change);
+    assertColumns(columns, getEntity(table.getId(), FIELD_TAGS, ADMIN_AUTH_HEADERS).getColumns());
+    assertEquals(addressTagUsageCount + 2, getTagUsageCount(USER_ADDRESS_TAG_LABEL.getTagFQN(), TEST_AUTH_HEADERS));
+    assertEquals(
+        glossaryTermUsageCount + 1, getGlossaryTermUsageCount(GLOSSARY1_TERM1_LABEL.getTagFQN(), TEST_AUTH_HEADERS));
+  }
+
   @Test
   void put_tableJoins_200(TestInfo test) throws IOException {
     Table table1 = createAndCheckEntity(createRequest(test, 1), ADMIN_AUTH_HEADERS);
@@ -1558,6 +1605,12 @@ public class TableResourceTest extends EntityResourceTest<Table, CreateTable> {
     assertEquals(tableList.getData().size(), tableList1.getData().size());
     assertFields(tableList1.getData(), null);
 
+    // List tables with databaseSchemaFQN as filter
+    queryParams = new HashMap<>();
+    queryParams.put("databaseSchema", DATABASE_SCHEMA.getFullyQualifiedName());
+    tableList1 = listEntities(queryParams, ADMIN_AUTH_HEADERS);
+    assertEquals(tableList.getData().size(), tableList1.getData().size());
+
     // GET .../tables?fields=columns,tableConstraints
     final String fields = "tableConstraints";
     queryParams = new HashMap<>();
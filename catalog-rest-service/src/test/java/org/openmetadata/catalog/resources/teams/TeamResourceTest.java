@@ -435,6 +435,36 @@ public class TeamResourceTest extends EntityResourceTest<Team, CreateTeam> {
     patchEntityAndCheck(bu2, json, ADMIN_AUTH_HEADERS, MINOR_UPDATE, change2);
   }
 
+  @Test
+  void get_teamHierarchyCounts(TestInfo test) throws HttpResponseException {
+    UserResourceTest userResourceTest = new UserResourceTest();
+    User user1 = userResourceTest.createEntity(userResourceTest.createRequest(test, 1), ADMIN_AUTH_HEADERS);
+    User user2 = userResourceTest.createEntity(userResourceTest.createRequest(test, 2), ADMIN_AUTH_HEADERS);
+
+    // Organization -- has children --> [ bu1 -- has children --> [ dep1 ] ]
+    CreateTeam createBu1 = createRequest(test, 1).withTeamType(BUSINESS_UNIT).withUsers(List.of(user1.getId()));
+    Team bu1 = createEntity(createBu1, ADMIN_AUTH_HEADERS);
+    CreateTeam createDep1 =
+        createRequest(test, 2)
+            .withTeamType(DEPARTMENT)
+            .withParents(List.of(bu1.getId()))
+            .withUsers(List.of(user1.getId(), user2.getId()));
+    Team dep1 = createEntity(createDep1, ADMIN_AUTH_HEADERS);
+
+    // Users of bu1 include the users of dep1, and users in both the teams are counted once
+    bu1 = getEntity(bu1.getId(), "childrenCount,userCount", ADMIN_AUTH_HEADERS);
+    assertEquals(1, bu1.getChildrenCount());
+    assertEquals(2, bu1.getUserCount());
+
+    // Move dep1 under the organization
+    updateEntity(createDep1.withParents(null), OK, ADMIN_AUTH_HEADERS);
+    bu1 = getEntity(bu1.getId(), "childrenCount,userCount", ADMIN_AUTH_HEADERS);
+    assertEquals(0, bu1.getChildrenCount());
+    assertEquals(1, bu1.getUserCount());
+    dep1 = getEntity(dep1.getId(), "userCount", ADMIN_AUTH_HEADERS);
+    assertEquals(2, dep1.getUserCount());
+  }
+
   @Test
   void patch_isJoinable_200(TestInfo test) throws IOException {
     CreateTeam create =
@@ -16,6 +16,7 @@ package org.openmetadata.catalog.resources.usage;
 import static javax.ws.rs.core.Response.Status.BAD_REQUEST;
 import static javax.ws.rs.core.Response.Status.NOT_FOUND;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.openmetadata.catalog.Entity.TABLE;
 import static org.openmetadata.catalog.exception.CatalogExceptionMessage.entityNotFound;
 import static org.openmetadata.catalog.exception.CatalogExceptionMessage.entityTypeNotFound;
@@ -47,6 +48,9 @@ import org.junit.jupiter.api.TestMethodOrder;
 import org.openmetadata.catalog.CatalogApplicationTest;
 import org.openmetadata.catalog.Entity;
 import org.openmetadata.catalog.api.data.CreateTable;
+import org.openmetadata.catalog.api.usage.BulkUsage;
+import org.openmetadata.catalog.api.usage.BulkUsageResponse;
+import org.openmetadata.catalog.api.usage.EntityUsageCount;
 import org.openmetadata.catalog.entity.data.Database;
 import org.openmetadata.catalog.entity.data.Table;
 import org.openmetadata.catalog.resources.databases.DatabaseResourceTest;
@@ -170,6 +174,82 @@ class UsageResourceTest extends CatalogApplicationTest {
     }
   }
 
+  @Test
+  void put_bulkUsage_200_OK(TestInfo test) throws HttpResponseException {
+    TableResourceTest tableResourceTest = new TableResourceTest();
+    Table table1 = tableResourceTest.createEntity(tableResourceTest.createRequest(test, 1), ADMIN_AUTH_HEADERS);
+    Table table2 = tableResourceTest.createEntity(tableResourceTest.createRequest(test, 2), ADMIN_AUTH_HEADERS);
+    // Date without usage reported by other tests, so that the counts of the schema are those of this test
+    String date = getDateStringByOffset(RestUtil.DATE_FORMAT, RestUtil.DATE_FORMAT.format(new Date()), 100);
+    BulkUsage bulkUsage =
+        new BulkUsage()
+            .withUsage(
+                List.of(
+                    usageCount(table1.getFullyQualifiedName(), 10, date),
+                    usageCount(table1.getFullyQualifiedName(), 5, date),
+                    usageCount(table2.getFullyQualifiedName(), 20, date)));
+    BulkUsageResponse response = reportBulkUsage(TABLE, bulkUsage, ADMIN_AUTH_HEADERS);
+    assertEquals(2, response.getEntitiesUpdated());
+    assertEquals(3, response.getUsageRecorded());
+    assertTrue(response.getEntitiesNotFound().isEmpty());
+
+    // Counts reported for the same entity and date are added up
+    checkUsageByName(date, TABLE, table1.getFullyQualifiedName(), 15, 15, 15, ADMIN_AUTH_HEADERS);
+    checkUsageByName(date, TABLE, table2.getFullyQualifiedName(), 20, 20, 20, ADMIN_AUTH_HEADERS);
+
+    // Usage of the tables is added to their schema and database
+    UUID schemaId = table1.getDatabaseSchema().getId();
+    EntityUsage usage = getUsage(Entity.DATABASE_SCHEMA, schemaId, date, 1, ADMIN_AUTH_HEADERS);
+    assertEquals(35, usage.getUsage().get(0).getDailyStats().getCount());
+    usage = getUsage(Entity.DATABASE, table1.getDatabase().getId(), date, 1, ADMIN_AUTH_HEADERS);
+    assertEquals(35, usage.getUsage().get(0).getDailyStats().getCount());
+
+    // Reporting the usage again adds it to the recorded usage
+    reportBulkUsage(TABLE, bulkUsage, ADMIN_AUTH_HEADERS);
+    checkUsageByName(date, TABLE, table1.getFullyQualifiedName(), 30, 30, 30, ADMIN_AUTH_HEADERS);
+  }
+
+  @Test
+  void put_bulkUsageWithUnknownEntities_200_OK(TestInfo test) throws HttpResponseException {
+    TableResourceTest tableResourceTest = new TableResourceTest();
+    Table table = tableResourceTest.createEntity(tableResourceTest.createRequest(test), ADMIN_AUTH_HEADERS);
+    String date = getDateStringByOffset(RestUtil.DATE_FORMAT, RestUtil.DATE_FORMAT.format(new Date()), 101);
+    String unknown = table.getFullyQualifiedName() + "_unknown";
+    BulkUsage bulkUsage =
+        new BulkUsage()
+            .withUsage(
+                List.of(usageCount(table.getFullyQualifiedName(), 10, date), usageCount(unknown, 5, date)));
+
+    // Usage of unknown entities is skipped and returned, and the usage of the other entities is recorded
+    BulkUsageResponse response = reportBulkUsage(TABLE, bulkUsage, ADMIN_AUTH_HEADERS);
+    assertEquals(1, response.getEntitiesUpdated());
+    assertEquals(1, response.getUsageRecorded());
+    assertEquals(List.of(unknown), response.getEntitiesNotFound());
+    checkUsageByName(date, TABLE, table.getFullyQualifiedName(), 10, 10, 10, ADMIN_AUTH_HEADERS);
+  }
+
+  @Test
+  void put_bulkUsagePercentiles_200_OK(TestInfo test) throws HttpResponseException {
+    TableResourceTest tableResourceTest = new TableResourceTest();
+    String date = getDateStringByOffset(RestUtil.DATE_FORMAT, RestUtil.DATE_FORMAT.format(new Date()), 102);
+    List<Table> tables = new ArrayList<>();
+    List<EntityUsageCount> usage = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      Table table = tableResourceTest.createEntity(tableResourceTest.createRequest(test, i), ADMIN_AUTH_HEADERS);
+      tables.add(table);
+      usage.add(usageCount(table.getFullyQualifiedName(), 10 * (i + 1), date));
+    }
+    reportBulkUsage(TABLE, new BulkUsage().withUsage(usage), ADMIN_AUTH_HEADERS);
+
+    // Percentiles of the date are computed with the bulk usage, ranking only the tables used on that date
+    for (int i = 0; i < tables.size(); i++) {
+      int expectedPercentile = 100 * i / tables.size();
+      EntityUsage entityUsage =
+          getUsageByName(TABLE, tables.get(i).getFullyQualifiedName(), date, 1, ADMIN_AUTH_HEADERS);
+      assertEquals(expectedPercentile, entityUsage.getUsage().get(0).getDailyStats().getPercentileRank());
+    }
+  }
+
   @Order(1) // Run this method first before other usage records are created
   @Test
   void put_validUsageForTables_200_OK() throws HttpResponseException {
@@ -350,6 +430,16 @@ class UsageResourceTest extends CatalogApplicationTest {
     TestUtils.put(target, usage, Response.Status.CREATED, authHeaders);
   }
 
+  public static BulkUsageResponse reportBulkUsage(String entity, BulkUsage usage, Map<String, String> authHeaders)
+      throws HttpResponseException {
+    WebTarget target = getResource("usage/" + entity + "/bulk");
+    return TestUtils.put(target, usage, BulkUsageResponse.class, Response.Status.OK, authHeaders);
+  }
+
+  public static EntityUsageCount usageCount(String fqn, int count, String date) {
+    return new EntityUsageCount().withEntityFQN(fqn).withCount(count).withDate(date);
+  }
+
   public static void computePercentile(String entity, String date, Map<String, String> authHeaders)
       throws HttpResponseException {
     WebTarget target = getResource("usage/compute.percentile/" + entity + "/" + date);
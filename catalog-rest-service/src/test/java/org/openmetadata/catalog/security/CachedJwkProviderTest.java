@@ -0,0 +1,145 @@
+package org.openmetadata.catalog.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.auth0.jwk.SigningKeyNotFoundException;
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.openmetadata.catalog.airflow.HttpServerExtension;
+
+class CachedJwkProviderTest {
+  @RegisterExtension private static final HttpServerExtension httpServerExtension = new HttpServerExtension();
+
+  private static final AtomicReference<String> JWKS = new AtomicReference<>();
+  private static final AtomicInteger STATUS = new AtomicInteger();
+  private static final AtomicInteger FETCHES = new AtomicInteger();
+  private static KeyPair key1;
+  private static KeyPair key2;
+  private static URL jwksUrl;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+    keyPairGenerator.initialize(512);
+    key1 = keyPairGenerator.generateKeyPair();
+    key2 = keyPairGenerator.generateKeyPair();
+    httpServerExtension.registerHandler("/jwks", CachedJwkProviderTest::handle);
+    jwksUrl = HttpServerExtension.getUriFor("/jwks").toURL();
+  }
+
+  @BeforeEach
+  void reset() {
+    JWKS.set(jwks(jwk("key1", key1)));
+    STATUS.set(200);
+    FETCHES.set(0);
+  }
+
+  @Test
+  void test_keysAreCached() throws Exception {
+    CachedJwkProvider provider = newProvider(60000, 0);
+    String token = JWT.create().withKeyId("key1").withClaim("sub", "sam").sign(algorithm(key1));
+
+    Algorithm algorithm = provider.getAlgorithm("key1");
+    algorithm.verify(JWT.decode(token));
+    assertSame(algorithm, provider.getAlgorithm("key1"));
+    assertEquals(key1.getPublic(), provider.getPublicKey("key1"));
+    assertEquals(1, FETCHES.get());
+    provider.shutdown();
+  }
+
+  @Test
+  void test_unknownKeyIdRefreshesKeys() throws Exception {
+    CachedJwkProvider provider = newProvider(60000, 0);
+    assertNotNull(provider.get("key1"));
+
+    // Keys are rotated by the identity provider
+    JWKS.set(jwks(jwk("key1", key1), jwk("key2", key2)));
+    assertEquals(key2.getPublic(), provider.getPublicKey("key2"));
+    assertEquals(2, FETCHES.get());
+    provider.shutdown();
+  }
+
+  @Test
+  void test_unknownKeyIdRefreshIsRateLimited() throws Exception {
+    CachedJwkProvider provider = newProvider(60000, 60000);
+    assertNotNull(provider.get("key1"));
+
+    assertThrows(SigningKeyNotFoundException.class, () -> provider.get("unknown"));
+    assertThrows(SigningKeyNotFoundException.class, () -> provider.get("unknown"));
+    assertEquals(1, FETCHES.get());
+    provider.shutdown();
+  }
+
+  @Test
+  void test_staleKeysServedWhenJwksUnavailable() throws Exception {
+    CachedJwkProvider provider = newProvider(0, 0);
+    assertNotNull(provider.get("key1"));
+
+    STATUS.set(503);
+    for (int i = 0; i < 5; i++) {
+      assertEquals(key1.getPublic(), provider.getPublicKey("key1"));
+    }
+    assertThrows(SigningKeyNotFoundException.class, () -> provider.get("key2"));
+    provider.shutdown();
+  }
+
+  private static CachedJwkProvider newProvider(long ttlMillis, long minRefreshIntervalMillis) {
+    return new CachedJwkProvider(
+        CachedJwkProvider.urlSources(List.of(jwksUrl)), ttlMillis, minRefreshIntervalMillis);
+  }
+
+  private static void handle(HttpExchange exchange) throws IOException {
+    FETCHES.incrementAndGet();
+    byte[] response = JWKS.get().getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(STATUS.get(), response.length);
+    try (OutputStream os = exchange.getResponseBody()) {
+      os.write(response);
+    }
+  }
+
+  private static Algorithm algorithm(KeyPair keyPair) {
+    return Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate());
+  }
+
+  private static String jwks(String... jwks) {
+    return "{\"keys\":[" + String.join(",", jwks) + "]}";
+  }
+
+  private static String jwk(String kid, KeyPair keyPair) {
+    RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+    return String.format(
+        "{\"kty\":\"RSA\",\"kid\":\"%s\",\"use\":\"sig\",\"alg\":\"RS256\",\"n\":\"%s\",\"e\":\"%s\"}",
+        kid, base64(publicKey.getModulus()), base64(publicKey.getPublicExponent()));
+  }
+
+  private static String base64(BigInteger value) {
+    byte[] bytes = value.toByteArray();
+    if (bytes[0] == 0) {
+      bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+}
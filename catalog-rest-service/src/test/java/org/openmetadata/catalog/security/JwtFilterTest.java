@@ -23,7 +23,6 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.auth0.jwk.Jwk;
-import com.auth0.jwk.JwkProvider;
 import com.auth0.jwt.JWT;
 import com.auth0.jwt.algorithms.Algorithm;
 import java.net.URI;
@@ -43,13 +42,14 @@ import javax.ws.rs.core.MultivaluedHashMap;
 import javax.ws.rs.core.SecurityContext;
 import javax.ws.rs.core.UriInfo;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
 class JwtFilterTest {
 
   private static JwtFilter jwtFilter;
-  private static JwkProvider jwkProvider;
+  private static CachedJwkProvider jwkProvider;
 
   private static Algorithm algorithm;
   private static UriInfo mockRequestURIInfo;
@@ -62,12 +62,11 @@ class JwtFilterTest {
     KeyPair keyPair = keyPairGenerator.generateKeyPair();
     algorithm = Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate());
 
-    // Mock a JwkProvider that has a single JWK containing the public key from the algorithm above
+    // Mock a JWKS that has a single JWK containing the public key from the algorithm above
     // This is used to verify the JWT
     Jwk mockJwk = mock(Jwk.class);
     when(mockJwk.getPublicKey()).thenReturn(keyPair.getPublic());
-    jwkProvider = mock(JwkProvider.class);
-    when(jwkProvider.get(algorithm.getSigningKeyId())).thenReturn(mockJwk);
+    jwkProvider = new CachedJwkProvider(List.of(() -> List.of(mockJwk)), 60000, 0);
 
     // This is needed by JwtFilter for some metadata, not very important
     URI uri = URI.create("POST:http://localhost:8080/login");
@@ -81,6 +80,11 @@ class JwtFilterTest {
     jwtFilter = new JwtFilter(jwkProvider, principalClaims, domain, enforcePrincipalDomain);
   }
 
+  @BeforeEach
+  void clearVerifiedTokens() {
+    VerifiedTokenCache.invalidateAll();
+  }
+
   @Test
   void testPrincipalDomainEnforcement() {
     List<String> principalClaims = List.of("EMAIL", "sub");
@@ -0,0 +1,42 @@
+package org.openmetadata.catalog.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VerifiedTokenCacheTest {
+  @BeforeEach
+  void setUp() {
+    VerifiedTokenCache.invalidateAll();
+  }
+
+  @Test
+  void test_verifiedTokenCachedUntilExpiry() {
+    VerifiedTokenCache.put("token1", "sam", Date.from(Instant.now().plus(1, ChronoUnit.HOURS)));
+    VerifiedTokenCache.put("token2", "sam", Date.from(Instant.now().minus(1, ChronoUnit.SECONDS)));
+    VerifiedTokenCache.put("token3", "ingestion-bot", null);
+
+    assertEquals("sam", VerifiedTokenCache.getUserName("token1"));
+    assertNull(VerifiedTokenCache.getUserName("token2"));
+    assertEquals("ingestion-bot", VerifiedTokenCache.getUserName("token3"));
+    assertNull(VerifiedTokenCache.getUserName("unknown"));
+  }
+
+  @Test
+  void test_invalidateUser() {
+    VerifiedTokenCache.put("token1", "ingestion-bot", null);
+    VerifiedTokenCache.put("token2", "ingestion-bot", null);
+    VerifiedTokenCache.put("token3", "sam", null);
+
+    // Token of the bot is regenerated
+    VerifiedTokenCache.invalidateUser("ingestion-bot");
+    assertNull(VerifiedTokenCache.getUserName("token1"));
+    assertNull(VerifiedTokenCache.getUserName("token2"));
+    assertEquals("sam", VerifiedTokenCache.getUserName("token3"));
+  }
+}
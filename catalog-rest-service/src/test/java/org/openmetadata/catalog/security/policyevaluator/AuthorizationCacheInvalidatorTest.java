@@ -0,0 +1,164 @@
+package org.openmetadata.catalog.security.policyevaluator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.entity.policies.Policy;
+import org.openmetadata.catalog.entity.teams.Role;
+import org.openmetadata.catalog.entity.teams.Team;
+import org.openmetadata.catalog.entity.teams.User;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.PolicyDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.RoleDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.TeamDAO;
+import org.openmetadata.catalog.jdbi3.CollectionDAO.UserDAO;
+import org.openmetadata.catalog.jdbi3.PolicyRepository;
+import org.openmetadata.catalog.jdbi3.RoleRepository;
+import org.openmetadata.catalog.jdbi3.TeamRepository;
+import org.openmetadata.catalog.jdbi3.UserRepository;
+import org.openmetadata.catalog.security.VerifiedTokenCache;
+import org.openmetadata.catalog.type.ChangeDescription;
+import org.openmetadata.catalog.type.ChangeEvent;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.EventType;
+import org.openmetadata.catalog.type.FieldChange;
+import org.openmetadata.catalog.util.JsonUtils;
+
+class AuthorizationCacheInvalidatorTest {
+  private final AuthorizationCacheInvalidator invalidator = new AuthorizationCacheInvalidator();
+
+  @BeforeAll
+  static void setup() {
+    Entity.registerEntity(User.class, Entity.USER, Mockito.mock(UserDAO.class), Mockito.mock(UserRepository.class));
+    Entity.registerEntity(Team.class, Entity.TEAM, Mockito.mock(TeamDAO.class), Mockito.mock(TeamRepository.class));
+    Entity.registerEntity(
+        Policy.class, Entity.POLICY, Mockito.mock(PolicyDAO.class), Mockito.mock(PolicyRepository.class));
+    Entity.registerEntity(Role.class, Entity.ROLE, Mockito.mock(RoleDAO.class), Mockito.mock(RoleRepository.class));
+    SubjectCache.getInstance().initialize();
+    RoleCache.getInstance().initialize();
+    PolicyCache.getInstance().initialize();
+  }
+
+  @BeforeEach
+  void clear() {
+    SubjectCache.USER_CACHE.invalidateAll();
+    SubjectCache.TEAM_CACHE.invalidateAll();
+    RoleCache.ROLE_CACHE.invalidateAll();
+    PolicyCache.POLICY_CACHE.invalidateAll();
+  }
+
+  @Test
+  void test_teamDeletionInvalidatesHierarchy() {
+    Team team1 = team("team1");
+    Team team11 = team("team11", team1);
+    Team team111 = team("team111", team11);
+    Team other = team("other");
+    User user1 = user("user1", team111);
+    User user2 = user("user2", other);
+
+    invalidator.invalidate(event(Entity.TEAM, team1.getId(), EventType.ENTITY_DELETED, null));
+    assertNull(SubjectCache.TEAM_CACHE.getIfPresent(team1.getId()));
+    assertNull(SubjectCache.TEAM_CACHE.getIfPresent(team11.getId()));
+    assertNull(SubjectCache.TEAM_CACHE.getIfPresent(team111.getId()));
+    assertNull(SubjectCache.USER_CACHE.getIfPresent(user1.getName()));
+    assertNotNull(SubjectCache.TEAM_CACHE.getIfPresent(other.getId()));
+    assertNotNull(SubjectCache.USER_CACHE.getIfPresent(user2.getName()));
+  }
+
+  @Test
+  void test_teamUpdateInvalidatesChangedRelationships() throws JsonProcessingException {
+    Team team1 = team("team1");
+    Team team2 = team("team2");
+    Team other = team("other");
+    User user1 = user("user1");
+    User user2 = user("user2", other);
+
+    // team2 and user1 are added to team1
+    ChangeDescription change =
+        new ChangeDescription()
+            .withFieldsAdded(
+                List.of(
+                    new FieldChange().withName("children").withNewValue(json(team2.getEntityReference())),
+                    new FieldChange().withName("users").withNewValue(json(user1.getEntityReference()))));
+    invalidator.invalidate(event(Entity.TEAM, team1.getId(), EventType.ENTITY_UPDATED, change));
+    assertNull(SubjectCache.TEAM_CACHE.getIfPresent(team1.getId()));
+    assertNull(SubjectCache.TEAM_CACHE.getIfPresent(team2.getId()));
+    assertNull(SubjectCache.USER_CACHE.getIfPresent(user1.getName()));
+    assertNotNull(SubjectCache.TEAM_CACHE.getIfPresent(other.getId()));
+    assertNotNull(SubjectCache.USER_CACHE.getIfPresent(user2.getName()));
+  }
+
+  @Test
+  void test_policyDeletionInvalidatesReferences() {
+    Policy policy = new Policy().withId(UUID.randomUUID()).withName("policy");
+    PolicyCache.POLICY_CACHE.put(policy.getId(), List.of());
+    Role role = new Role().withId(UUID.randomUUID()).withName("role").withPolicies(refs(policy));
+    Role otherRole = new Role().withId(UUID.randomUUID()).withName("otherRole");
+    RoleCache.ROLE_CACHE.put(role.getId(), role);
+    RoleCache.ROLE_CACHE.put(otherRole.getId(), otherRole);
+    Team team = team("team").withPolicies(refs(policy));
+
+    invalidator.invalidate(event(Entity.POLICY, policy.getId(), EventType.ENTITY_DELETED, null));
+    assertNull(PolicyCache.POLICY_CACHE.getIfPresent(policy.getId()));
+    assertNull(RoleCache.ROLE_CACHE.getIfPresent(role.getId()));
+    assertNull(SubjectCache.TEAM_CACHE.getIfPresent(team.getId()));
+    assertNotNull(RoleCache.ROLE_CACHE.getIfPresent(otherRole.getId()));
+  }
+
+  @Test
+  void test_userUpdateInvalidatesUser() {
+    User user1 = user("user1");
+    User user2 = user("user2");
+    VerifiedTokenCache.put("token1", "user1", null);
+    VerifiedTokenCache.put("token2", "user2", null);
+    invalidator.invalidate(
+        event(Entity.USER, user1.getId(), EventType.ENTITY_UPDATED, null).withEntityFullyQualifiedName("user1"));
+    assertNull(SubjectCache.USER_CACHE.getIfPresent(user1.getName()));
+    assertNotNull(SubjectCache.USER_CACHE.getIfPresent(user2.getName()));
+    // Tokens revoked on another server are verified again
+    assertNull(VerifiedTokenCache.getUserName("token1"));
+    assertEquals("user2", VerifiedTokenCache.getUserName("token2"));
+  }
+
+  private static Team team(String name, Team... parents) {
+    List<EntityReference> parentRefs = parents.length == 0 ? null : refs(parents);
+    Team team = new Team().withId(UUID.randomUUID()).withName(name).withParents(parentRefs);
+    SubjectCache.TEAM_CACHE.put(team.getId(), team);
+    return team;
+  }
+
+  private static User user(String name, Team... teams) {
+    User user = new User().withId(UUID.randomUUID()).withName(name).withTeams(refs(teams));
+    SubjectCache.USER_CACHE.put(name, new SubjectContext(user));
+    return user;
+  }
+
+  private static List<EntityReference> refs(Team... teams) {
+    return List.of(teams).stream().map(Team::getEntityReference).collect(Collectors.toList());
+  }
+
+  private static List<EntityReference> refs(Policy policy) {
+    return List.of(policy.getEntityReference());
+  }
+
+  private static String json(EntityReference ref) throws JsonProcessingException {
+    return JsonUtils.pojoToJson(List.of(ref));
+  }
+
+  private static ChangeEvent event(String entityType, UUID id, EventType eventType, ChangeDescription change) {
+    return new ChangeEvent()
+        .withEntityType(entityType)
+        .withEntityId(id)
+        .withEventType(eventType)
+        .withChangeDescription(change);
+  }
+}
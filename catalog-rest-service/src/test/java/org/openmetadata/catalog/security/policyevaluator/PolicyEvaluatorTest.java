@@ -0,0 +1,148 @@
+package org.openmetadata.catalog.security.policyevaluator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.entity.policies.accessControl.Rule;
+import org.openmetadata.catalog.entity.policies.accessControl.Rule.Effect;
+import org.openmetadata.catalog.entity.teams.User;
+import org.openmetadata.catalog.security.policyevaluator.SubjectContext.PolicyContext;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.MetadataOperation;
+
+class PolicyEvaluatorTest {
+  private static final User USER = new User().withId(UUID.randomUUID()).withName("user").withTeams(List.of());
+
+  @BeforeEach
+  void setUp() {
+    PolicyEvaluator.invalidateDecisions();
+  }
+
+  @Test
+  void test_denyRulesOverrideAllowRules() {
+    SubjectContext subject =
+        subject(
+            rule("allowAll", Effect.ALLOW, List.of("all"), List.of(MetadataOperation.ALL), null),
+            rule("denyTableDelete", Effect.DENY, List.of("table"), List.of(MetadataOperation.DELETE), null));
+    ResourceContextInterface resource = mock(ResourceContextInterface.class);
+
+    assertFalse(PolicyEvaluator.hasPermission(subject, resource, operation("table", MetadataOperation.DELETE)));
+    assertTrue(PolicyEvaluator.hasPermission(subject, resource, operation("topic", MetadataOperation.DELETE)));
+    assertTrue(PolicyEvaluator.hasPermission(subject, resource, operation("table", MetadataOperation.EDIT_OWNER)));
+  }
+
+  @Test
+  void test_resourceAndOperationMatch() throws IOException {
+    SubjectContext subject =
+        subject(
+            rule("editTables", Effect.ALLOW, List.of("table"), List.of(MetadataOperation.EDIT_ALL), null),
+            rule("viewAll", Effect.ALLOW, List.of("all"), List.of(MetadataOperation.VIEW_ALL), null));
+    ResourceContextInterface resource = mock(ResourceContextInterface.class);
+
+    assertTrue(PolicyEvaluator.hasPermission(subject, resource, operation("table", MetadataOperation.EDIT_OWNER)));
+    assertTrue(
+        PolicyEvaluator.hasPermission(
+            subject, resource, operation("table", MetadataOperation.EDIT_OWNER, MetadataOperation.EDIT_TAGS)));
+    assertFalse(PolicyEvaluator.hasPermission(subject, resource, operation("topic", MetadataOperation.EDIT_OWNER)));
+    assertTrue(PolicyEvaluator.hasPermission(subject, resource, operation("topic", MetadataOperation.VIEW_USAGE)));
+    // Edit and view operations together are not matched by either wildcard
+    assertFalse(
+        PolicyEvaluator.hasPermission(
+            subject, resource, operation("table", MetadataOperation.EDIT_OWNER, MetadataOperation.VIEW_USAGE)));
+    assertFalse(PolicyEvaluator.hasPermission(subject, resource, operation("table", MetadataOperation.DELETE)));
+
+    // Rules without conditions don't need the resource
+    verify(resource, never()).getOwner();
+    verify(resource, never()).getTags();
+  }
+
+  @Test
+  void test_conditionalRules() throws IOException {
+    SubjectContext subject =
+        subject(rule("ownerEdit", Effect.ALLOW, List.of("all"), List.of(MetadataOperation.ALL), "isOwner()"));
+    ResourceContextInterface owned = mock(ResourceContextInterface.class);
+    when(owned.getOwner()).thenReturn(owner(USER.getId(), "user"));
+    ResourceContextInterface notOwned = mock(ResourceContextInterface.class);
+    when(notOwned.getOwner()).thenReturn(owner(UUID.randomUUID(), "other"));
+
+    for (int i = 0; i < 2; i++) { // Second time decisions come from the cache
+      assertTrue(PolicyEvaluator.hasPermission(subject, owned, operation("table", MetadataOperation.EDIT_OWNER)));
+      assertFalse(PolicyEvaluator.hasPermission(subject, notOwned, operation("table", MetadataOperation.EDIT_OWNER)));
+    }
+  }
+
+  @Test
+  void test_rulesIndexedInEvaluationOrder() {
+    CompiledRule rule1 =
+        rule("rule1", Effect.ALLOW, List.of("table"), List.of(MetadataOperation.EDIT_ALL), "noOwner()");
+    CompiledRule rule2 = rule("rule2", Effect.DENY, List.of("all"), List.of(MetadataOperation.ALL), "isOwner()");
+    CompiledRule rule3 = rule("rule3", Effect.ALLOW, List.of("table", "topic"), List.of(MetadataOperation.ALL), null);
+    SubjectPolicies policies = subject(rule1, rule2, rule3).getCompiledPolicies();
+
+    SubjectPolicies.Candidates candidates = policies.getCandidates("table", List.of(MetadataOperation.EDIT_TAGS));
+    assertEquals(List.of(rule2), List.of(candidates.getDeny()));
+    assertEquals(List.of(rule1, rule3), List.of(candidates.getAllow()));
+    assertTrue(candidates.isConditional());
+
+    candidates = policies.getCandidates("topic", List.of(MetadataOperation.EDIT_TAGS));
+    assertEquals(List.of(rule3), List.of(candidates.getAllow()));
+  }
+
+  @Test
+  void test_compiledPoliciesRebuiltOnInvalidation() {
+    SubjectContext subject = subject();
+    SubjectPolicies policies = subject.getCompiledPolicies();
+    assertEquals(policies, subject.getCompiledPolicies());
+
+    PolicyEvaluator.invalidateDecisions();
+    assertTrue(policies.isStale());
+    assertFalse(subject.getCompiledPolicies().isStale());
+  }
+
+  private static SubjectContext subject(CompiledRule... rules) {
+    List<CompiledRule> ruleList = List.of(rules);
+    return new SubjectContext(USER) {
+      @Override
+      public Iterator<PolicyContext> getPolicies() {
+        List<PolicyContext> policies = new ArrayList<>();
+        // Split the rules across policies to check that evaluation order is preserved
+        for (CompiledRule rule : ruleList) {
+          policies.add(new PolicyContext("user", null, rule.getName() + "Policy", List.of(rule)));
+        }
+        return policies.iterator();
+      }
+    };
+  }
+
+  private static CompiledRule rule(
+      String name, Effect effect, List<String> resources, List<MetadataOperation> operations, String condition) {
+    return new CompiledRule(
+        new Rule()
+            .withName(name)
+            .withEffect(effect)
+            .withResources(resources)
+            .withOperations(operations)
+            .withCondition(condition));
+  }
+
+  private static EntityReference owner(UUID id, String name) {
+    return new EntityReference().withId(id).withType(Entity.USER).withName(name);
+  }
+
+  private static OperationContext operation(String resource, MetadataOperation... operations) {
+    return new OperationContext(resource, operations);
+  }
+}
@@ -0,0 +1,93 @@
+package org.openmetadata.catalog.security.policyevaluator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.entity.data.Table;
+import org.openmetadata.catalog.jdbi3.TableRepository;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.Include;
+import org.openmetadata.catalog.type.TagLabel;
+
+class ResourceContextTest {
+  private static final Table TABLE =
+      new Table().withId(UUID.randomUUID()).withName("table").withFullyQualifiedName("service.db.schema.table");
+  private static final EntityReference OWNER =
+      new EntityReference().withId(UUID.randomUUID()).withType(Entity.USER).withName("owner");
+  private static final List<TagLabel> TAGS = List.of(new TagLabel().withTagFQN("PII.Sensitive"));
+
+  @Test
+  void test_ownerReadWithoutEntityById() throws IOException {
+    TableRepository repository = repository();
+    ResourceContext context = byId(repository);
+
+    assertEquals(OWNER, context.getOwner());
+    assertEquals(OWNER, context.getOwner());
+    verify(repository, times(1)).getOwnerById(TABLE.getId());
+    verify(repository, never()).getStored(any(), any());
+
+    // Tags need the fully qualified name of the entity, which is read once
+    assertEquals(TAGS, context.getTags());
+    assertSame(TABLE, context.getEntity());
+    verify(repository, times(1)).getStored(TABLE.getId(), Include.NON_DELETED);
+  }
+
+  @Test
+  void test_tagsReadWithoutEntityByName() throws IOException {
+    TableRepository repository = repository();
+    ResourceContext context =
+        ResourceContext.builder()
+            .resource(Entity.TABLE)
+            .entityRepository(repository)
+            .name(TABLE.getFullyQualifiedName())
+            .build();
+
+    assertEquals(TAGS, context.getTags());
+    verify(repository, never()).getStoredByName(anyString(), any());
+    assertEquals(OWNER, context.getOwner());
+    verify(repository, times(1)).getStoredByName(TABLE.getFullyQualifiedName(), Include.NON_DELETED);
+  }
+
+  @Test
+  void test_includeDeleted() throws IOException {
+    TableRepository repository = repository();
+    ResourceContext context =
+        ResourceContext.builder()
+            .resource(Entity.TABLE)
+            .entityRepository(repository)
+            .id(TABLE.getId().toString())
+            .include(Include.ALL)
+            .build();
+    assertSame(TABLE, context.getEntity());
+    verify(repository).getStored(TABLE.getId(), Include.ALL);
+  }
+
+  private static ResourceContext byId(TableRepository repository) {
+    return ResourceContext.builder()
+        .resource(Entity.TABLE)
+        .entityRepository(repository)
+        .id(TABLE.getId().toString())
+        .build();
+  }
+
+  private static TableRepository repository() throws IOException {
+    TableRepository repository = mock(TableRepository.class);
+    when(repository.getOwnerById(TABLE.getId())).thenReturn(OWNER);
+    when(repository.getEntityTags(TABLE.getFullyQualifiedName())).thenReturn(TAGS);
+    when(repository.getStored(any(), any())).thenReturn(TABLE);
+    when(repository.getStoredByName(anyString(), any())).thenReturn(TABLE);
+    return repository;
+  }
+}
@@ -0,0 +1,133 @@
+package org.openmetadata.catalog.security.policyevaluator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openmetadata.catalog.Entity;
+import org.openmetadata.catalog.entity.policies.accessControl.Rule;
+import org.openmetadata.catalog.entity.policies.accessControl.Rule.Effect;
+import org.openmetadata.catalog.entity.teams.User;
+import org.openmetadata.catalog.security.policyevaluator.SubjectContext.PolicyContext;
+import org.openmetadata.catalog.type.EntityReference;
+import org.openmetadata.catalog.type.MetadataOperation;
+import org.openmetadata.catalog.type.Relationship;
+
+class RowFilterTest {
+  private static final EntityReference TEAM =
+      new EntityReference().withId(UUID.randomUUID()).withType(Entity.TEAM).withName("team");
+  private static final User USER = new User().withId(UUID.randomUUID()).withName("user").withTeams(List.of(TEAM));
+  private static final int OWNS = Relationship.OWNS.ordinal();
+  private static final String IS_OWNER =
+      String.format(
+          "id IN (SELECT toId FROM entity_relationship WHERE relation = %d AND fromId IN (:rowFilter0,:rowFilter1))",
+          OWNS);
+
+  @BeforeEach
+  void setUp() {
+    PolicyEvaluator.invalidateDecisions();
+  }
+
+  @Test
+  void test_conditionsTranslated() {
+    SubjectContext subject = subject();
+    Map<String, Object> bindings = new HashMap<>();
+    assertEquals(IS_OWNER, RowFilter.of(rule("isOwner()"), subject).getCondition(null, "fullyQualifiedName", bindings));
+    assertEquals(Map.of("rowFilter0", USER.getId().toString(), "rowFilter1", TEAM.getId().toString()), bindings);
+    assertEquals(
+        "(NOT (id NOT IN (SELECT toId FROM entity_relationship WHERE relation = "
+            + OWNS
+            + ")) AND fullyQualifiedName IN (SELECT targetFQN FROM tag_usage WHERE tagFQN IN (:rowFilter0)))",
+        sql(RowFilter.of(rule("!noOwner() && matchAnyTag({'PII.Sensitive'})"), subject)));
+    assertEquals(
+        "fullyQualifiedName IN (SELECT targetFQN FROM tag_usage WHERE tagFQN IN (:rowFilter0,:rowFilter1) "
+            + "GROUP BY targetFQN HAVING COUNT(DISTINCT tagFQN) = 2)",
+        sql(RowFilter.of(rule("matchAllTags('a', 'b%')"), subject)));
+
+    // Values are bound as parameters and parameters are numbered after the existing bindings
+    bindings = new HashMap<>(Map.of("service", "mysql.%"));
+    assertEquals(
+        "table_entity.fullyQualifiedName IN (SELECT targetFQN FROM tag_usage WHERE tagFQN IN (:rowFilter1))",
+        RowFilter.of(rule("matchAnyTag('it''s')"), subject)
+            .getCondition("table_entity", "fullyQualifiedName", bindings));
+    assertEquals(Map.of("service", "mysql.%", "rowFilter1", "it's"), bindings);
+
+    // Conditions without a SQL equivalent are not translated
+    assertNull(RowFilter.of(rule("isOwner() || 1 == 1"), subject));
+    assertNull(RowFilter.of(rule("matchAnyTag(#tag)"), subject));
+  }
+
+  @Test
+  void test_constantsFolded() {
+    RowFilter filter = RowFilter.of(rule("isOwner()"), subject());
+    assertSame(filter, RowFilter.and(RowFilter.TRUE, filter));
+    assertSame(RowFilter.FALSE, RowFilter.and(filter, RowFilter.FALSE));
+    assertSame(RowFilter.TRUE, RowFilter.or(filter, RowFilter.TRUE));
+    assertSame(filter, RowFilter.or(RowFilter.FALSE, filter));
+    assertSame(RowFilter.FALSE, RowFilter.not(RowFilter.TRUE));
+  }
+
+  @Test
+  void test_policyRowFilter() {
+    OperationContext viewTables = new OperationContext(Entity.TABLE, MetadataOperation.VIEW_ALL);
+    SubjectContext subject =
+        subject(
+            rule("ownerView", Effect.ALLOW, "isOwner()"),
+            rule("denyPii", Effect.DENY, "matchAnyTag('PII.Sensitive')"));
+    assertEquals(
+        "("
+            + IS_OWNER
+            + " AND NOT (fullyQualifiedName IN (SELECT targetFQN FROM tag_usage WHERE tagFQN IN (:rowFilter2))))",
+        sql(PolicyEvaluator.getRowFilter(subject, viewTables)));
+
+    // Rules without conditions don't restrict the rows
+    subject = subject(rule("viewAll", Effect.ALLOW, null), rule("ownerView", Effect.ALLOW, "isOwner()"));
+    assertSame(RowFilter.TRUE, PolicyEvaluator.getRowFilter(subject, viewTables));
+
+    // No rule allows the operation
+    subject = subject(rule("ownerView", Effect.DENY, "isOwner()"));
+    assertSame(RowFilter.FALSE, PolicyEvaluator.getRowFilter(subject, viewTables));
+
+    // Entities are not filtered in the database when a rule condition can't be translated
+    subject = subject(rule("ownerView", Effect.ALLOW, "isOwner()"), rule("other", Effect.DENY, "1 == 1"));
+    assertNull(PolicyEvaluator.getRowFilter(subject, viewTables));
+  }
+
+  private static String sql(RowFilter filter) {
+    return filter.getCondition(null, "fullyQualifiedName", new HashMap<>());
+  }
+
+  private static SubjectContext subject(CompiledRule... rules) {
+    List<CompiledRule> ruleList = List.of(rules);
+    return new SubjectContext(USER) {
+      @Override
+      public Iterator<PolicyContext> getPolicies() {
+        List<PolicyContext> policies = new ArrayList<>();
+        policies.add(new PolicyContext("user", null, "policy", ruleList));
+        return policies.iterator();
+      }
+    };
+  }
+
+  private static CompiledRule rule(String condition) {
+    return rule("rule", Effect.ALLOW, condition);
+  }
+
+  private static CompiledRule rule(String name, Effect effect, String condition) {
+    return new CompiledRule(
+        new Rule()
+            .withName(name)
+            .withEffect(effect)
+            .withResources(List.of("all"))
+            .withOperations(List.of(MetadataOperation.ALL))
+            .withCondition(condition));
+  }
+}
@@ -122,7 +122,7 @@ class EntityList(Generic[T], BaseModel):
     """
 
     entities: List[T]
-    total: int
+    total: Optional[int] = None
     after: str = None
 
 
@@ -608,7 +608,7 @@ class OpenMetadata(
             return resp
 
         entities = [entity(**t) for t in resp["data"]]
-        total = resp["paging"]["total"]
+        total = resp["paging"].get("total")  # Not set when the server skips the count
         after = resp["paging"]["after"] if "after" in resp["paging"] else None
         return EntityList(entities=entities, total=total, after=after)
 